@@ -0,0 +1,97 @@
+package com.tafu.bazi.sdk.benchmark;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.atlas.AtlasBaziCalculator;
+import com.tafu.bazi.sdk.atlas.ChartAtlas;
+import com.tafu.bazi.sdk.atlas.ChartAtlasGenerator;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 命盘图集与引擎: 图集覆盖范围内随机时刻的 {@code calculateChart}, 每次操作为一个命盘
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AtlasBenchmark {
+
+    private static final int REQUESTS = 2000;
+
+    private static final LocalDate FROM = LocalDate.of(2023, 12, 28);
+    private static final LocalDate TO = LocalDate.of(2024, 2, 10);
+
+    private final BaziCalculatorImpl engine = new BaziCalculatorImpl();
+
+    private Path file;
+    private AtlasBaziCalculator atlas;
+    private List<BaziRequest> requests;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("atlas", ".bin");
+        ChartAtlas chartAtlas = new ChartAtlasGenerator(engine).generate(FROM, TO, file);
+        atlas = new AtlasBaziCalculator(chartAtlas, engine);
+        Random random = new Random(61L);
+        requests = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            LocalDate date = FROM.plusDays(random.nextInt((int) (TO.toEpochDay() - FROM.toEpochDay())));
+            requests.add(BaziRequest.builder()
+                .year(date.getYear())
+                .month(date.getMonthValue())
+                .day(date.getDayOfMonth())
+                .hour(random.nextInt(24))
+                .minute(random.nextInt(60))
+                .calendarType("solar")
+                .gender(random.nextBoolean() ? "male" : "female")
+                .build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void engine(Blackhole blackhole) {
+        for (BaziRequest request : requests) {
+            blackhole.consume(engine.calculateChart(request));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void atlas(Blackhole blackhole) {
+        for (BaziRequest request : requests) {
+            blackhole.consume(atlas.calculateChart(request));
+        }
+    }
+}
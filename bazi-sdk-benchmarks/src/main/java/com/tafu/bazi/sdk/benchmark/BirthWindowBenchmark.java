@@ -0,0 +1,61 @@
+package com.tafu.bazi.sdk.benchmark;
+
+import com.nlf.calendar.Solar;
+import com.tafu.bazi.sdk.atlas.BirthWindowScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 出生时间区间扫描: 跨节令交接的两小时 × 东经 110 ~ 125 度, 每次操作为一个区间
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BirthWindowBenchmark {
+
+    private static final int WINDOWS = 200;
+
+    private List<LocalDateTime> starts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(48L);
+        starts = new ArrayList<>(WINDOWS);
+        for (int i = 0; i < WINDOWS; i++) {
+            Solar jie = Solar.fromYmd(1901 + random.nextInt(199), 1 + random.nextInt(12), 1 + random.nextInt(28))
+                .getLunar().getNextJie().getSolar();
+            starts.add(LocalDateTime.of(jie.getYear(), jie.getMonth(), jie.getDay(), jie.getHour(), jie.getMinute())
+                .minusHours(1));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WINDOWS)
+    public void scan(Blackhole blackhole) {
+        for (LocalDateTime start : starts) {
+            blackhole.consume(BirthWindowScanner.scan(start, start.plusHours(2), 110.0, 125.0));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.tafu.bazi.sdk.benchmark;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.ChartAnalyzer;
+import com.tafu.bazi.sdk.chart.StrengthModel;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单盘分析 (旺衰、格局、喜忌): 每次操作为一个命盘, 按旺衰模型对比
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChartAnalyzerBenchmark {
+
+    private static final int CHARTS = 2000;
+
+    @Param({"CLASSIC", "LIFE_STAGE"})
+    public StrengthModel strengthModel;
+
+    private int[][] stems;
+    private int[][] branches;
+
+    @Setup
+    public void setUp() {
+        BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+        List<BaziChart> charts = BaziWarmup.samples(calculator, CHARTS, 40L).stream()
+            .map(calculator::calculateChart)
+            .toList();
+        stems = new int[CHARTS][];
+        branches = new int[CHARTS][];
+        for (int i = 0; i < CHARTS; i++) {
+            stems[i] = charts.get(i).getStems();
+            branches[i] = charts.get(i).getBranches();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHARTS)
+    public void analyze(Blackhole blackhole) {
+        for (int i = 0; i < CHARTS; i++) {
+            BaziChart.BaziChartBuilder builder = BaziChart.builder();
+            ChartAnalyzer.analyze(stems[i], branches[i], strengthModel, builder);
+            blackhole.consume(builder);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.tafu.bazi.sdk.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.codec.BaziBinaryCodec;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 结果编解码往返: Jackson JSON 与 {@link BaziBinaryCodec}, 每次操作为一个命盘
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+
+    private static final int CHARTS = 300;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BaziBinaryCodec codec = new BaziBinaryCodec();
+
+    private List<BaziResponse> responses;
+
+    @Setup
+    public void setUp() {
+        BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+        responses = new ArrayList<>(CHARTS);
+        for (BaziRequest sample : BaziWarmup.samples(calculator, CHARTS, 20260127L)) {
+            responses.add(calculator.calculate(sample));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHARTS)
+    public void jsonRoundTrip(Blackhole blackhole) throws IOException {
+        for (BaziResponse response : responses) {
+            blackhole.consume(objectMapper.readValue(objectMapper.writeValueAsBytes(response), BaziResponse.class));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHARTS)
+    public void binaryRoundTrip(Blackhole blackhole) {
+        for (BaziResponse response : responses) {
+            blackhole.consume(codec.decode(codec.encode(response)));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.tafu.bazi.sdk.benchmark;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.match.ChartSignature;
+import com.tafu.bazi.sdk.match.CompatibilityMatcher;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 合婚批量匹配: 并行 top-k 与单线程逐个打分
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompatibilityBenchmark {
+
+    @Param({"2000000"})
+    public int size;
+
+    private CompatibilityMatcher matcher;
+    private long[] candidates;
+    private byte[] scores;
+
+    @Setup
+    public void setUp() {
+        BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+        long[] pool = BaziWarmup.samples(calculator, 500, 52L).stream()
+            .map(calculator::calculateChart)
+            .mapToLong(ChartSignature::of)
+            .toArray();
+        Random random = new Random(53L);
+        candidates = new long[size];
+        for (int i = 0; i < size; i++) {
+            candidates[i] = pool[random.nextInt(pool.length)];
+        }
+        matcher = new CompatibilityMatcher(pool[0]);
+        scores = new byte[size];
+    }
+
+    @Benchmark
+    public List<CompatibilityMatcher.Match> topK() {
+        return matcher.topK(candidates, 20, true);
+    }
+
+    @Benchmark
+    public byte[] scoreAll() {
+        matcher.scoreAll(candidates, 0, size, scores, 0);
+        return scores;
+    }
+}
@@ -0,0 +1,64 @@
+package com.tafu.bazi.sdk.benchmark;
+
+import com.tafu.bazi.sdk.fortune.DailyFortune;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每日运势: 建表 ({@link DailyFortune#of}) 与批量打分
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DailyFortuneBenchmark {
+
+    @Param({"5000000"})
+    public int size;
+
+    private final LocalDate date = LocalDate.of(2026, 1, 1);
+
+    private DailyFortune fortune;
+    private int[] keys;
+    private byte[] out;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(49L);
+        keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = random.nextInt(DailyFortune.CLASS_COUNT);
+        }
+        out = new byte[size];
+        fortune = DailyFortune.of(date);
+    }
+
+    @Benchmark
+    public DailyFortune build() {
+        return DailyFortune.of(date);
+    }
+
+    @Benchmark
+    public byte[] scoreAll() {
+        fortune.scoreAll(keys, 0, size, out, 0);
+        return out;
+    }
+}
@@ -0,0 +1,55 @@
+package com.tafu.bazi.sdk.benchmark;
+
+import com.nlf.calendar.Solar;
+import com.tafu.bazi.sdk.selection.DateCandidate;
+import com.tafu.bazi.sdk.selection.DateRule;
+import com.tafu.bazi.sdk.selection.DateSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 择日逐日搜索十年: 节令交接表与 lunar-java 逐日换算, 每次操作为一天
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateSelectorBenchmark {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+    private static final LocalDate TO = FROM.plusYears(10);
+    private static final int DAYS = 3652;
+
+    @Benchmark
+    @OperationsPerInvocation(DAYS)
+    public List<DateCandidate> selector() {
+        return DateSelector.search(FROM, TO, false, DateRule.ANY, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DAYS)
+    public void lunarJava(Blackhole blackhole) {
+        for (LocalDate date = FROM; date.isBefore(TO); date = date.plusDays(1)) {
+            blackhole.consume(Solar.fromYmd(date.getYear(), date.getMonthValue(), date.getDayOfMonth()).getLunar()
+                .getDayInGanZhi());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.tafu.bazi.sdk.benchmark;
+
+import com.tafu.bazi.sdk.batch.ElementBatch;
+import com.tafu.bazi.sdk.batch.ElementKernel;
+import com.tafu.bazi.sdk.batch.ElementKernels;
+import com.tafu.bazi.sdk.chart.CompiledScoringModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量五行内核: 标量与 Vector API 实现的五行分布、余弦相似度吞吐量
+ *
+ * <p>vector 参数需要以 {@code -Pvector} 构建 bazi-sdk-core, 否则初始化失败
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class ElementKernelBenchmark {
+
+    @Param({"scalar", "vector"})
+    public String kernel;
+
+    @Param({"1048576"})
+    public int size;
+
+    private final double[] query = {1.2, 0.8, 2.5, 0.3, 1.1};
+
+    private ElementKernel implementation;
+    private ElementBatch batch;
+    private double[][] distribution;
+    private double[] similarity;
+
+    @Setup
+    public void setUp() {
+        implementation = "vector".equals(kernel)
+            ? ElementKernels.vector().orElseThrow(
+                () -> new IllegalStateException("Vector kernel unavailable, build bazi-sdk-core with -Pvector"))
+            : ElementKernels.scalar();
+        Random random = new Random(51L);
+        batch = new ElementBatch(size);
+        int[] stems = new int[4];
+        int[] branches = new int[4];
+        for (int i = 0; i < size; i++) {
+            for (int p = 0; p < 4; p++) {
+                // 干支阴阳一致
+                stems[p] = random.nextInt(10);
+                branches[p] = (stems[p] & 1) + 2 * random.nextInt(6);
+            }
+            batch.add(stems, branches);
+        }
+        distribution = new double[5][size];
+        similarity = new double[size];
+        implementation.distribution(batch, CompiledScoringModel.CLASSIC, distribution);
+    }
+
+    @Benchmark
+    public double[][] distribution() {
+        implementation.distribution(batch, CompiledScoringModel.CLASSIC, distribution);
+        return distribution;
+    }
+
+    @Benchmark
+    public double[] cosine() {
+        implementation.cosine(query, distribution, size, similarity);
+        return similarity;
+    }
+}
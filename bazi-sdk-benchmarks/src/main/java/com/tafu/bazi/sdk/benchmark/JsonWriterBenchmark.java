@@ -0,0 +1,78 @@
+package com.tafu.bazi.sdk.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.BaziResponseAssembler;
+import com.tafu.bazi.sdk.codec.BaziJsonWriter;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 命盘序列化: 组装 DTO 后经 Jackson 输出与 {@link BaziJsonWriter} 直写, 每次操作为一个命盘
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonWriterBenchmark {
+
+    private static final int CHARTS = 300;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BaziResponseAssembler assembler = new BaziResponseAssembler();
+
+    private BaziJsonWriter writer;
+    private List<BaziChart> charts;
+
+    @Setup
+    public void setUp() {
+        BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+        writer = new BaziJsonWriter(calculator);
+        charts = new ArrayList<>(CHARTS);
+        for (BaziRequest sample : BaziWarmup.samples(calculator, CHARTS, 20260127L)) {
+            charts.add(calculator.calculateChart(sample));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHARTS)
+    public void dtoAndJackson(Blackhole blackhole) throws IOException {
+        for (BaziChart chart : charts) {
+            blackhole.consume(objectMapper.writeValueAsBytes(assembler.assemble(chart)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHARTS)
+    public void direct(Blackhole blackhole) {
+        for (BaziChart chart : charts) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(12 * 1024);
+            writer.write(chart, out);
+            blackhole.consume(out);
+        }
+    }
+}
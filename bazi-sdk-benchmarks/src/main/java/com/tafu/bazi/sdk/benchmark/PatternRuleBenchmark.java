@@ -0,0 +1,66 @@
+package com.tafu.bazi.sdk.benchmark;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.ChartAnalyzer;
+import com.tafu.bazi.sdk.chart.CompiledScoringModel;
+import com.tafu.bazi.sdk.chart.PatternRuleSet;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 重新分析 + 格局规则求值: 每次操作为一个命盘, 对比内置规则与扩展规则
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PatternRuleBenchmark {
+
+    private static final int CHARTS = 2000;
+
+    @Param({"built-in", "extended"})
+    public String rules;
+
+    private PatternRuleSet ruleSet;
+    private List<BaziChart> charts;
+
+    @Setup
+    public void setUp() {
+        ruleSet = "extended".equals(rules)
+            ? PatternRuleSet.withBuiltIns(PatternRuleSet.extendedRules())
+            : PatternRuleSet.builtIn();
+        BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+        charts = BaziWarmup.samples(calculator, CHARTS, 55L).stream()
+            .map(calculator::calculateChart)
+            .toList();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHARTS)
+    public void rescore(Blackhole blackhole) {
+        for (BaziChart chart : charts) {
+            blackhole.consume(ChartAnalyzer.rescore(chart, CompiledScoringModel.CLASSIC, ruleSet));
+        }
+    }
+}
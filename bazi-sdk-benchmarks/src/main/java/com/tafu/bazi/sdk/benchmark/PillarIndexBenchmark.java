@@ -0,0 +1,95 @@
+package com.tafu.bazi.sdk.benchmark;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.atlas.PillarIndex;
+import com.tafu.bazi.sdk.atlas.PillarIndexGenerator;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 四柱反查: 两年索引上的完整四柱与日柱+时柱查询, 每次操作为一次查询
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PillarIndexBenchmark {
+
+    private static final int QUERIES = 500;
+
+    private Path file;
+    private PillarIndex index;
+    private List<BaziChart> charts;
+    private int[] dayPillars;
+    private int[] hourPillars;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("pillars", ".bin");
+        index = PillarIndexGenerator.generate(LocalDate.of(2000, 1, 1), LocalDate.of(2002, 1, 1), file);
+        BaziCalculatorImpl engine = new BaziCalculatorImpl();
+        Random random = new Random(44L);
+        charts = new ArrayList<>(QUERIES);
+        dayPillars = new int[QUERIES];
+        hourPillars = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            LocalDate date = LocalDate.of(2000, 1, 1).plusDays(random.nextInt(730));
+            BaziChart chart = engine.calculateChart(BaziRequest.builder()
+                .year(date.getYear()).month(date.getMonthValue()).day(date.getDayOfMonth())
+                .hour(random.nextInt(24)).minute(random.nextInt(60))
+                .calendarType("solar").gender("female").build());
+            charts.add(chart);
+            int key = PillarIndex.key(chart);
+            dayPillars[i] = key / 60 % 60;
+            hourPillars[i] = key % 60;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void fourPillars(Blackhole blackhole) {
+        for (BaziChart chart : charts) {
+            blackhole.consume(index.find(chart));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void dayAndHour(Blackhole blackhole) {
+        for (int i = 0; i < QUERIES; i++) {
+            blackhole.consume(index.find(PillarIndex.ANY, PillarIndex.ANY, dayPillars[i], hourPillars[i]));
+        }
+    }
+}
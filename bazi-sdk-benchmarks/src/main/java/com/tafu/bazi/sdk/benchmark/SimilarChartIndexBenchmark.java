@@ -0,0 +1,85 @@
+package com.tafu.bazi.sdk.benchmark;
+
+import com.tafu.bazi.sdk.similar.ChartFeatures;
+import com.tafu.bazi.sdk.similar.SimilarChartIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 相似命盘 HNSW 索引: 随机特征向量上的建图与 top-10 检索
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimilarChartIndexBenchmark {
+
+    private static final int QUERIES = 200;
+
+    @Param({"30000"})
+    public int size;
+
+    private float[][] vectors;
+    private float[][] queries;
+    private SimilarChartIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(52L);
+        vectors = new float[size][];
+        for (int i = 0; i < size; i++) {
+            vectors[i] = randomVector(random);
+        }
+        queries = new float[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = randomVector(random);
+        }
+        index = build();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SimilarChartIndex build() {
+        SimilarChartIndex built = new SimilarChartIndex();
+        for (int i = 0; i < vectors.length; i++) {
+            built.add(i, vectors[i]);
+        }
+        return built;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void search(Blackhole blackhole) {
+        for (float[] query : queries) {
+            blackhole.consume(index.search(query, 10));
+        }
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[ChartFeatures.DIMENSION];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = random.nextFloat();
+        }
+        return vector;
+    }
+}
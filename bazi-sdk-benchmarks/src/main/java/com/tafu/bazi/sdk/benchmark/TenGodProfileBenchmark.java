@@ -0,0 +1,66 @@
+package com.tafu.bazi.sdk.benchmark;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.TenGodProfile;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 十神分布: 每次操作为一个命盘, 写入复用的输出数组
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TenGodProfileBenchmark {
+
+    private static final int CHARTS = 1000;
+
+    private int[][] stems;
+    private int[][] branches;
+    private final int[] positions = new int[10];
+    private final double[] strengths = new double[10];
+
+    @Setup
+    public void setUp() {
+        BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+        List<BaziChart> charts = BaziWarmup.samples(calculator, CHARTS, 42L).stream()
+            .map(calculator::calculateChart)
+            .toList();
+        stems = new int[CHARTS][];
+        branches = new int[CHARTS][];
+        for (int i = 0; i < CHARTS; i++) {
+            stems[i] = charts.get(i).getStems();
+            branches[i] = charts.get(i).getBranches();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHARTS)
+    public void compute(Blackhole blackhole) {
+        for (int i = 0; i < CHARTS; i++) {
+            TenGodProfile.compute(stems[i], branches[i], positions, strengths);
+            blackhole.consume(strengths);
+        }
+    }
+}
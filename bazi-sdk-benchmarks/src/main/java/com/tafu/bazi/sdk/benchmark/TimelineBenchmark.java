@@ -0,0 +1,72 @@
+package com.tafu.bazi.sdk.benchmark;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.interaction.TimelineScanner;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 岁运时间线批量扫描: 每次操作为一个命盘 100 年 (含扫描器构造)
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimelineBenchmark {
+
+    private static final int CHARTS = 500;
+
+    private static final int YEARS = 100;
+
+    private List<BaziChart> charts;
+    private final int[] daYun = new int[YEARS];
+    private final long[] relations = new long[YEARS];
+    private final int[] events = new int[YEARS];
+
+    @Setup
+    public void setUp() {
+        BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+        charts = BaziWarmup.samples(calculator, CHARTS, 38L).stream()
+            .map(calculator::calculateChart)
+            .toList();
+        Arrays.fill(daYun, 12);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHARTS)
+    public void scan(Blackhole blackhole) {
+        for (BaziChart chart : charts) {
+            TimelineScanner.of(chart).scan(1950, daYun, relations, events);
+            blackhole.consume(events);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHARTS)
+    public void scanChart(Blackhole blackhole) {
+        for (BaziChart chart : charts) {
+            blackhole.consume(TimelineScanner.of(chart).scan(chart));
+        }
+    }
+}
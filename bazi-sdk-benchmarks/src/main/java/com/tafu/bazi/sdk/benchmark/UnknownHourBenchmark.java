@@ -0,0 +1,86 @@
+package com.tafu.bazi.sdk.benchmark;
+
+import com.tafu.bazi.sdk.BaziCalculator;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 未知时辰排盘: 共享日内计算与接口默认的逐整点实现, 每次操作为一天
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UnknownHourBenchmark {
+
+    private static final int DAYS = 40;
+
+    private final BaziCalculatorImpl engine = new BaziCalculatorImpl();
+
+    /** 只实现 calculate, 使用接口默认的逐整点实现 */
+    private final BaziCalculator perHour = new BaziCalculator() {
+        @Override
+        public BaziResponse calculate(BaziRequest request) {
+            return engine.calculate(request);
+        }
+
+        @Override
+        public int getLeapMonth(int lunarYear) {
+            return engine.getLeapMonth(lunarYear);
+        }
+    };
+
+    private List<BaziRequest> requests;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(45L);
+        requests = new ArrayList<>(DAYS);
+        for (int i = 0; i < DAYS; i++) {
+            LocalDate date = LocalDate.of(1950, 1, 1).plusDays(random.nextInt(100 * 365));
+            requests.add(BaziRequest.builder()
+                .year(date.getYear()).month(date.getMonthValue()).day(date.getDayOfMonth())
+                .calendarType("solar").gender("male").build());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DAYS)
+    public void shared(Blackhole blackhole) {
+        for (BaziRequest request : requests) {
+            blackhole.consume(engine.calculateAllHours(request));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DAYS)
+    public void perHour(Blackhole blackhole) {
+        for (BaziRequest request : requests) {
+            blackhole.consume(perHour.calculateAllHours(request));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.tafu.bazi.sdk.batch;
+
+import com.tafu.bazi.sdk.chart.CompiledScoringModel;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.tafu.bazi.sdk.batch.ElementKernels.HIDDEN_WEIGHTS;
+import static com.tafu.bazi.sdk.batch.ElementKernels.STEM_WEIGHTS;
+
+/**
+ * 向量内核 (jdk.incubator.vector): 每次处理一个向量宽度的命盘, 查表为按下标列的 gather 读取,
+ * 不足一个向量宽度的尾部交给 {@link ScalarElementKernel}
+ *
+ * <p>只由 {@link ElementKernels} 在模块存在时按名加载
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+final class VectorElementKernel implements ElementKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public String name() {
+        return "vector";
+    }
+
+    @Override
+    public void distribution(ElementBatch batch, CompiledScoringModel model, double[][] out) {
+        int n = batch.size();
+        ElementKernels.checkRows(out, n);
+        double[][] states = ElementKernels.stateWeights(model);
+        int[][] stems = batch.stems;
+        int[][] branches = batch.branches;
+        int bound = SPECIES.loopBound(n);
+        for (int e = 0; e < STEM_WEIGHTS.length; e++) {
+            double[] stemWeights = STEM_WEIGHTS[e];
+            double[] hiddenWeights = HIDDEN_WEIGHTS[e];
+            double[] stateWeights = states[e];
+            double[] row = out[e];
+            for (int i = 0; i < bound; i += SPECIES.length()) {
+                DoubleVector sum = DoubleVector.zero(SPECIES);
+                for (int p = 0; p < 4; p++) {
+                    sum = sum.add(DoubleVector.fromArray(SPECIES, stemWeights, 0, stems[p], i));
+                    sum = sum.add(DoubleVector.fromArray(SPECIES, hiddenWeights, 0, branches[p], i));
+                }
+                sum.mul(DoubleVector.fromArray(SPECIES, stateWeights, 0, branches[1], i)).intoArray(row, i);
+            }
+            ScalarElementKernel.distribution(stemWeights, hiddenWeights, stateWeights, stems, branches, row,
+                bound, n);
+        }
+    }
+
+    @Override
+    public void cosine(double[] query, double[][] distributions, int n, double[] out) {
+        ElementKernels.checkCosine(query, distributions, n, out);
+        double queryNorm = ScalarElementKernel.norm(query);
+        int bound = SPECIES.loopBound(n);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector dot = DoubleVector.zero(SPECIES);
+            DoubleVector sum = DoubleVector.zero(SPECIES);
+            for (int e = 0; e < query.length; e++) {
+                DoubleVector value = DoubleVector.fromArray(SPECIES, distributions[e], i);
+                dot = dot.add(value.mul(query[e]));
+                sum = sum.add(value.mul(value));
+            }
+            VectorMask<Double> empty = sum.compare(VectorOperators.EQ, 0.0);
+            DoubleVector result = dot.div(sum.sqrt().mul(queryNorm));
+            if (queryNorm == 0.0) {
+                result = DoubleVector.zero(SPECIES);
+            }
+            result.blend(0.0, empty).intoArray(out, i);
+        }
+        ScalarElementKernel.cosine(query, queryNorm, distributions, out, bound, n);
+    }
+}
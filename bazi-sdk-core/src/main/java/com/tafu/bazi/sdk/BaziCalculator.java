@@ -1,7 +1,25 @@
 package com.tafu.bazi.sdk;
 
+import com.tafu.bazi.sdk.atlas.BirthWindowScanner;
+import com.tafu.bazi.sdk.cache.BaziCacheKey;
 import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BirthWindowRequest;
 import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.HourChartDTO;
+import com.tafu.bazi.sdk.model.PillarDTO;
+import com.tafu.bazi.sdk.model.WindowChartDTO;
+import com.tafu.bazi.sdk.model.WindowSegmentDTO;
+import com.tafu.bazi.sdk.model.immutable.BaziResult;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import com.tafu.bazi.sdk.warmup.WarmupPolicy;
+import com.tafu.bazi.sdk.warmup.WarmupReport;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * 八字计算器核心接口
@@ -23,6 +41,130 @@ public interface BaziCalculator {
    */
   BaziResponse calculate(BaziRequest request);
 
+  /**
+   * 计算并返回不可变结果, JSON 结构与 {@link #calculate} 一致
+   *
+   * <p>适合放入缓存或在多个线程间共享: 结果及其全部子对象都不可修改
+   *
+   * @param request 八字计算请求参数
+   * @return 不可变的八字分析结果
+   * @throws IllegalArgumentException 参数校验失败时抛出
+   */
+  default BaziResult calculateImmutable(BaziRequest request) {
+    return BaziResult.from(calculate(request));
+  }
+
+  /**
+   * 批量计算: 批内相同的请求 (按 {@link BaziCacheKey} 判等) 只计算一次, 共享同一结果对象
+   *
+   * @param requests 请求列表
+   * @return 与请求一一对应的结果列表
+   * @throws IllegalArgumentException 列表为 null 或任一请求校验失败时抛出
+   */
+  default List<BaziResponse> calculateAll(List<BaziRequest> requests) {
+    if (requests == null) {
+      throw new IllegalArgumentException("Requests cannot be null");
+    }
+    Map<BaziCacheKey, BaziResponse> computed = new HashMap<>();
+    List<BaziResponse> results = new ArrayList<>(requests.size());
+    for (BaziRequest request : requests) {
+      BaziCacheKey key = BaziCacheKey.of(request);
+      BaziResponse response = computed.get(key);
+      if (response == null) {
+        response = calculate(request);
+        computed.put(key, response);
+      }
+      results.add(response);
+    }
+    return results;
+  }
+
+  /**
+   * 未知时辰模式: 计算出生日期内全部时辰的命盘, 忽略请求中的时与分
+   *
+   * <p>逐个整点起盘, 相邻整点的命盘相同 (公历时间与真太阳时除外) 时合并为一项。
+   * 通常为 13 项: 晚子时 (23 点) 日柱算次日, 与早子时 (0 点) 分开。
+   * 节令交接不在整点时, 交接所在的时辰在交接后的第一分钟拆为两项 (二分查找月柱变化的分钟),
+   * 后一项的 {@link HourChartDTO#getStartMinute()} 为该分钟、命盘按该分钟起出
+   *
+   * @param request 八字计算请求 (hour、minute 可为空)
+   * @return 按时间排序的各时辰命盘
+   * @throws IllegalArgumentException 参数校验失败时抛出
+   */
+  default List<HourChartDTO> calculateAllHours(BaziRequest request) {
+    if (request == null) {
+      throw new IllegalArgumentException("Request cannot be null");
+    }
+    List<HourChartDTO> charts = new ArrayList<>(14);
+    BaziResponse next = calculate(request.toBuilder().hour(0).minute(0).build());
+    for (int hour = 0; hour < 24; hour++) {
+      BaziResponse response = next;
+      int endMinute = hour < 23 ? 60 : 59;
+      next = calculate(request.toBuilder().hour(hour + endMinute / 60).minute(endMinute % 60).build());
+      appendHourChart(charts, hour, 0, response);
+      if (monthPillar(response).equals(monthPillar(next))) {
+        continue;
+      }
+      // 节令交接在本时辰内: lo 为交接前的分钟, hi 为交接后的第一分钟
+      int lo = 0;
+      int hi = endMinute;
+      BaziResponse afterJie = next;
+      while (hi - lo > 1) {
+        int mid = (lo + hi) >>> 1;
+        BaziResponse probe = calculate(request.toBuilder().hour(hour).minute(mid).build());
+        if (monthPillar(response).equals(monthPillar(probe))) {
+          lo = mid;
+        } else {
+          hi = mid;
+          afterJie = probe;
+        }
+      }
+      if (hi < 60) {
+        appendHourChart(charts, hour, hi, afterJie);
+      }
+    }
+    return charts;
+  }
+
+  /**
+   * 出生时间不确定时起盘: 求时间区间 (可选经度范围) 内可能的全部命盘
+   *
+   * <p>由 {@link BirthWindowScanner} 在时辰交接、节令交接 (含晚子时与真太阳时修正) 之间直接跳转求出各四柱的精确时段,
+   * 每种四柱只按其最早时段的起始时间 (给出经度范围时取该时段经度范围的中点) 调用一次 {@link #calculate}
+   *
+   * @param request 出生时间区间
+   * @return 各四柱的命盘与时段, 按最早时段排序
+   * @throws IllegalArgumentException 参数校验失败时抛出
+   */
+  default List<WindowChartDTO> calculateWindow(BirthWindowRequest request) {
+    if (request == null) {
+      throw new IllegalArgumentException("Request cannot be null");
+    }
+    List<WindowChartDTO> charts = new ArrayList<>();
+    for (BirthWindowScanner.Candidate candidate : BirthWindowScanner.scan(request.getStart(), request.getEnd(),
+        request.getMinLongitude(), request.getMaxLongitude())) {
+      WindowSegmentDTO first = candidate.segments().get(0);
+      LocalDateTime time = first.getStart();
+      charts.add(WindowChartDTO.builder()
+          .pillars(candidate.pillars())
+          .segments(candidate.segments())
+          .response(calculate(BaziRequest.builder()
+              .year(time.getYear())
+              .month(time.getMonthValue())
+              .day(time.getDayOfMonth())
+              .hour(time.getHour())
+              .minute(time.getMinute())
+              .calendarType("solar")
+              .gender(request.getGender())
+              .scoringModel(request.getScoringModel())
+              .longitude(first.getMinLongitude() == null
+                  ? null : (first.getMinLongitude() + first.getMaxLongitude()) / 2)
+              .build()))
+          .build());
+    }
+    return charts;
+  }
+
   /**
    * 辅助方法: 查询指定年份的闰月
    *
@@ -31,4 +173,61 @@ public interface BaziCalculator {
    * @throws IllegalArgumentException 年份超出支持范围时抛出
    */
   int getLeapMonth(int lunarYear);
+
+  /**
+   * 预热: 按策略执行一组覆盖全部分支的样本计算, 完成类加载、静态表初始化与 JIT 编译
+   *
+   * <p>建议在服务启动阶段调用, 避免首批请求变慢
+   *
+   * @param policy 预热策略
+   * @return 预热结果
+   */
+  default WarmupReport warmUp(WarmupPolicy policy) {
+    return BaziWarmup.run(this, policy);
+  }
+
+  /**
+   * 追加一项时辰命盘, 与上一项相同时合并
+   */
+  private static void appendHourChart(List<HourChartDTO> charts, int hour, int minute, BaziResponse response) {
+    HourChartDTO last = charts.isEmpty() ? null : charts.get(charts.size() - 1);
+    if (last != null && sameChart(last.getResponse(), response)) {
+      last.setEndHour(hour);
+      return;
+    }
+    PillarDTO pillar = response.getFourPillars().getHour();
+    charts.add(HourChartDTO.builder()
+        .startHour(hour)
+        .startMinute(minute)
+        .endHour(hour)
+        .hourPillar(pillar.getHeavenlyStem().getChinese() + pillar.getEarthlyBranch().getChinese())
+        .response(response)
+        .build());
+  }
+
+  private static String monthPillar(BaziResponse response) {
+    PillarDTO month = response.getFourPillars().getMonth();
+    return month.getHeavenlyStem().getChinese() + month.getEarthlyBranch().getChinese();
+  }
+
+  /**
+   * 两个结果除公历时间与真太阳时外是否相同
+   */
+  private static boolean sameChart(BaziResponse a, BaziResponse b) {
+    return Objects.equals(a.getGender(), b.getGender())
+        && Objects.equals(a.getLunarDate(), b.getLunarDate())
+        && Objects.equals(a.getFourPillars(), b.getFourPillars())
+        && Objects.equals(a.getDayMaster(), b.getDayMaster())
+        && Objects.equals(a.getFiveElements(), b.getFiveElements())
+        && Objects.equals(a.getTenGods(), b.getTenGods())
+        && Objects.equals(a.getPattern(), b.getPattern())
+        && Objects.equals(a.getYun(), b.getYun())
+        && Objects.equals(a.getShenSha(), b.getShenSha())
+        && Objects.equals(a.getShengXiao(), b.getShengXiao())
+        && Objects.equals(a.getTaiYuan(), b.getTaiYuan())
+        && Objects.equals(a.getMingGong(), b.getMingGong())
+        && Objects.equals(a.getShenGong(), b.getShenGong())
+        && Objects.equals(a.getXunKong(), b.getXunKong())
+        && Objects.equals(a.getDayMasterCharacteristics(), b.getDayMasterCharacteristics());
+  }
 }
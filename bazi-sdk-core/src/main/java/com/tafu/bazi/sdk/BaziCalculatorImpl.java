@@ -1,17 +1,31 @@
 package com.tafu.bazi.sdk;
 
 import com.nlf.calendar.EightChar;
+import com.nlf.calendar.JieQi;
 import com.nlf.calendar.Lunar;
 import com.nlf.calendar.Solar;
 import com.nlf.calendar.eightchar.DaYun;
-import com.nlf.calendar.eightchar.LiuNian;
 import com.nlf.calendar.eightchar.Yun;
+import com.nlf.calendar.util.LunarUtil;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.BaziResponseAssembler;
+import com.tafu.bazi.sdk.chart.ChartAnalyzer;
+import com.tafu.bazi.sdk.chart.ChartTables;
+import com.tafu.bazi.sdk.chart.CompiledScoringModel;
+import com.tafu.bazi.sdk.chart.PatternExplanation;
+import com.tafu.bazi.sdk.chart.PatternRuleSet;
+import com.tafu.bazi.sdk.chart.ScoringModelRegistry;
+import com.tafu.bazi.sdk.chart.StrengthModel;
 import com.tafu.bazi.sdk.model.*;
+import com.tafu.bazi.sdk.utils.LunarCalendar;
 import com.tafu.bazi.sdk.utils.LunarUtils;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.reflect.Method;
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 /**
  * 八字计算器实现类
@@ -34,32 +48,133 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BaziCalculatorImpl implements BaziCalculator {
 
+    /** 年、月、日、时神煞方法, 类加载时解析一次 (不存在的为 null) */
+    private static final Method[] SHEN_SHA_METHODS = {
+        findShenShaMethod("getYearShenSha"),
+        findShenShaMethod("getMonthShenSha"),
+        findShenShaMethod("getDayShenSha"),
+        findShenShaMethod("getTimeShenSha")
+    };
+
+    /** 神煞对象的 getName() 方法, 按类缓存 */
+    private static final ClassValue<Optional<Method>> NAME_METHODS = new ClassValue<>() {
+        @Override
+        protected Optional<Method> computeValue(Class<?> type) {
+            try {
+                return Optional.of(type.getMethod("getName"));
+            } catch (NoSuchMethodException e) {
+                return Optional.empty();
+            }
+        }
+    };
+
+    private final BaziResponseAssembler assembler = new BaziResponseAssembler();
+
+    private final ScoringModelRegistry scoringModels;
+
+    /** 格局规则, 每次计算时取一次 (支持热更新) */
+    private final Supplier<PatternRuleSet> patternRules;
+
+    public BaziCalculatorImpl() {
+        this(ScoringModelRegistry.defaults());
+    }
+
+    /**
+     * @param strengthModel 默认使用的内置强弱模型
+     */
+    public BaziCalculatorImpl(StrengthModel strengthModel) {
+        if (strengthModel == null) {
+            throw new IllegalArgumentException("Strength model cannot be null");
+        }
+        this.scoringModels = ScoringModelRegistry.of(Map.of(), strengthModel.getCode());
+        this.patternRules = PatternRuleSet::builtIn;
+    }
+
+    /**
+     * @param scoringModels 可按请求选择的命名计分模型
+     */
+    public BaziCalculatorImpl(ScoringModelRegistry scoringModels) {
+        this(scoringModels, PatternRuleSet::builtIn);
+    }
+
+    /**
+     * @param scoringModels 可按请求选择的命名计分模型
+     * @param patternRules 格局规则
+     */
+    public BaziCalculatorImpl(ScoringModelRegistry scoringModels, PatternRuleSet patternRules) {
+        this(scoringModels, constant(patternRules));
+    }
+
+    /**
+     * @param scoringModels 可按请求选择的命名计分模型
+     * @param patternRules 格局规则来源, 每次计算时调用一次, 可随时返回新的规则集 (热更新)
+     */
+    public BaziCalculatorImpl(ScoringModelRegistry scoringModels, Supplier<PatternRuleSet> patternRules) {
+        if (scoringModels == null) {
+            throw new IllegalArgumentException("Scoring models cannot be null");
+        }
+        if (patternRules == null) {
+            throw new IllegalArgumentException("Pattern rules cannot be null");
+        }
+        this.scoringModels = scoringModels;
+        this.patternRules = patternRules;
+    }
+
+    /**
+     * 默认计分模型的得地计分方式
+     */
+    public StrengthModel getStrengthModel() {
+        return scoringModels.getDefaultModel().getStrengthModel();
+    }
+
+    /**
+     * 可按请求选择的命名计分模型
+     */
+    public ScoringModelRegistry getScoringModels() {
+        return scoringModels;
+    }
+
+    /**
+     * 当前生效的格局规则
+     */
+    public PatternRuleSet getPatternRules() {
+        return patternRules.get();
+    }
+
     @Override
     public BaziResponse calculate(BaziRequest request) {
+        return assembler.assemble(calculateChart(request));
+    }
+
+    /**
+     * 计算紧凑命盘 (不构建 DTO)
+     *
+     * <p>{@link #calculate(BaziRequest)} 的结果即由本方法的返回值组装而成,
+     * 需要直接序列化或批量处理时可跳过 DTO 构建
+     *
+     * @param request 八字计算请求
+     * @return 紧凑命盘
+     */
+    public BaziChart calculateChart(BaziRequest request) {
         // 参数校验
         validateRequest(request);
+        CompiledScoringModel scoringModel = scoringModels.resolve(request.getScoringModel());
         
         Solar solar;
         
         // 1. 处理输入日期 & 真太阳时
         if ("lunar".equals(request.getCalendarType())) {
-            // 农历输入
-            Lunar lunar = LunarUtils.createLunar(
-                request.getYear(),
-                request.getMonth(),
-                request.getDay(),
-                request.getHour(),
-                request.getMinute(),
-                Boolean.TRUE.equals(request.getIsLeapMonth())
-            );
-            Solar tempSolar = lunar.getSolar();
+            // 农历输入 (查表换算, 负数月份表示闰月)
+            int lunarMonth = Boolean.TRUE.equals(request.getIsLeapMonth())
+                ? -Math.abs(request.getMonth()) : request.getMonth();
+            LocalDate tempSolar = LunarCalendar.toSolar(request.getYear(), lunarMonth, request.getDay());
             
             // 如果提供了经度,进行真太阳时修正
             if (request.getLongitude() != null) {
                 solar = LunarUtils.getTrueSolarTime(
                     tempSolar.getYear(),
-                    tempSolar.getMonth(),
-                    tempSolar.getDay(),
+                    tempSolar.getMonthValue(),
+                    tempSolar.getDayOfMonth(),
                     request.getHour(),
                     request.getMinute(),
                     request.getLongitude()
@@ -67,8 +182,8 @@ public class BaziCalculatorImpl implements BaziCalculator {
             } else {
                 solar = LunarUtils.createSolar(
                     tempSolar.getYear(),
-                    tempSolar.getMonth(),
-                    tempSolar.getDay(),
+                    tempSolar.getMonthValue(),
+                    tempSolar.getDayOfMonth(),
                     request.getHour(),
                     request.getMinute()
                 );
@@ -100,834 +215,420 @@ public class BaziCalculatorImpl implements BaziCalculator {
         EightChar eightChar = lunar.getEightChar();
         eightChar.setSect(1); // 晚子时日柱算明天
         
-        String dayMasterGan = eightChar.getDayGan();
-        
-        // 3. 构建四柱
-        FourPillarsDTO fourPillars = buildFourPillars(eightChar, dayMasterGan);
-        
-        // 4. 核心分析
-        DayMasterDTO dayMaster = calculateDayMaster(fourPillars, dayMasterGan);
-        FiveElementsDTO fiveElements = calculateFiveElements(fourPillars, dayMaster);
-        TenGodsDTO tenGods = calculateTenGods(fourPillars, dayMasterGan);
-        PatternDTO pattern = calculatePattern(fourPillars, dayMaster, fiveElements);
-        List<String> dayMasterCharacteristics = getDayMasterCharacteristics(dayMasterGan);
-        
-        // 5. 大运流年
+        // 3. 四柱下标 & 核心分析
+        int[] stems = {
+            BaziDef.getTianGanIndex(eightChar.getYearGan()),
+            BaziDef.getTianGanIndex(eightChar.getMonthGan()),
+            BaziDef.getTianGanIndex(eightChar.getDayGan()),
+            BaziDef.getTianGanIndex(eightChar.getTimeGan())
+        };
+        int[] branches = {
+            BaziDef.getDiZhiIndex(eightChar.getYearZhi()),
+            BaziDef.getDiZhiIndex(eightChar.getMonthZhi()),
+            BaziDef.getDiZhiIndex(eightChar.getDayZhi()),
+            BaziDef.getDiZhiIndex(eightChar.getTimeZhi())
+        };
+        BaziChart.BaziChartBuilder chart = BaziChart.builder();
+        ChartAnalyzer.analyze(stems, branches, scoringModel, patternRules.get(), chart);
+        
+        // 4. 大运 (流年由组装时推导)
         Yun yunObj = eightChar.getYun("male".equals(request.getGender()) ? 1 : 0);
-        YunInfoDTO yunInfo = calculateYun(yunObj, lunar);
-        
-        // 6. 神煞
-        ShenShaDTO shenSha = calculateShenSha(lunar);
-        
-        // 7. 其他信息
-        String shengXiao = LunarUtils.getShengXiao(eightChar.getYearZhi());
-        String taiYuan = eightChar.getTaiYuan();
-        String mingGong = eightChar.getMingGong();
-        String shenGong = eightChar.getShenGong();
-        String xunKong = eightChar.getDayXunKong();
+        calculateYun(yunObj, chart);
         
-        // 8. 构建真太阳时信息
-        TrueSolarTimeDTO trueSolarTime = null;
+        // 5. 真太阳时信息
         if (request.getLongitude() != null) {
-            trueSolarTime = TrueSolarTimeDTO.builder()
-                .year(solar.getYear())
-                .month(solar.getMonth())
-                .day(solar.getDay())
-                .hour(solar.getHour())
-                .minute(solar.getMinute())
-                .build();
+            chart.trueSolarTime(new int[]{
+                solar.getYear(), solar.getMonth(), solar.getDay(), solar.getHour(), solar.getMinute()
+            });
         }
         
-        // 9. 构建返回结果
-        return BaziResponse.builder()
-            .gender(request.getGender())
+        return chart
+            .male("male".equals(request.getGender()))
             .solarDate(solar.toYmdHms())
             .lunarDate(lunar.toString())
-            .trueSolarTime(trueSolarTime)
-            .fourPillars(fourPillars)
-            .dayMaster(dayMaster)
-            .fiveElements(fiveElements)
-            .tenGods(tenGods)
-            .pattern(pattern)
-            .yun(yunInfo)
-            .shenSha(shenSha)
-            .shengXiao(shengXiao)
-            .taiYuan(taiYuan)
-            .mingGong(mingGong)
-            .shenGong(shenGong)
-            .xunKong(xunKong)
-            .dayMasterCharacteristics(dayMasterCharacteristics)
+            .shenSha(calculateShenSha(lunar))
+            .taiYuan(ChartTables.jiaZiIndex(eightChar.getTaiYuan()))
+            .mingGong(ChartTables.jiaZiIndex(eightChar.getMingGong()))
+            .shenGong(ChartTables.jiaZiIndex(eightChar.getShenGong()))
             .build();
     }
 
-    @Override
-    public int getLeapMonth(int lunarYear) {
-        return LunarUtils.getLeapMonth(lunarYear);
-    }
-
-    // ==================== 私有方法 ====================
-
     /**
-     * 参数校验
+     * 未知时辰模式, 同一日期的历法换算只做一次
+     *
+     * <p>出生日期的农历、年月日柱与前后节令由 lunar-java 计算一次 (当天有节令交接时, 交接后的第一分钟再算一次,
+     * 交接不在整点时该时辰在这一分钟拆为两项);
+     * 各整点的日柱、时柱按晚子时规则与五鼠遁推导, 起运按 lunar-java 流派 1 的算法由节令时刻推算,
+     * 胎元、命宫、身宫按 lunar-java 的公式推导; 日干与大运相同的时辰共享大运流年对象。
+     * 结果与接口默认实现 (逐个整点及交接分钟调用 {@link #calculate(BaziRequest)}) 一致。
+     * 提供经度 (真太阳时修正)、公历日期非法或 lunar-java 提供神煞时逐个整点计算
      */
-    private void validateRequest(BaziRequest request) {
+    @Override
+    public List<HourChartDTO> calculateAllHours(BaziRequest request) {
         if (request == null) {
             throw new IllegalArgumentException("Request cannot be null");
         }
-        if (request.getYear() == null || request.getYear() < 1901 || request.getYear() > 2100) {
-            throw new IllegalArgumentException("Year must be between 1901 and 2100");
-        }
-        if (request.getMonth() == null || Math.abs(request.getMonth()) < 1 || Math.abs(request.getMonth()) > 12) {
-            throw new IllegalArgumentException("Month must be between 1 and 12 (or -1 to -12 for leap month)");
-        }
-        if (request.getDay() == null || request.getDay() < 1 || request.getDay() > 31) {
-            throw new IllegalArgumentException("Day must be between 1 and 31");
-        }
-        if (request.getHour() == null || request.getHour() < 0 || request.getHour() > 23) {
-            throw new IllegalArgumentException("Hour must be between 0 and 23");
-        }
-        if (request.getMinute() == null || request.getMinute() < 0 || request.getMinute() > 59) {
-            throw new IllegalArgumentException("Minute must be between 0 and 59");
-        }
-        if (request.getCalendarType() == null || 
-            (!request.getCalendarType().equals("solar") && !request.getCalendarType().equals("lunar"))) {
-            throw new IllegalArgumentException("CalendarType must be 'solar' or 'lunar'");
-        }
-        if (request.getGender() == null || 
-            (!request.getGender().equals("male") && !request.getGender().equals("female"))) {
-            throw new IllegalArgumentException("Gender must be 'male' or 'female'");
-        }
-        if (request.getLongitude() != null && 
-            (request.getLongitude() < -180.0 || request.getLongitude() > 180.0)) {
-            throw new IllegalArgumentException("Longitude must be between -180 and 180");
+        BaziRequest midnight = request.toBuilder().hour(0).minute(0).build();
+        validateRequest(midnight);
+        CompiledScoringModel scoringModel = scoringModels.resolve(request.getScoringModel());
+
+        LocalDate date;
+        if ("lunar".equals(request.getCalendarType())) {
+            int lunarMonth = Boolean.TRUE.equals(request.getIsLeapMonth())
+                ? -Math.abs(request.getMonth()) : request.getMonth();
+            date = LunarCalendar.toSolar(request.getYear(), lunarMonth, request.getDay());
+        } else {
+            try {
+                date = LocalDate.of(request.getYear(), request.getMonth(), request.getDay());
+            } catch (DateTimeException e) {
+                date = null;
+            }
         }
-        if (request.getLatitude() != null && 
-            (request.getLatitude() < -90.0 || request.getLatitude() > 90.0)) {
-            throw new IllegalArgumentException("Latitude must be between -90 and 90");
+        if (date == null || request.getLongitude() != null
+            || Arrays.stream(SHEN_SHA_METHODS).anyMatch(Objects::nonNull)) {
+            return BaziCalculator.super.calculateAllHours(request);
         }
+        return calculateDay(date, "male".equals(request.getGender()), scoringModel, patternRules.get());
     }
 
     /**
-     * 构建四柱
+     * 按另一命名计分模型重新分析已有命盘 (不重做历法换算与大运计算)
+     *
+     * @param chart 命盘
+     * @param scoringModel 模型名称, 为 null 时使用默认模型
+     * @return 新命盘
+     * @throws IllegalArgumentException 命盘为 null 或模型未注册时抛出
      */
-    private FourPillarsDTO buildFourPillars(EightChar eightChar, String dayMasterGan) {
-        return FourPillarsDTO.builder()
-            .year(buildPillar(eightChar.getYearGan(), eightChar.getYearZhi(), 
-                eightChar.getYearNaYin(), dayMasterGan))
-            .month(buildPillar(eightChar.getMonthGan(), eightChar.getMonthZhi(), 
-                eightChar.getMonthNaYin(), dayMasterGan))
-            .day(buildPillar(eightChar.getDayGan(), eightChar.getDayZhi(), 
-                eightChar.getDayNaYin(), dayMasterGan))
-            .hour(buildPillar(eightChar.getTimeGan(), eightChar.getTimeZhi(), 
-                eightChar.getTimeNaYin(), dayMasterGan))
-            .build();
+    public BaziChart rescore(BaziChart chart, String scoringModel) {
+        if (chart == null) {
+            throw new IllegalArgumentException("Chart cannot be null");
+        }
+        return ChartAnalyzer.rescore(chart, scoringModels.resolve(scoringModel), patternRules.get());
     }
 
     /**
-     * 构建单柱
+     * 解释格局判定过程: 按优先级依次尝试的规则及第一个不满足的条件
+     *
+     * @param request 八字计算请求
+     * @return 格局判定过程
      */
-    private PillarDTO buildPillar(String gan, String zhi, String naYin, String dayMasterGan) {
-        // 构建天干
-        HeavenlyStemDTO heavenlyStem = HeavenlyStemDTO.builder()
-            .chinese(gan)
-            .element(BaziDef.TIAN_GAN_ELEMENT.get(gan))
-            .yinYang(BaziDef.TIAN_GAN_YIN_YANG.get(gan))
-            .build();
-        
-        // 构建地支
-        EarthlyBranchDTO earthlyBranch = EarthlyBranchDTO.builder()
-            .chinese(zhi)
-            .element(BaziDef.DI_ZHI_ELEMENT.get(zhi))
-            .build();
-        
-        // 构建藏干列表
-        List<String> hiddenStemsStr = LunarUtils.getHiddenStems(zhi);
-        List<HiddenStemDTO> hiddenStems = hiddenStemsStr.stream()
-            .map(stem -> HiddenStemDTO.builder()
-                .chinese(stem)
-                .element(BaziDef.TIAN_GAN_ELEMENT.get(stem))
-                .yinYang(BaziDef.TIAN_GAN_YIN_YANG.get(stem))
-                .tenGod(getTenGod(dayMasterGan, stem))
-                .build())
-            .collect(Collectors.toList());
-        
-        // 计算空亡
-        String xunKong = LunarUtils.calculateXunKong(gan + zhi);
-        
-        // 计算十神
-        String tenGod = getTenGod(dayMasterGan, gan);
-        
-        return PillarDTO.builder()
-            .heavenlyStem(heavenlyStem)
-            .earthlyBranch(earthlyBranch)
-            .naYin(naYin)
-            .hiddenStems(hiddenStems)
-            .xunKong(xunKong)
-            .tenGod(tenGod)
-            .build();
+    public PatternExplanation explainPattern(BaziRequest request) {
+        BaziChart chart = calculateChart(request);
+        return patternRules.get().explain(chart, scoringModels.resolve(request.getScoringModel()));
     }
 
     /**
-     * 计算十神
-     * 
-     * @param dayMasterGan 日主天干
-     * @param targetGan 目标天干
-     * @return 十神名称
-     */
-    /**
-     * 获取十神 (旧版本 - 使用静态表查询)
-     * @deprecated 建议使用基于StemInfo的动态计算版本
+     * 校验请求, 规则与 {@link #calculate(BaziRequest)} 相同
+     *
+     * @param request 八字计算请求
+     * @throws IllegalArgumentException 参数校验失败时抛出
      */
-    @Deprecated
-    private String getTenGod(String dayMasterGan, String targetGan) {
-        Map<String, String> tenGodMap = BaziDef.TEN_GODS_MAP.get(dayMasterGan);
-        return tenGodMap != null ? tenGodMap.get(targetGan) : null;
+    public void validate(BaziRequest request) {
+        validateRequest(request);
     }
-    
-    /**
-     * 获取十神 (新版本 - 动态计算)
-     * 基于五行和阴阳关系动态计算十神
-     */
-    private String getTenGod(BaziDef.StemInfo dayStem, BaziDef.StemInfo otherStem) {
-        BaziDef.FiveElement dayEl = dayStem.getElement();
-        BaziDef.YinYang dayYY = dayStem.getYinYang();
-        BaziDef.FiveElement otherEl = otherStem.getElement();
-        BaziDef.YinYang otherYY = otherStem.getYinYang();
-        
-        boolean sameYinYang = dayYY == otherYY;
-        
-        if (dayEl == otherEl) return sameYinYang ? "比肩" : "劫财";
-        if (generatesElement(dayEl, otherEl)) return sameYinYang ? "食神" : "伤官";
-        if (restrictsElement(dayEl, otherEl)) return sameYinYang ? "偏财" : "正财";
-        if (restrictsElement(otherEl, dayEl)) return sameYinYang ? "七杀" : "正官";
-        if (generatesElement(otherEl, dayEl)) return sameYinYang ? "偏印" : "正印";
-        
-        return null;
+
+    @Override
+    public int getLeapMonth(int lunarYear) {
+        return LunarUtils.getLeapMonth(lunarYear);
     }
 
+    // ==================== 私有方法 ====================
+
     /**
-     * 计算日主强弱
+     * 一天内各整点 (及节令交接后第一分钟) 的命盘, 相邻时刻相同时合并
      */
-    private DayMasterDTO calculateDayMaster(FourPillarsDTO fourPillars, String dayMasterGan) {
-        String dayGan = fourPillars.getDay().getHeavenlyStem().getChinese();
-        String monthZhi = fourPillars.getMonth().getEarthlyBranch().getChinese();
-        
-        String dayElement = BaziDef.TIAN_GAN_ELEMENT.get(dayGan);
-        String monthElement = BaziDef.DI_ZHI_ELEMENT.get(monthZhi);
-        
-        // 1. 得令 (月令支持)
-        double deLing = 0;
-        String deLingDesc = "";
-        
-        if (dayElement.equals(monthElement)) {
-            deLing = 40;
-            deLingDesc = "日主当令";
-        } else if (monthElement.equals(BaziDef.ELEMENT_GENERATE.get(dayElement))) {
-            deLing = 30;
-            deLingDesc = "月令生扶";
-        } else if (dayElement.equals(BaziDef.ELEMENT_GENERATE.get(monthElement))) {
-            deLing = -10;
-            deLingDesc = "月令泄气";
-        } else if (dayElement.equals(BaziDef.ELEMENT_CONQUER.get(monthElement))) {
-            deLing = -20;
-            deLingDesc = "月令克制";
-        } else {
-            deLing = -5;
-            deLingDesc = "日主耗气";
-        }
-        
-        // 2. 得地 (地支藏干中有根)
-        double deDi = 0;
-        List<String> roots = new ArrayList<>();
-        PillarDTO[] pillars = {fourPillars.getYear(), fourPillars.getMonth(), 
-                               fourPillars.getDay(), fourPillars.getHour()};
-        String[] pillarNames = {"年支", "月支", "日支", "时支"};
-        
-        for (int i = 0; i < pillars.length; i++) {
-            String zhi = pillars[i].getEarthlyBranch().getChinese();
-            List<HiddenStemDTO> hiddenStems = pillars[i].getHiddenStems();
-            
-            for (int j = 0; j < hiddenStems.size(); j++) {
-                HiddenStemDTO stem = hiddenStems.get(j);
-                double weight = LunarUtils.getHiddenStemWeight(zhi, stem.getChinese());
-                
-                if (dayElement.equals(stem.getElement())) {
-                    deDi += weight * 15;  // 修改: 从1.5改为15
-                    roots.add(pillarNames[i] + "藏" + stem.getChinese());
-                } else if (stem.getElement().equals(BaziDef.ELEMENT_GENERATE.get(dayElement))) {
-                    deDi += weight * 10;  // 修改: 从1.0改为10
-                    roots.add(pillarNames[i] + "藏" + stem.getChinese() + "(印)");
-                }
+    private List<HourChartDTO> calculateDay(LocalDate date, boolean male, CompiledScoringModel scoringModel,
+                                            PatternRuleSet rules) {
+        Lunar first = LunarUtils.createSolar(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), 0, 0)
+            .getLunar();
+        int jieMinute = jieMinute(first, date);
+        Lunar afterJie = jieMinute < 0 ? null : at(date, jieMinute / 60, jieMinute % 60);
+        int dayJiaZi = ChartTables.jiaZiIndex(eightChar(first).getDay());
+        String lunarDate = first.toString();
+
+        // 起盘时刻 (当天分钟): 各整点, 交接不在整点时加上交接后的第一分钟
+        boolean splitHour = jieMinute % 60 > 0;
+        int[] minutes = new int[splitHour ? 25 : 24];
+        for (int hour = 0, i = 0; hour < 24; hour++) {
+            minutes[i++] = hour * 60;
+            if (splitHour && jieMinute / 60 == hour) {
+                minutes[i++] = jieMinute;
             }
         }
-        deDi = Math.min(deDi, 30); // 最多30分
-        
-        String deDiDesc = roots.isEmpty() ? "无根" : String.join("、", roots);
-        
-        // 3. 天干帮扶
-        double tianGanHelp = 0;
-        List<String> helpers = new ArrayList<>();
-        PillarDTO[] stemPillars = {fourPillars.getYear(), fourPillars.getMonth(), fourPillars.getHour()};
-        String[] stemNames = {"年干", "月干", "时干"};
-        
-        for (int i = 0; i < stemPillars.length; i++) {
-            String stemChar = stemPillars[i].getHeavenlyStem().getChinese();
-            String stemElement = stemPillars[i].getHeavenlyStem().getElement();
-            
-            if (dayElement.equals(stemElement)) {
-                tianGanHelp += 8;
-                helpers.add(stemNames[i] + stemChar + "比劫");
-            } else if (stemElement.equals(BaziDef.ELEMENT_GENERATE.get(dayElement))) {
-                tianGanHelp += 6;
-                helpers.add(stemNames[i] + stemChar + "印星");
-            } else if (dayElement.equals(BaziDef.ELEMENT_CONQUER.get(stemElement))) {
-                tianGanHelp -= 5;
-                helpers.add(stemNames[i] + stemChar + "官杀");
-            } else if (stemElement.equals(BaziDef.ELEMENT_GENERATE.get(dayElement))) {
-                tianGanHelp -= 3;
-                helpers.add(stemNames[i] + stemChar + "食伤");
+
+        List<BaziChart> charts = new ArrayList<>(14);
+        List<int[]> hours = new ArrayList<>(14);
+        long previous = -1;
+        for (int minuteOfDay : minutes) {
+            int hour = minuteOfDay / 60;
+            // 交接之前与 0 点的年柱、月柱及前后节令相同, 之后与交接后第一分钟相同
+            Lunar lunar = jieMinute >= 0 && minuteOfDay >= jieMinute ? afterJie : first;
+            EightChar eightChar = eightChar(lunar);
+            int year = ChartTables.jiaZiIndex(eightChar.getYear());
+            int month = ChartTables.jiaZiIndex(eightChar.getMonth());
+            int day = hour == 23 ? (dayJiaZi + 1) % 60 : dayJiaZi; // 晚子时日柱算明天
+            int hourBranch = (hour + 1) / 2 % 12;
+            int time = ChartTables.hourJiaZi(day, hourBranch);
+
+            Solar current = LunarUtils.createSolar(date.getYear(), date.getMonthValue(), date.getDayOfMonth(),
+                hour, minuteOfDay % 60);
+            boolean forward = (lunar.getYearGanIndexExact() % 2 == 0) == male;
+            int yearOffset = forward
+                ? yunYearOffset(current, current, lunar.getNextJie().getSolar())
+                : yunYearOffset(current, lunar.getPrevJie().getSolar(), current);
+
+            long key = ((((long) year * 60 + month) * 60 + day) * 60 + time) * 512 + yearOffset * 2 + (forward ? 1 : 0);
+            if (key == previous) {
+                hours.get(hours.size() - 1)[1] = hour;
+                continue;
             }
+            previous = key;
+            hours.add(new int[]{hour, hour, minuteOfDay % 60});
+
+            int[] stems = {year % 10, month % 10, day % 10, time % 10};
+            int[] branches = {year % 12, month % 12, day % 12, hourBranch};
+            BaziChart.BaziChartBuilder chart = BaziChart.builder();
+            ChartAnalyzer.analyze(stems, branches, scoringModel, rules, chart);
+            List<BaziChart.DaYunStep> daYun = BaziChart.daYunSteps(date.getYear(), month, yearOffset, forward);
+            charts.add(chart
+                .yunStartAge(daYun.get(0).startAge())
+                .yunForward(true) // 与 calculateYun 一致
+                .daYun(daYun)
+                .male(male)
+                .solarDate(current.toYmdHms())
+                .lunarDate(lunarDate)
+                .shenSha(calculateShenSha(lunar))
+                .taiYuan(ChartTables.jiaZiIndex((month % 10 + 1) % 10, (month % 12 + 3) % 12))
+                .mingGong(palace(month, hourBranch, true))
+                .shenGong(palace(month, hourBranch, false))
+                .build());
         }
-        tianGanHelp = Math.max(Math.min(tianGanHelp, 20), -20); // 限制在 -20 ~ 20
-        
-        String tianGanHelpDesc = helpers.isEmpty() ? "无帮扶" : String.join("、", helpers);
-        
-        // 4. 计算总分
-        double totalScore = deLing + deDi + tianGanHelp;
-        
-        // 5. 判断强弱 (修改阈值: 从60/40改为50/25)
-        String strength;
-        if (totalScore >= 50) {
-            strength = "strong";
-        } else if (totalScore <= 25) {
-            strength = "weak";
-        } else {
-            strength = "balanced";
+
+        List<BaziResponse> responses = assembler.assembleAll(charts);
+        List<HourChartDTO> result = new ArrayList<>(charts.size());
+        for (int i = 0; i < charts.size(); i++) {
+            BaziChart chart = charts.get(i);
+            result.add(HourChartDTO.builder()
+                .startHour(hours.get(i)[0])
+                .startMinute(hours.get(i)[2])
+                .endHour(hours.get(i)[1])
+                .hourPillar(ChartTables.JIA_ZI[ChartTables.jiaZiIndex(chart.getStems()[3], chart.getBranches()[3])])
+                .response(responses.get(i))
+                .build());
         }
-        
-        // 6. 构建分析对象
-        DayMasterAnalysisDTO analysis = DayMasterAnalysisDTO.builder()
-            .deLing(deLing)
-            .deLingDesc(deLingDesc)
-            .deDi(deDi)
-            .deDiDesc(deDiDesc)
-            .tianGanHelp(tianGanHelp)
-            .tianGanHelpDesc(tianGanHelpDesc)
-            .totalScore(totalScore)
-            .build();
-        
-        return DayMasterDTO.builder()
-            .gan(dayGan)
-            .strength(strength)
-            .analysis(analysis)
-            .build();
+        return result;
+    }
+
+    private static Lunar at(LocalDate date, int hour, int minute) {
+        return LunarUtils.createSolar(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), hour, minute)
+            .getLunar();
+    }
+
+    private static EightChar eightChar(Lunar lunar) {
+        EightChar eightChar = lunar.getEightChar();
+        eightChar.setSect(1);
+        return eightChar;
     }
 
     /**
-     * 计算五行分布
+     * 当天节令交接后的第一分钟 (当天分钟数, lunar-java 按秒比较, 整分钟时刻不早于交接时刻即算下一个月);
+     * 当天无节令交接、交接在 0 点整或最后一分钟之内 (整天月柱不变) 时为 -1
      */
-    private FiveElementsDTO calculateFiveElements(FourPillarsDTO fourPillars, DayMasterDTO dayMaster) {
-        Map<String, Double> distribution = new HashMap<>();
-        Map<String, Integer> counts = new HashMap<>();
-        
-        // 初始化
-        for (String element : List.of("wood", "fire", "earth", "metal", "water")) {
-            distribution.put(element, 0.0);
-            counts.put(element, 0);
-        }
-        
-        // 获取月令五行和五行状态
-        String monthZhi = fourPillars.getMonth().getEarthlyBranch().getChinese();
-        BaziDef.FiveElement monthElement = BaziDef.MONTH_BRANCH_ELEMENT.get(monthZhi);
-        Map<String, String> elementStates = getElementStates(monthElement);
-        
-        // 统计天干 (权重 1.0 * stateWeight)
-        PillarDTO[] pillars = {fourPillars.getYear(), fourPillars.getMonth(), 
-                               fourPillars.getDay(), fourPillars.getHour()};
-        for (PillarDTO pillar : pillars) {
-            String gan = pillar.getHeavenlyStem().getChinese();
-            BaziDef.StemInfo info = BaziDef.STEMS_INFO.get(gan);
-            if (info != null) {
-                BaziDef.FiveElement e = info.getElement();
-                String state = elementStates.getOrDefault(e.getCode(), "si");
-                double stateWeight = BaziDef.STATE_WEIGHTS.getOrDefault(state, 0.5);
-                distribution.merge(e.getCode(), 1.0 * stateWeight, Double::sum);
-                counts.merge(e.getCode(), 1, Integer::sum);
+    private static int jieMinute(Lunar lunar, LocalDate date) {
+        for (JieQi jie : new JieQi[]{lunar.getPrevJie(), lunar.getNextJie()}) {
+            Solar solar = jie.getSolar();
+            if (solar.getYear() == date.getYear() && solar.getMonth() == date.getMonthValue()
+                && solar.getDay() == date.getDayOfMonth()) {
+                int minute = solar.getHour() * 60 + solar.getMinute() + (solar.getSecond() > 0 ? 1 : 0);
+                return minute > 0 && minute < 24 * 60 ? minute : -1;
             }
         }
-        
-        // 统计藏干 (权重 weight * stateWeight)
-        for (PillarDTO pillar : pillars) {
-            String zhi = pillar.getEarthlyBranch().getChinese();
-            List<HiddenStemDTO> hiddenStems = pillar.getHiddenStems();
-            List<Double> weights = BaziDef.HIDDEN_STEM_WEIGHTS.getOrDefault(zhi, Collections.emptyList());
-            
-            for (int i = 0; i < hiddenStems.size(); i++) {
-                HiddenStemDTO stem = hiddenStems.get(i);
-                BaziDef.StemInfo info = BaziDef.STEMS_INFO.get(stem.getChinese());
-                if (info == null) continue;
-                
-                double weight = (i < weights.size()) ? weights.get(i) : 0.2;
-                String state = elementStates.getOrDefault(info.getElement().getCode(), "si");
-                double stateWeight = BaziDef.STATE_WEIGHTS.getOrDefault(state, 0.5);
-                
-                distribution.merge(info.getElement().getCode(), weight * stateWeight, Double::sum);
-                
-                // 只统计本气 (第一个)
-                if (i == 0) {
-                    counts.merge(info.getElement().getCode(), 1, Integer::sum);
-                }
-            }
-        }
-        
-        // 找最旺和最弱
-        String strongest = distribution.entrySet().stream()
-            .max(Map.Entry.comparingByValue())
-            .map(Map.Entry::getKey)
-            .orElse(null);
-        
-        String weakest = distribution.entrySet().stream()
-            .filter(e -> e.getValue() > 0)
-            .min(Map.Entry.comparingByValue())
-            .map(Map.Entry::getKey)
-            .orElse(null);
-        
-        // 计算喜用和忌讳五行
-        List<String> favorable = new ArrayList<>();
-        List<String> unfavorable = new ArrayList<>();
-        
-        BaziDef.StemInfo dayInfo = BaziDef.STEMS_INFO.get(dayMaster.getGan());
-        String dayElement = dayInfo.getElement().getCode();
-        if ("weak".equals(dayMaster.getStrength())) {
-            // 日主弱,喜生扶
-            favorable.add(dayElement); // 比劫
-            BaziDef.FiveElement generatedBy = BaziDef.FIVE_ELEMENTS_GENERATED_BY.get(dayInfo.getElement());
-            if (generatedBy != null) {
-                favorable.add(generatedBy.getCode()); // 印星
-            }
-            BaziDef.FiveElement restricted = BaziDef.FIVE_ELEMENTS_RESTRICTION.get(dayInfo.getElement());
-            if (restricted != null) {
-                unfavorable.add(restricted.getCode()); // 财星
-            }
-        } else if ("strong".equals(dayMaster.getStrength())) {
-            // 日主强,喜克泄
-            unfavorable.add(dayElement); // 比劫
-            BaziDef.FiveElement generatedBy = BaziDef.FIVE_ELEMENTS_GENERATED_BY.get(dayInfo.getElement());
-            if (generatedBy != null) {
-                unfavorable.add(generatedBy.getCode()); // 印星
-            }
-            BaziDef.FiveElement restricted = BaziDef.FIVE_ELEMENTS_RESTRICTION.get(dayInfo.getElement());
-            if (restricted != null) {
-                favorable.add(restricted.getCode()); // 财星
-            }
-        }
-        
-        return FiveElementsDTO.builder()
-            .distribution(distribution)
-            .counts(counts)
-            .strongest(strongest)
-            .weakest(weakest)
-            .favorable(favorable)
-            .unfavorable(unfavorable)
-            .elementStates(elementStates)
-            .monthElement(monthElement != null ? monthElement.getCode() : null)
-            .build();
+        return -1;
     }
-    
+
     /**
-     * 计算五行状态 (旺相休囚死)
+     * 起运公历年减出生年, 与 lunar-java {@code Yun} 流派 1 一致 (三天折一年, 一天折四个月, 一个时辰折十天)
+     *
+     * @param birth 出生时刻
+     * @param start 顺行为出生时刻, 逆行为上一个节
+     * @param end 顺行为下一个节, 逆行为出生时刻
      */
-    private Map<String, String> getElementStates(BaziDef.FiveElement monthElement) {
-        Map<String, String> states = new HashMap<>();
-        
-        if (monthElement == null) return states;
-        
-        // Wang: 月令本气
-        states.put(monthElement.getCode(), "wang");
-        
-        // Xiang: 月令生的
-        BaziDef.FiveElement generated = BaziDef.FIVE_ELEMENTS_GENERATION.get(monthElement);
-        if (generated != null) states.put(generated.getCode(), "xiang");
-        
-        // Xiu: 生月令的
-        BaziDef.FiveElement generator = BaziDef.FIVE_ELEMENTS_GENERATED_BY.get(monthElement);
-        if (generator != null) states.put(generator.getCode(), "xiu");
-        
-        // Qiu: 克月令的
-        for (Map.Entry<BaziDef.FiveElement, BaziDef.FiveElement> entry : BaziDef.FIVE_ELEMENTS_RESTRICTION.entrySet()) {
-            if (entry.getValue() == monthElement) {
-                states.put(entry.getKey().getCode(), "qiu");
-                break;
-            }
+    private static int yunYearOffset(Solar birth, Solar start, Solar end) {
+        int hourDiff = timeZhiIndex(end) - timeZhiIndex(start);
+        int dayDiff = end.subtract(start);
+        if (hourDiff < 0) {
+            hourDiff += 12;
+            dayDiff--;
         }
-        
-        // Si: 月令克的
-        BaziDef.FiveElement restricted = BaziDef.FIVE_ELEMENTS_RESTRICTION.get(monthElement);
-        if (restricted != null) states.put(restricted.getCode(), "si");
-        
-        return states;
+        int monthDiff = hourDiff * 10 / 30;
+        int months = dayDiff * 4 + monthDiff;
+        int days = hourDiff * 10 - monthDiff * 30;
+        int years = months / 12;
+        months -= years * 12;
+        return birth.nextYear(years).nextMonth(months).next(days).getYear() - birth.getYear();
+    }
+
+    private static int timeZhiIndex(Solar solar) {
+        return solar.getHour() == 23 ? 11 : LunarUtil.getTimeZhiIndex(solar.toYmdHms().substring(11, 16));
     }
 
     /**
-     * 计算十神
+     * 命宫、身宫六十甲子下标, 与 lunar-java {@code EightChar} 一致
+     *
+     * @param monthJiaZi 月柱
+     * @param hourBranch 时支
+     * @param ming true 为命宫, false 为身宫
      */
-    private TenGodsDTO calculateTenGods(FourPillarsDTO fourPillars, String dayMasterGan) {
-        Map<String, TenGodInfoDTO> gods = new HashMap<>();
-        
-        PillarDTO[] pillars = {fourPillars.getYear(), fourPillars.getMonth(), 
-                               fourPillars.getDay(), fourPillars.getHour()};
-        String[] positions = {"年干", "月干", "日干", "时干"};
-        
-        for (int i = 0; i < pillars.length; i++) {
-            String gan = pillars[i].getHeavenlyStem().getChinese();
-            String tenGod = getTenGod(dayMasterGan, gan);
-            
-            if (tenGod != null) {
-                TenGodInfoDTO info = gods.getOrDefault(tenGod, TenGodInfoDTO.builder()
-                    .name(tenGod)
-                    .count(0)
-                    .positions(new ArrayList<>())
-                    .build());
-                
-                info.setCount(info.getCount() + 1);
-                info.getPositions().add(positions[i]);
-                gods.put(tenGod, info);
-            }
+    private static int palace(int monthJiaZi, int hourBranch, boolean ming) {
+        // 寅月为 1 … 丑月为 12
+        int monthIndex = Math.floorMod(monthJiaZi % 12 - 2, 12) + 1;
+        int hourIndex = Math.floorMod(hourBranch - 2, 12) + 1;
+        int offset = ming ? 26 - (monthIndex + hourIndex) : 2 + monthIndex + hourIndex;
+        if (offset > 12) {
+            offset -= 12;
         }
-        
-        return TenGodsDTO.builder()
-            .gods(gods)
-            .build();
+        int jiaZi = monthJiaZi - (monthIndex - offset);
+        if (jiaZi >= 60) {
+            jiaZi -= 60;
+        }
+        if (jiaZi < 0) {
+            jiaZi += 60;
+        }
+        return ChartTables.jiaZiIndex(LunarUtil.JIA_ZI[jiaZi]);
+    }
+
+    private static Supplier<PatternRuleSet> constant(PatternRuleSet patternRules) {
+        if (patternRules == null) {
+            throw new IllegalArgumentException("Pattern rules cannot be null");
+        }
+        return () -> patternRules;
     }
 
     /**
-     * 计算格局
+     * 参数校验
      */
-    private PatternDTO calculatePattern(FourPillarsDTO fourPillars, DayMasterDTO dayMaster, 
-                                        FiveElementsDTO fiveElements) {
-        String dayStemName = dayMaster.getGan();
-        BaziDef.StemInfo dayStemInfo = BaziDef.STEMS_INFO.get(dayStemName);
-        BaziDef.FiveElement dayElement = dayStemInfo.getElement();
-        
-        String monthBranch = fourPillars.getMonth().getEarthlyBranch().getChinese();
-        List<HiddenStemDTO> monthHiddenStems = fourPillars.getMonth().getHiddenStems();
-        List<String> tianGan = List.of(
-            fourPillars.getYear().getHeavenlyStem().getChinese(),
-            fourPillars.getMonth().getHeavenlyStem().getChinese(),
-            fourPillars.getHour().getHeavenlyStem().getChinese()
-        );
-        
-        // Lu and Ren maps
-        Map<String, String> luMap = Map.of(
-            "甲", "寅", "乙", "卯", "丙", "巳", "丁", "午", 
-            "戊", "巳", "己", "午", "庚", "申", "辛", "酉", 
-            "壬", "亥", "癸", "子"
-        );
-        Map<String, String> renMap = Map.of(
-            "甲", "卯", "乙", "寅", "丙", "午", "丁", "巳", 
-            "戊", "午", "己", "巳", "庚", "酉", "辛", "申", 
-            "壬", "子", "癸", "亥"
-        );
-        
-        // 1. 建禄格
-        if (monthBranch.equals(luMap.get(dayStemName))) {
-            return PatternDTO.builder()
-                .name("建禄格")
-                .category("normal")
-                .description("月支为日主之禄，主身旺有根，宜见财官食伤")
-                .monthStem(monthHiddenStems.isEmpty() ? null : monthHiddenStems.get(0).getChinese())
-                .isTransparent(false)
-                .build();
+    private void validateRequest(BaziRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Request cannot be null");
         }
-        
-        // 2. 羊刃格
-        if (monthBranch.equals(renMap.get(dayStemName))) {
-            return PatternDTO.builder()
-                .name("羊刃格")
-                .category("normal")
-                .description("月支为日主之刃，主身强刚烈，宜见官杀制刃")
-                .monthStem(monthHiddenStems.isEmpty() ? null : monthHiddenStems.get(0).getChinese())
-                .isTransparent(false)
-                .build();
+        if (request.getYear() == null || request.getYear() < 1901 || request.getYear() > 2100) {
+            throw new IllegalArgumentException("Year must be between 1901 and 2100");
         }
-        
-        // 3. 特殊格局
-        double score = dayMaster.getAnalysis() != null ? dayMaster.getAnalysis().getTotalScore() : 50.0;
-        
-        // 从格 (Score < 20)
-        if (score < 20) {
-            Map<String, Double> dist = fiveElements.getDistribution();
-            // Find strongest non-day-element
-            String strongestElStr = dayElement.getCode();
-            double strongestVal = 0;
-            
-            for (BaziDef.FiveElement el : BaziDef.FiveElement.values()) {
-                if (el != dayElement && dist.getOrDefault(el.getCode(), 0.0) > strongestVal) {
-                    strongestVal = dist.get(el.getCode());
-                    strongestElStr = el.getCode();
-                }
-            }
-            
-            BaziDef.FiveElement strongestEl = BaziDef.FiveElement.fromCode(strongestElStr);
-            if (strongestEl != null) {
-                if (restrictsElement(dayElement, strongestEl)) {
-                    return PatternDTO.builder()
-                        .name("从财格")
-                        .category("special")
-                        .description("日主极弱而财星极旺，弃命从财，宜顺从财势")
-                        .build();
-                }
-                if (restrictsElement(strongestEl, dayElement)) {
-                    return PatternDTO.builder()
-                        .name("从官格")
-                        .category("special")
-                        .description("日主极弱而官杀极旺，弃命从官，宜顺从官势")
-                        .build();
-                }
-                if (generatesElement(dayElement, strongestEl)) {
-                    return PatternDTO.builder()
-                        .name("从儿格")
-                        .category("special")
-                        .description("日主极弱而食伤极旺，弃命从儿，宜顺从食伤之势")
-                        .build();
-                }
-            }
+        if (request.getMonth() == null || Math.abs(request.getMonth()) < 1 || Math.abs(request.getMonth()) > 12) {
+            throw new IllegalArgumentException("Month must be between 1 and 12 (or -1 to -12 for leap month)");
         }
-        
-        // 专旺格 (Score > 75)
-        if (score > 75) {
-            Map<BaziDef.FiveElement, String> nameMap = Map.of(
-                BaziDef.FiveElement.WOOD, "曲直格",
-                BaziDef.FiveElement.FIRE, "炎上格",
-                BaziDef.FiveElement.EARTH, "稼穑格",
-                BaziDef.FiveElement.METAL, "从革格",
-                BaziDef.FiveElement.WATER, "润下格"
-            );
-            Map<BaziDef.FiveElement, String> descMap = Map.of(
-                BaziDef.FiveElement.WOOD, "木气专旺成局，主仁慈正直，宜水木运",
-                BaziDef.FiveElement.FIRE, "火气炎上成局，主热情礼仪，宜木火运",
-                BaziDef.FiveElement.EARTH, "土气稼穑成局，主忠厚信实，宜火土运",
-                BaziDef.FiveElement.METAL, "金气从革成局，主刚毅果决，宜土金运",
-                BaziDef.FiveElement.WATER, "水气润下成局，主聪慧灵活，宜金水运"
-            );
-            
-            return PatternDTO.builder()
-                .name(nameMap.get(dayElement))
-                .category("special")
-                .description(descMap.get(dayElement))
-                .build();
+        if (request.getDay() == null || request.getDay() < 1 || request.getDay() > 31) {
+            throw new IllegalArgumentException("Day must be between 1 and 31");
         }
-        
-        // 4. 正格
-        if (!monthHiddenStems.isEmpty()) {
-            for (HiddenStemDTO hiddenStemDTO : monthHiddenStems) {
-                String hiddenStem = hiddenStemDTO.getChinese();
-                BaziDef.StemInfo hiddenStemInfo = BaziDef.STEMS_INFO.get(hiddenStem);
-                String tenGod = getTenGod(dayStemInfo, hiddenStemInfo);
-                
-                if ("比肩".equals(tenGod) || "劫财".equals(tenGod)) continue;
-                
-                boolean isTransparent = tianGan.contains(hiddenStem);
-                
-                Map<String, Map.Entry<String, String>> patternMap = Map.of(
-                    "正官", Map.entry("正官格", "月令透正官，主贵气端正，宜见财印相生"),
-                    "七杀", Map.entry("七杀格", "月令透七杀，主威严果决，宜见食伤制杀或印化杀"),
-                    "正财", Map.entry("正财格", "月令透正财，主务实勤俭，宜见官杀护财"),
-                    "偏财", Map.entry("偏财格", "月令透偏财，主豪爽大方，宜见官杀护财"),
-                    "正印", Map.entry("正印格", "月令透正印，主聪慧仁厚，宜见官杀生印"),
-                    "偏印", Map.entry("偏印格", "月令透偏印，主机敏多思，宜见财星制印"),
-                    "食神", Map.entry("食神格", "月令透食神，主温和福厚，宜见财星泄秀"),
-                    "伤官", Map.entry("伤官格", "月令透伤官，主聪明傲气，宜见财星或印星")
-                );
-                
-                if (tenGod != null && patternMap.containsKey(tenGod)) {
-                    Map.Entry<String, String> info = patternMap.get(tenGod);
-                    return PatternDTO.builder()
-                        .name(info.getKey())
-                        .category("normal")
-                        .description(info.getValue())
-                        .monthStem(hiddenStem)
-                        .monthStemTenGod(tenGod)
-                        .isTransparent(isTransparent)
-                        .build();
-                }
-            }
+        if (request.getHour() == null || request.getHour() < 0 || request.getHour() > 23) {
+            throw new IllegalArgumentException("Hour must be between 0 and 23");
+        }
+        if (request.getMinute() == null || request.getMinute() < 0 || request.getMinute() > 59) {
+            throw new IllegalArgumentException("Minute must be between 0 and 59");
+        }
+        if (request.getCalendarType() == null || 
+            (!request.getCalendarType().equals("solar") && !request.getCalendarType().equals("lunar"))) {
+            throw new IllegalArgumentException("CalendarType must be 'solar' or 'lunar'");
+        }
+        if (request.getGender() == null || 
+            (!request.getGender().equals("male") && !request.getGender().equals("female"))) {
+            throw new IllegalArgumentException("Gender must be 'male' or 'female'");
+        }
+        if (request.getLongitude() != null && 
+            (request.getLongitude() < -180.0 || request.getLongitude() > 180.0)) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180");
+        }
+        if (request.getLatitude() != null && 
+            (request.getLatitude() < -90.0 || request.getLatitude() > 90.0)) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90");
         }
-        
-        // 5. 杂格
-        return PatternDTO.builder()
-            .name("杂格")
-            .category("normal")
-            .description("月令无明显成格条件，需综合分析八字整体格局")
-            .build();
-    }
-    
-    /**
-     * 判断五行相生关系
-     */
-    private boolean generatesElement(BaziDef.FiveElement from, BaziDef.FiveElement to) {
-        return BaziDef.FIVE_ELEMENTS_GENERATION.get(from) == to;
-    }
-    
-    /**
-     * 判断五行相克关系
-     */
-    private boolean restrictsElement(BaziDef.FiveElement from, BaziDef.FiveElement to) {
-        return BaziDef.FIVE_ELEMENTS_RESTRICTION.get(from) == to;
     }
 
     /**
-     * 计算大运流年
+     * 计算大运
      */
-    private YunInfoDTO calculateYun(Yun yunObj, Lunar lunar) {
+    private void calculateYun(Yun yunObj, BaziChart.BaziChartBuilder chart) {
         // Yun 对象没有直接的 getStartAge() 方法
         // 需要从第一个大运中获取
         DaYun[] daYunArray = yunObj.getDaYun();
         int startAge = daYunArray.length > 0 ? daYunArray[0].getStartAge() : 0;
         boolean forward = true; // lunar-java 1.7.7 默认顺行
         
-        List<DaYunDTO> daYunList = new ArrayList<>();
-        
-        int birthYear = lunar.getYear();
-        
-        // lunar-java 支持的年份范围
-        final int MIN_YEAR = 1901;
-        final int MAX_YEAR = 2100;
-        
+        List<BaziChart.DaYunStep> steps = new ArrayList<>();
         for (int i = 0; i < Math.min(10, daYunArray.length); i++) {
             DaYun daYun = daYunArray[i];
-            int daYunStartAge = daYun.getStartAge();
-            int daYunEndAge = daYun.getEndAge();
-            int daYunStartYear = daYun.getStartYear();
-            int daYunEndYear = daYun.getEndYear();
-            
-            // 从 getGanZhi() 中提取干支
-            String ganZhi = daYun.getGanZhi();
-            String gan = ganZhi != null && ganZhi.length() >= 1 ? ganZhi.substring(0, 1) : "";
-            String zhi = ganZhi != null && ganZhi.length() >= 2 ? ganZhi.substring(1, 2) : "";
-            
-            // 计算流年: 为该大运内的每一年生成流年数据
-            List<LiuNianDTO> liuNianList = new ArrayList<>();
-            
-            for (int year = daYunStartYear; year <= daYunEndYear; year++) {
-                // 跳过超出支持范围的年份
-                if (year < MIN_YEAR || year > MAX_YEAR) {
-                    continue;
-                }
-                
-                int age = daYunStartAge + (year - daYunStartYear);
-                
-                // 使用 lunar-java 计算流年干支
-                // 使用7月1日(年中)来确保一定过了立春,获取该年正确的干支
-                try {
-                    Solar yearSolar = Solar.fromYmd(year, 7, 1);
-                    Lunar yearLunar = yearSolar.getLunar();
-                    String yearGanZhi = yearLunar.getYearInGanZhiExact(); // 精确年干支
-                    String yearGan = yearGanZhi != null && yearGanZhi.length() >= 1 ? yearGanZhi.substring(0, 1) : "";
-                    String yearZhi = yearGanZhi != null && yearGanZhi.length() >= 2 ? yearGanZhi.substring(1, 2) : "";
-                    
-                    liuNianList.add(LiuNianDTO.builder()
-                        .year(year)
-                        .age(age)
-                        .ganZhi(yearGanZhi)
-                        .gan(yearGan)
-                        .zhi(yearZhi)
-                        .build());
-                } catch (Exception e) {
-                    log.warn("计算流年失败 year={}: {}", year, e.getMessage());
-                }
-            }
-            
-            daYunList.add(DaYunDTO.builder()
-                .index(i)
-                .startAge(daYunStartAge)
-                .endAge(daYunEndAge)
-                .ganZhi(ganZhi)
-                .gan(gan)
-                .zhi(zhi)
-                .startYear(daYunStartYear)
-                .endYear(daYunEndYear)
-                .liuNian(liuNianList)
-                .build());
+            // 第 0 步 (起运前) 干支为空
+            steps.add(new BaziChart.DaYunStep(
+                daYun.getStartAge(),
+                daYun.getEndAge(),
+                ChartTables.jiaZiIndex(daYun.getGanZhi()),
+                daYun.getStartYear(),
+                daYun.getEndYear()
+            ));
         }
         
-        return YunInfoDTO.builder()
-            .startAge(startAge)
-            .forward(forward)
-            .daYunList(daYunList)
-            .build();
+        chart.yunStartAge(startAge)
+            .yunForward(forward)
+            .daYun(steps);
     }
 
     /**
      * 计算神煞
      * 使用反射调用 lunar-java 的神煞 API (版本兼容性更好)
      */
-    private ShenShaDTO calculateShenSha(Lunar lunar) {
-        // 使用反射安全调用神煞方法
-        List<String> yearShenSha = getShenShaByReflection(lunar, "getYearShenSha");
-        List<String> monthShenSha = getShenShaByReflection(lunar, "getMonthShenSha");
-        List<String> dayShenSha = getShenShaByReflection(lunar, "getDayShenSha");
-        List<String> hourShenSha = getShenShaByReflection(lunar, "getTimeShenSha");
-        
-        return ShenShaDTO.builder()
-            .year(yearShenSha)
-            .month(monthShenSha)
-            .day(dayShenSha)
-            .hour(hourShenSha)
-            .build();
+    private List<List<String>> calculateShenSha(Lunar lunar) {
+        // 年、月、日、时
+        List<List<String>> result = new ArrayList<>(SHEN_SHA_METHODS.length);
+        for (Method method : SHEN_SHA_METHODS) {
+            result.add(invokeShenSha(lunar, method));
+        }
+        return result;
     }
     
     /**
-     * 通过反射调用神煞方法 (兼容不同版本的 lunar-java)
+     * 调用神煞方法
      * 
      * @param lunar Lunar 对象
-     * @param methodName 方法名
+     * @param method 神煞方法, 当前 lunar-java 版本不提供时为 null
      * @return 神煞名称列表
      */
-    private List<String> getShenShaByReflection(Lunar lunar, String methodName) {
+    private List<String> invokeShenSha(Lunar lunar, Method method) {
         List<String> result = new ArrayList<>();
+        if (method == null) {
+            return result;
+        }
         try {
-            Object shenShaResult = lunar.getClass().getMethod(methodName).invoke(lunar);
-            if (shenShaResult instanceof java.util.List) {
-                java.util.List<?> shenShaList = (java.util.List<?>) shenShaResult;
-                for (Object obj : shenShaList) {
+            Object shenShaResult = method.invoke(lunar);
+            if (shenShaResult instanceof List) {
+                for (Object obj : (List<?>) shenShaResult) {
+                    Method getName = NAME_METHODS.get(obj.getClass()).orElse(null);
                     try {
-                        // 尝试调用 getName() 方法
-                        String name = (String) obj.getClass().getMethod("getName").invoke(obj);
-                        if (name != null && !name.isEmpty()) {
+                        // 优先使用 getName(), 没有则直接使用 toString()
+                        String name = getName != null ? (String) getName.invoke(obj) : obj.toString();
+                        if (getName == null || (name != null && !name.isEmpty())) {
                             result.add(name);
                         }
                     } catch (Exception e) {
-                        // 如果失败，直接使用 toString()
                         result.add(obj.toString());
                     }
                 }
             }
         } catch (Exception e) {
             // 忽略错误，返回空列表
-            log.debug("获取神煞失败 [{}]: {}", methodName, e.getMessage());
+            log.debug("获取神煞失败 [{}]: {}", method.getName(), e.getMessage());
         }
         return result;
     }
-
+    
     /**
-     * 获取日主特征描述
+     * 查找 lunar-java 的神煞方法 (兼容不同版本, 不存在时返回 null)
      */
-    private List<String> getDayMasterCharacteristics(String dayGan) {
-        // 日主特征描述表 (简化版)
-        Map<String, List<String>> characteristics = new HashMap<>() {{
-            put("甲", List.of("仁慈正直", "进取心强", "有领导才能", "性格直率"));
-            put("乙", List.of("温和体贴", "灵活变通", "艺术才华", "优柔寡断"));
-            put("丙", List.of("热情开朗", "积极向上", "富有激情", "易冲动"));
-            put("丁", List.of("细腻敏感", "思维敏捷", "重视精神", "情绪波动"));
-            put("戊", List.of("稳重踏实", "包容性强", "诚信可靠", "固执保守"));
-            put("己", List.of("细心谨慎", "善于理财", "内敛含蓄", "多虑"));
-            put("庚", List.of("刚毅果断", "执行力强", "讲究原则", "不够圆滑"));
-            put("辛", List.of("细致精巧", "品味高雅", "自尊心强", "敏感脆弱"));
-            put("壬", List.of("智慧聪明", "应变能力强", "善于交际", "缺乏恒心"));
-            put("癸", List.of("柔和内敛", "直觉敏锐", "富有同情心", "容易悲观"));
-        }};
-        
-        return characteristics.getOrDefault(dayGan, List.of("日主特征待完善"));
+    private static Method findShenShaMethod(String methodName) {
+        try {
+            return Lunar.class.getMethod(methodName);
+        } catch (NoSuchMethodException e) {
+            log.debug("当前 lunar-java 版本未提供 {}, 对应神煞为空", methodName);
+            return null;
+        }
     }
 }
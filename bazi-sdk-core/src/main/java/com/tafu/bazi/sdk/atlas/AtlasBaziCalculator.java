@@ -0,0 +1,209 @@
+package com.tafu.bazi.sdk.atlas;
+
+import com.nlf.calendar.util.LunarUtil;
+import com.tafu.bazi.sdk.BaziCalculator;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.BaziResponseAssembler;
+import com.tafu.bazi.sdk.chart.ChartAnalyzer;
+import com.tafu.bazi.sdk.chart.CompiledScoringModel;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.HourChartDTO;
+import com.tafu.bazi.sdk.utils.LunarCalendar;
+import com.tafu.bazi.sdk.warmup.WarmupPolicy;
+import com.tafu.bazi.sdk.warmup.WarmupReport;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于 {@link ChartAtlas} 的计算器
+ *
+ * <p>未提供经度的请求按日期与时段定位图集记录, 由记录中的四柱重新分析 (按请求的计分模型与当前格局规则),
+ * 大运、公历与农历日期由记录及请求推导, 不经过 lunar-java 历法计算。以下情况回退引擎计算:
+ * <ul>
+ *   <li>提供了经度 (真太阳时修正)</li>
+ *   <li>日期不在图集范围内或公历日期非法</li>
+ *   <li>时段内有节令交接的记录</li>
+ * </ul>
+ * 结果与引擎计算完全一致
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public class AtlasBaziCalculator implements BaziCalculator {
+
+    /** 神煞: lunar-java 不提供对应方法, 引擎结果恒为空 (生成图集时校验) */
+    private static final List<List<String>> NO_SHEN_SHA = List.of(List.of(), List.of(), List.of(), List.of());
+
+    private final ChartAtlas atlas;
+    private final BaziCalculatorImpl engine;
+    private final BaziResponseAssembler assembler = new BaziResponseAssembler();
+
+    private final LongAdder atlasHits = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    /**
+     * @param atlas 命盘图集
+     * @param engine 引擎 (校验请求、提供计分模型与格局规则、回退计算)
+     */
+    public AtlasBaziCalculator(ChartAtlas atlas, BaziCalculatorImpl engine) {
+        if (atlas == null || engine == null) {
+            throw new IllegalArgumentException("Atlas and engine cannot be null");
+        }
+        this.atlas = atlas;
+        this.engine = engine;
+    }
+
+    @Override
+    public BaziResponse calculate(BaziRequest request) {
+        return assembler.assemble(calculateChart(request));
+    }
+
+    /**
+     * 计算紧凑命盘, 优先查图集
+     *
+     * @param request 八字计算请求
+     * @return 紧凑命盘
+     * @see BaziCalculatorImpl#calculateChart(BaziRequest)
+     */
+    public BaziChart calculateChart(BaziRequest request) {
+        engine.validate(request);
+        CompiledScoringModel scoringModel = engine.getScoringModels().resolve(request.getScoringModel());
+        if (request.getLongitude() != null) {
+            return fallback(request);
+        }
+
+        LocalDate date;
+        if ("lunar".equals(request.getCalendarType())) {
+            int lunarMonth = Boolean.TRUE.equals(request.getIsLeapMonth())
+                ? -Math.abs(request.getMonth()) : request.getMonth();
+            date = LunarCalendar.toSolar(request.getYear(), lunarMonth, request.getDay());
+        } else {
+            try {
+                date = LocalDate.of(request.getYear(), request.getMonth(), request.getDay());
+            } catch (DateTimeException e) {
+                return fallback(request);
+            }
+        }
+        int index = atlas.indexOf(date, request.getHour());
+        if (index < 0 || !atlas.isExact(index)) {
+            return fallback(request);
+        }
+        atlasHits.increment();
+
+        int[] stems = new int[4];
+        int[] branches = new int[4];
+        for (int p = 0; p < 4; p++) {
+            int jiaZi = atlas.jiaZi(index, p);
+            stems[p] = jiaZi % 10;
+            branches[p] = jiaZi % 12;
+        }
+        BaziChart.BaziChartBuilder chart = BaziChart.builder();
+        ChartAnalyzer.analyze(stems, branches, scoringModel, engine.getPatternRules(), chart);
+
+        boolean male = "male".equals(request.getGender());
+        List<BaziChart.DaYunStep> daYun = BaziChart.daYunSteps(date.getYear(), atlas.jiaZi(index, 1),
+            atlas.yunYearOffset(index, male), atlas.yunForward(index, male));
+        return chart
+            .yunStartAge(daYun.get(0).startAge())
+            .yunForward(true) // 与引擎一致
+            .daYun(daYun)
+            .male(male)
+            .solarDate(solarDate(date, request.getHour(), request.getMinute()))
+            .lunarDate(lunarDate(date))
+            .shenSha(NO_SHEN_SHA)
+            .taiYuan(atlas.taiYuan(index))
+            .mingGong(atlas.mingGong(index))
+            .shenGong(atlas.shenGong(index))
+            .build();
+    }
+
+    /**
+     * 未知时辰模式由引擎计算 (一天的历法换算只做一次, 不逐时辰查表)
+     */
+    @Override
+    public List<HourChartDTO> calculateAllHours(BaziRequest request) {
+        return engine.calculateAllHours(request);
+    }
+
+    @Override
+    public int getLeapMonth(int lunarYear) {
+        return engine.getLeapMonth(lunarYear);
+    }
+
+    /**
+     * 预热直接作用于引擎: 样本不经过图集, 不计入命中与回退统计
+     */
+    @Override
+    public WarmupReport warmUp(WarmupPolicy policy) {
+        return engine.warmUp(policy);
+    }
+
+    public ChartAtlas getAtlas() {
+        return atlas;
+    }
+
+    /**
+     * 由图集直接得出结果的请求数
+     */
+    public long getAtlasHits() {
+        return atlasHits.sum();
+    }
+
+    /**
+     * 回退引擎计算的请求数
+     */
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    // ==================== 推导 ====================
+
+    /**
+     * 公历时间 yyyy-MM-dd HH:mm:00
+     */
+    static String solarDate(LocalDate date, int hour, int minute) {
+        StringBuilder sb = new StringBuilder(19);
+        pad(sb, date.getYear(), 4).append('-');
+        pad(sb, date.getMonthValue(), 2).append('-');
+        pad(sb, date.getDayOfMonth(), 2).append(' ');
+        pad(sb, hour, 2).append(':');
+        pad(sb, minute, 2).append(":00");
+        return sb.toString();
+    }
+
+    /**
+     * 农历日期 (与 lunar-java {@code Lunar.toString()} 格式一致, 如 "一九九〇年五月廿三")
+     */
+    static String lunarDate(LocalDate date) {
+        LunarCalendar.LunarDate lunar = LunarCalendar.fromSolar(date);
+        StringBuilder sb = new StringBuilder(12);
+        String year = Integer.toString(lunar.year());
+        for (int i = 0; i < year.length(); i++) {
+            sb.append(LunarUtil.NUMBER[year.charAt(i) - '0']);
+        }
+        sb.append('年');
+        if (lunar.isLeapMonth()) {
+            sb.append('闰');
+        }
+        return sb.append(LunarUtil.MONTH[Math.abs(lunar.month())]).append('月')
+            .append(LunarUtil.DAY[lunar.day()]).toString();
+    }
+
+    private static StringBuilder pad(StringBuilder sb, int value, int width) {
+        String digits = Integer.toString(value);
+        for (int i = digits.length(); i < width; i++) {
+            sb.append('0');
+        }
+        return sb.append(digits);
+    }
+
+    private BaziChart fallback(BaziRequest request) {
+        fallbacks.increment();
+        return engine.calculateChart(request);
+    }
+}
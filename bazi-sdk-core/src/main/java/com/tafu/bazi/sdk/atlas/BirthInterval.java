@@ -0,0 +1,44 @@
+package com.tafu.bazi.sdk.atlas;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 出生时间区间 (公历, 不含经度修正), 精确到分钟: 区间内每一分钟起出的四柱相同
+ *
+ * @param start 起始时间 (含)
+ * @param end 结束时间 (不含)
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record BirthInterval(LocalDateTime start, LocalDateTime end) {
+
+    /**
+     * 由纪元分钟构造
+     */
+    static BirthInterval ofEpochMinutes(int start, int end) {
+        return new BirthInterval(dateTime(start), dateTime(end));
+    }
+
+    static LocalDateTime dateTime(int epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    static int epochMinute(LocalDateTime dateTime) {
+        return (int) (dateTime.toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    /**
+     * 区间分钟数
+     */
+    public long minutes() {
+        return epochMinute(end) - epochMinute(start);
+    }
+
+    /**
+     * 是否包含给定时间 (按分钟)
+     */
+    public boolean contains(LocalDateTime dateTime) {
+        return !dateTime.isBefore(start) && dateTime.isBefore(end);
+    }
+}
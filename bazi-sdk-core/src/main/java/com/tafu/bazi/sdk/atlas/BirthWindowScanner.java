@@ -0,0 +1,225 @@
+package com.tafu.bazi.sdk.atlas;
+
+import com.tafu.bazi.sdk.chart.ChartTables;
+import com.tafu.bazi.sdk.model.WindowSegmentDTO;
+import com.tafu.bazi.sdk.utils.JieTable;
+import com.tafu.bazi.sdk.utils.LunarUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 出生时间区间扫描: 求时间区间 (可选经度范围) 内起出的全部四柱及起出各四柱的精确时段
+ *
+ * <p>四柱只在两类时刻变化: 奇数整点 (时辰交接, 23 点按晚子时规则同时换日柱) 与节令交接
+ * (月柱, 立春同时换年柱)。扫描在真太阳时轴上按 {@link JieTable} 与日柱的逐日顺排求出起始四柱,
+ * 之后在交接时刻之间直接跳转, 不逐分钟起盘
+ *
+ * <p>真太阳时修正 ({@link LunarUtils#getTrueSolarTime}) 在同一公历日内是常数
+ * round(4 × (经度 - 120) + 均时差) 分钟, 经度范围按修正的整数分钟切为若干经度段,
+ * 每个 (公历日, 经度段) 把时间轴平移一次; 因此给出经度范围时, 时段为 时间 × 经度 的矩形
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class BirthWindowScanner {
+
+    /** 区间最长天数 */
+    public static final int MAX_WINDOW_DAYS = 31;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /** 时辰交接间隔 (分钟), 交接在奇数整点 */
+    private static final int HOUR_EDGE = 120;
+
+    private BirthWindowScanner() {
+    }
+
+    /**
+     * 区间内的一种四柱
+     *
+     * @param key 四柱键 (同 {@link PillarIndex#key(int, int, int, int)})
+     * @param segments 起出该四柱的时段, 按起始时间、经度排序
+     */
+    public record Candidate(int key, List<WindowSegmentDTO> segments) {
+
+        /**
+         * 四柱干支, 以空格分隔
+         */
+        public String pillars() {
+            return ChartTables.JIA_ZI[key / 216000] + " " + ChartTables.JIA_ZI[key / 3600 % 60] + " "
+                + ChartTables.JIA_ZI[key / 60 % 60] + " " + ChartTables.JIA_ZI[key % 60];
+        }
+    }
+
+    /**
+     * 扫描出生时间区间
+     *
+     * @param start 起始时间 (含, 北京时间, 秒数舍去)
+     * @param end 结束时间 (不含, 秒数舍去)
+     * @param minLongitude 最西经度, 与 maxLongitude 同时为空时不做真太阳时修正
+     * @param maxLongitude 最东经度, 与 minLongitude 相同时为单一经度
+     * @return 各四柱, 按最早时段排序
+     * @throws IllegalArgumentException 区间为空、超过 {@link #MAX_WINDOW_DAYS} 天、超出 1901-2100 年或经度范围非法时抛出
+     */
+    public static List<Candidate> scan(LocalDateTime start, LocalDateTime end, Double minLongitude,
+                                       Double maxLongitude) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Window start and end cannot be null");
+        }
+        if (start.getYear() < 1901 || end.isAfter(LocalDateTime.of(2101, 1, 1, 0, 0))) {
+            throw new IllegalArgumentException("Window must be within 1901 ~ 2100");
+        }
+        if ((minLongitude == null) != (maxLongitude == null)) {
+            throw new IllegalArgumentException("Longitude range requires both bounds");
+        }
+        if (minLongitude != null && (minLongitude < -180.0 || maxLongitude > 180.0 || minLongitude > maxLongitude)) {
+            throw new IllegalArgumentException("Longitude range must be within -180 and 180");
+        }
+        int from = BirthInterval.epochMinute(start.truncatedTo(ChronoUnit.MINUTES));
+        int to = BirthInterval.epochMinute(end.truncatedTo(ChronoUnit.MINUTES));
+        if (from >= to || to - from > MAX_WINDOW_DAYS * MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("Window must be non-empty and at most " + MAX_WINDOW_DAYS + " days");
+        }
+
+        // 1. 按公历日与经度段切分, 各段的真太阳时修正为常数
+        List<Piece> pieces = new ArrayList<>();
+        for (int dayStart = Math.floorDiv(from, MINUTES_PER_DAY) * MINUTES_PER_DAY; dayStart < to;
+             dayStart += MINUTES_PER_DAY) {
+            int pieceStart = Math.max(from, dayStart);
+            int pieceEnd = Math.min(to, dayStart + MINUTES_PER_DAY);
+            if (minLongitude == null) {
+                pieces.add(new Piece(pieceStart, pieceEnd, 0, null, null));
+                continue;
+            }
+            double eot = LunarUtils.equationOfTime(BirthInterval.dateTime(dayStart).getDayOfYear());
+            int first = solarOffset(minLongitude, eot);
+            int last = solarOffset(maxLongitude, eot);
+            for (int offset = first; offset <= last; offset++) {
+                // round(4 × (经度 - 120) + 均时差) = offset 的经度范围
+                double west = offset == first ? minLongitude : 120.0 + (offset - 0.5 - eot) / 4.0;
+                double east = offset == last ? maxLongitude : 120.0 + (offset + 0.5 - eot) / 4.0;
+                pieces.add(new Piece(pieceStart, pieceEnd, offset, west, east));
+            }
+        }
+
+        // 2. 覆盖全部真太阳时的四柱时间轴
+        int trueFrom = pieces.stream().mapToInt(piece -> piece.start + piece.offset).min().orElseThrow();
+        int trueTo = pieces.stream().mapToInt(piece -> piece.end + piece.offset).max().orElseThrow();
+        Timeline timeline = timeline(trueFrom, trueTo);
+
+        // 3. 各段平移回北京时间, 按四柱归并
+        Map<Integer, List<WindowSegmentDTO>> segments = new HashMap<>();
+        for (Piece piece : pieces) {
+            int i = timeline.indexOf(piece.start + piece.offset);
+            for (; i < timeline.keys.length && timeline.times[i] < piece.end + piece.offset; i++) {
+                int segmentStart = Math.max(timeline.times[i], piece.start + piece.offset) - piece.offset;
+                int segmentEnd = Math.min(timeline.times[i + 1], piece.end + piece.offset) - piece.offset;
+                List<WindowSegmentDTO> list = segments.computeIfAbsent(timeline.keys[i], k -> new ArrayList<>());
+                WindowSegmentDTO previous = list.isEmpty() ? null : list.get(list.size() - 1);
+                if (previous != null && previous.getEnd().equals(BirthInterval.dateTime(segmentStart))
+                    && previous.getSolarOffsetMinutes() == piece.offset
+                    && Objects.equals(previous.getMinLongitude(), piece.west)
+                    && Objects.equals(previous.getMaxLongitude(), piece.east)) {
+                    previous.setEnd(BirthInterval.dateTime(segmentEnd));
+                    continue;
+                }
+                list.add(WindowSegmentDTO.builder()
+                    .start(BirthInterval.dateTime(segmentStart))
+                    .end(BirthInterval.dateTime(segmentEnd))
+                    .minLongitude(piece.west)
+                    .maxLongitude(piece.east)
+                    .solarOffsetMinutes(piece.offset)
+                    .build());
+            }
+        }
+
+        Comparator<WindowSegmentDTO> order = Comparator.comparing(WindowSegmentDTO::getStart)
+            .thenComparing(segment -> segment.getMinLongitude() == null ? 0.0 : segment.getMinLongitude());
+        List<Candidate> candidates = new ArrayList<>(segments.size());
+        for (Map.Entry<Integer, List<WindowSegmentDTO>> entry : segments.entrySet()) {
+            entry.getValue().sort(order);
+            candidates.add(new Candidate(entry.getKey(), List.copyOf(entry.getValue())));
+        }
+        candidates.sort(Comparator.comparing(candidate -> candidate.segments().get(0), order));
+        return candidates;
+    }
+
+    /**
+     * 同一公历日、同一真太阳时修正的北京时间段 [start, end)
+     *
+     * @param west 经度下限, 不修正时为空
+     * @param east 经度上限
+     */
+    private record Piece(int start, int end, int offset, Double west, Double east) {
+    }
+
+    /**
+     * 四柱时间轴: keys[i] 在 [times[i], times[i + 1]) 内有效
+     */
+    private record Timeline(int[] times, int[] keys) {
+
+        int indexOf(int minute) {
+            int i = Arrays.binarySearch(times, 0, keys.length, minute);
+            return i >= 0 ? i : -i - 2;
+        }
+    }
+
+    /**
+     * [from, to) 的四柱时间轴 (真太阳时)
+     */
+    private static Timeline timeline(int from, int to) {
+        JieTable jies = JieTable.between(BirthInterval.dateTime(from), BirthInterval.dateTime(to));
+        int year = jies.yearAt(from);
+        int month = jies.monthAt(from);
+        int minuteOfDay = Math.floorMod(from, MINUTES_PER_DAY);
+        // 晚子时日柱算明天
+        int day = ChartTables.dayJiaZi(Math.floorDiv(from, MINUTES_PER_DAY) + (minuteOfDay >= 23 * 60 ? 1 : 0));
+        int hourBranch = (minuteOfDay / 60 + 1) / 2 % 12;
+        int jieMinute = jies.nextJieAfter(from);
+        int hourEdge = from + HOUR_EDGE - Math.floorMod(from - 60, HOUR_EDGE);
+
+        int[] times = new int[16];
+        int[] keys = new int[16];
+        int n = 0;
+        times[n] = from;
+        keys[n++] = PillarIndex.key(year, month, day, ChartTables.hourJiaZi(day, hourBranch));
+        for (int next = Math.min(hourEdge, jieMinute); next < to; next = Math.min(hourEdge, jieMinute)) {
+            if (next == hourEdge) {
+                hourBranch = (hourBranch + 1) % 12;
+                if (Math.floorMod(next, MINUTES_PER_DAY) == 23 * 60) {
+                    day = (day + 1) % 60;
+                }
+                hourEdge += HOUR_EDGE;
+            }
+            if (next == jieMinute) {
+                year = jies.yearAt(next);
+                month = jies.monthAt(next);
+                jieMinute = jies.nextJieAfter(next);
+            }
+            if (n == keys.length) {
+                times = Arrays.copyOf(times, n * 2 + 1);
+                keys = Arrays.copyOf(keys, n * 2);
+            }
+            times[n] = next;
+            keys[n++] = PillarIndex.key(year, month, day, ChartTables.hourJiaZi(day, hourBranch));
+        }
+        times = Arrays.copyOf(times, n + 1);
+        times[n] = to;
+        return new Timeline(times, Arrays.copyOf(keys, n));
+    }
+
+    /**
+     * 真太阳时修正分钟数, 与 {@link LunarUtils#getTrueSolarTime} 的取整一致
+     */
+    private static int solarOffset(double longitude, double eot) {
+        return (int) Math.round((longitude - 120.0) * 4.0 + eot);
+    }
+}
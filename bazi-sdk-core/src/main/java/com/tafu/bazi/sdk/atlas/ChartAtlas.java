@@ -0,0 +1,350 @@
+package com.tafu.bazi.sdk.atlas;
+
+import com.tafu.bazi.sdk.cache.BaziCacheSnapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.zip.CRC32;
+
+/**
+ * 命盘图集: 按时辰预计算的定长命盘记录, 内存映射只读访问
+ *
+ * <p>不提供经度时, 命盘只取决于公历日期与时辰 (以及性别对应的大运)。每天分 13 个时段:
+ * 0 点 (早子时)、1-2 点 (丑时) … 21-22 点 (亥时)、23 点 (晚子时, 日柱已算次日)。
+ * 时段内恰有节令交接 (月柱、年柱在时段中途改变) 的记录标记为 {@link #isExact(int) 非精确}, 须回退引擎计算。
+ *
+ * <p>文件格式 (大端):
+ * <pre>
+ * magic "BZAT" | 格式版本 u8 | SDK 版本 str | 规则版本 str | 首日纪元日 i32 | 天数 i32 | 每日时段数 u8 | 记录长度 u16
+ * 补零至 64 字节对齐
+ * 记录 × (天数 × 13), 每条 64 字节:
+ *   标志 u8 | 年月日时柱六十甲子 u8 × 4 | 男命、女命起运年偏移 u8 × 2 | 胎元 命宫 身宫 u8 × 3
+ *   | 强弱 u8 | 格局 i8 | 最旺 u8 | 最弱 i8 | 保留 u8 × 2 | 总分 f64 | 五行分布 f64 × 5
+ * CRC32 i32 (覆盖之前全部字节)
+ * </pre>
+ * 起运年偏移为起运公历年减出生年 (大运各步年份、年龄与干支由此及月柱推导)。
+ * 强弱、格局、总分与五行分布按生成时的默认计分模型与格局规则给出 (规则版本记录其指纹), 供批量筛选;
+ * {@link AtlasBaziCalculator} 按请求的计分模型由四柱重新分析, 不依赖这些字段
+ *
+ * <p>实例不可变, 线程安全
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class ChartAtlas {
+
+    /** 图集格式版本 */
+    public static final int FORMAT_VERSION = 1;
+
+    /** 每日时段数 */
+    public static final int SLOTS_PER_DAY = 13;
+
+    /** 记录长度 (字节) */
+    public static final int RECORD_SIZE = 64;
+
+    static final byte[] MAGIC = {'B', 'Z', 'A', 'T'};
+
+    static final int FLAG_PRESENT = 1;
+    static final int FLAG_INEXACT = 1 << 1;
+    static final int FLAG_MALE_FORWARD = 1 << 2;
+    static final int FLAG_FEMALE_FORWARD = 1 << 3;
+
+    static final int OFFSET_FLAGS = 0;
+    static final int OFFSET_PILLARS = 1;
+    static final int OFFSET_YUN = 5;
+    static final int OFFSET_TAI_YUAN = 7;
+    static final int OFFSET_MING_GONG = 8;
+    static final int OFFSET_SHEN_GONG = 9;
+    static final int OFFSET_STRENGTH = 10;
+    static final int OFFSET_PATTERN = 11;
+    static final int OFFSET_STRONGEST = 12;
+    static final int OFFSET_WEAKEST = 13;
+    static final int OFFSET_TOTAL_SCORE = 16;
+    static final int OFFSET_DISTRIBUTION = 24;
+
+    private final Path file;
+    private final ByteBuffer records;
+    private final String sdkVersion;
+    private final String rulesVersion;
+    private final long firstEpochDay;
+    private final int days;
+
+    private ChartAtlas(Path file, ByteBuffer records, String sdkVersion, String rulesVersion,
+                       long firstEpochDay, int days) {
+        this.file = file;
+        this.records = records;
+        this.sdkVersion = sdkVersion;
+        this.rulesVersion = rulesVersion;
+        this.firstEpochDay = firstEpochDay;
+        this.days = days;
+    }
+
+    /**
+     * 打开图集文件 (内存映射, 校验格式、SDK 版本与校验和)
+     *
+     * @param file 图集文件
+     * @return 图集
+     * @throws IllegalArgumentException 文件损坏、格式或 SDK 版本不一致时抛出
+     * @throws UncheckedIOException 读取失败时抛出
+     */
+    public static ChartAtlas open(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("Atlas file cannot be null");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(file, buffer);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated bazi chart atlas", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read bazi chart atlas " + file, e);
+        }
+    }
+
+    static ChartAtlas read(Path file, ByteBuffer buffer) {
+        int length = buffer.remaining();
+        if (length < MAGIC.length + 4) {
+            throw new IllegalArgumentException("Truncated bazi chart atlas");
+        }
+        ByteBuffer body = buffer.slice(0, length - 4);
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != buffer.getInt(length - 4)) {
+            throw new IllegalArgumentException("Checksum mismatch");
+        }
+
+        for (byte b : MAGIC) {
+            if (body.get() != b) {
+                throw new IllegalArgumentException("Not a bazi chart atlas");
+            }
+        }
+        int format = body.get() & 0xFF;
+        String sdkVersion = readString(body);
+        String rulesVersion = readString(body);
+        if (format != FORMAT_VERSION || !BaziCacheSnapshot.SDK_VERSION.equals(sdkVersion)) {
+            throw new IllegalArgumentException("Stale atlas (format " + format + ", sdk " + sdkVersion + ")");
+        }
+        long firstEpochDay = body.getInt();
+        int days = body.getInt();
+        int slots = body.get() & 0xFF;
+        int recordSize = body.getShort() & 0xFFFF;
+        if (days < 0 || slots != SLOTS_PER_DAY || recordSize != RECORD_SIZE) {
+            throw new IllegalArgumentException("Malformed atlas header");
+        }
+        int start = headerLength(body.position());
+        long expected = start + (long) days * SLOTS_PER_DAY * RECORD_SIZE;
+        if (expected != body.limit()) {
+            throw new IllegalArgumentException("Truncated bazi chart atlas");
+        }
+        return new ChartAtlas(file, body.slice(start, body.limit() - start).asReadOnlyBuffer(),
+            sdkVersion, rulesVersion, firstEpochDay, days);
+    }
+
+    /**
+     * 补零后的头部长度
+     */
+    static int headerLength(int length) {
+        return (length + RECORD_SIZE - 1) / RECORD_SIZE * RECORD_SIZE;
+    }
+
+    /**
+     * 小时 → 当日时段 (0 点为 0, 23 点为 12)
+     */
+    public static int slotOf(int hour) {
+        if (hour < 0 || hour > 23) {
+            throw new IllegalArgumentException("Hour must be between 0 and 23");
+        }
+        return hour == 23 ? 12 : (hour + 1) / 2;
+    }
+
+    /**
+     * 时段的起始小时
+     */
+    public static int firstHourOf(int slot) {
+        return slot == 0 ? 0 : slot == 12 ? 23 : 2 * slot - 1;
+    }
+
+    /**
+     * 时段的最后一个小时
+     */
+    public static int lastHourOf(int slot) {
+        return slot == 0 ? 0 : slot == 12 ? 23 : 2 * slot;
+    }
+
+    // ==================== 查找 ====================
+
+    /**
+     * 记录编号
+     *
+     * @param date 公历日期
+     * @param hour 小时 (0-23)
+     * @return 记录编号, 日期不在图集范围内时为 -1
+     */
+    public int indexOf(LocalDate date, int hour) {
+        long day = date.toEpochDay() - firstEpochDay;
+        if (day < 0 || day >= days) {
+            return -1;
+        }
+        return (int) day * SLOTS_PER_DAY + slotOf(hour);
+    }
+
+    /**
+     * 记录对应的公历日期
+     */
+    public LocalDate dateOf(int index) {
+        return LocalDate.ofEpochDay(firstEpochDay + index / SLOTS_PER_DAY);
+    }
+
+    /**
+     * 记录是否可直接使用 (时段内无节令交接)
+     */
+    public boolean isExact(int index) {
+        int flags = flags(index);
+        return (flags & FLAG_PRESENT) != 0 && (flags & FLAG_INEXACT) == 0;
+    }
+
+    // ==================== 记录字段 ====================
+
+    /**
+     * 四柱六十甲子下标
+     *
+     * @param index 记录编号
+     * @param pillar 0-3 依次为年、月、日、时
+     */
+    public int jiaZi(int index, int pillar) {
+        return records.get(offset(index) + OFFSET_PILLARS + pillar) & 0xFF;
+    }
+
+    /**
+     * 起运公历年减出生年
+     */
+    public int yunYearOffset(int index, boolean male) {
+        return records.get(offset(index) + OFFSET_YUN + (male ? 0 : 1)) & 0xFF;
+    }
+
+    /**
+     * 大运是否顺行
+     */
+    public boolean yunForward(int index, boolean male) {
+        return (flags(index) & (male ? FLAG_MALE_FORWARD : FLAG_FEMALE_FORWARD)) != 0;
+    }
+
+    public int taiYuan(int index) {
+        return records.get(offset(index) + OFFSET_TAI_YUAN) & 0xFF;
+    }
+
+    public int mingGong(int index) {
+        return records.get(offset(index) + OFFSET_MING_GONG) & 0xFF;
+    }
+
+    public int shenGong(int index) {
+        return records.get(offset(index) + OFFSET_SHEN_GONG) & 0xFF;
+    }
+
+    /**
+     * 强弱 (生成时的默认计分模型)
+     */
+    public int strength(int index) {
+        return records.get(offset(index) + OFFSET_STRENGTH);
+    }
+
+    /**
+     * 内置格局编号 (生成时的格局规则), 自定义格局为 -1
+     */
+    public int pattern(int index) {
+        return records.get(offset(index) + OFFSET_PATTERN);
+    }
+
+    public int strongest(int index) {
+        return records.get(offset(index) + OFFSET_STRONGEST);
+    }
+
+    public int weakest(int index) {
+        return records.get(offset(index) + OFFSET_WEAKEST);
+    }
+
+    public double totalScore(int index) {
+        return records.getDouble(offset(index) + OFFSET_TOTAL_SCORE);
+    }
+
+    /**
+     * 五行加权分布
+     *
+     * @param element 五行下标
+     */
+    public double distribution(int index, int element) {
+        return records.getDouble(offset(index) + OFFSET_DISTRIBUTION + element * Double.BYTES);
+    }
+
+    // ==================== 元数据 ====================
+
+    /**
+     * 记录数
+     */
+    public int size() {
+        return days * SLOTS_PER_DAY;
+    }
+
+    /**
+     * 首日
+     */
+    public LocalDate getFirstDate() {
+        return LocalDate.ofEpochDay(firstEpochDay);
+    }
+
+    /**
+     * 末日之后一天
+     */
+    public LocalDate getEndDate() {
+        return LocalDate.ofEpochDay(firstEpochDay + days);
+    }
+
+    public String getSdkVersion() {
+        return sdkVersion;
+    }
+
+    /**
+     * 生成时的计分模型与格局规则指纹
+     */
+    public String getRulesVersion() {
+        return rulesVersion;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        return "ChartAtlas(" + getFirstDate() + " ~ " + getEndDate() + ", " + size() + " records, rules "
+            + rulesVersion + ")";
+    }
+
+    // ==================== 私有方法 ====================
+
+    private int flags(int index) {
+        return records.get(offset(index) + OFFSET_FLAGS) & 0xFF;
+    }
+
+    private int offset(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return index * RECORD_SIZE;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
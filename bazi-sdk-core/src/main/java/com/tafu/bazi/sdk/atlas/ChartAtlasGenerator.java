@@ -0,0 +1,252 @@
+package com.tafu.bazi.sdk.atlas;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.cache.BaziCacheSnapshot;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.ChartTables;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * 命盘图集生成器: 并行枚举日期范围内的全部时段, 经引擎计算后写入 {@link ChartAtlas} 文件
+ *
+ * <p>每个时段按起始分钟计算男命、女命各一次, 再按最后一分钟计算一次男命:
+ * 两次结果的四柱、大运或胎元命宫不同 (时段内有节令交接) 时记录标记为非精确。
+ * 由记录推导的大运与农历日期会与引擎结果逐一比对, 不一致的同样标记为非精确, 因此图集结果始终与引擎一致
+ *
+ * <p>全量范围 ({@link #FIRST_DATE} ~ {@link #END_DATE}) 约 95 万条记录、61 MB
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class ChartAtlasGenerator {
+
+    /** 全量图集首日 */
+    public static final LocalDate FIRST_DATE = LocalDate.of(1901, 1, 1);
+
+    /** 全量图集末日之后一天 */
+    public static final LocalDate END_DATE = LocalDate.of(2101, 1, 1);
+
+    private final BaziCalculatorImpl engine;
+
+    /**
+     * @param engine 引擎 (默认计分模型与格局规则决定记录中的强弱、格局等汇总字段)
+     */
+    public ChartAtlasGenerator(BaziCalculatorImpl engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Engine cannot be null");
+        }
+        this.engine = engine;
+    }
+
+    /**
+     * 命令行入口: 以内置计分模型与格局规则生成图集
+     *
+     * @param args 图集文件 [首日 末日之后一天] (ISO 日期, 默认全量范围)
+     */
+    public static void main(String[] args) {
+        if (args.length != 1 && args.length != 3) {
+            throw new IllegalArgumentException("Usage: ChartAtlasGenerator <file> [from to]");
+        }
+        LocalDate from = args.length == 3 ? LocalDate.parse(args[1]) : FIRST_DATE;
+        LocalDate to = args.length == 3 ? LocalDate.parse(args[2]) : END_DATE;
+        new ChartAtlasGenerator(new BaziCalculatorImpl()).generate(from, to, Path.of(args[0]));
+    }
+
+    /**
+     * 生成全量图集
+     *
+     * @see #generate(LocalDate, LocalDate, Path)
+     */
+    public ChartAtlas generate(Path file) {
+        return generate(FIRST_DATE, END_DATE, file);
+    }
+
+    /**
+     * 生成图集文件 (先写临时文件再原子替换) 并打开
+     *
+     * @param from 首日
+     * @param to 末日之后一天
+     * @param file 图集文件
+     * @return 图集
+     * @throws IllegalArgumentException 日期范围非法或超出 {@link #FIRST_DATE} ~ {@link #END_DATE} 时抛出
+     * @throws IllegalStateException 引擎给出非空神煞 (图集不保存神煞) 时抛出
+     * @throws UncheckedIOException 写入失败时抛出
+     */
+    public ChartAtlas generate(LocalDate from, LocalDate to, Path file) {
+        if (from == null || to == null || file == null) {
+            throw new IllegalArgumentException("Date range and file cannot be null");
+        }
+        if (!from.isBefore(to) || from.isBefore(FIRST_DATE) || to.isAfter(END_DATE)) {
+            throw new IllegalArgumentException("Atlas range must be within " + FIRST_DATE + " ~ " + END_DATE);
+        }
+        long started = System.nanoTime();
+        int days = (int) (to.toEpochDay() - from.toEpochDay());
+        byte[] records = new byte[days * ChartAtlas.SLOTS_PER_DAY * ChartAtlas.RECORD_SIZE];
+        LongAdder inexact = new LongAdder();
+        IntStream.range(0, days).parallel().forEach(day -> {
+            ByteBuffer out = ByteBuffer.wrap(records);
+            LocalDate date = from.plusDays(day);
+            for (int slot = 0; slot < ChartAtlas.SLOTS_PER_DAY; slot++) {
+                if (!writeRecord(out, (day * ChartAtlas.SLOTS_PER_DAY + slot) * ChartAtlas.RECORD_SIZE, date, slot)) {
+                    inexact.increment();
+                }
+            }
+        });
+
+        String rulesVersion = Long.toHexString(engine.getScoringModels().getDefaultModel().fingerprint())
+            + "/" + engine.getPatternRules().fingerprint();
+        write(file, from, days, rulesVersion, records);
+        log.info("Generated bazi chart atlas {} ({} ~ {}, {} records, {} inexact) in {} ms", file, from, to,
+            days * ChartAtlas.SLOTS_PER_DAY, inexact.sum(), (System.nanoTime() - started) / 1_000_000);
+        return ChartAtlas.open(file);
+    }
+
+    /**
+     * 计算并写入一条记录
+     *
+     * @return 是否为精确记录
+     */
+    private boolean writeRecord(ByteBuffer out, int offset, LocalDate date, int slot) {
+        BaziChart first = engine.calculateChart(request(date, ChartAtlas.firstHourOf(slot), 0, "male"));
+        BaziChart last = engine.calculateChart(request(date, ChartAtlas.lastHourOf(slot), 59, "male"));
+        BaziChart female = engine.calculateChart(request(date, ChartAtlas.firstHourOf(slot), 0, "female"));
+        for (List<String> shenSha : first.getShenSha()) {
+            if (!shenSha.isEmpty()) {
+                throw new IllegalStateException("Chart atlas cannot store shen sha: " + first.getShenSha());
+            }
+        }
+
+        int monthJiaZi = jiaZi(first, 1);
+        int maleOffset = yunYearOffset(first, date);
+        int femaleOffset = yunYearOffset(female, date);
+        boolean maleForward = yunForward(first, monthJiaZi);
+        boolean femaleForward = yunForward(female, monthJiaZi);
+
+        boolean exact = Arrays.equals(first.getStems(), last.getStems())
+            && Arrays.equals(first.getBranches(), last.getBranches())
+            && first.getDaYun().equals(last.getDaYun())
+            && first.getTaiYuan() == last.getTaiYuan()
+            && first.getMingGong() == last.getMingGong()
+            && first.getShenGong() == last.getShenGong()
+            && maleOffset >= 0 && maleOffset <= 0xFF && femaleOffset >= 0 && femaleOffset <= 0xFF
+            && first.getDaYun().equals(BaziChart.daYunSteps(date.getYear(), monthJiaZi, maleOffset, maleForward))
+            && female.getDaYun().equals(
+                BaziChart.daYunSteps(date.getYear(), monthJiaZi, femaleOffset, femaleForward))
+            && first.getYunStartAge() == first.getDaYun().get(0).startAge()
+            && first.isYunForward()
+            && first.getLunarDate().equals(AtlasBaziCalculator.lunarDate(date))
+            && first.getSolarDate().equals(AtlasBaziCalculator.solarDate(date, ChartAtlas.firstHourOf(slot), 0));
+
+        int flags = ChartAtlas.FLAG_PRESENT;
+        if (!exact) {
+            flags |= ChartAtlas.FLAG_INEXACT;
+        }
+        if (maleForward) {
+            flags |= ChartAtlas.FLAG_MALE_FORWARD;
+        }
+        if (femaleForward) {
+            flags |= ChartAtlas.FLAG_FEMALE_FORWARD;
+        }
+        out.put(offset + ChartAtlas.OFFSET_FLAGS, (byte) flags);
+        for (int p = 0; p < 4; p++) {
+            out.put(offset + ChartAtlas.OFFSET_PILLARS + p, (byte) jiaZi(first, p));
+        }
+        out.put(offset + ChartAtlas.OFFSET_YUN, (byte) maleOffset);
+        out.put(offset + ChartAtlas.OFFSET_YUN + 1, (byte) femaleOffset);
+        out.put(offset + ChartAtlas.OFFSET_TAI_YUAN, (byte) first.getTaiYuan());
+        out.put(offset + ChartAtlas.OFFSET_MING_GONG, (byte) first.getMingGong());
+        out.put(offset + ChartAtlas.OFFSET_SHEN_GONG, (byte) first.getShenGong());
+        out.put(offset + ChartAtlas.OFFSET_STRENGTH, (byte) first.getStrength());
+        out.put(offset + ChartAtlas.OFFSET_PATTERN, (byte) first.getPattern());
+        out.put(offset + ChartAtlas.OFFSET_STRONGEST, (byte) first.getStrongest());
+        out.put(offset + ChartAtlas.OFFSET_WEAKEST, (byte) first.getWeakest());
+        out.putDouble(offset + ChartAtlas.OFFSET_TOTAL_SCORE, first.getTotalScore());
+        double[] distribution = first.getDistribution();
+        for (int e = 0; e < distribution.length; e++) {
+            out.putDouble(offset + ChartAtlas.OFFSET_DISTRIBUTION + e * Double.BYTES, distribution[e]);
+        }
+        return exact;
+    }
+
+    private static BaziRequest request(LocalDate date, int hour, int minute, String gender) {
+        return BaziRequest.builder()
+            .year(date.getYear())
+            .month(date.getMonthValue())
+            .day(date.getDayOfMonth())
+            .hour(hour)
+            .minute(minute)
+            .calendarType("solar")
+            .gender(gender)
+            .build();
+    }
+
+    private static int jiaZi(BaziChart chart, int pillar) {
+        return ChartTables.jiaZiIndex(chart.getStems()[pillar], chart.getBranches()[pillar]);
+    }
+
+    private static int yunYearOffset(BaziChart chart, LocalDate date) {
+        List<BaziChart.DaYunStep> daYun = chart.getDaYun();
+        return daYun.size() < 2 ? -1 : daYun.get(1).startYear() - date.getYear();
+    }
+
+    private static boolean yunForward(BaziChart chart, int monthJiaZi) {
+        List<BaziChart.DaYunStep> daYun = chart.getDaYun();
+        return daYun.size() >= 2 && daYun.get(1).ganZhi() == (monthJiaZi + 1) % 60;
+    }
+
+    private static void write(Path file, LocalDate from, int days, String rulesVersion, byte[] records) {
+        CRC32 crc = new CRC32();
+        ByteBuffer header = ByteBuffer.allocate(ChartAtlas.RECORD_SIZE * 2);
+        header.put(ChartAtlas.MAGIC);
+        header.put((byte) ChartAtlas.FORMAT_VERSION);
+        putString(header, BaziCacheSnapshot.SDK_VERSION);
+        putString(header, rulesVersion);
+        header.putInt((int) from.toEpochDay());
+        header.putInt(days);
+        header.put((byte) ChartAtlas.SLOTS_PER_DAY);
+        header.putShort((short) ChartAtlas.RECORD_SIZE);
+        byte[] head = Arrays.copyOf(header.array(), ChartAtlas.headerLength(header.position()));
+        crc.update(head);
+        crc.update(records);
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(tmp)) {
+                    out.write(head);
+                    out.write(records);
+                    out.write(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write bazi chart atlas " + file, e);
+        }
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) utf8.length);
+        out.put(utf8);
+    }
+}
@@ -0,0 +1,430 @@
+package com.tafu.bazi.sdk.atlas;
+
+import com.tafu.bazi.sdk.cache.BaziCacheSnapshot;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.ChartTables;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * 四柱反查索引: 由四柱 (或部分柱) 查出生时间区间, 内存映射只读访问
+ *
+ * <p>键为四柱六十甲子下标打包的整数 {@link #key(int, int, int, int)}, 每个键对应按时间排序的若干
+ * {@link BirthInterval}。区间精确到分钟, 节令交接处按交接分钟切分, 与不提供经度时引擎的起盘结果一致。
+ *
+ * <p>部分柱查询以 {@link #ANY} 表示未给出的柱。索引按两种柱序排列键: 年月日时, 以及日时年月
+ * (供只给日柱、日柱与时柱的查询); 给出的柱恰为某一柱序的前缀时按键范围直接取出。
+ * 其余组合展开为合法的完整键 (月干由年干按五虎遁确定、时干由日干按五鼠遁确定) 后逐个二分查找。
+ * 多个键的区间按时间归并
+ *
+ * <p>文件格式 (大端):
+ * <pre>
+ * magic "BZPI" | 格式版本 u8 | SDK 版本 str | 首日纪元日 i32 | 天数 i32 | 键数 i32 | 区间数 i32
+ * 补零至 64 字节对齐
+ * 键 i32 × 键数 (升序) | 区间起始位置 i32 × (键数 + 1)
+ * 日时年月序键 i32 × 键数 (升序) | 对应键位置 i32 × 键数
+ * 区间起始纪元分钟 i32 × 区间数 | 区间结束纪元分钟 i32 × 区间数
+ * CRC32 i32 (覆盖之前全部字节)
+ * </pre>
+ *
+ * <p>实例不可变, 线程安全
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class PillarIndex {
+
+    /** 索引格式版本 */
+    public static final int FORMAT_VERSION = 1;
+
+    /** 部分柱查询中未给出的柱 */
+    public static final int ANY = -1;
+
+    static final byte[] MAGIC = {'B', 'Z', 'P', 'I'};
+
+    private final Path file;
+    private final IntBuffer keys;
+    private final IntBuffer offsets;
+    private final IntBuffer dayKeys;
+    private final IntBuffer dayPositions;
+    private final IntBuffer starts;
+    private final IntBuffer ends;
+    private final String sdkVersion;
+    private final long firstEpochDay;
+    private final int days;
+
+    private PillarIndex(Path file, IntBuffer keys, IntBuffer offsets, IntBuffer dayKeys, IntBuffer dayPositions,
+                        IntBuffer starts, IntBuffer ends, String sdkVersion, long firstEpochDay, int days) {
+        this.file = file;
+        this.keys = keys;
+        this.offsets = offsets;
+        this.dayKeys = dayKeys;
+        this.dayPositions = dayPositions;
+        this.starts = starts;
+        this.ends = ends;
+        this.sdkVersion = sdkVersion;
+        this.firstEpochDay = firstEpochDay;
+        this.days = days;
+    }
+
+    /**
+     * 打开索引文件 (内存映射, 校验格式、SDK 版本与校验和)
+     *
+     * @param file 索引文件
+     * @return 索引
+     * @throws IllegalArgumentException 文件损坏、格式或 SDK 版本不一致时抛出
+     * @throws UncheckedIOException 读取失败时抛出
+     */
+    public static PillarIndex open(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("Pillar index file cannot be null");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(file, buffer);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated pillar index", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read pillar index " + file, e);
+        }
+    }
+
+    static PillarIndex read(Path file, ByteBuffer buffer) {
+        int length = buffer.remaining();
+        if (length < MAGIC.length + 4) {
+            throw new IllegalArgumentException("Truncated pillar index");
+        }
+        ByteBuffer body = buffer.slice(0, length - 4);
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != buffer.getInt(length - 4)) {
+            throw new IllegalArgumentException("Checksum mismatch");
+        }
+
+        for (byte b : MAGIC) {
+            if (body.get() != b) {
+                throw new IllegalArgumentException("Not a pillar index");
+            }
+        }
+        int format = body.get() & 0xFF;
+        String sdkVersion = readString(body);
+        if (format != FORMAT_VERSION || !BaziCacheSnapshot.SDK_VERSION.equals(sdkVersion)) {
+            throw new IllegalArgumentException("Stale pillar index (format " + format + ", sdk " + sdkVersion + ")");
+        }
+        long firstEpochDay = body.getInt();
+        int days = body.getInt();
+        int keyCount = body.getInt();
+        int intervalCount = body.getInt();
+        if (days < 0 || keyCount < 0 || intervalCount < 0) {
+            throw new IllegalArgumentException("Malformed pillar index header");
+        }
+        int start = ChartAtlas.headerLength(body.position());
+        long expected = start + ((long) keyCount * 4 + 1 + (long) intervalCount * 2) * Integer.BYTES;
+        if (expected != body.limit()) {
+            throw new IllegalArgumentException("Truncated pillar index");
+        }
+        int position = start;
+        IntBuffer keys = ints(body, position, keyCount);
+        position += keyCount * Integer.BYTES;
+        IntBuffer offsets = ints(body, position, keyCount + 1);
+        position += (keyCount + 1) * Integer.BYTES;
+        IntBuffer dayKeys = ints(body, position, keyCount);
+        position += keyCount * Integer.BYTES;
+        IntBuffer dayPositions = ints(body, position, keyCount);
+        position += keyCount * Integer.BYTES;
+        IntBuffer starts = ints(body, position, intervalCount);
+        position += intervalCount * Integer.BYTES;
+        IntBuffer ends = ints(body, position, intervalCount);
+        return new PillarIndex(file, keys, offsets, dayKeys, dayPositions, starts, ends,
+            sdkVersion, firstEpochDay, days);
+    }
+
+    // ==================== 键 ====================
+
+    /**
+     * 四柱打包为键
+     *
+     * @param year 年柱六十甲子下标
+     * @param month 月柱六十甲子下标
+     * @param day 日柱六十甲子下标
+     * @param hour 时柱六十甲子下标
+     * @return 键 (0 ~ 60<sup>4</sup> - 1)
+     * @throws IllegalArgumentException 下标不在 0-59 时抛出
+     */
+    public static int key(int year, int month, int day, int hour) {
+        return ((checkJiaZi(year) * 60 + checkJiaZi(month)) * 60 + checkJiaZi(day)) * 60 + checkJiaZi(hour);
+    }
+
+    /**
+     * 命盘的键
+     */
+    public static int key(BaziChart chart) {
+        int[] stems = chart.getStems();
+        int[] branches = chart.getBranches();
+        return key(ChartTables.jiaZiIndex(stems[0], branches[0]), ChartTables.jiaZiIndex(stems[1], branches[1]),
+            ChartTables.jiaZiIndex(stems[2], branches[2]), ChartTables.jiaZiIndex(stems[3], branches[3]));
+    }
+
+    /**
+     * 日时年月柱序的键
+     */
+    static int dayKey(int key) {
+        int year = key / 216_000;
+        int month = key / 3600 % 60;
+        return (key % 3600 * 60 + year) * 60 + month;
+    }
+
+    // ==================== 查询 ====================
+
+    /**
+     * 与命盘四柱相同的全部出生时间区间
+     *
+     * @return 按时间排序的区间
+     */
+    public List<BirthInterval> find(BaziChart chart) {
+        int position = position(key(chart));
+        List<BirthInterval> intervals = new ArrayList<>();
+        if (position >= 0) {
+            for (int i = offsets.get(position); i < offsets.get(position + 1); i++) {
+                intervals.add(BirthInterval.ofEpochMinutes(starts.get(i), ends.get(i)));
+            }
+        }
+        return intervals;
+    }
+
+    /**
+     * 四柱 (或部分柱) 对应的全部出生时间区间
+     *
+     * @param year 年柱六十甲子下标, 或 {@link #ANY}
+     * @param month 月柱六十甲子下标, 或 {@link #ANY}
+     * @param day 日柱六十甲子下标, 或 {@link #ANY}
+     * @param hour 时柱六十甲子下标, 或 {@link #ANY}
+     * @return 按时间排序的区间 (相邻区间属于不同的完整四柱时不合并)
+     * @throws IllegalArgumentException 下标不在 0-59 且不为 {@link #ANY} 时抛出
+     */
+    public List<BirthInterval> find(int year, int month, int day, int hour) {
+        List<int[]> ranges = new ArrayList<>();
+        int[] total = new int[1];
+        forEachKey(year, month, day, hour, position -> {
+            int from = offsets.get(position);
+            int to = offsets.get(position + 1);
+            ranges.add(new int[]{from, to});
+            total[0] += to - from;
+        });
+
+        // 起始分钟在高 32 位, 区间长度在低 32 位, 按起始时间排序
+        long[] packed = new long[total[0]];
+        int n = 0;
+        for (int[] range : ranges) {
+            for (int i = range[0]; i < range[1]; i++) {
+                int start = starts.get(i);
+                packed[n++] = ((long) start << 32) | (ends.get(i) - start);
+            }
+        }
+        if (ranges.size() > 1) {
+            Arrays.sort(packed);
+        }
+        List<BirthInterval> intervals = new ArrayList<>(packed.length);
+        for (long p : packed) {
+            int start = (int) (p >> 32);
+            intervals.add(BirthInterval.ofEpochMinutes(start, start + (int) p));
+        }
+        return intervals;
+    }
+
+    /**
+     * 四柱 (或部分柱) 对应的区间数, 不构造区间对象
+     *
+     * @see #find(int, int, int, int)
+     */
+    public int count(int year, int month, int day, int hour) {
+        int[] total = new int[1];
+        forEachKey(year, month, day, hour,
+            position -> total[0] += offsets.get(position + 1) - offsets.get(position));
+        return total[0];
+    }
+
+    // ==================== 元数据 ====================
+
+    /**
+     * 不同四柱数
+     */
+    public int keyCount() {
+        return keys.limit();
+    }
+
+    /**
+     * 区间数
+     */
+    public int size() {
+        return starts.limit();
+    }
+
+    /**
+     * 首日
+     */
+    public LocalDate getFirstDate() {
+        return LocalDate.ofEpochDay(firstEpochDay);
+    }
+
+    /**
+     * 末日之后一天
+     */
+    public LocalDate getEndDate() {
+        return LocalDate.ofEpochDay(firstEpochDay + days);
+    }
+
+    public String getSdkVersion() {
+        return sdkVersion;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        return "PillarIndex(" + getFirstDate() + " ~ " + getEndDate() + ", " + keyCount() + " keys, "
+            + size() + " intervals)";
+    }
+
+    // ==================== 私有方法 ====================
+
+    /**
+     * 对给出的柱匹配的每个键回调其位置
+     */
+    private void forEachKey(int year, int month, int day, int hour, IntConsumer found) {
+        checkPattern(year);
+        checkPattern(month);
+        checkPattern(day);
+        checkPattern(hour);
+        if ((hour == ANY || day != ANY) && (day == ANY || month != ANY) && (month == ANY || year != ANY)) {
+            // 年月日时序的前缀
+            int[] range = range(keys, year, month, day, hour);
+            for (int position = range[0]; position < range[1]; position++) {
+                found.accept(position);
+            }
+            return;
+        }
+        if (day != ANY && month == ANY && (hour != ANY || year == ANY)) {
+            // 日时年月序的前缀
+            int[] range = range(dayKeys, day, hour, year, month);
+            for (int i = range[0]; i < range[1]; i++) {
+                found.accept(dayPositions.get(i));
+            }
+            return;
+        }
+        for (int y = year == ANY ? 0 : year; y <= (year == ANY ? 59 : year); y++) {
+            for (int monthBranch = 0; monthBranch < 12; monthBranch++) {
+                int m = ChartTables.monthJiaZi(y, monthBranch);
+                if (month != ANY && month != m) {
+                    continue;
+                }
+                for (int d = day == ANY ? 0 : day; d <= (day == ANY ? 59 : day); d++) {
+                    for (int hourBranch = 0; hourBranch < 12; hourBranch++) {
+                        int h = ChartTables.hourJiaZi(d, hourBranch);
+                        if (hour != ANY && hour != h) {
+                            continue;
+                        }
+                        int position = position(((y * 60 + m) * 60 + d) * 60 + h);
+                        if (position >= 0) {
+                            found.accept(position);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 柱序前缀对应的键位置范围 [from, to)
+     *
+     * @param pillars 按柱序排列的下标, 前缀之后均为 {@link #ANY}
+     */
+    private static int[] range(IntBuffer sorted, int... pillars) {
+        int low = 0;
+        int span = 1;
+        for (int pillar : pillars) {
+            if (pillar == ANY) {
+                low *= 60;
+                span *= 60;
+            } else {
+                low = low * 60 + pillar;
+            }
+        }
+        return new int[]{lowerBound(sorted, low), lowerBound(sorted, low + span)};
+    }
+
+    private static int lowerBound(IntBuffer sorted, int key) {
+        int low = 0;
+        int high = sorted.limit();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted.get(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 键在索引中的位置, 不存在时为 -1
+     */
+    private int position(int key) {
+        int low = 0;
+        int high = keys.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = keys.get(mid);
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static int checkJiaZi(int jiaZi) {
+        if (jiaZi < 0 || jiaZi > 59) {
+            throw new IllegalArgumentException("JiaZi index must be between 0 and 59: " + jiaZi);
+        }
+        return jiaZi;
+    }
+
+    private static void checkPattern(int jiaZi) {
+        if (jiaZi != ANY) {
+            checkJiaZi(jiaZi);
+        }
+    }
+
+    private static IntBuffer ints(ByteBuffer body, int position, int count) {
+        return body.slice(position, count * Integer.BYTES).asReadOnlyBuffer().asIntBuffer();
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
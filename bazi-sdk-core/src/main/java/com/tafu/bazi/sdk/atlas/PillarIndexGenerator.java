@@ -0,0 +1,255 @@
+package com.tafu.bazi.sdk.atlas;
+
+import com.nlf.calendar.EightChar;
+import com.tafu.bazi.sdk.cache.BaziCacheSnapshot;
+import com.tafu.bazi.sdk.chart.ChartTables;
+import com.tafu.bazi.sdk.utils.LunarUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * 四柱反查索引生成器: 并行枚举日期范围内的全部时段, 由 lunar-java 起四柱后写入 {@link PillarIndex} 文件
+ *
+ * <p>每个时段按起始分钟与最后一分钟各起一次四柱 (与引擎相同, 晚子时日柱算次日);
+ * 两者不同 (时段内有节令交接) 时二分查找交接分钟并切分区间。相邻且四柱相同的区间
+ * (晚子时与次日早子时) 合并为一个区间
+ *
+ * <p>全量范围 ({@link ChartAtlasGenerator#FIRST_DATE} ~ {@link ChartAtlasGenerator#END_DATE})
+ * 约 88 万个区间、52 万个不同四柱, 约 17 MB
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Slf4j
+public final class PillarIndexGenerator {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private PillarIndexGenerator() {
+    }
+
+    /**
+     * 命令行入口
+     *
+     * @param args 索引文件 [首日 末日之后一天] (ISO 日期, 默认全量范围)
+     */
+    public static void main(String[] args) {
+        if (args.length != 1 && args.length != 3) {
+            throw new IllegalArgumentException("Usage: PillarIndexGenerator <file> [from to]");
+        }
+        LocalDate from = args.length == 3 ? LocalDate.parse(args[1]) : ChartAtlasGenerator.FIRST_DATE;
+        LocalDate to = args.length == 3 ? LocalDate.parse(args[2]) : ChartAtlasGenerator.END_DATE;
+        generate(from, to, Path.of(args[0]));
+    }
+
+    /**
+     * 生成全量索引
+     *
+     * @see #generate(LocalDate, LocalDate, Path)
+     */
+    public static PillarIndex generate(Path file) {
+        return generate(ChartAtlasGenerator.FIRST_DATE, ChartAtlasGenerator.END_DATE, file);
+    }
+
+    /**
+     * 生成索引文件 (先写临时文件再原子替换) 并打开
+     *
+     * @param from 首日
+     * @param to 末日之后一天
+     * @param file 索引文件
+     * @return 索引
+     * @throws IllegalArgumentException 日期范围非法或超出全量范围时抛出
+     * @throws UncheckedIOException 写入失败时抛出
+     */
+    public static PillarIndex generate(LocalDate from, LocalDate to, Path file) {
+        if (from == null || to == null || file == null) {
+            throw new IllegalArgumentException("Date range and file cannot be null");
+        }
+        if (!from.isBefore(to) || from.isBefore(ChartAtlasGenerator.FIRST_DATE)
+            || to.isAfter(ChartAtlasGenerator.END_DATE)) {
+            throw new IllegalArgumentException("Pillar index range must be within "
+                + ChartAtlasGenerator.FIRST_DATE + " ~ " + ChartAtlasGenerator.END_DATE);
+        }
+        long started = System.nanoTime();
+        int days = (int) (to.toEpochDay() - from.toEpochDay());
+        int[][] perDay = IntStream.range(0, days).parallel()
+            .mapToObj(day -> segmentsOf(from.plusDays(day)))
+            .toArray(int[][]::new);
+
+        // 按时间顺序合并相邻的相同四柱, 每个区间三元组 (键, 起始, 结束)
+        int capacity = Arrays.stream(perDay).mapToInt(segments -> segments.length / 3).sum();
+        int[] keys = new int[capacity];
+        int[] starts = new int[capacity];
+        int[] ends = new int[capacity];
+        int n = 0;
+        for (int[] segments : perDay) {
+            for (int i = 0; i < segments.length; i += 3) {
+                if (n > 0 && keys[n - 1] == segments[i] && ends[n - 1] == segments[i + 1]) {
+                    ends[n - 1] = segments[i + 2];
+                } else {
+                    keys[n] = segments[i];
+                    starts[n] = segments[i + 1];
+                    ends[n] = segments[i + 2];
+                    n++;
+                }
+            }
+        }
+
+        // 按 (键, 时间) 排序: 键在高 32 位, 区间序号 (即时间顺序) 在低 32 位
+        long[] order = new long[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = ((long) keys[i] << 32) | i;
+        }
+        Arrays.sort(order);
+        int keyCount = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || (int) (order[i] >>> 32) != (int) (order[i - 1] >>> 32)) {
+                keyCount++;
+            }
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(ChartAtlas.RECORD_SIZE * 2);
+        header.put(PillarIndex.MAGIC);
+        header.put((byte) PillarIndex.FORMAT_VERSION);
+        putString(header, BaziCacheSnapshot.SDK_VERSION);
+        header.putInt((int) from.toEpochDay());
+        header.putInt(days);
+        header.putInt(keyCount);
+        header.putInt(n);
+        int headerLength = ChartAtlas.headerLength(header.position());
+        ByteBuffer out = ByteBuffer.allocate(headerLength + ((keyCount * 4 + 1) + n * 2 + 1) * Integer.BYTES);
+        out.put(header.array(), 0, headerLength);
+
+        int offsetsAt = headerLength + keyCount * Integer.BYTES;
+        int dayKeysAt = offsetsAt + (keyCount + 1) * Integer.BYTES;
+        int dayPositionsAt = dayKeysAt + keyCount * Integer.BYTES;
+        int startsAt = dayPositionsAt + keyCount * Integer.BYTES;
+        int endsAt = startsAt + n * Integer.BYTES;
+        long[] dayOrder = new long[keyCount];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            int key = (int) (order[i] >>> 32);
+            int interval = (int) order[i];
+            if (i == 0 || key != (int) (order[i - 1] >>> 32)) {
+                out.putInt(headerLength + k * Integer.BYTES, key);
+                out.putInt(offsetsAt + k * Integer.BYTES, i);
+                dayOrder[k] = ((long) PillarIndex.dayKey(key) << 32) | k;
+                k++;
+            }
+            out.putInt(startsAt + i * Integer.BYTES, starts[interval]);
+            out.putInt(endsAt + i * Integer.BYTES, ends[interval]);
+        }
+        out.putInt(offsetsAt + keyCount * Integer.BYTES, n);
+        Arrays.sort(dayOrder);
+        for (int i = 0; i < keyCount; i++) {
+            out.putInt(dayKeysAt + i * Integer.BYTES, (int) (dayOrder[i] >>> 32));
+            out.putInt(dayPositionsAt + i * Integer.BYTES, (int) dayOrder[i]);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(out.array(), 0, out.capacity() - Integer.BYTES);
+        out.putInt(out.capacity() - Integer.BYTES, (int) crc.getValue());
+
+        write(file, out.array());
+        log.info("Generated pillar index {} ({} ~ {}, {} keys, {} intervals) in {} ms", file, from, to,
+            keyCount, n, (System.nanoTime() - started) / 1_000_000);
+        return PillarIndex.open(file);
+    }
+
+    // ==================== 起盘 ====================
+
+    /**
+     * 一天内各时段的区间三元组 (键, 起始纪元分钟, 结束纪元分钟), 按时间排序
+     */
+    private static int[] segmentsOf(LocalDate date) {
+        int dayStart = Math.toIntExact(date.toEpochDay() * MINUTES_PER_DAY);
+        IntStream.Builder out = IntStream.builder();
+        for (int slot = 0; slot < ChartAtlas.SLOTS_PER_DAY; slot++) {
+            int start = dayStart + ChartAtlas.firstHourOf(slot) * 60;
+            int end = dayStart + (ChartAtlas.lastHourOf(slot) + 1) * 60;
+            split(start, end, keyAt(start), keyAt(end - 1), out);
+        }
+        return out.build().toArray();
+    }
+
+    /**
+     * 切分 [start, end) 为四柱相同的区间 (时段内至多一次节令交接, 两端相同即整段相同)
+     *
+     * @param first start 分钟的键
+     * @param last end - 1 分钟的键
+     */
+    private static void split(int start, int end, int first, int last, IntStream.Builder out) {
+        if (first == last) {
+            out.add(first).add(start).add(end);
+            return;
+        }
+        int low = start + 1;
+        int high = end - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keyAt(mid) != first) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        out.add(first).add(start).add(low);
+        split(low, end, keyAt(low), last, out);
+    }
+
+    /**
+     * 给定分钟的四柱键 (与引擎相同: lunar-java 八字, 晚子时日柱算次日)
+     *
+     * @throws IllegalStateException 月柱、时柱不符合五虎遁、五鼠遁时抛出 (部分柱查询依赖该规律)
+     */
+    static int keyAt(int epochMinute) {
+        LocalDateTime time = BirthInterval.dateTime(epochMinute);
+        EightChar eightChar = LunarUtils.createSolar(time.getYear(), time.getMonthValue(), time.getDayOfMonth(),
+            time.getHour(), time.getMinute()).getLunar().getEightChar();
+        eightChar.setSect(1);
+        int year = ChartTables.jiaZiIndex(eightChar.getYear());
+        int month = ChartTables.jiaZiIndex(eightChar.getMonth());
+        int day = ChartTables.jiaZiIndex(eightChar.getDay());
+        int hour = ChartTables.jiaZiIndex(eightChar.getTime());
+        if (month != ChartTables.monthJiaZi(year, month % 12) || hour != ChartTables.hourJiaZi(day, hour % 12)) {
+            throw new IllegalStateException("Unexpected pillars at " + time + ": " + eightChar);
+        }
+        return PillarIndex.key(year, month, day, hour);
+    }
+
+    private static void write(Path file, byte[] bytes) {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(tmp)) {
+                    out.write(bytes);
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write pillar index " + file, e);
+        }
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) utf8.length);
+        out.put(utf8);
+    }
+}
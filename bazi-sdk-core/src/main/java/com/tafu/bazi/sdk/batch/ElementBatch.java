@@ -0,0 +1,78 @@
+package com.tafu.bazi.sdk.batch;
+
+import com.tafu.bazi.sdk.chart.BaziChart;
+
+/**
+ * 批量五行计算的输入: 按列存放的四柱下标 (结构数组)
+ *
+ * <p>第 p 柱天干为 {@code stems[p][0..size)}, 地支同理; 按列存放使 {@link ElementKernel}
+ * 可以一次处理多个命盘的同一柱。非线程安全, 可 {@link #clear()} 后复用
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class ElementBatch {
+
+    /** 四柱天干下标 [柱][命盘] */
+    final int[][] stems;
+
+    /** 四柱地支下标 [柱][命盘] */
+    final int[][] branches;
+
+    private int size;
+
+    /**
+     * @param capacity 最多命盘数
+     * @throws IllegalArgumentException 容量小于 1 时抛出
+     */
+    public ElementBatch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Batch capacity must be positive");
+        }
+        stems = new int[4][capacity];
+        branches = new int[4][capacity];
+    }
+
+    /**
+     * 追加一个命盘
+     */
+    public void add(BaziChart chart) {
+        add(chart.getStems(), chart.getBranches());
+    }
+
+    /**
+     * 追加一个命盘
+     *
+     * @param pillarStems 四柱天干下标
+     * @param pillarBranches 四柱地支下标
+     * @throws IllegalArgumentException 批次已满或下标越界时抛出
+     */
+    public void add(int[] pillarStems, int[] pillarBranches) {
+        if (size == capacity()) {
+            throw new IllegalArgumentException("Batch is full");
+        }
+        for (int p = 0; p < 4; p++) {
+            if (pillarStems[p] < 0 || pillarStems[p] >= 10 || pillarBranches[p] < 0 || pillarBranches[p] >= 12) {
+                throw new IllegalArgumentException("Invalid pillar at position " + p);
+            }
+            stems[p][size] = pillarStems[p];
+            branches[p][size] = pillarBranches[p];
+        }
+        size++;
+    }
+
+    /**
+     * 清空 (保留容量)
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return stems[0].length;
+    }
+}
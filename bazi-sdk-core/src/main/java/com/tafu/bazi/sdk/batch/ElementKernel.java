@@ -0,0 +1,40 @@
+package com.tafu.bazi.sdk.batch;
+
+import com.tafu.bazi.sdk.chart.CompiledScoringModel;
+
+/**
+ * 批量五行计算内核
+ *
+ * <p>实现见 {@link ElementKernels}: 标量实现总是可用, 向量实现 (jdk.incubator.vector) 在模块存在时可用。
+ * 两种实现的运算顺序相同, 结果逐位一致
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public interface ElementKernel {
+
+    /**
+     * 实现名称 ("scalar" / "vector")
+     */
+    String name();
+
+    /**
+     * 五行加权分布: 天干计 1, 藏干按藏干权重, 再乘以月令下的旺相休囚死权重
+     * (与命盘的 {@link com.tafu.bazi.sdk.chart.BaziChart#getDistribution()} 相同, 误差在浮点舍入以内)
+     *
+     * @param batch 命盘批次
+     * @param model 计分模型
+     * @param out 输出 [五行][命盘], 每行长度不小于批次大小
+     */
+    void distribution(ElementBatch batch, CompiledScoringModel model, double[][] out);
+
+    /**
+     * 余弦相似度: 一个五行分布与多个五行分布
+     *
+     * @param query 五行分布 (长度 5)
+     * @param distributions 候选五行分布 [五行][候选]
+     * @param n 候选个数
+     * @param out 输出相似度, 任一方全为 0 时为 0
+     */
+    void cosine(double[] query, double[][] distributions, int n, double[] out);
+}
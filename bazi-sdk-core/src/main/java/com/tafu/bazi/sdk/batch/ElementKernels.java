@@ -0,0 +1,125 @@
+package com.tafu.bazi.sdk.batch;
+
+import com.tafu.bazi.sdk.chart.CompiledScoringModel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+
+import static com.tafu.bazi.sdk.chart.ChartTables.*;
+
+/**
+ * 批量五行计算内核的选择与共用查表
+ *
+ * <p>向量实现依赖孵化模块 jdk.incubator.vector, 只在以 {@code -Pvector} 构建 (编译 src/main/java-vector)
+ * 且运行时带 {@code --add-modules jdk.incubator.vector} 时加载; 否则 {@link #best()} 返回标量实现。内核把逐柱的五行累加改写为按列查表:
+ * 分布 [五行] = (各柱天干是否为该五行 + 各柱地支中该五行藏干的权重和) × 月令下该五行的权重
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Slf4j
+public final class ElementKernels {
+
+    /** 向量实现类名 (按名加载, 模块缺失时不触发类加载) */
+    private static final String VECTOR_KERNEL = "com.tafu.bazi.sdk.batch.VectorElementKernel";
+
+    /** 天干是否为该五行 [五行][天干], 1 或 0 */
+    static final double[][] STEM_WEIGHTS = new double[ELEMENTS.length][10];
+
+    /** 地支藏干中该五行的权重和 [五行][地支] */
+    static final double[][] HIDDEN_WEIGHTS = new double[ELEMENTS.length][12];
+
+    static {
+        for (int s = 0; s < 10; s++) {
+            STEM_WEIGHTS[STEM_ELEMENT[s]][s] = 1.0;
+        }
+        for (int b = 0; b < 12; b++) {
+            for (int j = 0; j < HIDDEN_STEMS[b].length; j++) {
+                HIDDEN_WEIGHTS[STEM_ELEMENT[HIDDEN_STEMS[b][j]]][b] += HIDDEN_STEM_WEIGHTS[b][j];
+            }
+        }
+    }
+
+    private static final ElementKernel SCALAR = new ScalarElementKernel();
+
+    private static final ElementKernel VECTOR = loadVector();
+
+    private ElementKernels() {
+    }
+
+    /**
+     * 标量实现
+     */
+    public static ElementKernel scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * 向量实现, 未编译向量内核或 jdk.incubator.vector 模块不存在时为空
+     */
+    public static Optional<ElementKernel> vector() {
+        return Optional.ofNullable(VECTOR);
+    }
+
+    /**
+     * 可用时为向量实现, 否则为标量实现
+     */
+    public static ElementKernel best() {
+        return VECTOR != null ? VECTOR : SCALAR;
+    }
+
+    /**
+     * 月令下的五行权重 [五行][月支]
+     */
+    static double[][] stateWeights(CompiledScoringModel model) {
+        double[][] weights = new double[ELEMENTS.length][12];
+        for (int e = 0; e < ELEMENTS.length; e++) {
+            for (int b = 0; b < 12; b++) {
+                weights[e][b] = model.stateWeight(MONTH_BRANCH_ELEMENT[b], e);
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * 校验按五行分行的数组
+     */
+    static void checkRows(double[][] rows, int n) {
+        if (rows == null || rows.length < ELEMENTS.length) {
+            throw new IllegalArgumentException("Arrays must have a row per five element");
+        }
+        for (int e = 0; e < ELEMENTS.length; e++) {
+            if (rows[e].length < n) {
+                throw new IllegalArgumentException("Row is shorter than the batch");
+            }
+        }
+    }
+
+    /**
+     * 校验余弦相似度的参数
+     */
+    static void checkCosine(double[] query, double[][] distributions, int n, double[] out) {
+        if (query == null || query.length != ELEMENTS.length) {
+            throw new IllegalArgumentException("Query must have a value per five element");
+        }
+        checkRows(distributions, n);
+        if (out == null || out.length < n) {
+            throw new IllegalArgumentException("Output is shorter than the candidates");
+        }
+    }
+
+    private static ElementKernel loadVector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (ElementKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            log.debug("Vector element kernel not built (-Pvector), using scalar");
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Vector element kernel unavailable, using scalar: {}", e.toString());
+            return null;
+        }
+    }
+}
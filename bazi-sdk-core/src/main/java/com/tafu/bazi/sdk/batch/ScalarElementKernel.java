@@ -0,0 +1,74 @@
+package com.tafu.bazi.sdk.batch;
+
+import com.tafu.bazi.sdk.chart.CompiledScoringModel;
+
+import static com.tafu.bazi.sdk.batch.ElementKernels.HIDDEN_WEIGHTS;
+import static com.tafu.bazi.sdk.batch.ElementKernels.STEM_WEIGHTS;
+
+/**
+ * 标量内核, 运算顺序与 {@link VectorElementKernel} 一致
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+final class ScalarElementKernel implements ElementKernel {
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void distribution(ElementBatch batch, CompiledScoringModel model, double[][] out) {
+        int n = batch.size();
+        ElementKernels.checkRows(out, n);
+        double[][] states = ElementKernels.stateWeights(model);
+        int[][] stems = batch.stems;
+        int[][] branches = batch.branches;
+        for (int e = 0; e < STEM_WEIGHTS.length; e++) {
+            distribution(STEM_WEIGHTS[e], HIDDEN_WEIGHTS[e], states[e], stems, branches, out[e], 0, n);
+        }
+    }
+
+    /**
+     * 一个五行的 [from, to) 分布 (向量内核的尾部也用此方法)
+     */
+    static void distribution(double[] stemWeights, double[] hiddenWeights, double[] states, int[][] stems,
+                             int[][] branches, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double sum = 0.0;
+            for (int p = 0; p < 4; p++) {
+                sum += stemWeights[stems[p][i]];
+                sum += hiddenWeights[branches[p][i]];
+            }
+            out[i] = sum * states[branches[1][i]];
+        }
+    }
+
+    @Override
+    public void cosine(double[] query, double[][] distributions, int n, double[] out) {
+        ElementKernels.checkCosine(query, distributions, n, out);
+        cosine(query, norm(query), distributions, out, 0, n);
+    }
+
+    static double norm(double[] query) {
+        double sum = 0.0;
+        for (double value : query) {
+            sum += value * value;
+        }
+        return Math.sqrt(sum);
+    }
+
+    static void cosine(double[] query, double queryNorm, double[][] distributions, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double dot = 0.0;
+            double sum = 0.0;
+            for (int e = 0; e < query.length; e++) {
+                double value = distributions[e][i];
+                dot += query[e] * value;
+                sum += value * value;
+            }
+            out[i] = queryNorm == 0.0 || sum == 0.0 ? 0.0 : dot / (queryNorm * Math.sqrt(sum));
+        }
+    }
+}
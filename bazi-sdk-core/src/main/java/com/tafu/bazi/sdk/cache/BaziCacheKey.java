@@ -0,0 +1,122 @@
+package com.tafu.bazi.sdk.cache;
+
+import com.tafu.bazi.sdk.codec.BaziBinaryCodec;
+import com.tafu.bazi.sdk.model.BaziRequest;
+
+/**
+ * 请求归一化键: 计算结果相同的请求得到相等的键
+ *
+ * <p>只保留参与计算的字段: 纬度不参与计算被忽略 (但仍校验范围, 与直接计算时报错一致),
+ * 闰月标记仅对农历有效。计分模型集合与格局规则不在请求中, 由计算器给出的规则版本
+ * ({@code rulesVersion}) 区分: 规则不同 (或热更新前后) 的结果落在不同的键下, 不会相互命中
+ *
+ * @param year 年
+ * @param month 月
+ * @param day 日
+ * @param hour 时
+ * @param minute 分
+ * @param calendarType 历法类型
+ * @param leapMonth 是否闰月 (公历恒为 false)
+ * @param gender 性别
+ * @param longitude 经度, 可为 null
+ * @param scoringModel 计分模型名称, 未指定 (使用计算器默认模型) 时为 null
+ * @param rulesVersion 规则版本 (计分模型集合与格局规则的指纹), 内置规则时为 null
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record BaziCacheKey(
+    Integer year,
+    Integer month,
+    Integer day,
+    Integer hour,
+    Integer minute,
+    String calendarType,
+    boolean leapMonth,
+    String gender,
+    Double longitude,
+    String scoringModel,
+    String rulesVersion
+) {
+
+    /**
+     * 由请求生成键, 规则版本为 null (内置计分模型与格局规则)
+     *
+     * @param request 八字计算请求
+     * @return 键
+     * @throws IllegalArgumentException 请求为 null 或纬度超出范围时抛出
+     */
+    public static BaziCacheKey of(BaziRequest request) {
+        return of(request, null);
+    }
+
+    /**
+     * 由请求与规则版本生成键 (除纬度外不做校验, 非法请求同样得到键, 计算时再报错)
+     *
+     * @param request 八字计算请求
+     * @param rulesVersion 规则版本, null 或空白表示内置规则
+     * @return 键
+     * @throws IllegalArgumentException 请求为 null 或纬度超出范围时抛出
+     */
+    public static BaziCacheKey of(BaziRequest request, String rulesVersion) {
+        if (request == null) {
+            throw new IllegalArgumentException("Request cannot be null");
+        }
+        if (request.getLatitude() != null
+            && (request.getLatitude() < -90.0 || request.getLatitude() > 90.0)) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90");
+        }
+        boolean lunar = "lunar".equals(request.getCalendarType());
+        return new BaziCacheKey(
+            request.getYear(),
+            request.getMonth(),
+            request.getDay(),
+            request.getHour(),
+            request.getMinute(),
+            request.getCalendarType(),
+            lunar && Boolean.TRUE.equals(request.getIsLeapMonth()),
+            request.getGender(),
+            request.getLongitude(),
+            request.getScoringModel() == null || request.getScoringModel().isBlank() ? null : request.getScoringModel(),
+            rulesVersion == null || rulesVersion.isBlank() ? null : rulesVersion
+        );
+    }
+
+    /**
+     * 共享存储中使用的字符串键, 以 SDK 版本与二进制编码版本为前缀
+     *
+     * <p>示例: {@code bazi:1.0.0:2:1990:5:15:14:30:solar:0:male:116.4:-:-}
+     * (末两段为计分模型名称与规则版本, 未指定时为 -)。规则版本进入键, 使用不同计分模型集合或格局规则的实例
+     * 共用同一存储时互不命中
+     *
+     * @return 字符串键
+     */
+    public String toStorageKey() {
+        return "bazi:" + BaziCacheSnapshot.SDK_VERSION + ':' + BaziBinaryCodec.FORMAT_VERSION
+            + ':' + year + ':' + month + ':' + day + ':' + hour + ':' + minute
+            + ':' + calendarType + ':' + (leapMonth ? 1 : 0) + ':' + gender
+            + ':' + (longitude == null ? "-" : longitude.toString())
+            + ':' + (scoringModel == null ? "-" : scoringModel)
+            + ':' + (rulesVersion == null ? "-" : rulesVersion);
+    }
+
+    /**
+     * 还原为请求 (规则版本不属于请求)
+     *
+     * @return 八字计算请求
+     */
+    public BaziRequest toRequest() {
+        return BaziRequest.builder()
+            .year(year)
+            .month(month)
+            .day(day)
+            .hour(hour)
+            .minute(minute)
+            .calendarType(calendarType)
+            .isLeapMonth(leapMonth)
+            .gender(gender)
+            .longitude(longitude)
+            .scoringModel(scoringModel)
+            .build();
+    }
+}
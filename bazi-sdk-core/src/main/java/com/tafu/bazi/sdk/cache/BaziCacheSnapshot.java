@@ -0,0 +1,304 @@
+package com.tafu.bazi.sdk.cache;
+
+import com.tafu.bazi.sdk.codec.BaziBinaryCodec;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.utils.SdkVersion;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * 缓存快照: 把 {@link LocalBaziCache} 的热点条目写入本地文件, 重启后重新载入
+ *
+ * <p>文件格式 (大端):
+ * <pre>
+ * magic "BZCS" | 快照格式版本 u8 | 二进制编码版本 u8 | SDK 版本 str | 规则版本 str | 写入时间 i64 | 条目数 i32
+ * 条目 × N: 年 i16 | 月 i8 | 日 i8 | 时 i8 | 分 i8 | 标志 u8 | [经度 f64] | [计分模型 str] | [键的规则版本 str]
+ *          | 结果长度 i32 | {@link BaziBinaryCodec} 结果
+ * CRC32 i32 (覆盖之前全部字节)
+ * </pre>
+ *
+ * <p>快照格式、编码版本、{@link #SDK_VERSION} 或调用方给定的规则版本任一不一致时, 快照视为过期整体丢弃。
+ * 写入先落临时文件再原子替换, 读取使用内存映射
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Slf4j
+public final class BaziCacheSnapshot {
+
+    /** 快照格式版本 */
+    public static final int FORMAT_VERSION = 3;
+
+    /** SDK 版本, 取自构建版本 ({@link SdkVersion}), 每次发布自动变化 */
+    public static final String SDK_VERSION = SdkVersion.current();
+
+    private static final byte[] MAGIC = {'B', 'Z', 'C', 'S'};
+
+    private static final int FLAG_LUNAR = 1;
+    private static final int FLAG_LEAP = 1 << 1;
+    private static final int FLAG_FEMALE = 1 << 2;
+    private static final int FLAG_LONGITUDE = 1 << 3;
+    private static final int FLAG_SCORING_MODEL = 1 << 4;
+    private static final int FLAG_RULES_VERSION = 1 << 5;
+
+    private static final BaziBinaryCodec CODEC = new BaziBinaryCodec();
+
+    private BaziCacheSnapshot() {
+    }
+
+    /**
+     * 保存缓存中最热的条目
+     *
+     * @param cache 缓存
+     * @param file 快照文件
+     * @param maxEntries 最多保存的条目数
+     * @param rulesVersion 规则版本 (可为 null)
+     * @return 保存的条目数
+     * @throws UncheckedIOException 写入失败时抛出
+     */
+    public static int save(LocalBaziCache cache, Path file, int maxEntries, String rulesVersion) {
+        if (cache == null || file == null) {
+            throw new IllegalArgumentException("Cache and file cannot be null");
+        }
+        List<Map.Entry<BaziCacheKey, BaziResponse>> entries = cache.hottest(maxEntries);
+        byte[] data = encode(entries, rulesVersion);
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(tmp, data);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write bazi cache snapshot " + file, e);
+        }
+        log.info("Saved {} bazi cache entries to {} ({} bytes)", entries.size(), file, data.length);
+        return entries.size();
+    }
+
+    /**
+     * 载入快照到缓存 (文件不存在、过期或损坏时不载入, 仅记录日志)
+     *
+     * <p>按从冷到热的顺序写入, 载入后缓存的访问顺序与保存时一致
+     *
+     * @param cache 缓存
+     * @param file 快照文件
+     * @param rulesVersion 规则版本 (可为 null)
+     * @return 载入的条目数
+     */
+    public static int load(LocalBaziCache cache, Path file, String rulesVersion) {
+        if (cache == null || file == null) {
+            throw new IllegalArgumentException("Cache and file cannot be null");
+        }
+        if (!Files.isRegularFile(file)) {
+            return 0;
+        }
+        List<Map.Entry<BaziCacheKey, BaziResponse>> entries;
+        try {
+            entries = read(file, rulesVersion);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring bazi cache snapshot {}: {}", file, e.getMessage());
+            return 0;
+        } catch (UncheckedIOException e) {
+            log.warn("Failed to read bazi cache snapshot {}: {}", file, e.getMessage());
+            return 0;
+        }
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            cache.put(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+        log.info("Loaded {} bazi cache entries from {}", entries.size(), file);
+        return entries.size();
+    }
+
+    /**
+     * 读取快照条目, 越热越靠前
+     *
+     * @param file 快照文件
+     * @param rulesVersion 规则版本 (可为 null)
+     * @return 条目列表
+     * @throws IllegalArgumentException 快照损坏或版本不一致时抛出
+     * @throws UncheckedIOException 读取失败时抛出
+     */
+    public static List<Map.Entry<BaziCacheKey, BaziResponse>> read(Path file, String rulesVersion) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer, rulesVersion);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read bazi cache snapshot " + file, e);
+        }
+    }
+
+    // ==================== 编码 ====================
+
+    static byte[] encode(List<Map.Entry<BaziCacheKey, BaziResponse>> entries, String rulesVersion) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + entries.size() * 1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeByte(BaziBinaryCodec.FORMAT_VERSION);
+            writeString(out, SDK_VERSION);
+            writeString(out, rulesVersion == null ? "" : rulesVersion);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(entries.size());
+            for (Map.Entry<BaziCacheKey, BaziResponse> entry : entries) {
+                writeKey(out, entry.getKey());
+                byte[] record = CODEC.encode(entry.getValue());
+                out.writeInt(record.length);
+                out.write(record);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeInt((int) crc.getValue());
+        } catch (IOException e) {
+            // ByteArrayOutputStream 不会抛出
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeKey(DataOutputStream out, BaziCacheKey key) throws IOException {
+        // 只有计算成功的请求才会进入缓存, 各字段均已通过校验
+        out.writeShort(key.year());
+        out.writeByte(key.month());
+        out.writeByte(key.day());
+        out.writeByte(key.hour());
+        out.writeByte(key.minute());
+        int flags = 0;
+        if ("lunar".equals(key.calendarType())) {
+            flags |= FLAG_LUNAR;
+        }
+        if (key.leapMonth()) {
+            flags |= FLAG_LEAP;
+        }
+        if ("female".equals(key.gender())) {
+            flags |= FLAG_FEMALE;
+        }
+        if (key.longitude() != null) {
+            flags |= FLAG_LONGITUDE;
+        }
+        if (key.scoringModel() != null) {
+            flags |= FLAG_SCORING_MODEL;
+        }
+        if (key.rulesVersion() != null) {
+            flags |= FLAG_RULES_VERSION;
+        }
+        out.writeByte(flags);
+        if (key.longitude() != null) {
+            out.writeDouble(key.longitude());
+        }
+        if (key.scoringModel() != null) {
+            writeString(out, key.scoringModel());
+        }
+        if (key.rulesVersion() != null) {
+            writeString(out, key.rulesVersion());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(utf8.length);
+        out.write(utf8);
+    }
+
+    // ==================== 解码 ====================
+
+    static List<Map.Entry<BaziCacheKey, BaziResponse>> decode(ByteBuffer buffer, String rulesVersion) {
+        try {
+            int length = buffer.remaining();
+            if (length < MAGIC.length + 4) {
+                throw new IllegalArgumentException("Truncated bazi cache snapshot");
+            }
+            ByteBuffer body = buffer.slice(buffer.position(), length - 4);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(buffer.position() + length - 4)) {
+                throw new IllegalArgumentException("Checksum mismatch");
+            }
+
+            for (byte b : MAGIC) {
+                if (body.get() != b) {
+                    throw new IllegalArgumentException("Not a bazi cache snapshot");
+                }
+            }
+            int format = body.get() & 0xFF;
+            int codec = body.get() & 0xFF;
+            String sdkVersion = readString(body);
+            String rules = readString(body);
+            String expectedRules = rulesVersion == null ? "" : rulesVersion;
+            if (format != FORMAT_VERSION || codec != BaziBinaryCodec.FORMAT_VERSION
+                || !SDK_VERSION.equals(sdkVersion) || !expectedRules.equals(rules)) {
+                throw new IllegalArgumentException("Stale snapshot (format " + format + ", codec " + codec
+                    + ", sdk " + sdkVersion + ", rules '" + rules + "')");
+            }
+            body.getLong();
+
+            int count = body.getInt();
+            if (count < 0) {
+                throw new IllegalArgumentException("Malformed entry count");
+            }
+            List<Map.Entry<BaziCacheKey, BaziResponse>> entries = new ArrayList<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) {
+                BaziCacheKey key = readKey(body);
+                int recordLength = body.getInt();
+                if (recordLength < 0 || recordLength > body.remaining()) {
+                    throw new IllegalArgumentException("Truncated bazi cache snapshot");
+                }
+                BaziResponse response = CODEC.decode(body.slice(body.position(), recordLength));
+                body.position(body.position() + recordLength);
+                entries.add(Map.entry(key, response));
+            }
+            if (body.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes in bazi cache snapshot");
+            }
+            return entries;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated bazi cache snapshot", e);
+        }
+    }
+
+    private static BaziCacheKey readKey(ByteBuffer in) {
+        int year = in.getShort();
+        int month = in.get();
+        int day = in.get();
+        int hour = in.get();
+        int minute = in.get();
+        int flags = in.get() & 0xFF;
+        Double longitude = (flags & FLAG_LONGITUDE) != 0 ? in.getDouble() : null;
+        String scoringModel = (flags & FLAG_SCORING_MODEL) != 0 ? readString(in) : null;
+        String rulesVersion = (flags & FLAG_RULES_VERSION) != 0 ? readString(in) : null;
+        return new BaziCacheKey(year, month, day, hour, minute,
+            (flags & FLAG_LUNAR) != 0 ? "lunar" : "solar",
+            (flags & FLAG_LEAP) != 0,
+            (flags & FLAG_FEMALE) != 0 ? "female" : "male",
+            longitude,
+            scoringModel,
+            rulesVersion);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,68 @@
+package com.tafu.bazi.sdk.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 缓存层 SPI: 位于进程内 {@link LocalBaziCache} 之下的共享缓存 (如 Redis)
+ *
+ * <p>值为 {@link com.tafu.bazi.sdk.codec.BaziBinaryCodec} 编码后的字节, 键建议使用
+ * {@link BaziCacheKey#toStorageKey()} (含版本前缀, 版本变化后旧值自然失效)。
+ * 所有操作均为异步, 调用方自行决定等待时长, 超时即视为未命中
+ *
+ * <p>实现必须线程安全
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public interface BaziCacheTier {
+
+  /**
+   * 层名称, 用于排序配置与日志
+   */
+  String name();
+
+  /**
+   * 查询
+   *
+   * @param key 键
+   * @return 编码后的结果, 未命中时完成值为 null
+   */
+  CompletableFuture<byte[]> get(BaziCacheKey key);
+
+  /**
+   * 写入
+   *
+   * @param key 键
+   * @param value 编码后的结果
+   * @return 写入完成信号
+   */
+  CompletableFuture<Void> put(BaziCacheKey key, byte[] value);
+
+  /**
+   * 批量查询, 默认逐个调用 {@link #get(BaziCacheKey)}; 支持 MGET 之类批量命令的实现应覆盖为一次往返
+   *
+   * @param keys 键集合
+   * @return 命中的条目 (不含未命中的键)
+   */
+  default CompletableFuture<Map<BaziCacheKey, byte[]>> getAll(Collection<BaziCacheKey> keys) {
+    Map<BaziCacheKey, CompletableFuture<byte[]>> futures = new LinkedHashMap<>();
+    for (BaziCacheKey key : keys) {
+      futures.put(key, get(key));
+    }
+    return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+        .thenApply(ignored -> {
+          Map<BaziCacheKey, byte[]> hits = new HashMap<>();
+          futures.forEach((key, future) -> {
+            byte[] value = future.join();
+            if (value != null) {
+              hits.put(key, value);
+            }
+          });
+          return hits;
+        });
+  }
+}
@@ -0,0 +1,255 @@
+package com.tafu.bazi.sdk.cache;
+
+import com.tafu.bazi.sdk.model.immutable.BaziResult;
+import com.tafu.bazi.sdk.model.immutable.DaYun;
+import com.tafu.bazi.sdk.model.immutable.EarthlyBranch;
+import com.tafu.bazi.sdk.model.immutable.FiveElements;
+import com.tafu.bazi.sdk.model.immutable.FourPillars;
+import com.tafu.bazi.sdk.model.immutable.HeavenlyStem;
+import com.tafu.bazi.sdk.model.immutable.HiddenStem;
+import com.tafu.bazi.sdk.model.immutable.LiuNian;
+import com.tafu.bazi.sdk.model.immutable.Pattern;
+import com.tafu.bazi.sdk.model.immutable.Pillar;
+import com.tafu.bazi.sdk.model.immutable.ShenSha;
+import com.tafu.bazi.sdk.model.immutable.TenGodInfo;
+import com.tafu.bazi.sdk.model.immutable.TenGods;
+import com.tafu.bazi.sdk.model.immutable.YunInfo;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * 结果子对象享元池
+ *
+ * <p>大量命盘共享相同的子结果: 同一干支与日主的柱 ({@link Pillar})、格局描述、日主特征、
+ * 同一日主 / 月柱 / 顺逆 / 起运年份的大运流年、十神统计、五行喜忌、(当前恒为空的) 神煞等。
+ * 日主得分与五行分布几乎每个命盘都不同, 不参与共享。
+ * {@link #intern(BaziResult)} 返回与原结果相等、但这些子对象换成池中共享实例的新结果 (先子后父),
+ * 缓存大量命盘时内存中主要是指针
+ *
+ * <p>只处理不可变的 {@link BaziResult} (record 与只读集合), 共享实例可以安全地被任意多个结果引用;
+ * 传入的结果本身不会被修改。每个池有容量上限, 满后新值不再入池 (原样使用)
+ *
+ * <p>线程安全
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public class BaziResponseInterner {
+
+    /** 默认单池容量上限 */
+    public static final int DEFAULT_MAX_POOL_SIZE = 1 << 16;
+
+    private final int maxPoolSize;
+
+    private final Pool<HeavenlyStem, HeavenlyStem> heavenlyStems = new Pool<>(UnaryOperator.identity());
+    private final Pool<EarthlyBranch, EarthlyBranch> earthlyBranches = new Pool<>(UnaryOperator.identity());
+    private final Pool<HiddenStem, HiddenStem> hiddenStems = new Pool<>(UnaryOperator.identity());
+    private final Pool<List<HiddenStem>, List<HiddenStem>> hiddenStemLists = new Pool<>(UnaryOperator.identity());
+    private final Pool<Pillar, Pillar> pillars = new Pool<>(UnaryOperator.identity());
+    private final Pool<List<String>, List<String>> stringLists = new Pool<>(UnaryOperator.identity());
+    private final Pool<TenGodInfo, TenGodInfo> tenGodInfos = new Pool<>(UnaryOperator.identity());
+    private final Pool<List<Map.Entry<String, TenGodInfo>>, TenGods> tenGods =
+        new Pool<>(shared -> entries(shared.gods()));
+    private final Pool<Pattern, Pattern> patterns = new Pool<>(UnaryOperator.identity());
+    private final Pool<LiuNian, LiuNian> liuNians = new Pool<>(UnaryOperator.identity());
+    private final Pool<List<LiuNian>, List<LiuNian>> liuNianLists = new Pool<>(UnaryOperator.identity());
+    private final Pool<DaYun, DaYun> daYuns = new Pool<>(UnaryOperator.identity());
+    private final Pool<List<DaYun>, List<DaYun>> daYunLists = new Pool<>(UnaryOperator.identity());
+    private final Pool<YunInfo, YunInfo> yunInfos = new Pool<>(UnaryOperator.identity());
+    private final Pool<ShenSha, ShenSha> shenShas = new Pool<>(UnaryOperator.identity());
+
+    public BaziResponseInterner() {
+        this(DEFAULT_MAX_POOL_SIZE);
+    }
+
+    public BaziResponseInterner(int maxPoolSize) {
+        if (maxPoolSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    /**
+     * 共享结果中的可共享子对象
+     *
+     * @param result 结果 (null 原样返回)
+     * @return 与 {@code result} 相等的结果, 子对象取自池中
+     */
+    public BaziResult intern(BaziResult result) {
+        if (result == null) {
+            return null;
+        }
+        FourPillars fourPillars = result.fourPillars();
+        if (fourPillars != null) {
+            fourPillars = new FourPillars(internPillar(fourPillars.year()), internPillar(fourPillars.month()),
+                internPillar(fourPillars.day()), internPillar(fourPillars.hour()));
+        }
+        return new BaziResult(
+            result.gender(),
+            result.solarDate(),
+            result.lunarDate(),
+            result.trueSolarTime(),
+            fourPillars,
+            result.dayMaster(),
+            internFiveElements(result.fiveElements()),
+            internTenGods(result.tenGods()),
+            share(patterns, result.pattern()),
+            internYun(result.yun()),
+            internShenSha(result.shenSha()),
+            result.shengXiao(),
+            result.taiYuan(),
+            result.mingGong(),
+            result.shenGong(),
+            result.xunKong(),
+            shareStrings(result.dayMasterCharacteristics()));
+    }
+
+    /**
+     * 各池当前条目总数
+     */
+    public int size() {
+        int size = 0;
+        for (Pool<?, ?> pool : List.of(heavenlyStems, earthlyBranches, hiddenStems, hiddenStemLists, pillars,
+            stringLists, tenGodInfos, tenGods, patterns, liuNians, liuNianLists, daYuns, daYunLists,
+            yunInfos, shenShas)) {
+            size += pool.values.size();
+        }
+        return size;
+    }
+
+    private Pillar internPillar(Pillar pillar) {
+        return pillar == null ? null : pillars.lookup(pillar, () -> new Pillar(
+            share(heavenlyStems, pillar.heavenlyStem()),
+            share(earthlyBranches, pillar.earthlyBranch()),
+            pillar.naYin(),
+            shareList(hiddenStemLists, pillar.hiddenStems(), h -> share(hiddenStems, h)),
+            pillar.xunKong(),
+            pillar.tenGod(),
+            pillar.lifeStage()));
+    }
+
+    private FiveElements internFiveElements(FiveElements fiveElements) {
+        // 分布 (含小数得分) 几乎每个命盘都不同, 不共享; record 构造时会复制 Map, 只共享列表
+        if (fiveElements == null) {
+            return null;
+        }
+        return new FiveElements(
+            fiveElements.distribution(),
+            fiveElements.counts(),
+            fiveElements.strongest(),
+            fiveElements.weakest(),
+            shareStrings(fiveElements.favorable()),
+            shareStrings(fiveElements.unfavorable()),
+            fiveElements.elementStates(),
+            fiveElements.monthElement());
+    }
+
+    /**
+     * 以迭代顺序的条目列表为键 (十神名存在哈希冲突, 内容相等的 Map 迭代顺序可能不同,
+     * 而序列化结果依赖迭代顺序), 整个 {@link TenGods} 入池
+     */
+    private TenGods internTenGods(TenGods value) {
+        if (value == null || value.gods() == null) {
+            return value;
+        }
+        return tenGods.lookup(entries(value.gods()), () -> {
+            Map<String, TenGodInfo> gods = new LinkedHashMap<>();
+            value.gods().forEach((name, info) -> gods.put(name, info == null ? null : tenGodInfos.lookup(info,
+                () -> new TenGodInfo(info.name(), info.count(), shareStrings(info.positions())))));
+            return new TenGods(gods);
+        });
+    }
+
+    private YunInfo internYun(YunInfo yun) {
+        return yun == null ? null : yunInfos.lookup(yun, () -> new YunInfo(yun.startAge(), yun.forward(),
+            shareList(daYunLists, yun.daYunList(), daYun -> daYuns.lookup(daYun, () -> new DaYun(
+                daYun.index(), daYun.startAge(), daYun.endAge(), daYun.ganZhi(), daYun.gan(), daYun.zhi(),
+                daYun.startYear(), daYun.endYear(),
+                shareList(liuNianLists, daYun.liuNian(), n -> share(liuNians, n)),
+                daYun.lifeStage())))));
+    }
+
+    private ShenSha internShenSha(ShenSha shenSha) {
+        return shenSha == null ? null : shenShas.lookup(shenSha, () -> new ShenSha(
+            shareStrings(shenSha.year()),
+            shareStrings(shenSha.month()),
+            shareStrings(shenSha.day()),
+            shareStrings(shenSha.hour())));
+    }
+
+    private static List<Map.Entry<String, TenGodInfo>> entries(Map<String, TenGodInfo> map) {
+        List<Map.Entry<String, TenGodInfo>> entries = new ArrayList<>(map.size());
+        for (Map.Entry<String, TenGodInfo> entry : map.entrySet()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(entry));
+        }
+        return entries;
+    }
+
+    private List<String> shareStrings(List<String> list) {
+        return shareList(stringLists, list, UnaryOperator.identity());
+    }
+
+    /**
+     * 共享不含子对象的值
+     */
+    private <T> T share(Pool<T, T> pool, T value) {
+        return value == null ? null : pool.lookup(value, () -> value);
+    }
+
+    /**
+     * 共享列表: 逐个共享元素后以 {@link List#copyOf} 副本入池 (record 构造时不会再复制)
+     */
+    private <T> List<T> shareList(Pool<List<T>, List<T>> pool, List<T> list, UnaryOperator<T> shareElement) {
+        if (list == null) {
+            return null;
+        }
+        return pool.lookup(list, () -> {
+            List<T> copy = new ArrayList<>(list.size());
+            for (T element : list) {
+                copy.add(shareElement.apply(element));
+            }
+            return List.copyOf(copy);
+        });
+    }
+
+    /**
+     * 按 equals 判等的有界池
+     *
+     * <p>入池时的键由共享实例重新生成 ({@code keyOf}), 不引用查找时传入的对象,
+     * 否则池会把第一个结果未共享的子对象也一直留在内存中
+     */
+    private final class Pool<K, V> {
+
+        private final ConcurrentHashMap<K, V> values = new ConcurrentHashMap<>();
+
+        private final Function<V, K> keyOf;
+
+        Pool(Function<V, K> keyOf) {
+            this.keyOf = keyOf;
+        }
+
+        /**
+         * 按键查找共享实例, 未命中时以 {@code create} 的结果入池
+         */
+        V lookup(K key, Supplier<V> create) {
+            V existing = values.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            V created = create.get();
+            if (values.size() >= maxPoolSize) {
+                return created;
+            }
+            existing = values.putIfAbsent(keyOf.apply(created), created);
+            return existing != null ? existing : created;
+        }
+    }
+}
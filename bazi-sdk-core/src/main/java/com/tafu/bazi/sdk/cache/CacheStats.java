@@ -0,0 +1,40 @@
+package com.tafu.bazi.sdk.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 缓存统计
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStats {
+
+    /** 本地缓存命中次数 */
+    private long localHits;
+
+    /** 本地缓存未命中次数 */
+    private long localMisses;
+
+    /** 下层缓存命中次数 */
+    private long tierHits;
+
+    /** 下层缓存未命中次数 (按层累计) */
+    private long tierMisses;
+
+    /** 下层缓存查询超时次数 */
+    private long tierTimeouts;
+
+    /** 下层缓存查询失败或值无法解码的次数 */
+    private long tierErrors;
+
+    /** 实际执行的计算次数 */
+    private long computations;
+}
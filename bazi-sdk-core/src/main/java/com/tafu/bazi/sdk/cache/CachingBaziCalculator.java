@@ -0,0 +1,312 @@
+package com.tafu.bazi.sdk.cache;
+
+import com.tafu.bazi.sdk.BaziCalculator;
+import com.tafu.bazi.sdk.codec.BaziBinaryCodec;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.HourChartDTO;
+import com.tafu.bazi.sdk.model.immutable.BaziResult;
+import com.tafu.bazi.sdk.warmup.WarmupPolicy;
+import com.tafu.bazi.sdk.warmup.WarmupReport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 带结果缓存的计算器
+ *
+ * <p>查找顺序: 进程内 {@link LocalBaziCache} → 按顺序的各 {@link BaziCacheTier} → 计算。
+ * 某层命中后回填本地缓存与其之前的各层; 全部未命中时计算并异步写入所有层。
+ * 单层查询超过 {@code tierTimeout} 或失败视为未命中, 继续查下一层, 最终退化为本地计算
+ *
+ * <p>键由请求与规则版本组成 (见 {@link BaziCacheKey}): 规则版本由构造时给定的来源在每次查询时取值,
+ * 计分模型集合或格局规则变化 (含热更新) 后新请求落在新的键下, 本地与各层中按旧规则算出的结果不会再被命中。
+ *
+ * <p>本地缓存保存共享的不可变结果: {@link #calculate} 命中时返回其可变副本, 调用方可以随意修改;
+ * {@link #calculateImmutable} 命中时直接返回共享实例, 不复制。
+ * 需要同时防止缓存未命中时的并发击穿, 可包装 {@link CoalescingBaziCalculator}:
+ * <pre>
+ * new CachingBaziCalculator(new CoalescingBaziCalculator(new BaziCalculatorImpl()), cache)
+ * </pre>
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class CachingBaziCalculator implements BaziCalculator {
+
+    /** 默认单层查询超时 */
+    public static final Duration DEFAULT_TIER_TIMEOUT = Duration.ofMillis(50);
+
+    private final BaziCalculator delegate;
+    private final LocalBaziCache cache;
+    private final List<BaziCacheTier> tiers;
+    private final long tierTimeoutNanos;
+    private final Supplier<String> rulesVersion;
+    private final BaziBinaryCodec codec = new BaziBinaryCodec();
+
+    private final LongAdder tierHits = new LongAdder();
+    private final LongAdder tierMisses = new LongAdder();
+    private final LongAdder tierTimeouts = new LongAdder();
+    private final LongAdder tierErrors = new LongAdder();
+    private final LongAdder computations = new LongAdder();
+
+    public CachingBaziCalculator(BaziCalculator delegate, LocalBaziCache cache) {
+        this(delegate, cache, List.of(), DEFAULT_TIER_TIMEOUT);
+    }
+
+    /**
+     * 规则版本为 null (被包装的计算器使用内置计分模型与格局规则)
+     *
+     * @param delegate 计算器
+     * @param cache 进程内缓存
+     * @param tiers 下层缓存, 按查找顺序排列
+     * @param tierTimeout 单层查询超时
+     */
+    public CachingBaziCalculator(BaziCalculator delegate, LocalBaziCache cache,
+                                 List<BaziCacheTier> tiers, Duration tierTimeout) {
+        this(delegate, cache, tiers, tierTimeout, () -> null);
+    }
+
+    /**
+     * @param delegate 计算器
+     * @param cache 进程内缓存
+     * @param tiers 下层缓存, 按查找顺序排列
+     * @param tierTimeout 单层查询超时
+     * @param rulesVersion 被包装的计算器当前使用的规则版本, 每次查询取值一次 (须与计算器读取的规则同源)
+     */
+    public CachingBaziCalculator(BaziCalculator delegate, LocalBaziCache cache,
+                                 List<BaziCacheTier> tiers, Duration tierTimeout, Supplier<String> rulesVersion) {
+        if (delegate == null || cache == null || rulesVersion == null) {
+            throw new IllegalArgumentException("Delegate calculator, cache and rules version cannot be null");
+        }
+        if (tiers == null || tierTimeout == null || tierTimeout.isNegative()) {
+            throw new IllegalArgumentException("Tiers and a non-negative tier timeout are required");
+        }
+        this.delegate = delegate;
+        this.cache = cache;
+        this.tiers = List.copyOf(tiers);
+        this.tierTimeoutNanos = tierTimeout.toNanos();
+        this.rulesVersion = rulesVersion;
+    }
+
+    @Override
+    public BaziResponse calculate(BaziRequest request) {
+        BaziCacheKey key = BaziCacheKey.of(request, rulesVersion.get());
+        BaziResult cached = cache.getResult(key);
+        return cached != null ? cached.toResponse() : load(key, request);
+    }
+
+    /**
+     * 命中本地缓存时直接返回共享的不可变结果
+     */
+    @Override
+    public BaziResult calculateImmutable(BaziRequest request) {
+        BaziCacheKey key = BaziCacheKey.of(request, rulesVersion.get());
+        BaziResult cached = cache.getResult(key);
+        return cached != null ? cached : BaziResult.from(load(key, request));
+    }
+
+    /**
+     * 批量计算: 去重后先查本地缓存, 剩余的键对每层只发一次批量查询, 最后计算仍未命中的请求
+     */
+    @Override
+    public List<BaziResponse> calculateAll(List<BaziRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Requests cannot be null");
+        }
+        String version = rulesVersion.get();
+        List<BaziCacheKey> keys = new ArrayList<>(requests.size());
+        Map<BaziCacheKey, BaziRequest> pending = new LinkedHashMap<>();
+        Map<BaziCacheKey, BaziResponse> found = new HashMap<>();
+        for (BaziRequest request : requests) {
+            BaziCacheKey key = BaziCacheKey.of(request, version);
+            keys.add(key);
+            if (!found.containsKey(key) && !pending.containsKey(key)) {
+                BaziResponse cached = cache.get(key);
+                if (cached != null) {
+                    found.put(key, cached);
+                } else {
+                    pending.put(key, request);
+                }
+            }
+        }
+
+        for (int i = 0; i < tiers.size() && !pending.isEmpty(); i++) {
+            BaziCacheTier tier = tiers.get(i);
+            Set<BaziCacheKey> lookup = Set.copyOf(pending.keySet());
+            Map<BaziCacheKey, byte[]> hits = await(tier, () -> tier.getAll(lookup));
+            if (hits != null) {
+                for (Map.Entry<BaziCacheKey, byte[]> hit : hits.entrySet()) {
+                    if (!pending.containsKey(hit.getKey())) {
+                        continue;
+                    }
+                    BaziResponse response = decode(tier, hit.getValue());
+                    if (response != null) {
+                        tierHits.increment();
+                        pending.remove(hit.getKey());
+                        found.put(hit.getKey(), response);
+                        cache.put(hit.getKey(), response);
+                        writeBack(hit.getKey(), hit.getValue(), i);
+                    }
+                }
+            }
+            tierMisses.add(pending.size());
+        }
+
+        for (Map.Entry<BaziCacheKey, BaziRequest> entry : pending.entrySet()) {
+            computations.increment();
+            BaziResponse response = delegate.calculate(entry.getValue());
+            found.put(entry.getKey(), response);
+            cache.put(entry.getKey(), response);
+            if (!tiers.isEmpty()) {
+                writeBack(entry.getKey(), codec.encode(response), tiers.size());
+            }
+        }
+
+        List<BaziResponse> results = new ArrayList<>(keys.size());
+        for (BaziCacheKey key : keys) {
+            results.add(found.get(key));
+        }
+        return results;
+    }
+
+    /**
+     * 未知时辰模式直接作用于被包装的计算器 (共享历法换算), 结果不进入缓存
+     */
+    @Override
+    public List<HourChartDTO> calculateAllHours(BaziRequest request) {
+        return delegate.calculateAllHours(request);
+    }
+
+    @Override
+    public int getLeapMonth(int lunarYear) {
+        return delegate.getLeapMonth(lunarYear);
+    }
+
+    /**
+     * 预热直接作用于被包装的计算器: 预热样本不进入缓存, 也不会因命中缓存而跳过计算
+     */
+    @Override
+    public WarmupReport warmUp(WarmupPolicy policy) {
+        return delegate.warmUp(policy);
+    }
+
+    /**
+     * 当前统计
+     */
+    public CacheStats getStats() {
+        return CacheStats.builder()
+            .localHits(cache.getHits())
+            .localMisses(cache.getMisses())
+            .tierHits(tierHits.sum())
+            .tierMisses(tierMisses.sum())
+            .tierTimeouts(tierTimeouts.sum())
+            .tierErrors(tierErrors.sum())
+            .computations(computations.sum())
+            .build();
+    }
+
+    public LocalBaziCache getCache() {
+        return cache;
+    }
+
+    public List<BaziCacheTier> getTiers() {
+        return tiers;
+    }
+
+    public BaziCalculator getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 本地缓存未命中: 依次查各层, 最后计算; 返回的响应归调用方所有 (写入缓存的是其副本)
+     */
+    private BaziResponse load(BaziCacheKey key, BaziRequest request) {
+        for (int i = 0; i < tiers.size(); i++) {
+            BaziCacheTier tier = tiers.get(i);
+            byte[] value = await(tier, () -> tier.get(key));
+            BaziResponse response = decode(tier, value);
+            if (response != null) {
+                tierHits.increment();
+                cache.put(key, response);
+                writeBack(key, value, i);
+                return response;
+            }
+            tierMisses.increment();
+        }
+
+        computations.increment();
+        BaziResponse response = delegate.calculate(request);
+        cache.put(key, response);
+        if (!tiers.isEmpty()) {
+            writeBack(key, codec.encode(response), tiers.size());
+        }
+        return response;
+    }
+
+    /**
+     * 等待单层查询结果, 超时或失败返回 null
+     */
+    private <T> T await(BaziCacheTier tier, Supplier<CompletableFuture<T>> query) {
+        CompletableFuture<T> future = null;
+        try {
+            future = query.get();
+            return future.get(tierTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            tierTimeouts.increment();
+            log.debug("Cache tier {} timed out", tier.name());
+        } catch (ExecutionException | RuntimeException e) {
+            tierErrors.increment();
+            log.debug("Cache tier {} failed: {}", tier.name(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            tierErrors.increment();
+        }
+        return null;
+    }
+
+    private BaziResponse decode(BaziCacheTier tier, byte[] value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return codec.decode(value);
+        } catch (IllegalArgumentException e) {
+            tierErrors.increment();
+            log.debug("Cache tier {} returned an undecodable value: {}", tier.name(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 异步写入前 {@code upTo} 层 (不等待, 失败只记录日志)
+     */
+    private void writeBack(BaziCacheKey key, byte[] encoded, int upTo) {
+        for (int i = 0; i < upTo; i++) {
+            BaziCacheTier tier = tiers.get(i);
+            try {
+                tier.put(key, encoded).whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        log.debug("Cache tier {} put failed: {}", tier.name(), error.getMessage());
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.debug("Cache tier {} put failed: {}", tier.name(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.tafu.bazi.sdk.cache;
+
+import com.tafu.bazi.sdk.BaziCalculator;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.HourChartDTO;
+import com.tafu.bazi.sdk.warmup.WarmupPolicy;
+import com.tafu.bazi.sdk.warmup.WarmupReport;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 请求合并 (single-flight) 计算器
+ *
+ * <p>同一时刻相同的请求 (按 {@link BaziCacheKey} 判等) 只有第一个线程执行计算,
+ * 其余线程等待并共享其结果或异常; 计算结束即移出, 不做缓存。
+ * 批量计算时批内重复请求先去重再计算
+ *
+ * <p>键含规则版本 (与 {@link CachingBaziCalculator} 相同): 格局规则热更新后的请求不会合并到更新前
+ * 已开始的计算上。合并后多个调用方拿到同一个 {@link BaziResponse} 实例, 调用方不应修改结果
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public class CoalescingBaziCalculator implements BaziCalculator {
+
+    private final BaziCalculator delegate;
+    private final Supplier<String> rulesVersion;
+    private final ConcurrentHashMap<BaziCacheKey, CompletableFuture<BaziResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder computations = new LongAdder();
+    private final LongAdder coalescedCalls = new LongAdder();
+    private final LongAdder batchDuplicates = new LongAdder();
+
+    public CoalescingBaziCalculator(BaziCalculator delegate) {
+        this(delegate, () -> null);
+    }
+
+    /**
+     * @param delegate 计算器
+     * @param rulesVersion 被包装的计算器当前使用的规则版本, 每次调用取值一次
+     */
+    public CoalescingBaziCalculator(BaziCalculator delegate, Supplier<String> rulesVersion) {
+        if (delegate == null || rulesVersion == null) {
+            throw new IllegalArgumentException("Delegate calculator and rules version cannot be null");
+        }
+        this.delegate = delegate;
+        this.rulesVersion = rulesVersion;
+    }
+
+    @Override
+    public BaziResponse calculate(BaziRequest request) {
+        BaziCacheKey key = BaziCacheKey.of(request, rulesVersion.get());
+        calls.increment();
+
+        CompletableFuture<BaziResponse> flight = new CompletableFuture<>();
+        CompletableFuture<BaziResponse> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalescedCalls.increment();
+            return await(existing);
+        }
+
+        try {
+            computations.increment();
+            BaziResponse response = delegate.calculate(request);
+            flight.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    @Override
+    public List<BaziResponse> calculateAll(List<BaziRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Requests cannot be null");
+        }
+        String version = rulesVersion.get();
+        Map<BaziCacheKey, BaziResponse> computed = new HashMap<>();
+        List<BaziResponse> results = new ArrayList<>(requests.size());
+        for (BaziRequest request : requests) {
+            BaziCacheKey key = BaziCacheKey.of(request, version);
+            BaziResponse response = computed.get(key);
+            if (response == null) {
+                response = calculate(request);
+                computed.put(key, response);
+            } else {
+                batchDuplicates.increment();
+            }
+            results.add(response);
+        }
+        return results;
+    }
+
+    /**
+     * 未知时辰模式直接作用于被包装的计算器, 不计入合并统计
+     */
+    @Override
+    public List<HourChartDTO> calculateAllHours(BaziRequest request) {
+        return delegate.calculateAllHours(request);
+    }
+
+    @Override
+    public int getLeapMonth(int lunarYear) {
+        return delegate.getLeapMonth(lunarYear);
+    }
+
+    /**
+     * 预热直接作用于被包装的计算器, 不计入合并统计
+     */
+    @Override
+    public WarmupReport warmUp(WarmupPolicy policy) {
+        return delegate.warmUp(policy);
+    }
+
+    /**
+     * 当前统计
+     */
+    public CoalescingStats getStats() {
+        return CoalescingStats.builder()
+            .calls(calls.sum())
+            .computations(computations.sum())
+            .coalescedCalls(coalescedCalls.sum())
+            .batchDuplicates(batchDuplicates.sum())
+            .inFlight(inFlight.size())
+            .build();
+    }
+
+    /**
+     * 被包装的计算器
+     */
+    public BaziCalculator getDelegate() {
+        return delegate;
+    }
+
+    private static BaziResponse await(CompletableFuture<BaziResponse> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // 原样抛出首个线程的异常, 与直接计算时一致
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
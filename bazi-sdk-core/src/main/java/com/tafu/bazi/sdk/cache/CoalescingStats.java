@@ -0,0 +1,34 @@
+package com.tafu.bazi.sdk.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 请求合并统计
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoalescingStats {
+
+    /** calculate 调用次数 (含批量中去重后的请求) */
+    private long calls;
+
+    /** 实际执行的计算次数 */
+    private long computations;
+
+    /** 加入其他线程进行中计算的调用次数 */
+    private long coalescedCalls;
+
+    /** 批量计算中因重复而跳过的请求数 */
+    private long batchDuplicates;
+
+    /** 当前进行中的计算数 */
+    private int inFlight;
+}
@@ -0,0 +1,126 @@
+package com.tafu.bazi.sdk.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 进程内缓存层, 用作测试与本地开发时远程缓存的替身
+ *
+ * <p>按 {@link BaziCacheKey#toStorageKey()} 保存字节副本, 行为与远程存储一致 (读写都经过序列化)。
+ * 可设置模拟延迟, 用于验证超时降级
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public class InMemoryBaziCacheTier implements BaziCacheTier {
+
+    private final String name;
+    private final ConcurrentHashMap<String, byte[]> store = new ConcurrentHashMap<>();
+
+    private final LongAdder gets = new LongAdder();
+    private final LongAdder batchGets = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    private volatile Duration latency = Duration.ZERO;
+
+    public InMemoryBaziCacheTier() {
+        this("memory");
+    }
+
+    public InMemoryBaziCacheTier(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Tier name cannot be empty");
+        }
+        this.name = name;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public CompletableFuture<byte[]> get(BaziCacheKey key) {
+        gets.increment();
+        return respond(() -> copy(store.get(key.toStorageKey())));
+    }
+
+    @Override
+    public CompletableFuture<Map<BaziCacheKey, byte[]>> getAll(Collection<BaziCacheKey> keys) {
+        batchGets.increment();
+        return respond(() -> {
+            Map<BaziCacheKey, byte[]> hits = new HashMap<>();
+            for (BaziCacheKey key : keys) {
+                byte[] value = store.get(key.toStorageKey());
+                if (value != null) {
+                    hits.put(key, copy(value));
+                }
+            }
+            return hits;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> put(BaziCacheKey key, byte[] value) {
+        puts.increment();
+        byte[] stored = copy(value);
+        return respond(() -> {
+            store.put(key.toStorageKey(), stored);
+            return null;
+        });
+    }
+
+    /**
+     * 设置每次操作的模拟延迟
+     */
+    public void setLatency(Duration latency) {
+        this.latency = latency == null ? Duration.ZERO : latency;
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    public void clear() {
+        store.clear();
+    }
+
+    /**
+     * 直接写入原始字节 (测试损坏数据等场景)
+     */
+    public void putRaw(BaziCacheKey key, byte[] value) {
+        store.put(key.toStorageKey(), copy(value));
+    }
+
+    public long getGetCount() {
+        return gets.sum();
+    }
+
+    public long getBatchGetCount() {
+        return batchGets.sum();
+    }
+
+    public long getPutCount() {
+        return puts.sum();
+    }
+
+    private <T> CompletableFuture<T> respond(Supplier<T> operation) {
+        Duration delay = latency;
+        if (delay.isZero() || delay.isNegative()) {
+            return CompletableFuture.completedFuture(operation.get());
+        }
+        return CompletableFuture.supplyAsync(operation,
+            CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS));
+    }
+
+    private static byte[] copy(byte[] value) {
+        return value == null ? null : value.clone();
+    }
+}
@@ -0,0 +1,146 @@
+package com.tafu.bazi.sdk.cache;
+
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.immutable.BaziResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 进程内 LRU 结果缓存
+ *
+ * <p>容量满时淘汰最久未访问的条目。按访问顺序维护, 因此最近访问的条目即热点条目,
+ * 快照 ({@link BaziCacheSnapshot}) 据此只保存最热的一部分
+ *
+ * <p>条目以不可变的 {@link BaziResult} 保存, 写入时经 {@link BaziResponseInterner} 共享子对象,
+ * 大量条目时内存中主要是指针。写入不会修改调用方传入的响应, {@link #get} 每次返回新的可变副本,
+ * 调用方修改结果不会影响缓存或其他调用方; 只读场景可用 {@link #getResult} 直接取共享的不可变结果
+ *
+ * <p>线程安全 (内部同步)
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public class LocalBaziCache {
+
+    private final int maxSize;
+    private final BaziResponseInterner interner;
+    private final LinkedHashMap<BaziCacheKey, BaziResult> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public LocalBaziCache(int maxSize) {
+        this(maxSize, new BaziResponseInterner());
+    }
+
+    /**
+     * @param maxSize 最大条目数
+     * @param interner 子对象享元池, 为 null 时不共享
+     */
+    public LocalBaziCache(int maxSize, BaziResponseInterner interner) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.interner = interner;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BaziCacheKey, BaziResult> eldest) {
+                return size() > LocalBaziCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 查询缓存
+     *
+     * @param key 键
+     * @return 结果的可变副本, 未命中时为 null
+     */
+    public BaziResponse get(BaziCacheKey key) {
+        BaziResult result = getResult(key);
+        return result == null ? null : result.toResponse();
+    }
+
+    /**
+     * 查询缓存, 返回共享的不可变结果 (不复制)
+     *
+     * @param key 键
+     * @return 结果, 未命中时为 null
+     */
+    public BaziResult getResult(BaziCacheKey key) {
+        BaziResult result;
+        synchronized (this) {
+            result = entries.get(key);
+        }
+        (result == null ? misses : hits).increment();
+        return result;
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param key 键
+     * @param response 结果 (保存的是其不可变副本, 之后调用方仍可修改 {@code response})
+     */
+    public void put(BaziCacheKey key, BaziResponse response) {
+        if (key == null || response == null) {
+            throw new IllegalArgumentException("Cache key and response cannot be null");
+        }
+        BaziResult result = BaziResult.from(response);
+        if (interner != null) {
+            result = interner.intern(result);
+        }
+        synchronized (this) {
+            entries.put(key, result);
+        }
+    }
+
+    /**
+     * 最近访问的条目, 越热越靠前
+     *
+     * @param limit 最多返回的条目数
+     * @return 条目列表 (结果为可变副本)
+     */
+    public List<Map.Entry<BaziCacheKey, BaziResponse>> hottest(int limit) {
+        List<Map.Entry<BaziCacheKey, BaziResult>> all;
+        synchronized (this) {
+            all = new ArrayList<>(entries.size());
+            for (Map.Entry<BaziCacheKey, BaziResult> entry : entries.entrySet()) {
+                all.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+        Collections.reverse(all);
+        int count = Math.min(all.size(), Math.max(limit, 0));
+        List<Map.Entry<BaziCacheKey, BaziResponse>> hottest = new ArrayList<>(count);
+        for (Map.Entry<BaziCacheKey, BaziResult> entry : all.subList(0, count)) {
+            hottest.add(Map.entry(entry.getKey(), entry.getValue().toResponse()));
+        }
+        return hottest;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,198 @@
+package com.tafu.bazi.sdk.chart;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 八字命盘紧凑表示
+ *
+ * <p>只保存下标与数值, 不含任何 DTO。{@link com.tafu.bazi.sdk.model.BaziResponse}
+ * 中的中文名称、描述、十神、流年等均可由本对象无损推导:
+ * <ul>
+ *   <li>DTO 组装见 {@link BaziResponseAssembler}</li>
+ *   <li>直接输出 JSON 见 {@link com.tafu.bazi.sdk.codec.BaziJsonWriter}</li>
+ * </ul>
+ *
+ * <p>下标约定见 {@link ChartTables}, 四柱数组下标 0-3 依次为年、月、日、时。
+ * 对象构建后不可变, 数组字段不得修改
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Getter
+@Builder(toBuilder = true)
+public class BaziChart {
+
+    /** 强弱: 身弱 */
+    public static final int WEAK = 0;
+    /** 强弱: 中和 */
+    public static final int BALANCED = 1;
+    /** 强弱: 身强 */
+    public static final int STRONG = 2;
+
+    /** 得令类型: 日主当令 / 月令生扶 / 月令泄气 / 月令克制 / 日主耗气 */
+    public static final String[] DE_LING_DESCRIPTIONS = {"日主当令", "月令生扶", "月令泄气", "月令克制", "日主耗气"};
+
+    /** 天干帮扶类型 (0 表示无): 比劫 / 印星 / 官杀 */
+    public static final String[] HELPER_KINDS = {"", "比劫", "印星", "官杀"};
+
+    /** 大运步数 (含运前一步) */
+    public static final int DA_YUN_STEPS = 10;
+
+    // ==================== 基本信息 ====================
+
+    private final boolean male;
+
+    /** 公历时间 yyyy-MM-dd HH:mm:ss (真太阳时修正后) */
+    private final String solarDate;
+
+    private final String lunarDate;
+
+    /** 真太阳时 [年, 月, 日, 时, 分], 未提供经度时为 null */
+    private final int[] trueSolarTime;
+
+    // ==================== 四柱 ====================
+
+    /** 四柱天干下标 */
+    private final int[] stems;
+
+    /** 四柱地支下标 */
+    private final int[] branches;
+
+    // ==================== 日主强弱 ====================
+
+    /** 得令类型, 下标见 {@link #DE_LING_DESCRIPTIONS} */
+    private final int deLingKind;
+
+    private final double deLing;
+
+    private final double deDi;
+
+    /**
+     * 得地明细: 第 (柱 * 3 + 藏干序号) 位表示该藏干为日主之根,
+     * 第 (16 + 柱 * 3 + 藏干序号) 位表示以印论
+     */
+    private final int rootMask;
+
+    private final double tianGanHelp;
+
+    /** 年干、月干、时干帮扶类型, 各占 2 位, 取值见 {@link #HELPER_KINDS} */
+    private final int helperKinds;
+
+    private final double totalScore;
+
+    /** {@link #WEAK} / {@link #BALANCED} / {@link #STRONG} */
+    private final int strength;
+
+    // ==================== 五行 ====================
+
+    /** 五行加权分布 (按五行下标) */
+    private final double[] distribution;
+
+    /** 五行个数 (按五行下标) */
+    private final int[] elementCounts;
+
+    /** 最旺五行下标 */
+    private final int strongest;
+
+    /** 最弱五行下标, 无则为 -1 */
+    private final int weakest;
+
+    private final int[] favorable;
+
+    private final int[] unfavorable;
+
+    /** 月令五行下标 */
+    private final int monthElement;
+
+    // ==================== 格局 ====================
+
+    /** 内置格局编号, 见 {@link ChartTables#PATTERN_NAMES}; 自定义规则的格局为 -1 */
+    private final int pattern;
+
+    /** 格局名称、分类与描述 (由命中的 {@link PatternRule} 给出) */
+    private final PatternDefinition patternDefinition;
+
+    /** 格局取用的月令藏干下标, 无则为 -1 */
+    private final int patternMonthStem;
+
+    /** 格局十神下标, 无则为 -1 */
+    private final int patternTenGod;
+
+    /** 月令藏干是否透出, 无则为 null */
+    private final Boolean patternTransparent;
+
+    // ==================== 大运 ====================
+
+    private final int yunStartAge;
+
+    private final boolean yunForward;
+
+    /** 大运 (最多 10 步), 流年由起止年份推导 */
+    private final List<DaYunStep> daYun;
+
+    // ==================== 其他 ====================
+
+    /** 年、月、日、时神煞 */
+    private final List<List<String>> shenSha;
+
+    /** 胎元六十甲子下标 */
+    private final int taiYuan;
+
+    /** 命宫六十甲子下标 */
+    private final int mingGong;
+
+    /** 身宫六十甲子下标 */
+    private final int shenGong;
+
+    /**
+     * 日柱六十甲子下标
+     */
+    public int getDayJiaZi() {
+        return ChartTables.jiaZiIndex(stems[2], branches[2]);
+    }
+
+    /**
+     * 日主天干下标
+     */
+    public int getDayStem() {
+        return stems[2];
+    }
+
+    /**
+     * 由起运年份推导大运 (与 lunar-java 按节令推算的结果一致)
+     *
+     * @param birthYear 出生公历年
+     * @param monthJiaZi 月柱六十甲子下标
+     * @param yearOffset 起运公历年减出生年
+     * @param forward 是否顺行
+     * @return 运前一步加 9 步大运
+     */
+    public static List<DaYunStep> daYunSteps(int birthYear, int monthJiaZi, int yearOffset, boolean forward) {
+        int startYear = birthYear + yearOffset;
+        List<DaYunStep> steps = new ArrayList<>(DA_YUN_STEPS);
+        steps.add(new DaYunStep(1, startYear - birthYear, -1, birthYear, startYear - 1));
+        for (int i = 1; i < DA_YUN_STEPS; i++) {
+            int year = startYear + (i - 1) * 10;
+            int age = year - birthYear + 1;
+            int ganZhi = Math.floorMod(monthJiaZi + (forward ? i : -i), 60);
+            steps.add(new DaYunStep(age, age + 9, ganZhi, year, year + 9));
+        }
+        return steps;
+    }
+
+    /**
+     * 一步大运
+     *
+     * @param startAge 起运年龄
+     * @param endAge 结束年龄
+     * @param ganZhi 六十甲子下标, 运前 (第 0 步) 为 -1
+     * @param startYear 起始年份
+     * @param endYear 结束年份
+     */
+    public record DaYunStep(int startAge, int endAge, int ganZhi, int startYear, int endYear) {
+    }
+}
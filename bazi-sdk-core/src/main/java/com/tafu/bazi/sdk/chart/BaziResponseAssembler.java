@@ -0,0 +1,292 @@
+package com.tafu.bazi.sdk.chart;
+
+import com.tafu.bazi.sdk.model.*;
+
+import java.util.*;
+
+import static com.tafu.bazi.sdk.chart.ChartTables.*;
+
+/**
+ * 由 {@link BaziChart} 组装 {@link BaziResponse}
+ *
+ * <p>所有中文名称、描述与流年均在此处由下标推导, 无状态、线程安全
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public class BaziResponseAssembler {
+
+    /** 年、月、日、时干 */
+    public static final String[] STEM_POSITIONS = {"年干", "月干", "日干", "时干"};
+
+    /** 年、月、日、时支 */
+    public static final String[] BRANCH_POSITIONS = {"年支", "月支", "日支", "时支"};
+
+    /** lunar-java 支持的流年范围 */
+    public static final int MIN_LIU_NIAN_YEAR = 1901;
+    public static final int MAX_LIU_NIAN_YEAR = 2100;
+
+    /**
+     * 组装完整响应
+     */
+    public BaziResponse assemble(BaziChart chart) {
+        return assemble(chart, buildYun(chart));
+    }
+
+    /**
+     * 批量组装: 日干与大运相同的命盘共享同一大运流年对象 (只构建一次)
+     *
+     * @param charts 命盘列表
+     * @return 与命盘一一对应的响应
+     */
+    public List<BaziResponse> assembleAll(List<BaziChart> charts) {
+        Map<List<Object>, YunInfoDTO> yuns = new HashMap<>();
+        List<BaziResponse> responses = new ArrayList<>(charts.size());
+        for (BaziChart chart : charts) {
+            List<Object> key = List.of(chart.getDayStem(), chart.getYunStartAge(), chart.isYunForward(),
+                chart.getDaYun());
+            responses.add(assemble(chart, yuns.computeIfAbsent(key, k -> buildYun(chart))));
+        }
+        return responses;
+    }
+
+    private BaziResponse assemble(BaziChart chart, YunInfoDTO yun) {
+        int dayStem = chart.getDayStem();
+        int[] stems = chart.getStems();
+        int[] branches = chart.getBranches();
+        List<List<String>> shenSha = chart.getShenSha();
+
+        return BaziResponse.builder()
+            .gender(chart.isMale() ? "male" : "female")
+            .solarDate(chart.getSolarDate())
+            .lunarDate(chart.getLunarDate())
+            .trueSolarTime(buildTrueSolarTime(chart.getTrueSolarTime()))
+            .fourPillars(FourPillarsDTO.builder()
+                .year(buildPillar(stems[0], branches[0], dayStem))
+                .month(buildPillar(stems[1], branches[1], dayStem))
+                .day(buildPillar(stems[2], branches[2], dayStem))
+                .hour(buildPillar(stems[3], branches[3], dayStem))
+                .build())
+            .dayMaster(buildDayMaster(chart))
+            .fiveElements(buildFiveElements(chart))
+            .tenGods(TenGodProfile.of(stems, branches).toDto())
+            .pattern(buildPattern(chart))
+            .yun(yun)
+            .shenSha(ShenShaDTO.builder()
+                .year(new ArrayList<>(shenSha.get(0)))
+                .month(new ArrayList<>(shenSha.get(1)))
+                .day(new ArrayList<>(shenSha.get(2)))
+                .hour(new ArrayList<>(shenSha.get(3)))
+                .build())
+            .shengXiao(BaziDef.SHENG_XIAO[branches[0]])
+            .taiYuan(JIA_ZI[chart.getTaiYuan()])
+            .mingGong(JIA_ZI[chart.getMingGong()])
+            .shenGong(JIA_ZI[chart.getShenGong()])
+            .xunKong(JIA_ZI_XUN_KONG[chart.getDayJiaZi()])
+            .dayMasterCharacteristics(BaziDef.DAY_MASTER_CHARACTERISTICS.getOrDefault(
+                BaziDef.TIAN_GAN[dayStem], BaziDef.DAY_MASTER_CHARACTERISTICS_DEFAULT))
+            .build();
+    }
+
+    private TrueSolarTimeDTO buildTrueSolarTime(int[] time) {
+        if (time == null) {
+            return null;
+        }
+        return TrueSolarTimeDTO.builder()
+            .year(time[0])
+            .month(time[1])
+            .day(time[2])
+            .hour(time[3])
+            .minute(time[4])
+            .build();
+    }
+
+    private PillarDTO buildPillar(int stem, int branch, int dayStem) {
+        int[] hidden = HIDDEN_STEMS[branch];
+        List<HiddenStemDTO> hiddenStems = new ArrayList<>(hidden.length);
+        for (int h : hidden) {
+            hiddenStems.add(HiddenStemDTO.builder()
+                .chinese(BaziDef.TIAN_GAN[h])
+                .element(ELEMENT_CODES[STEM_ELEMENT[h]])
+                .yinYang(yinYangCode(h))
+                .tenGod(BaziDef.TEN_GODS.get(TEN_GOD[dayStem][h]))
+                .build());
+        }
+        int jiaZi = jiaZiIndex(stem, branch);
+        return PillarDTO.builder()
+            .heavenlyStem(HeavenlyStemDTO.builder()
+                .chinese(BaziDef.TIAN_GAN[stem])
+                .element(ELEMENT_CODES[STEM_ELEMENT[stem]])
+                .yinYang(yinYangCode(stem))
+                .build())
+            .earthlyBranch(EarthlyBranchDTO.builder()
+                .chinese(BaziDef.DI_ZHI[branch])
+                .element(ELEMENT_CODES[BRANCH_ELEMENT[branch]])
+                .build())
+            .naYin(JIA_ZI_NA_YIN[jiaZi])
+            .hiddenStems(hiddenStems)
+            .xunKong(PILLAR_XUN_KONG[jiaZi])
+            .tenGod(BaziDef.TEN_GODS.get(TEN_GOD[dayStem][stem]))
+            .lifeStage(BaziDef.CHANG_SHENG[LIFE_STAGE[dayStem][branch]])
+            .build();
+    }
+
+    private DayMasterDTO buildDayMaster(BaziChart chart) {
+        return DayMasterDTO.builder()
+            .gan(BaziDef.TIAN_GAN[chart.getDayStem()])
+            .strength(strengthCode(chart.getStrength()))
+            .analysis(DayMasterAnalysisDTO.builder()
+                .deLing(chart.getDeLing())
+                .deLingDesc(BaziChart.DE_LING_DESCRIPTIONS[chart.getDeLingKind()])
+                .deDi(chart.getDeDi())
+                .deDiDesc(deDiDescription(chart))
+                .tianGanHelp(chart.getTianGanHelp())
+                .tianGanHelpDesc(tianGanHelpDescription(chart))
+                .totalScore(chart.getTotalScore())
+                .build())
+            .build();
+    }
+
+    private FiveElementsDTO buildFiveElements(BaziChart chart) {
+        Map<String, Double> distribution = new HashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+        Map<String, String> elementStates = new HashMap<>();
+        int[] states = ChartAnalyzer.elementStates(chart.getMonthElement());
+        for (int e = 0; e < ELEMENTS.length; e++) {
+            distribution.put(ELEMENT_CODES[e], chart.getDistribution()[e]);
+            counts.put(ELEMENT_CODES[e], chart.getElementCounts()[e]);
+            elementStates.put(ELEMENT_CODES[e], STATE_CODES[states[e]]);
+        }
+        return FiveElementsDTO.builder()
+            .distribution(distribution)
+            .counts(counts)
+            .strongest(elementCode(chart.getStrongest()))
+            .weakest(elementCode(chart.getWeakest()))
+            .favorable(elementCodes(chart.getFavorable()))
+            .unfavorable(elementCodes(chart.getUnfavorable()))
+            .elementStates(elementStates)
+            .monthElement(ELEMENT_CODES[chart.getMonthElement()])
+            .build();
+    }
+
+    private PatternDTO buildPattern(BaziChart chart) {
+        PatternDefinition definition = chart.getPatternDefinition();
+        int monthStem = chart.getPatternMonthStem();
+        int tenGod = chart.getPatternTenGod();
+        return PatternDTO.builder()
+            .name(definition.name())
+            .category(definition.category())
+            .description(definition.description())
+            .monthStem(monthStem < 0 ? null : BaziDef.TIAN_GAN[monthStem])
+            .monthStemTenGod(tenGod < 0 ? null : BaziDef.TEN_GODS.get(tenGod))
+            .isTransparent(chart.getPatternTransparent())
+            .build();
+    }
+
+    private YunInfoDTO buildYun(BaziChart chart) {
+        int[] lifeStages = LIFE_STAGE[chart.getDayStem()];
+        List<BaziChart.DaYunStep> steps = chart.getDaYun();
+        List<DaYunDTO> daYunList = new ArrayList<>(steps.size());
+        for (int i = 0; i < steps.size(); i++) {
+            BaziChart.DaYunStep step = steps.get(i);
+            List<LiuNianDTO> liuNianList = new ArrayList<>();
+            for (int year = Math.max(step.startYear(), MIN_LIU_NIAN_YEAR);
+                 year <= Math.min(step.endYear(), MAX_LIU_NIAN_YEAR); year++) {
+                int jiaZi = jiaZiOfYear(year);
+                liuNianList.add(LiuNianDTO.builder()
+                    .year(year)
+                    .age(step.startAge() + (year - step.startYear()))
+                    .ganZhi(JIA_ZI[jiaZi])
+                    .gan(BaziDef.TIAN_GAN[jiaZi % 10])
+                    .zhi(BaziDef.DI_ZHI[jiaZi % 12])
+                    .build());
+            }
+            daYunList.add(DaYunDTO.builder()
+                .index(i)
+                .startAge(step.startAge())
+                .endAge(step.endAge())
+                .ganZhi(step.ganZhi() < 0 ? "" : JIA_ZI[step.ganZhi()])
+                .gan(step.ganZhi() < 0 ? "" : BaziDef.TIAN_GAN[step.ganZhi() % 10])
+                .zhi(step.ganZhi() < 0 ? "" : BaziDef.DI_ZHI[step.ganZhi() % 12])
+                .startYear(step.startYear())
+                .endYear(step.endYear())
+                .liuNian(liuNianList)
+                .lifeStage(step.ganZhi() < 0 ? "" : BaziDef.CHANG_SHENG[lifeStages[step.ganZhi() % 12]])
+                .build());
+        }
+        return YunInfoDTO.builder()
+            .startAge(chart.getYunStartAge())
+            .forward(chart.isYunForward())
+            .daYunList(daYunList)
+            .build();
+    }
+
+    // ==================== 描述文本 ====================
+
+    /**
+     * 得地描述, 如 "年支藏甲、日支藏壬(印)", 无根时为 "无根"
+     */
+    public static String deDiDescription(BaziChart chart) {
+        int mask = chart.getRootMask();
+        if ((mask & 0xFFFF) == 0) {
+            return "无根";
+        }
+        StringJoiner joiner = new StringJoiner("、");
+        int[] branches = chart.getBranches();
+        for (int p = 0; p < 4; p++) {
+            int[] hidden = HIDDEN_STEMS[branches[p]];
+            for (int j = 0; j < hidden.length; j++) {
+                int bit = p * 3 + j;
+                if ((mask & (1 << bit)) != 0) {
+                    joiner.add(BRANCH_POSITIONS[p] + "藏" + BaziDef.TIAN_GAN[hidden[j]]
+                        + ((mask & (1 << (16 + bit))) != 0 ? "(印)" : ""));
+                }
+            }
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * 天干帮扶描述, 如 "年干甲比劫、时干庚官杀", 无帮扶时为 "无帮扶"
+     */
+    public static String tianGanHelpDescription(BaziChart chart) {
+        int kinds = chart.getHelperKinds();
+        if (kinds == 0) {
+            return "无帮扶";
+        }
+        StringJoiner joiner = new StringJoiner("、");
+        for (int i = 0; i < 3; i++) {
+            int kind = (kinds >>> (i * 2)) & 3;
+            if (kind != 0) {
+                int pillar = i == 2 ? 3 : i;
+                joiner.add(STEM_POSITIONS[pillar] + BaziDef.TIAN_GAN[chart.getStems()[pillar]]
+                    + BaziChart.HELPER_KINDS[kind]);
+            }
+        }
+        return joiner.toString();
+    }
+
+    public static String strengthCode(int strength) {
+        return switch (strength) {
+            case BaziChart.WEAK -> "weak";
+            case BaziChart.STRONG -> "strong";
+            default -> "balanced";
+        };
+    }
+
+    private static String yinYangCode(int stem) {
+        return BaziDef.YinYang.values()[STEM_YIN_YANG[stem]].getCode();
+    }
+
+    private static String elementCode(int element) {
+        return element < 0 ? null : ELEMENT_CODES[element];
+    }
+
+    private static List<String> elementCodes(int[] elements) {
+        List<String> codes = new ArrayList<>(elements.length);
+        for (int e : elements) {
+            codes.add(ELEMENT_CODES[e]);
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,256 @@
+package com.tafu.bazi.sdk.chart;
+
+import static com.tafu.bazi.sdk.chart.ChartTables.*;
+
+/**
+ * 命盘分析 (纯下标运算)
+ *
+ * <p>根据四柱天干地支下标计算日主强弱、五行分布、喜忌与格局, 结果写入 {@link BaziChart.BaziChartBuilder}。
+ * 格局由 {@link PatternRuleSet} 判定。不依赖 lunar-java, 也不创建任何 DTO, 可被批量计算场景直接复用
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class ChartAnalyzer {
+
+    private ChartAnalyzer() {
+    }
+
+    /**
+     * 分析四柱并写入构建器 ({@link CompiledScoringModel#CLASSIC} 计分)
+     *
+     * @param stems 四柱天干下标
+     * @param branches 四柱地支下标
+     * @param builder 命盘构建器
+     */
+    public static void analyze(int[] stems, int[] branches, BaziChart.BaziChartBuilder builder) {
+        analyze(stems, branches, CompiledScoringModel.CLASSIC, builder);
+    }
+
+    /**
+     * 按内置强弱模型分析四柱并写入构建器
+     *
+     * @param stems 四柱天干下标
+     * @param branches 四柱地支下标
+     * @param model 得地计分方式
+     * @param builder 命盘构建器
+     */
+    public static void analyze(int[] stems, int[] branches, StrengthModel model,
+                               BaziChart.BaziChartBuilder builder) {
+        analyze(stems, branches,
+            model == StrengthModel.LIFE_STAGE ? CompiledScoringModel.LIFE_STAGE : CompiledScoringModel.CLASSIC,
+            builder);
+    }
+
+    /**
+     * 按计分模型与内置格局规则分析四柱并写入构建器
+     *
+     * @param stems 四柱天干下标
+     * @param branches 四柱地支下标
+     * @param model 编译后的计分模型
+     * @param builder 命盘构建器
+     */
+    public static void analyze(int[] stems, int[] branches, CompiledScoringModel model,
+                               BaziChart.BaziChartBuilder builder) {
+        analyze(stems, branches, model, PatternRuleSet.builtIn(), builder);
+    }
+
+    /**
+     * 按计分模型与格局规则集分析四柱并写入构建器
+     *
+     * @param stems 四柱天干下标
+     * @param branches 四柱地支下标
+     * @param model 编译后的计分模型
+     * @param patternRules 格局规则集
+     * @param builder 命盘构建器
+     */
+    public static void analyze(int[] stems, int[] branches, CompiledScoringModel model, PatternRuleSet patternRules,
+                               BaziChart.BaziChartBuilder builder) {
+        builder.stems(stems).branches(branches);
+
+        int dayStem = stems[2];
+        int dayElement = STEM_ELEMENT[dayStem];
+        double totalScore = analyzeDayMaster(stems, branches, dayElement, model, builder);
+        int strength = totalScore >= model.strongThreshold ? BaziChart.STRONG
+            : totalScore <= model.weakThreshold ? BaziChart.WEAK : BaziChart.BALANCED;
+        builder.totalScore(totalScore).strength(strength);
+
+        int[] counts = new int[ELEMENTS.length];
+        double[] distribution = analyzeFiveElements(stems, branches, dayElement, strength, model, counts, builder);
+        patternRules.apply(new PatternFeatures(stems, branches, totalScore, strength, distribution, counts, model),
+            builder);
+    }
+
+    /**
+     * 按另一计分模型或格局规则集重新分析已有命盘: 只重算强弱、五行、喜忌与格局,
+     * 历法换算、大运与神煞等沿用原命盘
+     *
+     * @param chart 命盘
+     * @param model 编译后的计分模型
+     * @param patternRules 格局规则集
+     * @return 新命盘 (原命盘不变)
+     */
+    public static BaziChart rescore(BaziChart chart, CompiledScoringModel model, PatternRuleSet patternRules) {
+        BaziChart.BaziChartBuilder builder = chart.toBuilder();
+        analyze(chart.getStems(), chart.getBranches(), model, patternRules, builder);
+        return builder.build();
+    }
+
+    /**
+     * 日主强弱: 得令 + 得地 + 天干帮扶
+     *
+     * @return 总分
+     */
+    private static double analyzeDayMaster(int[] stems, int[] branches, int dayElement, CompiledScoringModel model,
+                                           BaziChart.BaziChartBuilder builder) {
+        // 1. 得令
+        int monthElement = BRANCH_ELEMENT[branches[1]];
+        int deLingKind;
+        if (dayElement == monthElement) {
+            deLingKind = 0;
+        } else if (monthElement == GENERATES[dayElement]) {
+            deLingKind = 1;
+        } else if (dayElement == GENERATES[monthElement]) {
+            deLingKind = 2;
+        } else if (dayElement == RESTRICTS[monthElement]) {
+            deLingKind = 3;
+        } else {
+            deLingKind = 4;
+        }
+        double deLing = model.deLingScores[deLingKind];
+
+        // 2. 得地 (根的位置各模型相同, 分值按模型计算)
+        double deDi = 0;
+        int rootMask = 0;
+        for (int p = 0; p < 4; p++) {
+            int[] hidden = HIDDEN_STEMS[branches[p]];
+            double[] weights = HIDDEN_STEM_WEIGHTS[branches[p]];
+            for (int j = 0; j < hidden.length; j++) {
+                int element = STEM_ELEMENT[hidden[j]];
+                int bit = p * 3 + j;
+                if (element == dayElement) {
+                    deDi += weights[j] * model.sameRootWeight;
+                    rootMask |= 1 << bit;
+                } else if (element == GENERATES[dayElement]) {
+                    deDi += weights[j] * model.sealRootWeight;
+                    rootMask |= (1 << bit) | (1 << (16 + bit));
+                }
+            }
+        }
+        double[] stageScores = model.lifeStageDeDi;
+        if (stageScores != null) {
+            int row = stems[2] * 12;
+            deDi = stageScores[row + branches[0]] + stageScores[row + branches[1]]
+                + stageScores[row + branches[2]] + stageScores[row + branches[3]];
+        }
+        deDi = Math.min(deDi, model.deDiCap);
+
+        // 3. 天干帮扶 (年干、月干、时干)
+        double tianGanHelp = 0;
+        int helperKinds = 0;
+        for (int i = 0; i < 3; i++) {
+            int element = STEM_ELEMENT[stems[i == 2 ? 3 : i]];
+            int kind = 0;
+            if (element == dayElement) {
+                kind = 1;
+            } else if (element == GENERATES[dayElement]) {
+                kind = 2;
+            } else if (dayElement == RESTRICTS[element]) {
+                kind = 3;
+            }
+            if (kind != 0) {
+                tianGanHelp += model.helpScores[kind];
+            }
+            helperKinds |= kind << (i * 2);
+        }
+        tianGanHelp = Math.max(Math.min(tianGanHelp, model.helpCap), -model.helpCap);
+
+        builder.deLingKind(deLingKind)
+            .deLing(deLing)
+            .deDi(deDi)
+            .rootMask(rootMask)
+            .tianGanHelp(tianGanHelp)
+            .helperKinds(helperKinds);
+        return deLing + deDi + tianGanHelp;
+    }
+
+    /**
+     * 五行分布、最旺最弱与喜忌
+     *
+     * @param counts 输出: 五行个数 (按五行下标)
+     * @return 五行加权分布
+     */
+    private static double[] analyzeFiveElements(int[] stems, int[] branches, int dayElement, int strength,
+                                                CompiledScoringModel model, int[] counts,
+                                                BaziChart.BaziChartBuilder builder) {
+        int monthElement = MONTH_BRANCH_ELEMENT[branches[1]];
+        double[] stateWeights = model.stateWeights;
+        int row = monthElement * ELEMENTS.length;
+
+        double[] distribution = new double[ELEMENTS.length];
+        for (int p = 0; p < 4; p++) {
+            int element = STEM_ELEMENT[stems[p]];
+            distribution[element] += 1.0 * stateWeights[row + element];
+            counts[element]++;
+        }
+        for (int p = 0; p < 4; p++) {
+            int[] hidden = HIDDEN_STEMS[branches[p]];
+            double[] weights = HIDDEN_STEM_WEIGHTS[branches[p]];
+            for (int j = 0; j < hidden.length; j++) {
+                int element = STEM_ELEMENT[hidden[j]];
+                distribution[element] += weights[j] * stateWeights[row + element];
+                // 只统计本气
+                if (j == 0) {
+                    counts[element]++;
+                }
+            }
+        }
+
+        // 最旺 / 最弱 (按 HashMap 迭代顺序, 并列时取先出现者)
+        int strongest = -1;
+        int weakest = -1;
+        for (int e : ELEMENT_MAP_ORDER) {
+            if (strongest < 0 || Double.compare(distribution[e], distribution[strongest]) > 0) {
+                strongest = e;
+            }
+            if (distribution[e] > 0 && (weakest < 0 || Double.compare(distribution[e], distribution[weakest]) < 0)) {
+                weakest = e;
+            }
+        }
+
+        int[] favorable;
+        int[] unfavorable;
+        if (strength == BaziChart.WEAK) {
+            favorable = new int[]{dayElement, GENERATED_BY[dayElement]};
+            unfavorable = new int[]{RESTRICTS[dayElement]};
+        } else if (strength == BaziChart.STRONG) {
+            favorable = new int[]{RESTRICTS[dayElement]};
+            unfavorable = new int[]{dayElement, GENERATED_BY[dayElement]};
+        } else {
+            favorable = new int[0];
+            unfavorable = new int[0];
+        }
+
+        builder.distribution(distribution)
+            .elementCounts(counts)
+            .strongest(strongest)
+            .weakest(weakest)
+            .favorable(favorable)
+            .unfavorable(unfavorable)
+            .monthElement(monthElement);
+        return distribution;
+    }
+
+    /**
+     * 按月令计算各五行的旺相休囚死下标
+     */
+    public static int[] elementStates(int monthElement) {
+        int[] states = new int[ELEMENTS.length];
+        states[monthElement] = 0;
+        states[GENERATES[monthElement]] = 1;
+        states[GENERATED_BY[monthElement]] = 2;
+        states[RESTRICTED_BY[monthElement]] = 3;
+        states[RESTRICTS[monthElement]] = 4;
+        return states;
+    }
+}
@@ -0,0 +1,257 @@
+package com.tafu.bazi.sdk.chart;
+
+import com.tafu.bazi.sdk.model.BaziDef;
+import com.tafu.bazi.sdk.utils.LunarUtils;
+
+import java.util.*;
+
+/**
+ * 八字下标化静态表
+ *
+ * <p>把 {@link BaziDef} 中以字符串为键的映射预先展开成按下标访问的数组,
+ * 供 {@link ChartAnalyzer} 等热路径使用。约定:
+ * <ul>
+ *   <li>天干下标 0-9 对应 {@link BaziDef#TIAN_GAN}</li>
+ *   <li>地支下标 0-11 对应 {@link BaziDef#DI_ZHI}</li>
+ *   <li>五行下标为 {@link BaziDef.FiveElement#ordinal()}</li>
+ *   <li>十神下标 0-9 对应 {@link BaziDef#TEN_GODS}</li>
+ *   <li>六十甲子下标 0-59 (甲子=0)</li>
+ * </ul>
+ *
+ * <p>所有数组只读, 不得修改
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class ChartTables {
+
+    /** 五行 (按下标) */
+    public static final BaziDef.FiveElement[] ELEMENTS = BaziDef.FiveElement.values();
+
+    /** 五行编码 (按下标) */
+    public static final String[] ELEMENT_CODES = new String[ELEMENTS.length];
+
+    /** 五行在 HashMap 中的迭代顺序 (与 JSON 输出顺序一致) */
+    public static final int[] ELEMENT_MAP_ORDER = new int[ELEMENTS.length];
+
+    /** 旺相休囚死编码 (下标 0-4) */
+    public static final String[] STATE_CODES = {"wang", "xiang", "xiu", "qiu", "si"};
+
+    /** 旺相休囚死权重 (下标 0-4) */
+    public static final double[] STATE_WEIGHTS = new double[STATE_CODES.length];
+
+    /** 天干五行 */
+    public static final int[] STEM_ELEMENT = new int[10];
+
+    /** 天干阴阳 (YinYang 下标: 0 阴, 1 阳) */
+    public static final int[] STEM_YIN_YANG = new int[10];
+
+    /** 地支本气五行 */
+    public static final int[] BRANCH_ELEMENT = new int[12];
+
+    /** 月支五行 (得令判断) */
+    public static final int[] MONTH_BRANCH_ELEMENT = new int[12];
+
+    /** 地支藏干 (本气、中气、余气) */
+    public static final int[][] HIDDEN_STEMS = new int[12][];
+
+    /** 地支藏干权重, 与 {@link #HIDDEN_STEMS} 一一对应 */
+    public static final double[][] HIDDEN_STEM_WEIGHTS = new double[12][];
+
+    /** 五行相生: 下标五行所生的五行 */
+    public static final int[] GENERATES = new int[5];
+
+    /** 五行被生: 生下标五行的五行 */
+    public static final int[] GENERATED_BY = new int[5];
+
+    /** 五行相克: 下标五行所克的五行 */
+    public static final int[] RESTRICTS = new int[5];
+
+    /** 五行被克: 克下标五行的五行 */
+    public static final int[] RESTRICTED_BY = new int[5];
+
+    /** 十神表 [日干][他干] -> 十神下标 */
+    public static final int[][] TEN_GOD = new int[10][10];
+
+    /** 日干禄位地支 */
+    public static final int[] LU_BRANCH = new int[10];
+
+    /** 日干羊刃地支 */
+    public static final int[] REN_BRANCH = new int[10];
+
+    /** 十二长生表 [天干][地支] -> 长生下标 (0-11 对应 {@link BaziDef#CHANG_SHENG}) */
+    public static final int[][] LIFE_STAGE = new int[10][12];
+
+    /** 六十甲子 */
+    public static final String[] JIA_ZI = new String[60];
+
+    /** 纳音 (按六十甲子下标) */
+    public static final String[] JIA_ZI_NA_YIN = new String[60];
+
+    /** 旬空 (按六十甲子下标) */
+    public static final String[] JIA_ZI_XUN_KONG = new String[60];
+
+    /** 单柱旬空, 与 {@link LunarUtils#calculateXunKong(String)} 的结果保持一致 */
+    public static final String[] PILLAR_XUN_KONG = new String[60];
+
+    /** 格局名称 (下标即格局编号, 顺序同 {@link BaziDef#PATTERN_DESCRIPTIONS}) */
+    public static final String[] PATTERN_NAMES = BaziDef.PATTERN_DESCRIPTIONS.keySet().toArray(new String[0]);
+
+    /** 格局类别 (按格局编号): 从格、专旺格为 special, 其余为 normal */
+    public static final String[] PATTERN_CATEGORIES = new String[PATTERN_NAMES.length];
+
+    static {
+        for (BaziDef.FiveElement e : ELEMENTS) {
+            ELEMENT_CODES[e.ordinal()] = e.getCode();
+        }
+        Map<String, Integer> order = new HashMap<>();
+        for (String code : List.of("wood", "fire", "earth", "metal", "water")) {
+            order.put(code, 0);
+        }
+        int pos = 0;
+        for (String code : order.keySet()) {
+            ELEMENT_MAP_ORDER[pos++] = BaziDef.FiveElement.fromCode(code).ordinal();
+        }
+        for (int i = 0; i < STATE_CODES.length; i++) {
+            STATE_WEIGHTS[i] = BaziDef.STATE_WEIGHTS.get(STATE_CODES[i]);
+        }
+
+        for (int s = 0; s < 10; s++) {
+            BaziDef.StemInfo info = BaziDef.STEMS_INFO.get(BaziDef.TIAN_GAN[s]);
+            STEM_ELEMENT[s] = info.getElement().ordinal();
+            STEM_YIN_YANG[s] = info.getYinYang().ordinal();
+            LU_BRANCH[s] = BaziDef.getDiZhiIndex(BaziDef.LU_BRANCH.get(BaziDef.TIAN_GAN[s]));
+            REN_BRANCH[s] = BaziDef.getDiZhiIndex(BaziDef.REN_BRANCH.get(BaziDef.TIAN_GAN[s]));
+            int changSheng = BaziDef.getDiZhiIndex(BaziDef.CHANG_SHENG_BRANCH.get(BaziDef.TIAN_GAN[s]));
+            for (int b = 0; b < 12; b++) {
+                // 阳干顺行, 阴干逆行
+                LIFE_STAGE[s][b] = STEM_YIN_YANG[s] == 1
+                    ? Math.floorMod(b - changSheng, 12) : Math.floorMod(changSheng - b, 12);
+            }
+        }
+        for (int b = 0; b < 12; b++) {
+            String zhi = BaziDef.DI_ZHI[b];
+            BRANCH_ELEMENT[b] = BaziDef.FiveElement.fromCode(BaziDef.DI_ZHI_ELEMENT.get(zhi)).ordinal();
+            MONTH_BRANCH_ELEMENT[b] = BaziDef.MONTH_BRANCH_ELEMENT.get(zhi).ordinal();
+            List<String> stems = BaziDef.DI_ZHI_HIDDEN_STEMS.get(zhi);
+            List<Double> weights = BaziDef.HIDDEN_STEM_WEIGHTS.get(zhi);
+            HIDDEN_STEMS[b] = new int[stems.size()];
+            HIDDEN_STEM_WEIGHTS[b] = new double[stems.size()];
+            for (int i = 0; i < stems.size(); i++) {
+                HIDDEN_STEMS[b][i] = BaziDef.getTianGanIndex(stems.get(i));
+                HIDDEN_STEM_WEIGHTS[b][i] = i < weights.size() ? weights.get(i) : 0.2;
+            }
+        }
+        for (BaziDef.FiveElement e : ELEMENTS) {
+            GENERATES[e.ordinal()] = BaziDef.FIVE_ELEMENTS_GENERATION.get(e).ordinal();
+            GENERATED_BY[e.ordinal()] = BaziDef.FIVE_ELEMENTS_GENERATED_BY.get(e).ordinal();
+            RESTRICTS[e.ordinal()] = BaziDef.FIVE_ELEMENTS_RESTRICTION.get(e).ordinal();
+        }
+        for (int e = 0; e < 5; e++) {
+            RESTRICTED_BY[RESTRICTS[e]] = e;
+        }
+        for (int d = 0; d < 10; d++) {
+            for (int o = 0; o < 10; o++) {
+                TEN_GOD[d][o] = tenGod(d, o).ordinal();
+            }
+        }
+        for (int i = 0; i < 60; i++) {
+            JIA_ZI[i] = BaziDef.TIAN_GAN[i % 10] + BaziDef.DI_ZHI[i % 12];
+            // 每两个甲子共用一个纳音 (甲子乙丑海中金 ...)
+            JIA_ZI_NA_YIN[i] = BaziDef.NA_YIN[i / 2];
+            // 旬首地支之前两位为空亡
+            int xunShou = Math.floorMod(i % 12 - i % 10, 12);
+            JIA_ZI_XUN_KONG[i] = BaziDef.DI_ZHI[(xunShou + 10) % 12] + BaziDef.DI_ZHI[(xunShou + 11) % 12];
+            PILLAR_XUN_KONG[i] = LunarUtils.calculateXunKong(JIA_ZI[i]);
+        }
+        Set<String> special = new HashSet<>(BaziDef.ZHUAN_WANG_PATTERNS.values());
+        special.addAll(List.of("从财格", "从官格", "从儿格"));
+        for (int i = 0; i < PATTERN_NAMES.length; i++) {
+            PATTERN_CATEGORIES[i] = special.contains(PATTERN_NAMES[i])
+                ? BaziDef.PATTERN_CATEGORY_SPECIAL : BaziDef.PATTERN_CATEGORY_NORMAL;
+        }
+    }
+
+    private ChartTables() {
+    }
+
+    /**
+     * 天干地支组合 -> 六十甲子下标
+     *
+     * @return 下标 0-59, 阴阳不匹配 (非法组合) 时返回 -1
+     */
+    public static int jiaZiIndex(int stem, int branch) {
+        if (((stem ^ branch) & 1) != 0) {
+            return -1;
+        }
+        return Math.floorMod(6 * stem - 5 * branch, 60);
+    }
+
+    /**
+     * 干支字符串 -> 六十甲子下标
+     *
+     * @return 下标 0-59, 非法字符串返回 -1
+     */
+    public static int jiaZiIndex(String ganZhi) {
+        if (ganZhi == null || ganZhi.length() != 2) {
+            return -1;
+        }
+        int stem = BaziDef.getTianGanIndex(ganZhi.substring(0, 1));
+        int branch = BaziDef.getDiZhiIndex(ganZhi.substring(1, 2));
+        return stem < 0 || branch < 0 ? -1 : jiaZiIndex(stem, branch);
+    }
+
+    /**
+     * 公历年份 (立春之后) 的年柱六十甲子下标
+     */
+    public static int jiaZiOfYear(int year) {
+        return Math.floorMod(year - 4, 60);
+    }
+
+    /**
+     * 公历日期的日柱六十甲子下标 (按儒略日逐日顺排, 2000-01-01 为戊午)
+     *
+     * @param epochDay {@link java.time.LocalDate#toEpochDay()}
+     */
+    public static int dayJiaZi(long epochDay) {
+        return (int) Math.floorMod(epochDay + 17, 60L);
+    }
+
+    /**
+     * 年柱与月支对应的月柱六十甲子下标 (五虎遁)
+     */
+    public static int monthJiaZi(int yearJiaZi, int monthBranch) {
+        int stem = (yearJiaZi % 10 % 5 * 2 + 2 + Math.floorMod(monthBranch - 2, 12)) % 10;
+        return jiaZiIndex(stem, monthBranch);
+    }
+
+    /**
+     * 日柱与时支对应的时柱六十甲子下标 (五鼠遁)
+     */
+    public static int hourJiaZi(int dayJiaZi, int hourBranch) {
+        int stem = (dayJiaZi % 10 % 5 * 2 + hourBranch) % 10;
+        return jiaZiIndex(stem, hourBranch);
+    }
+
+    /**
+     * 由五行生克与阴阳推导十神: 同我、我生、我克、克我、生我依次为 {@link TenGod} 的五对,
+     * 阴阳相同取每对的前者 (比肩、食神、偏财、七杀、偏印), 不同取后者
+     */
+    private static TenGod tenGod(int dayStem, int stem) {
+        int self = STEM_ELEMENT[dayStem];
+        int other = STEM_ELEMENT[stem];
+        int relation;
+        if (other == self) {
+            relation = 0;
+        } else if (other == GENERATES[self]) {
+            relation = 1;
+        } else if (other == RESTRICTS[self]) {
+            relation = 2;
+        } else if (other == RESTRICTED_BY[self]) {
+            relation = 3;
+        } else {
+            relation = 4;
+        }
+        return TenGod.of(relation * 2 + (STEM_YIN_YANG[dayStem] == STEM_YIN_YANG[stem] ? 0 : 1));
+    }
+}
@@ -0,0 +1,196 @@
+package com.tafu.bazi.sdk.chart;
+
+import java.util.zip.CRC32;
+
+import static com.tafu.bazi.sdk.chart.ChartTables.*;
+
+/**
+ * 编译后的计分模型 (由 {@link ScoringModel#compile(String)} 生成)
+ *
+ * <p>参数展开为按下标查询的扁平数组, {@link ChartAnalyzer} 计算时只做查表:
+ * <ul>
+ *   <li>得令分、天干帮扶分按类型下标</li>
+ *   <li>十二长生得地分展开为 [日干 × 12 + 地支]</li>
+ *   <li>旺相休囚死权重展开为 [月令五行 × 5 + 五行]</li>
+ * </ul>
+ * 实例不可变, 线程安全, 可在多个计算器与请求间共享
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class CompiledScoringModel {
+
+    /** 内置藏干加权模型 */
+    public static final CompiledScoringModel CLASSIC =
+        ScoringModel.classic().compile(StrengthModel.CLASSIC.getCode());
+
+    /** 内置十二长生模型 */
+    public static final CompiledScoringModel LIFE_STAGE =
+        ScoringModel.lifeStage().compile(StrengthModel.LIFE_STAGE.getCode());
+
+    private final String name;
+    private final StrengthModel strengthModel;
+    private final long fingerprint;
+
+    /** 得令分 [得令类型] */
+    final double[] deLingScores;
+
+    final double sameRootWeight;
+    final double sealRootWeight;
+
+    /** 十二长生得地分 [日干 × 12 + 地支], 藏干加权模型为 null */
+    final double[] lifeStageDeDi;
+
+    final double deDiCap;
+
+    /** 天干帮扶分 [帮扶类型], 类型 0 (无) 恒为 0 */
+    final double[] helpScores;
+
+    final double helpCap;
+
+    /** 旺相休囚死权重 [月令五行 × 5 + 五行] */
+    final double[] stateWeights;
+
+    final double strongThreshold;
+    final double weakThreshold;
+    final double congThreshold;
+    final double zhuanWangThreshold;
+
+    CompiledScoringModel(String name, ScoringModel source) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Scoring model name cannot be blank");
+        }
+        if (source.getStrengthModel() == null) {
+            throw new IllegalArgumentException("Scoring model '" + name + "': strengthModel cannot be null");
+        }
+        this.name = name;
+        this.strengthModel = source.getStrengthModel();
+        this.deLingScores = copy(name, "deLingScores", source.getDeLingScores(), BaziChart.DE_LING_DESCRIPTIONS.length);
+        this.sameRootWeight = finite(name, "sameRootWeight", source.getSameRootWeight());
+        this.sealRootWeight = finite(name, "sealRootWeight", source.getSealRootWeight());
+        this.deDiCap = nonNegative(name, "deDiCap", source.getDeDiCap());
+        this.helpScores = new double[]{
+            0,
+            finite(name, "peerHelp", source.getPeerHelp()),
+            finite(name, "sealHelp", source.getSealHelp()),
+            finite(name, "officerHelp", source.getOfficerHelp())
+        };
+        this.helpCap = nonNegative(name, "helpCap", source.getHelpCap());
+        this.strongThreshold = finite(name, "strongThreshold", source.getStrongThreshold());
+        this.weakThreshold = finite(name, "weakThreshold", source.getWeakThreshold());
+        this.congThreshold = finite(name, "congThreshold", source.getCongThreshold());
+        this.zhuanWangThreshold = finite(name, "zhuanWangThreshold", source.getZhuanWangThreshold());
+        if (weakThreshold > strongThreshold) {
+            throw new IllegalArgumentException("Scoring model '" + name
+                + "': weakThreshold must not exceed strongThreshold");
+        }
+
+        double[] stageScores = copy(name, "lifeStageScores", source.getLifeStageScores(), ChartTables.LIFE_STAGE[0].length);
+        if (strengthModel == StrengthModel.LIFE_STAGE) {
+            lifeStageDeDi = new double[10 * 12];
+            for (int s = 0; s < 10; s++) {
+                for (int b = 0; b < 12; b++) {
+                    lifeStageDeDi[s * 12 + b] = stageScores[ChartTables.LIFE_STAGE[s][b]];
+                }
+            }
+        } else {
+            lifeStageDeDi = null;
+        }
+
+        double[] weights = copy(name, "stateWeights", source.getStateWeights(), STATE_CODES.length);
+        stateWeights = new double[ELEMENTS.length * ELEMENTS.length];
+        for (int m = 0; m < ELEMENTS.length; m++) {
+            int[] states = ChartAnalyzer.elementStates(m);
+            for (int e = 0; e < ELEMENTS.length; e++) {
+                stateWeights[m * ELEMENTS.length + e] = weights[states[e]];
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        update(crc, strengthModel.ordinal());
+        update(crc, deLingScores);
+        update(crc, sameRootWeight, sealRootWeight, deDiCap, helpCap,
+            strongThreshold, weakThreshold, congThreshold, zhuanWangThreshold);
+        update(crc, stageScores);
+        update(crc, helpScores);
+        update(crc, weights);
+        this.fingerprint = crc.getValue();
+    }
+
+    /**
+     * 模型名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 得地计分方式
+     */
+    public StrengthModel getStrengthModel() {
+        return strengthModel;
+    }
+
+    /**
+     * 参数指纹 (CRC32, 与名称无关): 参数相同的模型指纹相同
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 旺相休囚死权重
+     *
+     * @param monthElement 月令五行下标
+     * @param element 五行下标
+     */
+    public double stateWeight(int monthElement, int element) {
+        return stateWeights[monthElement * ELEMENTS.length + element];
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledScoringModel(" + name + ", " + strengthModel.getCode() + ", "
+            + Long.toHexString(fingerprint) + ")";
+    }
+
+    private static double[] copy(String name, String field, double[] values, int length) {
+        if (values == null || values.length != length) {
+            throw new IllegalArgumentException("Scoring model '" + name + "': " + field
+                + " must have " + length + " values");
+        }
+        for (double value : values) {
+            finite(name, field, value);
+        }
+        return values.clone();
+    }
+
+    private static double finite(String name, String field, double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Scoring model '" + name + "': " + field + " must be finite");
+        }
+        return value;
+    }
+
+    private static double nonNegative(String name, String field, double value) {
+        if (finite(name, field, value) < 0) {
+            throw new IllegalArgumentException("Scoring model '" + name + "': " + field + " must not be negative");
+        }
+        return value;
+    }
+
+    private static void update(CRC32 crc, int value) {
+        crc.update(value >>> 24);
+        crc.update(value >>> 16);
+        crc.update(value >>> 8);
+        crc.update(value);
+    }
+
+    private static void update(CRC32 crc, double... values) {
+        for (double value : values) {
+            long bits = Double.doubleToLongBits(value);
+            update(crc, (int) (bits >>> 32));
+            update(crc, (int) bits);
+        }
+    }
+}
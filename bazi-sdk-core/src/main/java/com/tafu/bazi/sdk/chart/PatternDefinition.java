@@ -0,0 +1,18 @@
+package com.tafu.bazi.sdk.chart;
+
+/**
+ * 格局定义 (响应中 {@code pattern} 的名称、分类与描述)
+ *
+ * @param name 格局名称
+ * @param category 分类: "normal" | "special"
+ * @param description 格局描述
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record PatternDefinition(
+    String name,
+    String category,
+    String description
+) {
+}
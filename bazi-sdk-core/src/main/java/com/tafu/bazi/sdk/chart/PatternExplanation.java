@@ -0,0 +1,47 @@
+package com.tafu.bazi.sdk.chart;
+
+import java.util.List;
+
+/**
+ * 格局判定过程: 按优先级依次尝试的规则, 直到第一条命中的规则为止
+ *
+ * @param pattern 命中的格局名称
+ * @param rule 命中的规则 (无规则命中而取兜底杂格时为 null)
+ * @param trace 依次尝试的规则 (最后一条为命中规则)
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record PatternExplanation(
+    String pattern,
+    PatternRule rule,
+    List<RuleTrace> trace
+) {
+
+    /**
+     * 单条规则的尝试结果
+     *
+     * @param name 格局名称
+     * @param priority 优先级
+     * @param when 条件表达式
+     * @param matched 是否命中
+     * @param failedClause 第一个不满足的子句 (命中时为 null)
+     */
+    public record RuleTrace(String name, int priority, String when, boolean matched, String failedClause) {
+
+        @Override
+        public String toString() {
+            return (matched ? "✔ " : "✘ ") + name + " [" + priority + "] " + when
+                + (matched ? "" : "  ← " + failedClause);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("格局: ").append(pattern);
+        for (RuleTrace rule : trace) {
+            sb.append('\n').append("  ").append(rule);
+        }
+        return sb.toString();
+    }
+}
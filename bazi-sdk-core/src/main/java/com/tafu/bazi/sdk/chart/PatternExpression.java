@@ -0,0 +1,437 @@
+package com.tafu.bazi.sdk.chart;
+
+import com.tafu.bazi.sdk.model.BaziDef;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+import static com.tafu.bazi.sdk.chart.ChartTables.*;
+
+/**
+ * 格局条件表达式: 解析后编译为对 {@link PatternFeatures} 求值的节点树
+ *
+ * <p>顶层以 {@code &&} 连接的各项为"子句", 逐项求值并可单独解释; 顶层含 {@code ||} 时整体为一个子句。
+ * 所有值均为 double, 布尔以 1 / 0 表示, 非 0 为真
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+final class PatternExpression {
+
+    /** 十神组编码起点: 比劫 食伤 财 官杀 印 依次为 GROUP_BASE + 0-4 */
+    static final int GROUP_BASE = 10;
+
+    /** 求值节点 */
+    @FunctionalInterface
+    interface Node {
+        double eval(PatternFeatures f);
+    }
+
+    private static final Map<String, ToDoubleFunction<PatternFeatures>> VARIABLES = new HashMap<>();
+    private static final Map<String, Double> CONSTANTS = new HashMap<>();
+    private static final Map<String, Integer> FUNCTION_ARITY = new HashMap<>();
+    private static final List<String> TEN_GOD_FUNCTIONS = List.of("god", "stemGod", "godStrength");
+
+    static {
+        VARIABLES.put("score", f -> f.score);
+        VARIABLES.put("strength", f -> f.strength);
+        VARIABLES.put("dayStem", f -> f.dayStem);
+        VARIABLES.put("dayElement", f -> f.dayElement);
+        VARIABLES.put("monthBranch", f -> f.monthBranch);
+        VARIABLES.put("monthElement", f -> f.monthElement);
+        VARIABLES.put("monthLu", f -> f.monthLu ? 1 : 0);
+        VARIABLES.put("monthRen", f -> f.monthRen ? 1 : 0);
+        VARIABLES.put("monthGod", f -> f.monthGod);
+        VARIABLES.put("monthGodTransparent", f -> f.monthGodTransparent ? 1 : 0);
+        VARIABLES.put("strongestOther", f -> f.strongestOther);
+        VARIABLES.put("top1", f -> f.top1);
+        VARIABLES.put("top2", f -> f.top2);
+        VARIABLES.put("top1Share", f -> f.share(f.top1));
+        VARIABLES.put("top2Share", f -> f.share(f.top2));
+        VARIABLES.put("dayCombine", f -> f.dayCombine);
+        // 相对日主的五行
+        VARIABLES.put("self", f -> f.dayElement);
+        VARIABLES.put("output", f -> GENERATES[f.dayElement]);
+        VARIABLES.put("wealth", f -> RESTRICTS[f.dayElement]);
+        VARIABLES.put("officer", f -> RESTRICTED_BY[f.dayElement]);
+        VARIABLES.put("seal", f -> GENERATED_BY[f.dayElement]);
+        // 计分模型阈值
+        VARIABLES.put("strongThreshold", f -> f.model.strongThreshold);
+        VARIABLES.put("weakThreshold", f -> f.model.weakThreshold);
+        VARIABLES.put("congThreshold", f -> f.model.congThreshold);
+        VARIABLES.put("zhuanWangThreshold", f -> f.model.zhuanWangThreshold);
+
+        for (BaziDef.FiveElement e : ELEMENTS) {
+            CONSTANTS.put(e.getChinese(), (double) e.ordinal());
+            CONSTANTS.put(e.getCode(), (double) e.ordinal());
+        }
+        for (int g = 0; g < BaziDef.TEN_GODS.size(); g++) {
+            CONSTANTS.put(BaziDef.TEN_GODS.get(g), (double) g);
+        }
+        String[][] groups = {{"比劫"}, {"食伤"}, {"财", "财星"}, {"官杀"}, {"印", "印星"}};
+        for (int i = 0; i < groups.length; i++) {
+            for (String name : groups[i]) {
+                CONSTANTS.put(name, (double) (GROUP_BASE + i));
+            }
+        }
+        CONSTANTS.put("weak", (double) BaziChart.WEAK);
+        CONSTANTS.put("balanced", (double) BaziChart.BALANCED);
+        CONSTANTS.put("strong", (double) BaziChart.STRONG);
+        CONSTANTS.put("true", 1.0);
+        CONSTANTS.put("false", 0.0);
+        CONSTANTS.put("none", -1.0);
+
+        FUNCTION_ARITY.put("dist", 1);
+        FUNCTION_ARITY.put("share", 1);
+        FUNCTION_ARITY.put("count", 1);
+        FUNCTION_ARITY.put("god", 1);
+        FUNCTION_ARITY.put("stemGod", 1);
+        FUNCTION_ARITY.put("godStrength", 1);
+        FUNCTION_ARITY.put("generates", 2);
+        FUNCTION_ARITY.put("restricts", 2);
+        FUNCTION_ARITY.put("abs", 1);
+        FUNCTION_ARITY.put("min", 2);
+        FUNCTION_ARITY.put("max", 2);
+    }
+
+    private final String text;
+    private final Node[] clauses;
+    private final String[] clauseTexts;
+    private final boolean usesTenGods;
+
+    private PatternExpression(String text, Node[] clauses, String[] clauseTexts, boolean usesTenGods) {
+        this.text = text;
+        this.clauses = clauses;
+        this.clauseTexts = clauseTexts;
+        this.usesTenGods = usesTenGods;
+    }
+
+    /**
+     * 编译表达式
+     *
+     * @throws IllegalArgumentException 语法错误、未知变量或函数时抛出 (含出错位置)
+     */
+    static PatternExpression compile(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Pattern rule condition cannot be blank");
+        }
+        Parser parser = new Parser(text);
+        List<Node> nodes = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        do {
+            parser.skipWhitespace();
+            int start = parser.pos;
+            nodes.add(parser.parseNot());
+            texts.add(text.substring(start, parser.pos).trim());
+        } while (parser.match("&&"));
+        if (parser.peek("||")) {
+            // 顶层含 ||: 整体作为一个子句
+            parser = new Parser(text);
+            nodes = List.of(parser.parseOr());
+            texts = List.of(text.trim());
+        }
+        parser.skipWhitespace();
+        if (parser.pos < text.length()) {
+            throw parser.error("unexpected '" + text.charAt(parser.pos) + "'");
+        }
+        return new PatternExpression(text, nodes.toArray(new Node[0]), texts.toArray(new String[0]),
+            parser.usesTenGods);
+    }
+
+    /**
+     * 全部子句为真
+     */
+    boolean test(PatternFeatures f) {
+        for (Node clause : clauses) {
+            if (clause.eval(f) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 第一个为假的子句下标, 全部为真时返回 -1
+     */
+    int firstFailed(PatternFeatures f) {
+        for (int i = 0; i < clauses.length; i++) {
+            if (clauses[i].eval(f) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    String getText() {
+        return text;
+    }
+
+    String clauseText(int index) {
+        return clauseTexts[index];
+    }
+
+    int clauseCount() {
+        return clauses.length;
+    }
+
+    boolean usesTenGods() {
+        return usesTenGods;
+    }
+
+    // ==================== 解析 ====================
+
+    /**
+     * 递归下降解析器
+     *
+     * <pre>
+     * or      := and ('||' and)*
+     * and     := not ('&&' not)*
+     * not     := '!' not | compare
+     * compare := sum (('==' | '!=' | '<=' | '>=' | '<' | '>') sum)?
+     * sum     := product (('+' | '-') product)*
+     * product := unary (('*' | '/') unary)*
+     * unary   := '-' unary | atom
+     * atom    := number | name | name '(' or (',' or)* ')' | '(' or ')'
+     * </pre>
+     */
+    private static final class Parser {
+
+        private final String text;
+        private int pos;
+        private boolean usesTenGods;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Node parseOr() {
+            Node left = parseAnd();
+            while (match("||")) {
+                Node a = left;
+                Node b = parseAnd();
+                left = f -> a.eval(f) != 0 || b.eval(f) != 0 ? 1 : 0;
+            }
+            return left;
+        }
+
+        Node parseAnd() {
+            Node left = parseNot();
+            while (match("&&")) {
+                Node a = left;
+                Node b = parseNot();
+                left = f -> a.eval(f) != 0 && b.eval(f) != 0 ? 1 : 0;
+            }
+            return left;
+        }
+
+        Node parseNot() {
+            skipWhitespace();
+            if (peek("!") && !peek("!=")) {
+                pos++;
+                Node operand = parseNot();
+                return f -> operand.eval(f) == 0 ? 1 : 0;
+            }
+            return parseCompare();
+        }
+
+        Node parseCompare() {
+            Node a = parseSum();
+            if (match("==")) {
+                Node b = parseSum();
+                return f -> a.eval(f) == b.eval(f) ? 1 : 0;
+            } else if (match("!=")) {
+                Node b = parseSum();
+                return f -> a.eval(f) != b.eval(f) ? 1 : 0;
+            } else if (match("<=")) {
+                Node b = parseSum();
+                return f -> a.eval(f) <= b.eval(f) ? 1 : 0;
+            } else if (match(">=")) {
+                Node b = parseSum();
+                return f -> a.eval(f) >= b.eval(f) ? 1 : 0;
+            } else if (match("<")) {
+                Node b = parseSum();
+                return f -> a.eval(f) < b.eval(f) ? 1 : 0;
+            } else if (match(">")) {
+                Node b = parseSum();
+                return f -> a.eval(f) > b.eval(f) ? 1 : 0;
+            }
+            return a;
+        }
+
+        Node parseSum() {
+            Node left = parseProduct();
+            while (true) {
+                Node a = left;
+                if (match("+")) {
+                    Node b = parseProduct();
+                    left = f -> a.eval(f) + b.eval(f);
+                } else if (match("-")) {
+                    Node b = parseProduct();
+                    left = f -> a.eval(f) - b.eval(f);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        Node parseProduct() {
+            Node left = parseUnary();
+            while (true) {
+                Node a = left;
+                if (match("*")) {
+                    Node b = parseUnary();
+                    left = f -> a.eval(f) * b.eval(f);
+                } else if (match("/")) {
+                    Node b = parseUnary();
+                    left = f -> {
+                        double divisor = b.eval(f);
+                        return divisor == 0 ? 0 : a.eval(f) / divisor;
+                    };
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        Node parseUnary() {
+            if (match("-")) {
+                Node operand = parseUnary();
+                return f -> -operand.eval(f);
+            }
+            return parseAtom();
+        }
+
+        Node parseAtom() {
+            skipWhitespace();
+            if (pos >= text.length()) {
+                throw error("unexpected end of expression");
+            }
+            char c = text.charAt(pos);
+            if (c == '(') {
+                pos++;
+                Node inner = parseOr();
+                expect(")");
+                return inner;
+            }
+            if (Character.isDigit(c) || c == '.') {
+                int start = pos;
+                while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+                    pos++;
+                }
+                try {
+                    double value = Double.parseDouble(text.substring(start, pos));
+                    return f -> value;
+                } catch (NumberFormatException e) {
+                    pos = start;
+                    throw error("malformed number");
+                }
+            }
+            if (!isNameChar(c)) {
+                throw error("unexpected '" + c + "'");
+            }
+            int start = pos;
+            while (pos < text.length() && isNameChar(text.charAt(pos))) {
+                pos++;
+            }
+            String name = text.substring(start, pos);
+            if (match("(")) {
+                return parseCall(name, start);
+            }
+            ToDoubleFunction<PatternFeatures> variable = VARIABLES.get(name);
+            if (variable != null) {
+                return variable::applyAsDouble;
+            }
+            Double constant = CONSTANTS.get(name);
+            if (constant != null) {
+                double value = constant;
+                return f -> value;
+            }
+            pos = start;
+            throw error("unknown name '" + name + "'");
+        }
+
+        private Node parseCall(String name, int start) {
+            Integer arity = FUNCTION_ARITY.get(name);
+            if (arity == null) {
+                pos = start;
+                throw error("unknown function '" + name + "'");
+            }
+            List<Node> args = new ArrayList<>();
+            if (!match(")")) {
+                do {
+                    args.add(parseOr());
+                } while (match(","));
+                expect(")");
+            }
+            if (args.size() != arity) {
+                pos = start;
+                throw error(name + "() takes " + arity + " argument(s)");
+            }
+            if (TEN_GOD_FUNCTIONS.contains(name)) {
+                usesTenGods = true;
+            }
+            Node a = args.get(0);
+            Node b = arity > 1 ? args.get(1) : null;
+            return switch (name) {
+                case "dist" -> f -> f.dist((int) a.eval(f));
+                case "share" -> f -> f.share((int) a.eval(f));
+                case "count" -> f -> f.count((int) a.eval(f));
+                case "god" -> f -> f.godCount((int) a.eval(f), false);
+                case "stemGod" -> f -> f.godCount((int) a.eval(f), true);
+                case "godStrength" -> f -> f.godStrength((int) a.eval(f));
+                case "generates" -> f -> relation(GENERATES, a.eval(f), b.eval(f));
+                case "restricts" -> f -> relation(RESTRICTS, a.eval(f), b.eval(f));
+                case "abs" -> f -> Math.abs(a.eval(f));
+                case "min" -> f -> Math.min(a.eval(f), b.eval(f));
+                case "max" -> f -> Math.max(a.eval(f), b.eval(f));
+                default -> throw new IllegalStateException(name);
+            };
+        }
+
+        private static double relation(int[] table, double from, double to) {
+            int a = (int) from;
+            return a >= 0 && a < table.length && table[a] == (int) to ? 1 : 0;
+        }
+
+        void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        boolean peek(String token) {
+            skipWhitespace();
+            return text.startsWith(token, pos);
+        }
+
+        boolean match(String token) {
+            if (!peek(token)) {
+                return false;
+            }
+            // 单字符比较符不能吞掉双字符比较符的前缀
+            if ((token.equals("<") || token.equals(">")) && text.startsWith("=", pos + 1)) {
+                return false;
+            }
+            pos += token.length();
+            return true;
+        }
+
+        void expect(String token) {
+            if (!match(token)) {
+                throw error("expected '" + token + "'");
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid pattern rule condition at " + pos + ": " + message
+                + " in \"" + text + "\"");
+        }
+
+        private static boolean isNameChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_';
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.tafu.bazi.sdk.chart;
+
+import com.tafu.bazi.sdk.model.BaziDef;
+
+import static com.tafu.bazi.sdk.chart.ChartTables.*;
+
+/**
+ * 格局规则求值用的命盘特征 (每盘计算一次, 固定开销)
+ *
+ * <p>十神分布只在规则集用到十神函数时按需计算
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+final class PatternFeatures {
+
+    /** 天干五合化出的五行 (按任一方下标) */
+    private static final int[] STEM_COMBINE_ELEMENT = new int[10];
+
+    static {
+        int[] elements = {
+            BaziDef.FiveElement.EARTH.ordinal(), BaziDef.FiveElement.METAL.ordinal(),
+            BaziDef.FiveElement.WATER.ordinal(), BaziDef.FiveElement.WOOD.ordinal(),
+            BaziDef.FiveElement.FIRE.ordinal()
+        };
+        for (int s = 0; s < 5; s++) {
+            STEM_COMBINE_ELEMENT[s] = elements[s];
+            STEM_COMBINE_ELEMENT[s + 5] = elements[s];
+        }
+    }
+
+    final int[] stems;
+    final int[] branches;
+    final CompiledScoringModel model;
+    final double score;
+    final int strength;
+    final double[] distribution;
+    final int[] elementCounts;
+
+    final int dayStem;
+    final int dayElement;
+    final int monthBranch;
+    final int monthElement;
+    final boolean monthLu;
+    final boolean monthRen;
+
+    /** 月令藏干中第一个非比劫十神及其藏干下标, 无则为 -1 */
+    final int monthGod;
+    final int monthGodStem;
+    final boolean monthGodTransparent;
+
+    /** 除日主五行外最旺的五行 (无则为日主五行) */
+    final int strongestOther;
+    final int top1;
+    final int top2;
+    final double total;
+
+    /** 日干与月干或时干五合所化五行, 无则为 -1 */
+    final int dayCombine;
+
+    private int[] godPositions;
+    private double[] godStrengths;
+
+    PatternFeatures(int[] stems, int[] branches, double score, int strength, double[] distribution,
+                    int[] elementCounts, CompiledScoringModel model) {
+        this.stems = stems;
+        this.branches = branches;
+        this.model = model;
+        this.score = score;
+        this.strength = strength;
+        this.distribution = distribution;
+        this.elementCounts = elementCounts;
+
+        dayStem = stems[2];
+        dayElement = STEM_ELEMENT[dayStem];
+        monthBranch = branches[1];
+        monthElement = MONTH_BRANCH_ELEMENT[monthBranch];
+        monthLu = monthBranch == LU_BRANCH[dayStem];
+        monthRen = monthBranch == REN_BRANCH[dayStem];
+
+        int god = -1;
+        int godStem = -1;
+        for (int hidden : HIDDEN_STEMS[monthBranch]) {
+            int g = TEN_GOD[dayStem][hidden];
+            // 比肩、劫财不取格
+            if (g > 1) {
+                god = g;
+                godStem = hidden;
+                break;
+            }
+        }
+        monthGod = god;
+        monthGodStem = godStem;
+        monthGodTransparent = godStem >= 0 && (godStem == stems[0] || godStem == stems[1] || godStem == stems[3]);
+
+        int strongest = dayElement;
+        double strongestValue = 0;
+        int first = -1;
+        int second = -1;
+        double sum = 0;
+        for (int e = 0; e < ELEMENTS.length; e++) {
+            double value = distribution[e];
+            sum += value;
+            if (e != dayElement && value > strongestValue) {
+                strongestValue = value;
+                strongest = e;
+            }
+            if (first < 0 || value > distribution[first]) {
+                second = first;
+                first = e;
+            } else if (second < 0 || value > distribution[second]) {
+                second = e;
+            }
+        }
+        strongestOther = strongest;
+        top1 = first;
+        top2 = second;
+        total = sum;
+
+        int partner = (dayStem + 5) % 10;
+        dayCombine = stems[1] == partner || stems[3] == partner ? STEM_COMBINE_ELEMENT[dayStem] : -1;
+    }
+
+    /**
+     * 由已分析的命盘取特征 (用于解释)
+     */
+    static PatternFeatures of(BaziChart chart, CompiledScoringModel model) {
+        return new PatternFeatures(chart.getStems(), chart.getBranches(), chart.getTotalScore(),
+            chart.getStrength(), chart.getDistribution(), chart.getElementCounts(), model);
+    }
+
+    double share(int element) {
+        return element < 0 || element >= ELEMENTS.length || total == 0 ? 0 : distribution[element] / total;
+    }
+
+    double dist(int element) {
+        return element < 0 || element >= ELEMENTS.length ? 0 : distribution[element];
+    }
+
+    double count(int element) {
+        return element < 0 || element >= ELEMENTS.length ? 0 : elementCounts[element];
+    }
+
+    /**
+     * 十神个数 (天干 + 藏干, 不含日干本身)
+     *
+     * @param god 十神下标 0-9 或十神组 {@link PatternExpression#GROUP_BASE} + 组号
+     */
+    double godCount(int god, boolean stemsOnly) {
+        ensureProfile();
+        int mask = stemsOnly ? TenGodProfile.STEM_MASK & ~(1 << 2) : ~(1 << 2);
+        if (god >= PatternExpression.GROUP_BASE) {
+            int g = (god - PatternExpression.GROUP_BASE) * 2;
+            return Integer.bitCount(godPositions[g] & mask) + Integer.bitCount(godPositions[g + 1] & mask);
+        }
+        return god < 0 || god >= 10 ? 0 : Integer.bitCount(godPositions[god] & mask);
+    }
+
+    /**
+     * 十神加权强度
+     */
+    double godStrength(int god) {
+        ensureProfile();
+        if (god >= PatternExpression.GROUP_BASE) {
+            int g = (god - PatternExpression.GROUP_BASE) * 2;
+            return godStrengths[g] + godStrengths[g + 1];
+        }
+        return god < 0 || god >= 10 ? 0 : godStrengths[god];
+    }
+
+    private void ensureProfile() {
+        if (godPositions == null) {
+            godPositions = new int[10];
+            godStrengths = new double[10];
+            TenGodProfile.compute(stems, branches, godPositions, godStrengths);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.tafu.bazi.sdk.chart;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.tafu.bazi.sdk.model.BaziDef;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 格局规则 (声明式)
+ *
+ * <p>{@link #when} 为条件表达式, 语法与可用变量见 {@link PatternRuleSet}。
+ * 规则只是配置, 须经 {@link PatternRuleSet#compile(java.util.List)} 编译后参与计算
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatternRule {
+
+    /** 格局名称 (如 "化气格"), 同名规则可有多条 */
+    private String name;
+
+    /** 分类: "normal" | "special" */
+    @Builder.Default
+    private String category = BaziDef.PATTERN_CATEGORY_NORMAL;
+
+    /** 格局描述 */
+    @Builder.Default
+    private String description = "";
+
+    /** 优先级, 数值大者先匹配; 相同时按声明顺序 */
+    @Builder.Default
+    private int priority = 0;
+
+    /** 条件表达式 */
+    private String when;
+
+    /** 月令取用方式 (决定响应中的 monthStem / monthStemTenGod / isTransparent) */
+    @Builder.Default
+    private Source source = Source.NONE;
+
+    /** 是否启用, 停用的规则不参与编译 */
+    @Builder.Default
+    private boolean enabled = true;
+
+    /**
+     * 月令取用方式
+     */
+    @Getter
+    @AllArgsConstructor
+    public enum Source {
+
+        /** 不取月令 */
+        NONE("none"),
+
+        /** 取月令本气, 不论透出 (建禄、羊刃) */
+        MONTH_MAIN("month-main"),
+
+        /** 取月令藏干中第一个非比劫的十神, 并判断是否透出 (正格) */
+        MONTH_GOD("month-god");
+
+        private final String code;
+
+        /**
+         * 按编码查找 (忽略大小写, 也接受枚举名)
+         *
+         * @throws IllegalArgumentException 未知编码时抛出
+         */
+        @JsonCreator
+        public static Source fromCode(String code) {
+            for (Source source : values()) {
+                if (source.code.equalsIgnoreCase(code) || source.name().equalsIgnoreCase(code)) {
+                    return source;
+                }
+            }
+            throw new IllegalArgumentException("Unknown pattern source: " + code);
+        }
+    }
+}
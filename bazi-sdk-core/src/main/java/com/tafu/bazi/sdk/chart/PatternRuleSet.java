@@ -0,0 +1,350 @@
+package com.tafu.bazi.sdk.chart;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tafu.bazi.sdk.model.BaziDef;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import static com.tafu.bazi.sdk.chart.ChartTables.*;
+
+/**
+ * 编译后的格局规则集 (有序决策表)
+ *
+ * <p>规则按优先级从高到低 (相同时按声明顺序) 依次求值, 第一条条件成立的规则决定格局;
+ * 全部不成立时取杂格。每盘先计算一次固定的特征, 再逐条求值已编译的条件, 开销与规则数成正比、与命盘无关。
+ *
+ * <p>条件表达式语法:
+ * <ul>
+ *   <li>运算: {@code || && ! == != < <= > >= + - * /} 与括号, 布尔以 1 / 0 表示</li>
+ *   <li>变量: {@code score strength dayStem dayElement monthBranch monthElement monthLu monthRen monthGod
+ *       monthGodTransparent strongestOther top1 top2 top1Share top2Share dayCombine}
+ *       及计分模型阈值 {@code strongThreshold weakThreshold congThreshold zhuanWangThreshold}</li>
+ *   <li>相对日主的五行: {@code self output wealth officer seal} (比劫 食伤 财 官杀 印)</li>
+ *   <li>常量: 五行 ({@code 木} 或 {@code wood} ...)、十神 ({@code 正官} ...)、十神组
+ *       ({@code 比劫 食伤 财 官杀 印})、{@code weak balanced strong true false none}</li>
+ *   <li>函数: {@code dist(e) share(e) count(e)} 五行分布 / 占比 / 个数;
+ *       {@code god(g) stemGod(g) godStrength(g)} 十神个数 (天干 + 藏干 / 仅天干, 均不含日干) 与加权强度;
+ *       {@code generates(a, b) restricts(a, b) abs min max}</li>
+ * </ul>
+ * 顶层以 {@code &&} 连接的各项作为子句, {@link #explain(BaziChart, CompiledScoringModel)} 给出每条规则第一个不满足的子句。
+ *
+ * <p>JSON 规则文件为 {@link PatternRule} 数组:
+ * <pre>
+ * [{"name": "化气格", "category": "special", "priority": 95,
+ *   "when": "dayCombine >= 0 &amp;&amp; monthElement == dayCombine &amp;&amp; share(dayCombine) >= 0.35",
+ *   "description": "..."}]
+ * </pre>
+ * 实例不可变, 线程安全; 热更新时整体替换实例即可
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class PatternRuleSet {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final List<PatternRule> BUILT_IN_RULES = List.of(
+        builtIn("建禄格", 100, "monthLu", PatternRule.Source.MONTH_MAIN),
+        builtIn("羊刃格", 90, "monthRen", PatternRule.Source.MONTH_MAIN),
+        builtIn("从财格", 80, "score < congThreshold && strongestOther == wealth", PatternRule.Source.NONE),
+        builtIn("从官格", 80, "score < congThreshold && strongestOther == officer", PatternRule.Source.NONE),
+        builtIn("从儿格", 80, "score < congThreshold && strongestOther == output", PatternRule.Source.NONE),
+        builtIn("曲直格", 70, "score > zhuanWangThreshold && dayElement == 木", PatternRule.Source.NONE),
+        builtIn("炎上格", 70, "score > zhuanWangThreshold && dayElement == 火", PatternRule.Source.NONE),
+        builtIn("稼穑格", 70, "score > zhuanWangThreshold && dayElement == 土", PatternRule.Source.NONE),
+        builtIn("从革格", 70, "score > zhuanWangThreshold && dayElement == 金", PatternRule.Source.NONE),
+        builtIn("润下格", 70, "score > zhuanWangThreshold && dayElement == 水", PatternRule.Source.NONE),
+        builtIn("正官格", 60, "monthGod == 正官", PatternRule.Source.MONTH_GOD),
+        builtIn("七杀格", 60, "monthGod == 七杀", PatternRule.Source.MONTH_GOD),
+        builtIn("正财格", 60, "monthGod == 正财", PatternRule.Source.MONTH_GOD),
+        builtIn("偏财格", 60, "monthGod == 偏财", PatternRule.Source.MONTH_GOD),
+        builtIn("正印格", 60, "monthGod == 正印", PatternRule.Source.MONTH_GOD),
+        builtIn("偏印格", 60, "monthGod == 偏印", PatternRule.Source.MONTH_GOD),
+        builtIn("食神格", 60, "monthGod == 食神", PatternRule.Source.MONTH_GOD),
+        builtIn("伤官格", 60, "monthGod == 伤官", PatternRule.Source.MONTH_GOD),
+        builtIn("杂格", 0, "true", PatternRule.Source.NONE)
+    );
+
+    private static final List<PatternRule> EXTENDED_RULES = List.of(
+        special("化气格", 95,
+            "dayCombine >= 0 && monthElement == dayCombine && share(dayCombine) >= 0.35",
+            "日干与月干或时干五合，化神当令且旺，以化神论喜忌"),
+        special("从旺格", 75,
+            "score > zhuanWangThreshold && share(self) + share(seal) >= 0.8 && share(self) >= share(seal)",
+            "比劫当权而印星相扶，满局旺气，宜顺其旺势"),
+        special("从强格", 75,
+            "score > zhuanWangThreshold && share(self) + share(seal) >= 0.8 && share(seal) > share(self)",
+            "印星重重而比劫相助，身强至极，宜顺其强势"),
+        special("两神成象格", 65,
+            "top1Share + top2Share >= 0.8 && top2Share >= 0.3"
+                + " && (generates(top1, top2) || generates(top2, top1))",
+            "两种五行相生各占其半，气势纯粹，宜行二者之运")
+    );
+
+    private static final PatternRuleSet BUILT_IN = compile(BUILT_IN_RULES);
+
+    /** 无规则命中时的兜底 (杂格) */
+    private static final CompiledRule FALLBACK = BUILT_IN.rules[BUILT_IN.rules.length - 1];
+
+    private final CompiledRule[] rules;
+    private final String fingerprint;
+
+    private PatternRuleSet(CompiledRule[] rules, String fingerprint) {
+        this.rules = rules;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * 内置规则集 (建禄 → 羊刃 → 从格 → 专旺 → 正格 → 杂格)
+     */
+    public static PatternRuleSet builtIn() {
+        return BUILT_IN;
+    }
+
+    /**
+     * 内置规则 (可修改的副本)
+     */
+    public static List<PatternRule> builtInRules() {
+        return copy(BUILT_IN_RULES);
+    }
+
+    /**
+     * 扩展规则 (化气格、从旺格、从强格、两神成象格; 可修改的副本), 通常与内置规则合并使用
+     */
+    public static List<PatternRule> extendedRules() {
+        return copy(EXTENDED_RULES);
+    }
+
+    /**
+     * 内置规则加指定规则: 与内置规则同名的规则整体替换内置规则, 其余追加
+     *
+     * @param rules 追加或替换的规则
+     * @return 编译后的规则集
+     */
+    public static PatternRuleSet withBuiltIns(List<PatternRule> rules) {
+        Set<String> replaced = new HashSet<>();
+        for (PatternRule rule : rules) {
+            replaced.add(rule.getName());
+        }
+        List<PatternRule> merged = new ArrayList<>();
+        for (PatternRule rule : BUILT_IN_RULES) {
+            if (!replaced.contains(rule.getName())) {
+                merged.add(rule);
+            }
+        }
+        merged.addAll(rules);
+        return compile(merged);
+    }
+
+    /**
+     * 编译规则 (停用的规则被忽略)
+     *
+     * @param rules 规则
+     * @return 编译后的规则集
+     * @throws IllegalArgumentException 规则名称为空或条件非法时抛出
+     */
+    public static PatternRuleSet compile(List<PatternRule> rules) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Pattern rules cannot be null");
+        }
+        List<CompiledRule> compiled = new ArrayList<>(rules.size());
+        for (PatternRule rule : rules) {
+            if (rule == null) {
+                throw new IllegalArgumentException("Pattern rule cannot be null");
+            }
+            if (rule.isEnabled()) {
+                compiled.add(new CompiledRule(rule));
+            }
+        }
+        // 稳定排序: 同优先级保持声明顺序
+        compiled.sort(Comparator.comparingInt((CompiledRule r) -> r.priority).reversed());
+
+        CRC32 crc = new CRC32();
+        for (CompiledRule rule : compiled) {
+            String line = rule.priority + "|" + rule.definition.name() + "|" + rule.definition.category() + "|"
+                + rule.definition.description() + "|" + rule.source.getCode() + "|" + rule.expression.getText() + "\n";
+            crc.update(line.getBytes(StandardCharsets.UTF_8));
+        }
+        return new PatternRuleSet(compiled.toArray(new CompiledRule[0]), String.format("%08x", crc.getValue()));
+    }
+
+    /**
+     * 读取 JSON 格式的规则 (格式见类注释)
+     *
+     * @param in 输入流 (不关闭)
+     * @return 规则, 保持文件中的顺序
+     * @throws IllegalArgumentException 格式错误或含未知字段时抛出
+     */
+    public static List<PatternRule> readJson(InputStream in) {
+        try {
+            return MAPPER.readValue(in, new TypeReference<List<PatternRule>>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed pattern rule JSON: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 规则数
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * 已编译的规则 (按求值顺序, 可修改的副本)
+     */
+    public List<PatternRule> rules() {
+        List<PatternRule> list = new ArrayList<>(rules.length);
+        for (CompiledRule rule : rules) {
+            list.add(rule.rule.toBuilder().build());
+        }
+        return list;
+    }
+
+    /**
+     * 规则集指纹 (8 位十六进制), 任一规则变化时改变, 可作为缓存快照的规则版本
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 解释已分析命盘的格局判定过程
+     *
+     * @param chart 命盘 (须由同一规则集与计分模型分析)
+     * @param model 分析时使用的计分模型
+     * @return 判定过程
+     */
+    public PatternExplanation explain(BaziChart chart, CompiledScoringModel model) {
+        PatternFeatures features = PatternFeatures.of(chart, model);
+        List<PatternExplanation.RuleTrace> trace = new ArrayList<>();
+        for (CompiledRule rule : rules) {
+            int failed = rule.expression.firstFailed(features);
+            trace.add(new PatternExplanation.RuleTrace(rule.definition.name(), rule.priority,
+                rule.expression.getText(), failed < 0, failed < 0 ? null : rule.expression.clauseText(failed)));
+            if (failed < 0) {
+                return new PatternExplanation(rule.definition.name(), rule.rule.toBuilder().build(), List.copyOf(trace));
+            }
+        }
+        return new PatternExplanation(FALLBACK.definition.name(), null, List.copyOf(trace));
+    }
+
+    /**
+     * 求值并写入构建器
+     */
+    void apply(PatternFeatures features, BaziChart.BaziChartBuilder builder) {
+        CompiledRule matched = FALLBACK;
+        for (CompiledRule rule : rules) {
+            if (rule.expression.test(features)) {
+                matched = rule;
+                break;
+            }
+        }
+
+        int monthStem = -1;
+        int tenGod = -1;
+        Boolean transparent = null;
+        if (matched.source == PatternRule.Source.MONTH_MAIN) {
+            monthStem = HIDDEN_STEMS[features.monthBranch][0];
+            transparent = Boolean.FALSE;
+        } else if (matched.source == PatternRule.Source.MONTH_GOD && features.monthGod >= 0) {
+            monthStem = features.monthGodStem;
+            tenGod = features.monthGod;
+            transparent = features.monthGodTransparent;
+        }
+        builder.pattern(matched.builtInId)
+            .patternDefinition(matched.definition)
+            .patternMonthStem(monthStem)
+            .patternTenGod(tenGod)
+            .patternTransparent(transparent);
+    }
+
+    private static PatternRule builtIn(String name, int priority, String when, PatternRule.Source source) {
+        int id = builtInId(name);
+        return PatternRule.builder()
+            .name(name)
+            .category(PATTERN_CATEGORIES[id])
+            .description(BaziDef.PATTERN_DESCRIPTIONS.get(name))
+            .priority(priority)
+            .when(when)
+            .source(source)
+            .build();
+    }
+
+    private static PatternRule special(String name, int priority, String when, String description) {
+        return PatternRule.builder()
+            .name(name)
+            .category(BaziDef.PATTERN_CATEGORY_SPECIAL)
+            .description(description)
+            .priority(priority)
+            .when(when)
+            .build();
+    }
+
+    private static int builtInId(String name) {
+        for (int i = 0; i < PATTERN_NAMES.length; i++) {
+            if (PATTERN_NAMES[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<PatternRule> copy(List<PatternRule> rules) {
+        List<PatternRule> list = new ArrayList<>(rules.size());
+        for (PatternRule rule : rules) {
+            list.add(rule.toBuilder().build());
+        }
+        return list;
+    }
+
+    /**
+     * 编译后的单条规则
+     */
+    private static final class CompiledRule {
+
+        final PatternRule rule;
+        final int priority;
+        final PatternExpression expression;
+        final PatternDefinition definition;
+        final PatternRule.Source source;
+
+        /** 与内置格局名称、分类、描述均一致时为内置格局编号, 否则为 -1 */
+        final int builtInId;
+
+        CompiledRule(PatternRule rule) {
+            if (rule.getName() == null || rule.getName().isBlank()) {
+                throw new IllegalArgumentException("Pattern rule name cannot be blank");
+            }
+            String category = rule.getCategory() == null || rule.getCategory().isBlank()
+                ? BaziDef.PATTERN_CATEGORY_NORMAL : rule.getCategory();
+            String description = rule.getDescription() == null ? "" : rule.getDescription();
+            try {
+                this.expression = PatternExpression.compile(rule.getWhen());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Pattern rule '" + rule.getName() + "': " + e.getMessage(), e);
+            }
+            this.rule = rule.toBuilder().build();
+            this.priority = rule.getPriority();
+            this.definition = new PatternDefinition(rule.getName(), category, description);
+            this.source = rule.getSource() == null ? PatternRule.Source.NONE : rule.getSource();
+            int id = builtInId(rule.getName());
+            this.builtInId = id >= 0 && PATTERN_CATEGORIES[id].equals(category)
+                && BaziDef.PATTERN_DESCRIPTIONS.get(rule.getName()).equals(description) ? id : -1;
+        }
+    }
+}
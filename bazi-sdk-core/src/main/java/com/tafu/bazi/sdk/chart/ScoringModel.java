@@ -0,0 +1,110 @@
+package com.tafu.bazi.sdk.chart;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 日主强弱与五行分布的计分参数
+ *
+ * <p>默认值即 SDK 内置规则 ({@link #classic()})。实例只是配置, 参与计算前须经
+ * {@link #compile(String)} 校验并编译为不可变的 {@link CompiledScoringModel};
+ * 多个命名模型由 {@link ScoringModelRegistry} 管理, 可从 Spring 配置或 JSON 资源载入
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoringModel {
+
+    /** 得地计分方式 */
+    @Builder.Default
+    private StrengthModel strengthModel = StrengthModel.CLASSIC;
+
+    /** 得令分 (按得令类型: 日主当令 / 月令生扶 / 月令泄气 / 月令克制 / 日主耗气) */
+    @Builder.Default
+    private double[] deLingScores = {40, 30, -10, -20, -5};
+
+    /** 藏干比劫根的倍数 (乘以本气/中气/余气权重) */
+    @Builder.Default
+    private double sameRootWeight = 15;
+
+    /** 藏干印星根的倍数 */
+    @Builder.Default
+    private double sealRootWeight = 10;
+
+    /** 十二长生得地分 (按长生下标: 长生 沐浴 冠带 临官 帝旺 衰 病 死 墓 绝 胎 养) */
+    @Builder.Default
+    private double[] lifeStageScores = {6, 3, 5, 8, 9, 4, 2, 1, 3, 0, 1, 2};
+
+    /** 得地封顶分 */
+    @Builder.Default
+    private double deDiCap = 30;
+
+    /** 天干比劫帮扶分 */
+    @Builder.Default
+    private double peerHelp = 8;
+
+    /** 天干印星帮扶分 */
+    @Builder.Default
+    private double sealHelp = 6;
+
+    /** 天干官杀帮扶分 (通常为负) */
+    @Builder.Default
+    private double officerHelp = -5;
+
+    /** 天干帮扶绝对值上限 */
+    @Builder.Default
+    private double helpCap = 20;
+
+    /** 旺相休囚死权重 (下标 0-4, 见 {@link ChartTables#STATE_CODES}) */
+    @Builder.Default
+    private double[] stateWeights = ChartTables.STATE_WEIGHTS.clone();
+
+    /** 总分不低于此值为身强 */
+    @Builder.Default
+    private double strongThreshold = 50;
+
+    /** 总分不高于此值为身弱 */
+    @Builder.Default
+    private double weakThreshold = 25;
+
+    /** 总分低于此值时判断从格 */
+    @Builder.Default
+    private double congThreshold = 20;
+
+    /** 总分高于此值时判断专旺格 */
+    @Builder.Default
+    private double zhuanWangThreshold = 75;
+
+    /**
+     * 内置规则: 藏干加权得地
+     */
+    public static ScoringModel classic() {
+        return ScoringModel.builder().build();
+    }
+
+    /**
+     * 内置规则: 十二长生得地, 其余参数同 {@link #classic()}
+     */
+    public static ScoringModel lifeStage() {
+        return ScoringModel.builder()
+            .strengthModel(StrengthModel.LIFE_STAGE)
+            .build();
+    }
+
+    /**
+     * 校验并编译为查表用的不可变模型 (之后修改本对象不影响编译结果)
+     *
+     * @param name 模型名称
+     * @return 编译后的模型
+     * @throws IllegalArgumentException 名称为空、数组长度不符或阈值非法时抛出
+     */
+    public CompiledScoringModel compile(String name) {
+        return new CompiledScoringModel(name, this);
+    }
+}
@@ -0,0 +1,155 @@
+package com.tafu.bazi.sdk.chart;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * 命名计分模型集合
+ *
+ * <p>始终包含内置模型 {@code classic} ({@link CompiledScoringModel#CLASSIC}) 与
+ * {@code life-stage} ({@link CompiledScoringModel#LIFE_STAGE}), 自定义模型可覆盖同名内置模型。
+ * 所有模型在构造时一次性编译, 请求通过 {@link com.tafu.bazi.sdk.model.BaziRequest#getScoringModel()}
+ * 按名称选择, 未指定时使用默认模型。
+ *
+ * <p>JSON 资源格式为 名称 → {@link ScoringModel} 字段 的对象, 未列出的字段取默认值:
+ * <pre>
+ * {"strict": {"strongThreshold": 55, "weakThreshold": 30},
+ *  "life-stage-wide": {"strengthModel": "life-stage", "deDiCap": 40}}
+ * </pre>
+ * 实例不可变, 线程安全
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class ScoringModelRegistry {
+
+    /** 默认模型名称 */
+    public static final String DEFAULT_MODEL = StrengthModel.CLASSIC.getCode();
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final ScoringModelRegistry DEFAULTS = of(Map.of(), DEFAULT_MODEL);
+
+    private final Map<String, CompiledScoringModel> models;
+    private final CompiledScoringModel defaultModel;
+    private final String fingerprint;
+
+    private ScoringModelRegistry(Map<String, CompiledScoringModel> models, CompiledScoringModel defaultModel) {
+        this.models = Collections.unmodifiableMap(models);
+        this.defaultModel = defaultModel;
+
+        CRC32 crc = new CRC32();
+        crc.update(defaultModel.getName().getBytes(StandardCharsets.UTF_8));
+        for (Map.Entry<String, CompiledScoringModel> entry : new TreeMap<>(models).entrySet()) {
+            crc.update(0);
+            crc.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            crc.update(0);
+            crc.update(Long.toHexString(entry.getValue().fingerprint()).getBytes(StandardCharsets.UTF_8));
+        }
+        this.fingerprint = String.format("%08x", crc.getValue());
+    }
+
+    /**
+     * 只含内置模型, 默认 {@code classic}
+     */
+    public static ScoringModelRegistry defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * 内置模型加自定义模型
+     *
+     * @param models 名称 → 计分参数 (可为空)
+     * @param defaultModel 默认模型名称, 为 null 或空白时取 {@link #DEFAULT_MODEL}
+     * @return 模型集合
+     * @throws IllegalArgumentException 模型参数非法或默认模型不存在时抛出
+     */
+    public static ScoringModelRegistry of(Map<String, ScoringModel> models, String defaultModel) {
+        Map<String, CompiledScoringModel> compiled = new LinkedHashMap<>();
+        compiled.put(CompiledScoringModel.CLASSIC.getName(), CompiledScoringModel.CLASSIC);
+        compiled.put(CompiledScoringModel.LIFE_STAGE.getName(), CompiledScoringModel.LIFE_STAGE);
+        if (models != null) {
+            for (Map.Entry<String, ScoringModel> entry : models.entrySet()) {
+                if (entry.getValue() == null) {
+                    throw new IllegalArgumentException("Scoring model '" + entry.getKey() + "' cannot be null");
+                }
+                compiled.put(entry.getKey(), entry.getValue().compile(entry.getKey()));
+            }
+        }
+        String name = defaultModel == null || defaultModel.isBlank() ? DEFAULT_MODEL : defaultModel;
+        CompiledScoringModel selected = compiled.get(name);
+        if (selected == null) {
+            throw new IllegalArgumentException("Unknown default scoring model: " + name);
+        }
+        return new ScoringModelRegistry(compiled, selected);
+    }
+
+    /**
+     * 读取 JSON 格式的命名模型 (格式见类注释)
+     *
+     * @param in 输入流 (不关闭)
+     * @return 名称 → 计分参数, 保持文件中的顺序
+     * @throws IllegalArgumentException 格式错误或含未知字段时抛出
+     */
+    public static Map<String, ScoringModel> readJson(InputStream in) {
+        try {
+            return MAPPER.readValue(in, new TypeReference<LinkedHashMap<String, ScoringModel>>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed scoring model JSON: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 按名称取模型
+     *
+     * @param name 模型名称, 为 null 或空白时返回默认模型
+     * @return 编译后的模型
+     * @throws IllegalArgumentException 名称未注册时抛出
+     */
+    public CompiledScoringModel resolve(String name) {
+        if (name == null || name.isBlank()) {
+            return defaultModel;
+        }
+        CompiledScoringModel model = models.get(name);
+        if (model == null) {
+            throw new IllegalArgumentException("Unknown scoring model: " + name);
+        }
+        return model;
+    }
+
+    /**
+     * 默认模型
+     */
+    public CompiledScoringModel getDefaultModel() {
+        return defaultModel;
+    }
+
+    /**
+     * 已注册的模型名称 (内置模型在前)
+     */
+    public Set<String> names() {
+        return models.keySet();
+    }
+
+    /**
+     * 集合指纹 (8 位十六进制): 默认模型、名称或任一模型参数变化时改变, 可作为缓存快照的规则版本
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+}
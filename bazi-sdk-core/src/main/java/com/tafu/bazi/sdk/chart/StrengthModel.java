@@ -0,0 +1,44 @@
+package com.tafu.bazi.sdk.chart;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 得地计分方式 (只影响得地分)
+ *
+ * <p>得令与天干帮扶两种模型相同; 得地描述 (根的位置) 也相同, 只是分值算法不同:
+ * <ul>
+ *   <li>{@link #CLASSIC}: 四支藏干按本气/中气/余气权重计分, 比劫 ×15、印 ×10</li>
+ *   <li>{@link #LIFE_STAGE}: 按日干在四支的十二长生计分 ({@link ChartTables#LIFE_STAGE})</li>
+ * </ul>
+ * 具体分值与封顶分由 {@link ScoringModel} 配置
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public enum StrengthModel {
+
+    CLASSIC("classic", "藏干加权"),
+    LIFE_STAGE("life-stage", "十二长生");
+
+    private final String code;
+    private final String description;
+
+    /**
+     * 按编码查找 (忽略大小写, 也接受枚举名)
+     *
+     * @throws IllegalArgumentException 未知编码时抛出
+     */
+    @JsonCreator
+    public static StrengthModel fromCode(String code) {
+        for (StrengthModel model : values()) {
+            if (model.code.equalsIgnoreCase(code) || model.name().equalsIgnoreCase(code)) {
+                return model;
+            }
+        }
+        throw new IllegalArgumentException("Unknown strength model: " + code);
+    }
+}
@@ -0,0 +1,63 @@
+package com.tafu.bazi.sdk.chart;
+
+import com.tafu.bazi.sdk.model.BaziDef;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 十神
+ *
+ * <p>序号 ({@link #ordinal()}) 与 {@link BaziDef#TEN_GODS}、{@link ChartTables#TEN_GOD} 的十神下标一致
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public enum TenGod {
+
+    BI_JIAN("比肩"),
+    JIE_CAI("劫财"),
+    SHI_SHEN("食神"),
+    SHANG_GUAN("伤官"),
+    PIAN_CAI("偏财"),
+    ZHENG_CAI("正财"),
+    QI_SHA("七杀"),
+    ZHENG_GUAN("正官"),
+    PIAN_YIN("偏印"),
+    ZHENG_YIN("正印");
+
+    private static final TenGod[] VALUES = values();
+
+    private final String chinese;
+
+    /**
+     * 按十神下标取值
+     */
+    public static TenGod of(int index) {
+        return VALUES[index];
+    }
+
+    /**
+     * 他干相对日干的十神
+     *
+     * @param dayStem 日干下标
+     * @param stem 他干下标
+     */
+    public static TenGod of(int dayStem, int stem) {
+        return VALUES[ChartTables.TEN_GOD[dayStem][stem]];
+    }
+
+    /**
+     * 按中文名查找
+     *
+     * @throws IllegalArgumentException 未知名称时抛出
+     */
+    public static TenGod fromChinese(String chinese) {
+        int index = BaziDef.TEN_GODS.indexOf(chinese);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown ten god: " + chinese);
+        }
+        return VALUES[index];
+    }
+}
@@ -0,0 +1,189 @@
+package com.tafu.bazi.sdk.chart;
+
+import com.tafu.bazi.sdk.model.BaziDef;
+import com.tafu.bazi.sdk.model.TenGodInfoDTO;
+import com.tafu.bazi.sdk.model.TenGodsDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.tafu.bazi.sdk.chart.ChartTables.*;
+
+/**
+ * 十神分布 (天干 + 藏干), 按十神下标存放于数组
+ *
+ * <p>每个十神记录:
+ * <ul>
+ *   <li>位置掩码: 第 0-3 位为年干、月干、日干、时干, 第 {@code HIDDEN_SHIFT + 柱 * 3 + 藏干序号} 位为四支藏干</li>
+ *   <li>强度: 天干计 {@link #STEM_WEIGHT}, 藏干按 {@link ChartTables#HIDDEN_STEM_WEIGHTS} 计;
+ *       日干即日主本身, 只记位置不计强度</li>
+ * </ul>
+ * 个数由位置掩码的位数得到。{@link #toDto()} 推导与原响应一致的 {@link TenGodsDTO} (只统计天干)。
+ *
+ * <p>批量场景可直接调用 {@link #compute(int[], int[], int[], double[])} 写入调用方复用的数组, 不分配对象。
+ * 实例不可变, 线程安全
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class TenGodProfile {
+
+    /** 藏干位在位置掩码中的起始位 */
+    public static final int HIDDEN_SHIFT = 4;
+
+    /** 天干位掩码 */
+    public static final int STEM_MASK = (1 << HIDDEN_SHIFT) - 1;
+
+    /** 天干强度 */
+    public static final double STEM_WEIGHT = 1.0;
+
+    private static final int DAY_PILLAR = 2;
+
+    private final int[] positions;
+    private final double[] strengths;
+
+    private TenGodProfile(int[] positions, double[] strengths) {
+        this.positions = positions;
+        this.strengths = strengths;
+    }
+
+    /**
+     * 由四柱计算十神分布
+     *
+     * @param stems 四柱天干下标
+     * @param branches 四柱地支下标
+     */
+    public static TenGodProfile of(int[] stems, int[] branches) {
+        int[] positions = new int[10];
+        double[] strengths = new double[10];
+        compute(stems, branches, positions, strengths);
+        return new TenGodProfile(positions, strengths);
+    }
+
+    /**
+     * 由命盘计算十神分布
+     */
+    public static TenGodProfile of(BaziChart chart) {
+        return of(chart.getStems(), chart.getBranches());
+    }
+
+    /**
+     * 计算十神分布并写入调用方提供的数组 (覆盖原内容)
+     *
+     * @param stems 四柱天干下标
+     * @param branches 四柱地支下标
+     * @param positions 输出: 各十神位置掩码, 长度至少 10
+     * @param strengths 输出: 各十神强度, 长度至少 10
+     */
+    public static void compute(int[] stems, int[] branches, int[] positions, double[] strengths) {
+        for (int g = 0; g < 10; g++) {
+            positions[g] = 0;
+            strengths[g] = 0;
+        }
+        int[] gods = TEN_GOD[stems[DAY_PILLAR]];
+        for (int p = 0; p < 4; p++) {
+            int god = gods[stems[p]];
+            positions[god] |= 1 << p;
+            if (p != DAY_PILLAR) {
+                strengths[god] += STEM_WEIGHT;
+            }
+        }
+        for (int p = 0; p < 4; p++) {
+            int[] hidden = HIDDEN_STEMS[branches[p]];
+            double[] weights = HIDDEN_STEM_WEIGHTS[branches[p]];
+            for (int j = 0; j < hidden.length; j++) {
+                int god = gods[hidden[j]];
+                positions[god] |= 1 << (HIDDEN_SHIFT + p * 3 + j);
+                strengths[god] += weights[j];
+            }
+        }
+    }
+
+    /**
+     * 位置掩码
+     */
+    public int positions(TenGod god) {
+        return positions[god.ordinal()];
+    }
+
+    /**
+     * 天干中的个数 (含日干)
+     */
+    public int stemCount(TenGod god) {
+        return Integer.bitCount(positions[god.ordinal()] & STEM_MASK);
+    }
+
+    /**
+     * 藏干中的个数
+     */
+    public int hiddenCount(TenGod god) {
+        return Integer.bitCount(positions[god.ordinal()] >>> HIDDEN_SHIFT);
+    }
+
+    /**
+     * 天干与藏干中的总个数
+     */
+    public int count(TenGod god) {
+        return Integer.bitCount(positions[god.ordinal()]);
+    }
+
+    /**
+     * 加权强度
+     */
+    public double strength(TenGod god) {
+        return strengths[god.ordinal()];
+    }
+
+    /**
+     * 加权强度 (按十神下标的副本)
+     */
+    public double[] strengths() {
+        return strengths.clone();
+    }
+
+    /**
+     * 强度最高的十神 (并列时取下标小者)
+     */
+    public TenGod dominant() {
+        int best = 0;
+        for (int g = 1; g < 10; g++) {
+            if (strengths[g] > strengths[best]) {
+                best = g;
+            }
+        }
+        return TenGod.of(best);
+    }
+
+    /**
+     * 推导十神统计 DTO: 只统计四柱天干, 键按天干中首次出现的顺序插入
+     * (十神名存在哈希冲突, 插入顺序决定 JSON 字段顺序)
+     */
+    public TenGodsDTO toDto() {
+        Map<String, TenGodInfoDTO> gods = new HashMap<>();
+        for (int p = 0; p < 4; p++) {
+            for (int g = 0; g < 10; g++) {
+                int stemMask = positions[g] & STEM_MASK;
+                if (Integer.numberOfTrailingZeros(stemMask) != p) {
+                    continue;
+                }
+                List<String> list = new ArrayList<>(Integer.bitCount(stemMask));
+                for (int q = p; q < 4; q++) {
+                    if ((stemMask & (1 << q)) != 0) {
+                        list.add(BaziResponseAssembler.STEM_POSITIONS[q]);
+                    }
+                }
+                String name = BaziDef.TEN_GODS.get(g);
+                gods.put(name, TenGodInfoDTO.builder()
+                    .name(name)
+                    .count(list.size())
+                    .positions(list)
+                    .build());
+            }
+        }
+        return TenGodsDTO.builder()
+            .gods(gods)
+            .build();
+    }
+}
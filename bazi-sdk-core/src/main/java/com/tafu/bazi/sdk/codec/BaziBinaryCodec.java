@@ -0,0 +1,659 @@
+package com.tafu.bazi.sdk.codec;
+
+import com.tafu.bazi.sdk.model.*;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * 八字结果紧凑二进制编解码器
+ *
+ * <p>用于缓存、服务间 RPC 与持久化, 体积与编解码耗时都远小于 Jackson JSON:
+ * <ul>
+ *   <li>所有可枚举字符串写为字典序号 (字典来自 {@link BaziDef})</li>
+ *   <li>整数使用 varint, 两位小数内的分数写为缩放整数</li>
+ *   <li>不识别的字符串原样写入 UTF-8, 解码结果与编码前的 DTO 完全相等</li>
+ * </ul>
+ *
+ * <p>数据格式: 2 字节魔数 "BZ" + 1 字节格式版本 + 字段序列。
+ * 格式版本随字典版本一同提升, 解码时版本不符直接拒绝。
+ *
+ * <p>实例无状态, 线程安全
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public class BaziBinaryCodec {
+
+    /** 当前格式版本 */
+    public static final int FORMAT_VERSION = BaziCodecDictionary.VERSION;
+
+    private static final int MAGIC_0 = 'B';
+    private static final int MAGIC_1 = 'Z';
+
+    private static final int DATE_NULL = 0;
+    private static final int DATE_INLINE = 1;
+    private static final int DATE_PACKED = 2;
+
+    /**
+     * 编码八字结果
+     *
+     * @param response 八字结果
+     * @return 二进制数据
+     */
+    public byte[] encode(BaziResponse response) {
+        if (response == null) {
+            throw new IllegalArgumentException("Response cannot be null");
+        }
+        BinaryOutput out = new BinaryOutput(1024);
+        out.writeByte(MAGIC_0);
+        out.writeByte(MAGIC_1);
+        out.writeByte(FORMAT_VERSION);
+        writeResponse(out, response);
+        return out.toByteArray();
+    }
+
+    /**
+     * 解码八字结果
+     *
+     * @param data 二进制数据
+     * @return 八字结果
+     * @throws IllegalArgumentException 数据损坏或版本不符时抛出
+     */
+    public BaziResponse decode(byte[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data cannot be null");
+        }
+        return decode(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * 从缓冲区当前位置解码八字结果, 读取完成后缓冲区位置停在记录末尾
+     *
+     * @param buffer 缓冲区 (可以是内存映射文件)
+     * @return 八字结果
+     * @throws IllegalArgumentException 数据损坏或版本不符时抛出
+     */
+    public BaziResponse decode(ByteBuffer buffer) {
+        BinaryInput in = new BinaryInput(buffer);
+        if (in.readByte() != MAGIC_0 || in.readByte() != MAGIC_1) {
+            throw new IllegalArgumentException("Not a bazi binary record");
+        }
+        int version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException(
+                "Unsupported bazi binary version: " + version + ", expected " + FORMAT_VERSION);
+        }
+        return readResponse(in);
+    }
+
+    // ==================== 编码 ====================
+
+    private void writeResponse(BinaryOutput out, BaziResponse r) {
+        out.writeString(r.getGender());
+        writeDateTime(out, r.getSolarDate());
+        out.writeString(r.getLunarDate());
+        writeTrueSolarTime(out, r.getTrueSolarTime());
+        writeFourPillars(out, r.getFourPillars());
+        writeDayMaster(out, r.getDayMaster());
+        writeFiveElements(out, r.getFiveElements());
+        writeTenGods(out, r.getTenGods());
+        writePattern(out, r.getPattern());
+        writeYun(out, r.getYun());
+        writeShenSha(out, r.getShenSha());
+        out.writeString(r.getShengXiao());
+        out.writeString(r.getTaiYuan());
+        out.writeString(r.getMingGong());
+        out.writeString(r.getShenGong());
+        out.writeString(r.getXunKong());
+        writeStringList(out, r.getDayMasterCharacteristics());
+    }
+
+    /**
+     * 公历日期时间: 标准格式 "yyyy-MM-dd HH:mm:ss" 按数字写入, 其余原样写入
+     */
+    private void writeDateTime(BinaryOutput out, String value) {
+        if (value == null) {
+            out.writeByte(DATE_NULL);
+            return;
+        }
+        int[] parts = parseDateTime(value);
+        if (parts == null) {
+            out.writeByte(DATE_INLINE);
+            out.writeString(value);
+            return;
+        }
+        out.writeByte(DATE_PACKED);
+        for (int part : parts) {
+            out.writeVarInt(part);
+        }
+    }
+
+    private void writeTrueSolarTime(BinaryOutput out, TrueSolarTimeDTO t) {
+        if (!writePresence(out, t)) return;
+        out.writeSignedVarInt(t.getYear());
+        out.writeSignedVarInt(t.getMonth());
+        out.writeSignedVarInt(t.getDay());
+        out.writeSignedVarInt(t.getHour());
+        out.writeSignedVarInt(t.getMinute());
+    }
+
+    private void writeFourPillars(BinaryOutput out, FourPillarsDTO p) {
+        if (!writePresence(out, p)) return;
+        writePillar(out, p.getYear());
+        writePillar(out, p.getMonth());
+        writePillar(out, p.getDay());
+        writePillar(out, p.getHour());
+    }
+
+    private void writePillar(BinaryOutput out, PillarDTO p) {
+        if (!writePresence(out, p)) return;
+        HeavenlyStemDTO stem = p.getHeavenlyStem();
+        if (writePresence(out, stem)) {
+            out.writeString(stem.getChinese());
+            out.writeString(stem.getElement());
+            out.writeString(stem.getYinYang());
+        }
+        EarthlyBranchDTO branch = p.getEarthlyBranch();
+        if (writePresence(out, branch)) {
+            out.writeString(branch.getChinese());
+            out.writeString(branch.getElement());
+        }
+        out.writeString(p.getNaYin());
+        List<HiddenStemDTO> hiddenStems = p.getHiddenStems();
+        if (writeSize(out, hiddenStems)) {
+            for (HiddenStemDTO h : hiddenStems) {
+                if (writePresence(out, h)) {
+                    out.writeString(h.getChinese());
+                    out.writeString(h.getElement());
+                    out.writeString(h.getYinYang());
+                    out.writeString(h.getTenGod());
+                }
+            }
+        }
+        out.writeString(p.getXunKong());
+        out.writeString(p.getTenGod());
+        out.writeString(p.getLifeStage());
+    }
+
+    private void writeDayMaster(BinaryOutput out, DayMasterDTO d) {
+        if (!writePresence(out, d)) return;
+        out.writeString(d.getGan());
+        out.writeString(d.getStrength());
+        DayMasterAnalysisDTO a = d.getAnalysis();
+        if (writePresence(out, a)) {
+            out.writeDouble(a.getDeLing());
+            out.writeString(a.getDeLingDesc());
+            out.writeDouble(a.getDeDi());
+            out.writeString(a.getDeDiDesc());
+            out.writeDouble(a.getTianGanHelp());
+            out.writeString(a.getTianGanHelpDesc());
+            out.writeDouble(a.getTotalScore());
+        }
+    }
+
+    private void writeFiveElements(BinaryOutput out, FiveElementsDTO f) {
+        if (!writePresence(out, f)) return;
+        Map<String, Double> distribution = f.getDistribution();
+        if (writeSize(out, distribution)) {
+            for (Map.Entry<String, Double> e : distribution.entrySet()) {
+                out.writeString(e.getKey());
+                writeNullableDouble(out, e.getValue());
+            }
+        }
+        Map<String, Integer> counts = f.getCounts();
+        if (writeSize(out, counts)) {
+            for (Map.Entry<String, Integer> e : counts.entrySet()) {
+                out.writeString(e.getKey());
+                writeNullableInt(out, e.getValue());
+            }
+        }
+        out.writeString(f.getStrongest());
+        out.writeString(f.getWeakest());
+        writeStringList(out, f.getFavorable());
+        writeStringList(out, f.getUnfavorable());
+        Map<String, String> states = f.getElementStates();
+        if (writeSize(out, states)) {
+            for (Map.Entry<String, String> e : states.entrySet()) {
+                out.writeString(e.getKey());
+                out.writeString(e.getValue());
+            }
+        }
+        out.writeString(f.getMonthElement());
+    }
+
+    private void writeTenGods(BinaryOutput out, TenGodsDTO t) {
+        if (!writePresence(out, t)) return;
+        Map<String, TenGodInfoDTO> gods = t.getGods();
+        if (writeSize(out, gods)) {
+            for (Map.Entry<String, TenGodInfoDTO> e : gods.entrySet()) {
+                out.writeString(e.getKey());
+                TenGodInfoDTO info = e.getValue();
+                if (writePresence(out, info)) {
+                    out.writeString(info.getName());
+                    out.writeSignedVarInt(info.getCount());
+                    writeStringList(out, info.getPositions());
+                }
+            }
+        }
+    }
+
+    private void writePattern(BinaryOutput out, PatternDTO p) {
+        if (!writePresence(out, p)) return;
+        out.writeString(p.getName());
+        out.writeString(p.getCategory());
+        out.writeString(p.getDescription());
+        out.writeString(p.getMonthStem());
+        out.writeString(p.getMonthStemTenGod());
+        out.writeNullableBoolean(p.getIsTransparent());
+    }
+
+    private void writeYun(BinaryOutput out, YunInfoDTO y) {
+        if (!writePresence(out, y)) return;
+        out.writeSignedVarInt(y.getStartAge());
+        out.writeByte(y.isForward() ? 1 : 0);
+        List<DaYunDTO> daYunList = y.getDaYunList();
+        if (!writeSize(out, daYunList)) return;
+        for (DaYunDTO d : daYunList) {
+            if (!writePresence(out, d)) continue;
+            out.writeSignedVarInt(d.getIndex());
+            out.writeSignedVarInt(d.getStartAge());
+            out.writeSignedVarInt(d.getEndAge());
+            out.writeString(d.getGanZhi());
+            out.writeString(d.getGan());
+            out.writeString(d.getZhi());
+            out.writeSignedVarInt(d.getStartYear());
+            out.writeSignedVarInt(d.getEndYear());
+            out.writeString(d.getLifeStage());
+            List<LiuNianDTO> liuNian = d.getLiuNian();
+            if (writeSize(out, liuNian)) {
+                for (LiuNianDTO l : liuNian) {
+                    if (writePresence(out, l)) {
+                        out.writeSignedVarInt(l.getYear());
+                        out.writeSignedVarInt(l.getAge());
+                        out.writeString(l.getGanZhi());
+                        out.writeString(l.getGan());
+                        out.writeString(l.getZhi());
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeShenSha(BinaryOutput out, ShenShaDTO s) {
+        if (!writePresence(out, s)) return;
+        writeStringList(out, s.getYear());
+        writeStringList(out, s.getMonth());
+        writeStringList(out, s.getDay());
+        writeStringList(out, s.getHour());
+    }
+
+    private void writeStringList(BinaryOutput out, List<String> list) {
+        if (writeSize(out, list)) {
+            for (String s : list) {
+                out.writeString(s);
+            }
+        }
+    }
+
+    private void writeNullableDouble(BinaryOutput out, Double value) {
+        out.writeByte(value == null ? 0 : 1);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private void writeNullableInt(BinaryOutput out, Integer value) {
+        out.writeByte(value == null ? 0 : 1);
+        if (value != null) {
+            out.writeSignedVarInt(value);
+        }
+    }
+
+    private boolean writePresence(BinaryOutput out, Object value) {
+        out.writeByte(value == null ? 0 : 1);
+        return value != null;
+    }
+
+    /** 写入集合大小 (size + 1, 0 表示 null) */
+    private boolean writeSize(BinaryOutput out, Collection<?> c) {
+        out.writeVarInt(c == null ? 0 : c.size() + 1);
+        return c != null;
+    }
+
+    private boolean writeSize(BinaryOutput out, Map<?, ?> m) {
+        out.writeVarInt(m == null ? 0 : m.size() + 1);
+        return m != null;
+    }
+
+    // ==================== 解码 ====================
+
+    private BaziResponse readResponse(BinaryInput in) {
+        return BaziResponse.builder()
+            .gender(in.readString())
+            .solarDate(readDateTime(in))
+            .lunarDate(in.readString())
+            .trueSolarTime(readTrueSolarTime(in))
+            .fourPillars(readFourPillars(in))
+            .dayMaster(readDayMaster(in))
+            .fiveElements(readFiveElements(in))
+            .tenGods(readTenGods(in))
+            .pattern(readPattern(in))
+            .yun(readYun(in))
+            .shenSha(readShenSha(in))
+            .shengXiao(in.readString())
+            .taiYuan(in.readString())
+            .mingGong(in.readString())
+            .shenGong(in.readString())
+            .xunKong(in.readString())
+            .dayMasterCharacteristics(readStringList(in))
+            .build();
+    }
+
+    private String readDateTime(BinaryInput in) {
+        int tag = in.readByte();
+        switch (tag) {
+            case DATE_NULL:
+                return null;
+            case DATE_INLINE:
+                return in.readString();
+            case DATE_PACKED:
+                int[] p = new int[6];
+                for (int i = 0; i < p.length; i++) {
+                    p[i] = in.readVarInt();
+                }
+                return formatDateTime(p);
+            default:
+                throw new IllegalArgumentException("Unknown date tag: " + tag);
+        }
+    }
+
+    private TrueSolarTimeDTO readTrueSolarTime(BinaryInput in) {
+        if (in.readByte() == 0) return null;
+        return TrueSolarTimeDTO.builder()
+            .year(in.readSignedVarInt())
+            .month(in.readSignedVarInt())
+            .day(in.readSignedVarInt())
+            .hour(in.readSignedVarInt())
+            .minute(in.readSignedVarInt())
+            .build();
+    }
+
+    private FourPillarsDTO readFourPillars(BinaryInput in) {
+        if (in.readByte() == 0) return null;
+        return FourPillarsDTO.builder()
+            .year(readPillar(in))
+            .month(readPillar(in))
+            .day(readPillar(in))
+            .hour(readPillar(in))
+            .build();
+    }
+
+    private PillarDTO readPillar(BinaryInput in) {
+        if (in.readByte() == 0) return null;
+        HeavenlyStemDTO stem = null;
+        if (in.readByte() != 0) {
+            stem = HeavenlyStemDTO.builder()
+                .chinese(in.readString())
+                .element(in.readString())
+                .yinYang(in.readString())
+                .build();
+        }
+        EarthlyBranchDTO branch = null;
+        if (in.readByte() != 0) {
+            branch = EarthlyBranchDTO.builder()
+                .chinese(in.readString())
+                .element(in.readString())
+                .build();
+        }
+        String naYin = in.readString();
+        List<HiddenStemDTO> hiddenStems = null;
+        int size = in.readVarInt();
+        if (size > 0) {
+            hiddenStems = new ArrayList<>(size - 1);
+            for (int i = 0; i < size - 1; i++) {
+                if (in.readByte() == 0) {
+                    hiddenStems.add(null);
+                    continue;
+                }
+                hiddenStems.add(HiddenStemDTO.builder()
+                    .chinese(in.readString())
+                    .element(in.readString())
+                    .yinYang(in.readString())
+                    .tenGod(in.readString())
+                    .build());
+            }
+        }
+        return PillarDTO.builder()
+            .heavenlyStem(stem)
+            .earthlyBranch(branch)
+            .naYin(naYin)
+            .hiddenStems(hiddenStems)
+            .xunKong(in.readString())
+            .tenGod(in.readString())
+            .lifeStage(in.readString())
+            .build();
+    }
+
+    private DayMasterDTO readDayMaster(BinaryInput in) {
+        if (in.readByte() == 0) return null;
+        String gan = in.readString();
+        String strength = in.readString();
+        DayMasterAnalysisDTO analysis = null;
+        if (in.readByte() != 0) {
+            analysis = DayMasterAnalysisDTO.builder()
+                .deLing(in.readDouble())
+                .deLingDesc(in.readString())
+                .deDi(in.readDouble())
+                .deDiDesc(in.readString())
+                .tianGanHelp(in.readDouble())
+                .tianGanHelpDesc(in.readString())
+                .totalScore(in.readDouble())
+                .build();
+        }
+        return DayMasterDTO.builder()
+            .gan(gan)
+            .strength(strength)
+            .analysis(analysis)
+            .build();
+    }
+
+    private FiveElementsDTO readFiveElements(BinaryInput in) {
+        if (in.readByte() == 0) return null;
+        Map<String, Double> distribution = null;
+        int size = in.readVarInt();
+        if (size > 0) {
+            distribution = new HashMap<>();
+            for (int i = 0; i < size - 1; i++) {
+                String key = in.readString();
+                distribution.put(key, in.readByte() == 0 ? null : in.readDouble());
+            }
+        }
+        Map<String, Integer> counts = null;
+        size = in.readVarInt();
+        if (size > 0) {
+            counts = new HashMap<>();
+            for (int i = 0; i < size - 1; i++) {
+                String key = in.readString();
+                counts.put(key, in.readByte() == 0 ? null : in.readSignedVarInt());
+            }
+        }
+        String strongest = in.readString();
+        String weakest = in.readString();
+        List<String> favorable = readStringList(in);
+        List<String> unfavorable = readStringList(in);
+        Map<String, String> states = null;
+        size = in.readVarInt();
+        if (size > 0) {
+            states = new HashMap<>();
+            for (int i = 0; i < size - 1; i++) {
+                String key = in.readString();
+                states.put(key, in.readString());
+            }
+        }
+        return FiveElementsDTO.builder()
+            .distribution(distribution)
+            .counts(counts)
+            .strongest(strongest)
+            .weakest(weakest)
+            .favorable(favorable)
+            .unfavorable(unfavorable)
+            .elementStates(states)
+            .monthElement(in.readString())
+            .build();
+    }
+
+    private TenGodsDTO readTenGods(BinaryInput in) {
+        if (in.readByte() == 0) return null;
+        Map<String, TenGodInfoDTO> gods = null;
+        int size = in.readVarInt();
+        if (size > 0) {
+            gods = new HashMap<>();
+            for (int i = 0; i < size - 1; i++) {
+                String key = in.readString();
+                TenGodInfoDTO info = null;
+                if (in.readByte() != 0) {
+                    info = TenGodInfoDTO.builder()
+                        .name(in.readString())
+                        .count(in.readSignedVarInt())
+                        .positions(readStringList(in))
+                        .build();
+                }
+                gods.put(key, info);
+            }
+        }
+        return TenGodsDTO.builder()
+            .gods(gods)
+            .build();
+    }
+
+    private PatternDTO readPattern(BinaryInput in) {
+        if (in.readByte() == 0) return null;
+        return PatternDTO.builder()
+            .name(in.readString())
+            .category(in.readString())
+            .description(in.readString())
+            .monthStem(in.readString())
+            .monthStemTenGod(in.readString())
+            .isTransparent(in.readNullableBoolean())
+            .build();
+    }
+
+    private YunInfoDTO readYun(BinaryInput in) {
+        if (in.readByte() == 0) return null;
+        int startAge = in.readSignedVarInt();
+        boolean forward = in.readByte() != 0;
+        List<DaYunDTO> daYunList = null;
+        int size = in.readVarInt();
+        if (size > 0) {
+            daYunList = new ArrayList<>(size - 1);
+            for (int i = 0; i < size - 1; i++) {
+                daYunList.add(readDaYun(in));
+            }
+        }
+        return YunInfoDTO.builder()
+            .startAge(startAge)
+            .forward(forward)
+            .daYunList(daYunList)
+            .build();
+    }
+
+    private DaYunDTO readDaYun(BinaryInput in) {
+        if (in.readByte() == 0) return null;
+        DaYunDTO.DaYunDTOBuilder builder = DaYunDTO.builder()
+            .index(in.readSignedVarInt())
+            .startAge(in.readSignedVarInt())
+            .endAge(in.readSignedVarInt())
+            .ganZhi(in.readString())
+            .gan(in.readString())
+            .zhi(in.readString())
+            .startYear(in.readSignedVarInt())
+            .endYear(in.readSignedVarInt())
+            .lifeStage(in.readString());
+        List<LiuNianDTO> liuNian = null;
+        int size = in.readVarInt();
+        if (size > 0) {
+            liuNian = new ArrayList<>(size - 1);
+            for (int i = 0; i < size - 1; i++) {
+                if (in.readByte() == 0) {
+                    liuNian.add(null);
+                    continue;
+                }
+                liuNian.add(LiuNianDTO.builder()
+                    .year(in.readSignedVarInt())
+                    .age(in.readSignedVarInt())
+                    .ganZhi(in.readString())
+                    .gan(in.readString())
+                    .zhi(in.readString())
+                    .build());
+            }
+        }
+        return builder.liuNian(liuNian).build();
+    }
+
+    private ShenShaDTO readShenSha(BinaryInput in) {
+        if (in.readByte() == 0) return null;
+        return ShenShaDTO.builder()
+            .year(readStringList(in))
+            .month(readStringList(in))
+            .day(readStringList(in))
+            .hour(readStringList(in))
+            .build();
+    }
+
+    private List<String> readStringList(BinaryInput in) {
+        int size = in.readVarInt();
+        if (size == 0) return null;
+        List<String> list = new ArrayList<>(size - 1);
+        for (int i = 0; i < size - 1; i++) {
+            list.add(in.readString());
+        }
+        return list;
+    }
+
+    // ==================== 日期格式 ====================
+
+    /**
+     * 解析 "yyyy-MM-dd HH:mm:ss", 只有格式化后能原样还原时才返回数字, 否则返回 null
+     */
+    private static int[] parseDateTime(String value) {
+        if (value.length() != 19 || value.charAt(4) != '-' || value.charAt(7) != '-'
+                || value.charAt(10) != ' ' || value.charAt(13) != ':' || value.charAt(16) != ':') {
+            return null;
+        }
+        int[] offsets = {0, 5, 8, 11, 14, 17};
+        int[] widths = {4, 2, 2, 2, 2, 2};
+        int[] parts = new int[6];
+        for (int i = 0; i < 6; i++) {
+            int v = 0;
+            for (int j = 0; j < widths[i]; j++) {
+                char c = value.charAt(offsets[i] + j);
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+                v = v * 10 + (c - '0');
+            }
+            parts[i] = v;
+        }
+        return parts;
+    }
+
+    private static String formatDateTime(int[] p) {
+        StringBuilder sb = new StringBuilder(19);
+        appendPadded(sb, p[0], 4).append('-');
+        appendPadded(sb, p[1], 2).append('-');
+        appendPadded(sb, p[2], 2).append(' ');
+        appendPadded(sb, p[3], 2).append(':');
+        appendPadded(sb, p[4], 2).append(':');
+        return appendPadded(sb, p[5], 2).toString();
+    }
+
+    private static StringBuilder appendPadded(StringBuilder sb, int value, int width) {
+        for (int limit = 10, i = 1; i < width; i++, limit *= 10) {
+            if (value < limit) {
+                sb.append('0');
+            }
+        }
+        return sb.append(value);
+    }
+}
@@ -0,0 +1,136 @@
+package com.tafu.bazi.sdk.codec;
+
+import com.tafu.bazi.sdk.model.BaziDef;
+import com.tafu.bazi.sdk.utils.LunarUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * 二进制编码字符串字典
+ *
+ * <p>收录八字结果中所有可枚举的字符串 (天干地支、五行、十神、六十甲子、纳音、格局、日主特征等),
+ * 编码时以字典序号代替字符串本身。字典内容全部来自 {@link BaziDef} 的静态表,
+ * 条目顺序决定序号, 因此顺序一旦发布不可调整, 新条目只能追加并同时提升 {@link #VERSION}。
+ *
+ * <p>不在字典中的字符串会以 UTF-8 原文写入, 所以字典只影响体积, 不影响解码正确性。
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+final class BaziCodecDictionary {
+
+    /** 字典版本 (条目变化时必须提升) */
+    static final int VERSION = 2;
+
+    private static final String[] ENTRIES;
+    private static final Map<String, Integer> INDEX;
+    private static final long FINGERPRINT;
+
+    static {
+        LinkedHashSet<String> entries = new LinkedHashSet<>();
+        entries.add("");
+
+        // 基础枚举
+        entries.addAll(Arrays.asList(BaziDef.TIAN_GAN));
+        entries.addAll(Arrays.asList(BaziDef.DI_ZHI));
+        entries.addAll(List.of("wood", "fire", "earth", "metal", "water"));
+        entries.addAll(List.of("yin", "yang"));
+        entries.addAll(BaziDef.TEN_GODS);
+
+        // 六十甲子、纳音、空亡、生肖
+        List<String> jiaZi = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            jiaZi.add(BaziDef.TIAN_GAN[i % 10] + BaziDef.DI_ZHI[i % 12]);
+        }
+        entries.addAll(jiaZi);
+        entries.addAll(Arrays.asList(BaziDef.NA_YIN));
+        for (String ganZhi : jiaZi) {
+            entries.add(LunarUtils.calculateXunKong(ganZhi));
+        }
+        entries.addAll(Arrays.asList(BaziDef.SHENG_XIAO));
+
+        // 状态值
+        entries.addAll(List.of("male", "female"));
+        entries.addAll(List.of("weak", "balanced", "strong"));
+        entries.addAll(List.of(BaziDef.PATTERN_CATEGORY_NORMAL, BaziDef.PATTERN_CATEGORY_SPECIAL));
+        entries.addAll(List.of("wang", "xiang", "xiu", "qiu", "si"));
+        entries.addAll(List.of("年干", "月干", "日干", "时干"));
+
+        // 日主分析描述 (得地、天干帮扶描述按 "、" 拆分后逐段查字典)
+        entries.addAll(List.of("日主当令", "月令生扶", "月令泄气", "月令克制", "日主耗气", "无根", "无帮扶"));
+        for (String pillar : List.of("年支", "月支", "日支", "时支")) {
+            for (String gan : BaziDef.TIAN_GAN) {
+                entries.add(pillar + "藏" + gan);
+                entries.add(pillar + "藏" + gan + "(印)");
+            }
+        }
+        for (String pillar : List.of("年干", "月干", "时干")) {
+            for (String gan : BaziDef.TIAN_GAN) {
+                for (String kind : List.of("比劫", "印星", "官杀", "食伤")) {
+                    entries.add(pillar + gan + kind);
+                }
+            }
+        }
+
+        // 格局与日主特征
+        for (Map.Entry<String, String> entry : BaziDef.PATTERN_DESCRIPTIONS.entrySet()) {
+            entries.add(entry.getKey());
+            entries.add(entry.getValue());
+        }
+        for (String gan : BaziDef.TIAN_GAN) {
+            entries.addAll(BaziDef.DAY_MASTER_CHARACTERISTICS.getOrDefault(gan, List.of()));
+        }
+        entries.addAll(BaziDef.DAY_MASTER_CHARACTERISTICS_DEFAULT);
+
+        // 版本 2: 十二长生
+        entries.addAll(Arrays.asList(BaziDef.CHANG_SHENG));
+
+        ENTRIES = entries.toArray(new String[0]);
+        Map<String, Integer> index = new HashMap<>(ENTRIES.length * 2);
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < ENTRIES.length; i++) {
+            index.put(ENTRIES[i], i);
+            crc.update(ENTRIES[i].getBytes(StandardCharsets.UTF_8));
+            crc.update(0);
+        }
+        INDEX = index;
+        FINGERPRINT = crc.getValue();
+    }
+
+    private BaziCodecDictionary() {
+    }
+
+    /**
+     * 查询字符串的字典序号
+     *
+     * @return 字典序号, 不在字典中时返回 -1
+     */
+    static int idOf(String value) {
+        Integer id = INDEX.get(value);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * 按字典序号取字符串
+     *
+     * @throws IllegalArgumentException 序号越界时抛出
+     */
+    static String valueOf(int id) {
+        if (id < 0 || id >= ENTRIES.length) {
+            throw new IllegalArgumentException("Unknown dictionary id: " + id);
+        }
+        return ENTRIES[id];
+    }
+
+    /** 字典条目数 */
+    static int size() {
+        return ENTRIES.length;
+    }
+
+    /** 字典内容指纹 (CRC32), 用于检测字典是否被改动 */
+    static long fingerprint() {
+        return FINGERPRINT;
+    }
+}
@@ -0,0 +1,718 @@
+package com.tafu.bazi.sdk.codec;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.BaziResponseAssembler;
+import com.tafu.bazi.sdk.chart.ChartAnalyzer;
+import com.tafu.bazi.sdk.chart.PatternDefinition;
+import com.tafu.bazi.sdk.model.BaziDef;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.tafu.bazi.sdk.chart.ChartTables.*;
+
+/**
+ * 八字 JSON 直写器
+ *
+ * <p>由 {@link BaziChart} 直接写出 JSON, 不构建任何 DTO。输出与
+ * {@code new ObjectMapper().writeValueAsBytes(calculator.calculate(request))} 逐字节一致:
+ * <ul>
+ *   <li>字段名与固定取值 (天干、十神、纳音、格局描述等) 均预先编码为 UTF-8 的 {@link SerializedString}</li>
+ *   <li>得地、天干帮扶描述由预编码片段拼接, 不经过 {@link String}</li>
+ *   <li>HashMap 字段 (五行分布、十神) 按 HashMap 的迭代顺序输出</li>
+ * </ul>
+ *
+ * <p>无状态, 线程安全
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public class BaziJsonWriter {
+
+    // ==================== 字段名 ====================
+
+    private static final SerializedString F_GENDER = name("gender");
+    private static final SerializedString F_SOLAR_DATE = name("solarDate");
+    private static final SerializedString F_LUNAR_DATE = name("lunarDate");
+    private static final SerializedString F_TRUE_SOLAR_TIME = name("trueSolarTime");
+    private static final SerializedString F_YEAR = name("year");
+    private static final SerializedString F_MONTH = name("month");
+    private static final SerializedString F_DAY = name("day");
+    private static final SerializedString F_HOUR = name("hour");
+    private static final SerializedString F_MINUTE = name("minute");
+    private static final SerializedString F_FOUR_PILLARS = name("fourPillars");
+    private static final SerializedString F_HEAVENLY_STEM = name("heavenlyStem");
+    private static final SerializedString F_EARTHLY_BRANCH = name("earthlyBranch");
+    private static final SerializedString F_CHINESE = name("chinese");
+    private static final SerializedString F_ELEMENT = name("element");
+    private static final SerializedString F_YIN_YANG = name("yinYang");
+    private static final SerializedString F_NA_YIN = name("naYin");
+    private static final SerializedString F_HIDDEN_STEMS = name("hiddenStems");
+    private static final SerializedString F_XUN_KONG = name("xunKong");
+    private static final SerializedString F_TEN_GOD = name("tenGod");
+    private static final SerializedString F_DAY_MASTER = name("dayMaster");
+    private static final SerializedString F_GAN = name("gan");
+    private static final SerializedString F_STRENGTH = name("strength");
+    private static final SerializedString F_ANALYSIS = name("analysis");
+    private static final SerializedString F_DE_LING = name("deLing");
+    private static final SerializedString F_DE_LING_DESC = name("deLingDesc");
+    private static final SerializedString F_DE_DI = name("deDi");
+    private static final SerializedString F_DE_DI_DESC = name("deDiDesc");
+    private static final SerializedString F_TIAN_GAN_HELP = name("tianGanHelp");
+    private static final SerializedString F_TIAN_GAN_HELP_DESC = name("tianGanHelpDesc");
+    private static final SerializedString F_TOTAL_SCORE = name("totalScore");
+    private static final SerializedString F_FIVE_ELEMENTS = name("fiveElements");
+    private static final SerializedString F_DISTRIBUTION = name("distribution");
+    private static final SerializedString F_COUNTS = name("counts");
+    private static final SerializedString F_STRONGEST = name("strongest");
+    private static final SerializedString F_WEAKEST = name("weakest");
+    private static final SerializedString F_FAVORABLE = name("favorable");
+    private static final SerializedString F_UNFAVORABLE = name("unfavorable");
+    private static final SerializedString F_ELEMENT_STATES = name("elementStates");
+    private static final SerializedString F_MONTH_ELEMENT = name("monthElement");
+    private static final SerializedString F_TEN_GODS = name("tenGods");
+    private static final SerializedString F_GODS = name("gods");
+    private static final SerializedString F_NAME = name("name");
+    private static final SerializedString F_COUNT = name("count");
+    private static final SerializedString F_POSITIONS = name("positions");
+    private static final SerializedString F_PATTERN = name("pattern");
+    private static final SerializedString F_CATEGORY = name("category");
+    private static final SerializedString F_DESCRIPTION = name("description");
+    private static final SerializedString F_MONTH_STEM = name("monthStem");
+    private static final SerializedString F_MONTH_STEM_TEN_GOD = name("monthStemTenGod");
+    private static final SerializedString F_IS_TRANSPARENT = name("isTransparent");
+    private static final SerializedString F_YUN = name("yun");
+    private static final SerializedString F_START_AGE = name("startAge");
+    private static final SerializedString F_FORWARD = name("forward");
+    private static final SerializedString F_DA_YUN_LIST = name("daYunList");
+    private static final SerializedString F_INDEX = name("index");
+    private static final SerializedString F_END_AGE = name("endAge");
+    private static final SerializedString F_GAN_ZHI = name("ganZhi");
+    private static final SerializedString F_ZHI = name("zhi");
+    private static final SerializedString F_START_YEAR = name("startYear");
+    private static final SerializedString F_END_YEAR = name("endYear");
+    private static final SerializedString F_LIU_NIAN = name("liuNian");
+    private static final SerializedString F_AGE = name("age");
+    private static final SerializedString F_LIFE_STAGE = name("lifeStage");
+    private static final SerializedString F_SHEN_SHA = name("shenSha");
+    private static final SerializedString F_SHENG_XIAO = name("shengXiao");
+    private static final SerializedString F_TAI_YUAN = name("taiYuan");
+    private static final SerializedString F_MING_GONG = name("mingGong");
+    private static final SerializedString F_SHEN_GONG = name("shenGong");
+    private static final SerializedString F_DAY_MASTER_CHARACTERISTICS = name("dayMasterCharacteristics");
+
+    private static final SerializedString[] F_PILLARS = {F_YEAR, F_MONTH, F_DAY, F_HOUR};
+
+    // ==================== 固定取值 ====================
+
+    private static final SerializedString V_MALE = name("male");
+    private static final SerializedString V_FEMALE = name("female");
+    private static final SerializedString V_EMPTY = name("");
+    private static final SerializedString[] V_STEMS = names(BaziDef.TIAN_GAN);
+    private static final SerializedString[] V_BRANCHES = names(BaziDef.DI_ZHI);
+    private static final SerializedString[] V_ELEMENTS = names(ELEMENT_CODES);
+    private static final SerializedString[] V_STATES = names(STATE_CODES);
+    private static final SerializedString[] V_TEN_GODS = names(BaziDef.TEN_GODS.toArray(new String[0]));
+    private static final SerializedString[] V_JIA_ZI = names(JIA_ZI);
+    private static final SerializedString[] V_NA_YIN = names(JIA_ZI_NA_YIN);
+    private static final SerializedString[] V_PILLAR_XUN_KONG = names(PILLAR_XUN_KONG);
+    private static final SerializedString[] V_XUN_KONG = names(JIA_ZI_XUN_KONG);
+    private static final SerializedString[] V_SHENG_XIAO = names(BaziDef.SHENG_XIAO);
+    private static final SerializedString[] V_LIFE_STAGES = names(BaziDef.CHANG_SHENG);
+    private static final SerializedString[] V_STEM_POSITIONS = names(BaziResponseAssembler.STEM_POSITIONS);
+    private static final SerializedString[] V_DE_LING = names(BaziChart.DE_LING_DESCRIPTIONS);
+    private static final SerializedString[] V_STRENGTH = {
+        name(BaziResponseAssembler.strengthCode(BaziChart.WEAK)),
+        name(BaziResponseAssembler.strengthCode(BaziChart.BALANCED)),
+        name(BaziResponseAssembler.strengthCode(BaziChart.STRONG))
+    };
+    private static final SerializedString[] V_PATTERN_NAMES = names(PATTERN_NAMES);
+    private static final SerializedString[] V_PATTERN_CATEGORIES = names(PATTERN_CATEGORIES);
+    private static final SerializedString[] V_PATTERN_DESCRIPTIONS = new SerializedString[PATTERN_NAMES.length];
+    private static final SerializedString[][] V_CHARACTERISTICS = new SerializedString[10][];
+    private static final SerializedString[] V_YIN_YANG = new SerializedString[10];
+
+    // ==================== 描述片段 (UTF-8) ====================
+
+    private static final byte[] B_SEPARATOR = utf8("、");
+    private static final byte[] B_NO_ROOT = utf8("无根");
+    private static final byte[] B_NO_HELP = utf8("无帮扶");
+    private static final byte[] B_YIN_MARK = utf8("(印)");
+    /** [柱][天干] -> "年支藏甲" */
+    private static final byte[][][] B_ROOTS = new byte[4][10][];
+    /** [柱][天干][帮扶类型] -> "年干甲比劫" */
+    private static final byte[][][][] B_HELPERS = new byte[4][10][BaziChart.HELPER_KINDS.length][];
+
+    /**
+     * 十神在 HashMap 中的排序键: 键小者总在前, 键相同 (同一哈希桶) 时按插入先后
+     */
+    private static final int[] TEN_GOD_RANK = new int[10];
+
+    /** 单个命盘 JSON 约 9KB */
+    private static final int INITIAL_BUFFER_SIZE = 12 * 1024;
+
+    /** 描述片段最大长度: 12 个 "年支藏甲(印)" 加分隔符 */
+    private static final int DESCRIPTION_CAPACITY = 256;
+
+    static {
+        for (int i = 0; i < PATTERN_NAMES.length; i++) {
+            V_PATTERN_DESCRIPTIONS[i] = name(BaziDef.PATTERN_DESCRIPTIONS.get(PATTERN_NAMES[i]));
+        }
+        for (int s = 0; s < 10; s++) {
+            List<String> characteristics = BaziDef.DAY_MASTER_CHARACTERISTICS.getOrDefault(
+                BaziDef.TIAN_GAN[s], BaziDef.DAY_MASTER_CHARACTERISTICS_DEFAULT);
+            V_CHARACTERISTICS[s] = names(characteristics.toArray(new String[0]));
+            V_YIN_YANG[s] = name(BaziDef.YinYang.values()[STEM_YIN_YANG[s]].getCode());
+            for (int p = 0; p < 4; p++) {
+                B_ROOTS[p][s] = utf8(BaziResponseAssembler.BRANCH_POSITIONS[p] + "藏" + BaziDef.TIAN_GAN[s]);
+                for (int k = 1; k < BaziChart.HELPER_KINDS.length; k++) {
+                    B_HELPERS[p][s][k] = utf8(BaziResponseAssembler.STEM_POSITIONS[p] + BaziDef.TIAN_GAN[s]
+                        + BaziChart.HELPER_KINDS[k]);
+                }
+            }
+        }
+        // 两两插入 HashMap 观察先后: 与插入顺序无关地排在 g 之前的十神个数即为 g 的排序键
+        for (int g = 0; g < 10; g++) {
+            for (int h = 0; h < 10; h++) {
+                if (h != g && firstKey(h, g) == h && firstKey(g, h) == h) {
+                    TEN_GOD_RANK[g]++;
+                }
+            }
+        }
+    }
+
+    private final BaziCalculatorImpl calculator;
+    private final JsonFactory jsonFactory;
+
+    public BaziJsonWriter() {
+        this(new BaziCalculatorImpl());
+    }
+
+    public BaziJsonWriter(BaziCalculatorImpl calculator) {
+        this.calculator = calculator;
+        this.jsonFactory = new JsonFactory();
+    }
+
+    /**
+     * 计算并写出 JSON 字节
+     */
+    public byte[] writeBytes(BaziRequest request) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        write(request, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 计算并写出 JSON 到输出流 (不关闭输出流)
+     */
+    public void write(BaziRequest request, OutputStream out) {
+        write(calculator.calculateChart(request), out);
+    }
+
+    /**
+     * 写出命盘 JSON 到输出流 (不关闭输出流)
+     */
+    public void write(BaziChart chart, OutputStream out) {
+        try (JsonGenerator gen = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            write(chart, gen);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 将命盘作为一个 JSON 对象写入生成器, 字段与 {@link BaziResponse} 一致
+     *
+     * @param chart 命盘
+     * @param gen JSON 生成器
+     * @throws IOException 写出失败
+     */
+    public void write(BaziChart chart, JsonGenerator gen) throws IOException {
+        int[] stems = chart.getStems();
+        int[] branches = chart.getBranches();
+        int dayStem = chart.getDayStem();
+
+        gen.writeStartObject();
+        gen.writeFieldName(F_GENDER);
+        gen.writeString(chart.isMale() ? V_MALE : V_FEMALE);
+        gen.writeFieldName(F_SOLAR_DATE);
+        writeString(gen, chart.getSolarDate());
+        gen.writeFieldName(F_LUNAR_DATE);
+        writeString(gen, chart.getLunarDate());
+        gen.writeFieldName(F_TRUE_SOLAR_TIME);
+        writeTrueSolarTime(gen, chart.getTrueSolarTime());
+
+        gen.writeFieldName(F_FOUR_PILLARS);
+        gen.writeStartObject();
+        for (int p = 0; p < 4; p++) {
+            gen.writeFieldName(F_PILLARS[p]);
+            writePillar(gen, stems[p], branches[p], dayStem);
+        }
+        gen.writeEndObject();
+
+        gen.writeFieldName(F_DAY_MASTER);
+        writeDayMaster(gen, chart);
+        gen.writeFieldName(F_FIVE_ELEMENTS);
+        writeFiveElements(gen, chart);
+        gen.writeFieldName(F_TEN_GODS);
+        writeTenGods(gen, stems, dayStem);
+        gen.writeFieldName(F_PATTERN);
+        writePattern(gen, chart);
+        gen.writeFieldName(F_YUN);
+        writeYun(gen, chart);
+
+        gen.writeFieldName(F_SHEN_SHA);
+        gen.writeStartObject();
+        for (int p = 0; p < 4; p++) {
+            gen.writeFieldName(F_PILLARS[p]);
+            gen.writeStartArray();
+            for (String shenSha : chart.getShenSha().get(p)) {
+                writeString(gen, shenSha);
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+
+        gen.writeFieldName(F_SHENG_XIAO);
+        gen.writeString(V_SHENG_XIAO[branches[0]]);
+        gen.writeFieldName(F_TAI_YUAN);
+        gen.writeString(V_JIA_ZI[chart.getTaiYuan()]);
+        gen.writeFieldName(F_MING_GONG);
+        gen.writeString(V_JIA_ZI[chart.getMingGong()]);
+        gen.writeFieldName(F_SHEN_GONG);
+        gen.writeString(V_JIA_ZI[chart.getShenGong()]);
+        gen.writeFieldName(F_XUN_KONG);
+        gen.writeString(V_XUN_KONG[chart.getDayJiaZi()]);
+        gen.writeFieldName(F_DAY_MASTER_CHARACTERISTICS);
+        writeArray(gen, V_CHARACTERISTICS[dayStem]);
+        gen.writeEndObject();
+    }
+
+    // ==================== 私有方法 ====================
+
+    private void writeTrueSolarTime(JsonGenerator gen, int[] time) throws IOException {
+        if (time == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName(F_YEAR);
+        gen.writeNumber(time[0]);
+        gen.writeFieldName(F_MONTH);
+        gen.writeNumber(time[1]);
+        gen.writeFieldName(F_DAY);
+        gen.writeNumber(time[2]);
+        gen.writeFieldName(F_HOUR);
+        gen.writeNumber(time[3]);
+        gen.writeFieldName(F_MINUTE);
+        gen.writeNumber(time[4]);
+        gen.writeEndObject();
+    }
+
+    private void writePillar(JsonGenerator gen, int stem, int branch, int dayStem) throws IOException {
+        int jiaZi = jiaZiIndex(stem, branch);
+        gen.writeStartObject();
+
+        gen.writeFieldName(F_HEAVENLY_STEM);
+        gen.writeStartObject();
+        gen.writeFieldName(F_CHINESE);
+        gen.writeString(V_STEMS[stem]);
+        gen.writeFieldName(F_ELEMENT);
+        gen.writeString(V_ELEMENTS[STEM_ELEMENT[stem]]);
+        gen.writeFieldName(F_YIN_YANG);
+        gen.writeString(V_YIN_YANG[stem]);
+        gen.writeEndObject();
+
+        gen.writeFieldName(F_EARTHLY_BRANCH);
+        gen.writeStartObject();
+        gen.writeFieldName(F_CHINESE);
+        gen.writeString(V_BRANCHES[branch]);
+        gen.writeFieldName(F_ELEMENT);
+        gen.writeString(V_ELEMENTS[BRANCH_ELEMENT[branch]]);
+        gen.writeEndObject();
+
+        gen.writeFieldName(F_NA_YIN);
+        gen.writeString(V_NA_YIN[jiaZi]);
+
+        gen.writeFieldName(F_HIDDEN_STEMS);
+        gen.writeStartArray();
+        for (int hidden : HIDDEN_STEMS[branch]) {
+            gen.writeStartObject();
+            gen.writeFieldName(F_CHINESE);
+            gen.writeString(V_STEMS[hidden]);
+            gen.writeFieldName(F_ELEMENT);
+            gen.writeString(V_ELEMENTS[STEM_ELEMENT[hidden]]);
+            gen.writeFieldName(F_YIN_YANG);
+            gen.writeString(V_YIN_YANG[hidden]);
+            gen.writeFieldName(F_TEN_GOD);
+            gen.writeString(V_TEN_GODS[TEN_GOD[dayStem][hidden]]);
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+
+        gen.writeFieldName(F_XUN_KONG);
+        gen.writeString(V_PILLAR_XUN_KONG[jiaZi]);
+        gen.writeFieldName(F_TEN_GOD);
+        gen.writeString(V_TEN_GODS[TEN_GOD[dayStem][stem]]);
+        gen.writeFieldName(F_LIFE_STAGE);
+        gen.writeString(V_LIFE_STAGES[LIFE_STAGE[dayStem][branch]]);
+        gen.writeEndObject();
+    }
+
+    private void writeDayMaster(JsonGenerator gen, BaziChart chart) throws IOException {
+        byte[] buf = new byte[DESCRIPTION_CAPACITY];
+
+        gen.writeStartObject();
+        gen.writeFieldName(F_GAN);
+        gen.writeString(V_STEMS[chart.getDayStem()]);
+        gen.writeFieldName(F_STRENGTH);
+        gen.writeString(V_STRENGTH[chart.getStrength()]);
+
+        gen.writeFieldName(F_ANALYSIS);
+        gen.writeStartObject();
+        gen.writeFieldName(F_DE_LING);
+        gen.writeNumber(chart.getDeLing());
+        gen.writeFieldName(F_DE_LING_DESC);
+        gen.writeString(V_DE_LING[chart.getDeLingKind()]);
+        gen.writeFieldName(F_DE_DI);
+        gen.writeNumber(chart.getDeDi());
+        gen.writeFieldName(F_DE_DI_DESC);
+        gen.writeUTF8String(buf, 0, deDiDescription(chart, buf));
+        gen.writeFieldName(F_TIAN_GAN_HELP);
+        gen.writeNumber(chart.getTianGanHelp());
+        gen.writeFieldName(F_TIAN_GAN_HELP_DESC);
+        gen.writeUTF8String(buf, 0, tianGanHelpDescription(chart, buf));
+        gen.writeFieldName(F_TOTAL_SCORE);
+        gen.writeNumber(chart.getTotalScore());
+        gen.writeEndObject();
+
+        gen.writeEndObject();
+    }
+
+    private void writeFiveElements(JsonGenerator gen, BaziChart chart) throws IOException {
+        int[] states = ChartAnalyzer.elementStates(chart.getMonthElement());
+
+        gen.writeStartObject();
+        gen.writeFieldName(F_DISTRIBUTION);
+        gen.writeStartObject();
+        for (int e : ELEMENT_MAP_ORDER) {
+            gen.writeFieldName(V_ELEMENTS[e]);
+            gen.writeNumber(chart.getDistribution()[e]);
+        }
+        gen.writeEndObject();
+
+        gen.writeFieldName(F_COUNTS);
+        gen.writeStartObject();
+        for (int e : ELEMENT_MAP_ORDER) {
+            gen.writeFieldName(V_ELEMENTS[e]);
+            gen.writeNumber(chart.getElementCounts()[e]);
+        }
+        gen.writeEndObject();
+
+        gen.writeFieldName(F_STRONGEST);
+        writeElement(gen, chart.getStrongest());
+        gen.writeFieldName(F_WEAKEST);
+        writeElement(gen, chart.getWeakest());
+        gen.writeFieldName(F_FAVORABLE);
+        writeElements(gen, chart.getFavorable());
+        gen.writeFieldName(F_UNFAVORABLE);
+        writeElements(gen, chart.getUnfavorable());
+
+        gen.writeFieldName(F_ELEMENT_STATES);
+        gen.writeStartObject();
+        for (int e : ELEMENT_MAP_ORDER) {
+            gen.writeFieldName(V_ELEMENTS[e]);
+            gen.writeString(V_STATES[states[e]]);
+        }
+        gen.writeEndObject();
+
+        gen.writeFieldName(F_MONTH_ELEMENT);
+        gen.writeString(V_ELEMENTS[chart.getMonthElement()]);
+        gen.writeEndObject();
+    }
+
+    private void writeTenGods(JsonGenerator gen, int[] stems, int dayStem) throws IOException {
+        // 按首次出现的柱收集十神, 每个十神的柱位以位掩码记录
+        int[] gods = new int[4];
+        int[] positions = new int[4];
+        int size = 0;
+        for (int p = 0; p < 4; p++) {
+            int god = TEN_GOD[dayStem][stems[p]];
+            int i = 0;
+            while (i < size && gods[i] != god) {
+                i++;
+            }
+            if (i == size) {
+                gods[size++] = god;
+            }
+            positions[i] |= 1 << p;
+        }
+        // 稳定插入排序, 复现 HashMap 的迭代顺序
+        for (int i = 1; i < size; i++) {
+            int god = gods[i];
+            int mask = positions[i];
+            int j = i - 1;
+            while (j >= 0 && TEN_GOD_RANK[gods[j]] > TEN_GOD_RANK[god]) {
+                gods[j + 1] = gods[j];
+                positions[j + 1] = positions[j];
+                j--;
+            }
+            gods[j + 1] = god;
+            positions[j + 1] = mask;
+        }
+
+        gen.writeStartObject();
+        gen.writeFieldName(F_GODS);
+        gen.writeStartObject();
+        for (int i = 0; i < size; i++) {
+            gen.writeFieldName(V_TEN_GODS[gods[i]]);
+            gen.writeStartObject();
+            gen.writeFieldName(F_NAME);
+            gen.writeString(V_TEN_GODS[gods[i]]);
+            gen.writeFieldName(F_COUNT);
+            gen.writeNumber(Integer.bitCount(positions[i]));
+            gen.writeFieldName(F_POSITIONS);
+            gen.writeStartArray();
+            for (int p = 0; p < 4; p++) {
+                if ((positions[i] & (1 << p)) != 0) {
+                    gen.writeString(V_STEM_POSITIONS[p]);
+                }
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+
+    private void writePattern(JsonGenerator gen, BaziChart chart) throws IOException {
+        int pattern = chart.getPattern();
+        gen.writeStartObject();
+        if (pattern >= 0) {
+            gen.writeFieldName(F_NAME);
+            gen.writeString(V_PATTERN_NAMES[pattern]);
+            gen.writeFieldName(F_CATEGORY);
+            gen.writeString(V_PATTERN_CATEGORIES[pattern]);
+            gen.writeFieldName(F_DESCRIPTION);
+            gen.writeString(V_PATTERN_DESCRIPTIONS[pattern]);
+        } else {
+            // 自定义规则的格局: 名称等来自规则定义
+            PatternDefinition definition = chart.getPatternDefinition();
+            gen.writeFieldName(F_NAME);
+            gen.writeString(definition.name());
+            gen.writeFieldName(F_CATEGORY);
+            gen.writeString(definition.category());
+            gen.writeFieldName(F_DESCRIPTION);
+            gen.writeString(definition.description());
+        }
+        gen.writeFieldName(F_MONTH_STEM);
+        if (chart.getPatternMonthStem() < 0) {
+            gen.writeNull();
+        } else {
+            gen.writeString(V_STEMS[chart.getPatternMonthStem()]);
+        }
+        gen.writeFieldName(F_MONTH_STEM_TEN_GOD);
+        if (chart.getPatternTenGod() < 0) {
+            gen.writeNull();
+        } else {
+            gen.writeString(V_TEN_GODS[chart.getPatternTenGod()]);
+        }
+        gen.writeFieldName(F_IS_TRANSPARENT);
+        if (chart.getPatternTransparent() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(chart.getPatternTransparent());
+        }
+        gen.writeEndObject();
+    }
+
+    private void writeYun(JsonGenerator gen, BaziChart chart) throws IOException {
+        int[] lifeStages = LIFE_STAGE[chart.getDayStem()];
+        List<BaziChart.DaYunStep> steps = chart.getDaYun();
+        gen.writeStartObject();
+        gen.writeFieldName(F_START_AGE);
+        gen.writeNumber(chart.getYunStartAge());
+        gen.writeFieldName(F_FORWARD);
+        gen.writeBoolean(chart.isYunForward());
+        gen.writeFieldName(F_DA_YUN_LIST);
+        gen.writeStartArray();
+        for (int i = 0; i < steps.size(); i++) {
+            BaziChart.DaYunStep step = steps.get(i);
+            int ganZhi = step.ganZhi();
+            gen.writeStartObject();
+            gen.writeFieldName(F_INDEX);
+            gen.writeNumber(i);
+            gen.writeFieldName(F_START_AGE);
+            gen.writeNumber(step.startAge());
+            gen.writeFieldName(F_END_AGE);
+            gen.writeNumber(step.endAge());
+            gen.writeFieldName(F_GAN_ZHI);
+            gen.writeString(ganZhi < 0 ? V_EMPTY : V_JIA_ZI[ganZhi]);
+            gen.writeFieldName(F_GAN);
+            gen.writeString(ganZhi < 0 ? V_EMPTY : V_STEMS[ganZhi % 10]);
+            gen.writeFieldName(F_ZHI);
+            gen.writeString(ganZhi < 0 ? V_EMPTY : V_BRANCHES[ganZhi % 12]);
+            gen.writeFieldName(F_START_YEAR);
+            gen.writeNumber(step.startYear());
+            gen.writeFieldName(F_END_YEAR);
+            gen.writeNumber(step.endYear());
+
+            gen.writeFieldName(F_LIU_NIAN);
+            gen.writeStartArray();
+            int from = Math.max(step.startYear(), BaziResponseAssembler.MIN_LIU_NIAN_YEAR);
+            int to = Math.min(step.endYear(), BaziResponseAssembler.MAX_LIU_NIAN_YEAR);
+            for (int year = from; year <= to; year++) {
+                int jiaZi = jiaZiOfYear(year);
+                gen.writeStartObject();
+                gen.writeFieldName(F_YEAR);
+                gen.writeNumber(year);
+                gen.writeFieldName(F_AGE);
+                gen.writeNumber(step.startAge() + (year - step.startYear()));
+                gen.writeFieldName(F_GAN_ZHI);
+                gen.writeString(V_JIA_ZI[jiaZi]);
+                gen.writeFieldName(F_GAN);
+                gen.writeString(V_STEMS[jiaZi % 10]);
+                gen.writeFieldName(F_ZHI);
+                gen.writeString(V_BRANCHES[jiaZi % 12]);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeFieldName(F_LIFE_STAGE);
+            gen.writeString(ganZhi < 0 ? V_EMPTY : V_LIFE_STAGES[lifeStages[ganZhi % 12]]);
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    private static void writeElement(JsonGenerator gen, int element) throws IOException {
+        if (element < 0) {
+            gen.writeNull();
+        } else {
+            gen.writeString(V_ELEMENTS[element]);
+        }
+    }
+
+    private static void writeElements(JsonGenerator gen, int[] elements) throws IOException {
+        gen.writeStartArray();
+        for (int e : elements) {
+            gen.writeString(V_ELEMENTS[e]);
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeArray(JsonGenerator gen, SerializedString[] values) throws IOException {
+        gen.writeStartArray();
+        for (SerializedString value : values) {
+            gen.writeString(value);
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeString(JsonGenerator gen, String value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    /**
+     * 拼接得地描述, 与 {@link BaziResponseAssembler#deDiDescription(BaziChart)} 一致
+     *
+     * @return 写入的字节数
+     */
+    private static int deDiDescription(BaziChart chart, byte[] buf) {
+        int mask = chart.getRootMask();
+        if ((mask & 0xFFFF) == 0) {
+            return append(buf, 0, B_NO_ROOT);
+        }
+        int len = 0;
+        int[] branches = chart.getBranches();
+        for (int p = 0; p < 4; p++) {
+            int[] hidden = HIDDEN_STEMS[branches[p]];
+            for (int j = 0; j < hidden.length; j++) {
+                int bit = p * 3 + j;
+                if ((mask & (1 << bit)) != 0) {
+                    if (len > 0) {
+                        len = append(buf, len, B_SEPARATOR);
+                    }
+                    len = append(buf, len, B_ROOTS[p][hidden[j]]);
+                    if ((mask & (1 << (16 + bit))) != 0) {
+                        len = append(buf, len, B_YIN_MARK);
+                    }
+                }
+            }
+        }
+        return len;
+    }
+
+    /**
+     * 拼接天干帮扶描述, 与 {@link BaziResponseAssembler#tianGanHelpDescription(BaziChart)} 一致
+     *
+     * @return 写入的字节数
+     */
+    private static int tianGanHelpDescription(BaziChart chart, byte[] buf) {
+        int kinds = chart.getHelperKinds();
+        if (kinds == 0) {
+            return append(buf, 0, B_NO_HELP);
+        }
+        int len = 0;
+        for (int i = 0; i < 3; i++) {
+            int kind = (kinds >>> (i * 2)) & 3;
+            if (kind != 0) {
+                int pillar = i == 2 ? 3 : i;
+                if (len > 0) {
+                    len = append(buf, len, B_SEPARATOR);
+                }
+                len = append(buf, len, B_HELPERS[pillar][chart.getStems()[pillar]][kind]);
+            }
+        }
+        return len;
+    }
+
+    private static int append(byte[] buf, int offset, byte[] bytes) {
+        System.arraycopy(bytes, 0, buf, offset, bytes.length);
+        return offset + bytes.length;
+    }
+
+    /**
+     * 依次插入两个十神后 HashMap 迭代出的第一个十神
+     */
+    private static int firstKey(int first, int second) {
+        Map<String, Integer> map = new HashMap<>();
+        map.put(BaziDef.TEN_GODS.get(first), first);
+        map.put(BaziDef.TEN_GODS.get(second), second);
+        return map.values().iterator().next();
+    }
+
+    private static SerializedString name(String value) {
+        return new SerializedString(value);
+    }
+
+    private static SerializedString[] names(String[] values) {
+        SerializedString[] result = new SerializedString[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = name(values[i]);
+        }
+        return result;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
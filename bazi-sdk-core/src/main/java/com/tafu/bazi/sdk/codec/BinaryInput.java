@@ -0,0 +1,122 @@
+package com.tafu.bazi.sdk.codec;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 紧凑二进制读取器, 与 {@link BinaryOutput} 对应
+ *
+ * <p>基于 {@link ByteBuffer}, 既可读取堆内数组也可直接读取内存映射文件, 非线程安全
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+final class BinaryInput {
+
+    private final ByteBuffer buf;
+
+    BinaryInput(ByteBuffer buf) {
+        this.buf = buf;
+    }
+
+    int readByte() {
+        try {
+            return buf.get() & 0xFF;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated bazi binary data", e);
+        }
+    }
+
+    byte[] readBytes() {
+        int length = readVarInt();
+        if (length > buf.remaining()) {
+            throw new IllegalArgumentException("Truncated bazi binary data");
+        }
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return bytes;
+    }
+
+    int readVarInt() {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    int readSignedVarInt() {
+        int v = readVarInt();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    long readSignedVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (result >>> 1) ^ -(result & 1);
+            }
+        }
+        throw new IllegalArgumentException("Malformed varlong");
+    }
+
+    long readLong() {
+        long result = 0;
+        for (int i = 0; i < 8; i++) {
+            result = (result << 8) | readByte();
+        }
+        return result;
+    }
+
+    double readDouble() {
+        int tag = readByte();
+        return switch (tag) {
+            case BinaryOutput.DOUBLE_SCALED -> readSignedVarLong() / 100.0;
+            case BinaryOutput.DOUBLE_RAW -> Double.longBitsToDouble(readLong());
+            default -> throw new IllegalArgumentException("Unknown double tag: " + tag);
+        };
+    }
+
+    Boolean readNullableBoolean() {
+        int b = readByte();
+        return switch (b) {
+            case 0 -> null;
+            case 1 -> Boolean.FALSE;
+            case 2 -> Boolean.TRUE;
+            default -> throw new IllegalArgumentException("Unknown boolean tag: " + b);
+        };
+    }
+
+    String readString() {
+        int tag = readVarInt();
+        switch (tag) {
+            case BinaryOutput.STR_NULL:
+                return null;
+            case BinaryOutput.STR_INLINE:
+                return new String(readBytes(), StandardCharsets.UTF_8);
+            case BinaryOutput.STR_JOINED:
+                int count = readVarInt();
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i < count; i++) {
+                    if (i > 0) {
+                        sb.append(BinaryOutput.JOIN_SEPARATOR);
+                    }
+                    sb.append(BaziCodecDictionary.valueOf(readVarInt()));
+                }
+                return sb.toString();
+            default:
+                return BaziCodecDictionary.valueOf(tag - BinaryOutput.STR_DICT_BASE);
+        }
+    }
+
+    boolean hasRemaining() {
+        return buf.hasRemaining();
+    }
+}
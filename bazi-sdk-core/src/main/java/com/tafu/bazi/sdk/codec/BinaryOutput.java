@@ -0,0 +1,152 @@
+package com.tafu.bazi.sdk.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 紧凑二进制写入器
+ *
+ * <p>整数使用 varint (负数先做 zigzag), 字符串优先写字典序号, 非线程安全
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+final class BinaryOutput {
+
+    /** 字符串标记: null */
+    static final int STR_NULL = 0;
+    /** 字符串标记: UTF-8 原文 */
+    static final int STR_INLINE = 1;
+    /** 字符串标记: 以 "、" 连接的多个字典条目 */
+    static final int STR_JOINED = 2;
+    /** 字符串标记: 字典序号起始值 */
+    static final int STR_DICT_BASE = 3;
+
+    /** 浮点标记: 两位小数内精确, 后跟 zigzag varint (值 x 100) */
+    static final int DOUBLE_SCALED = 0;
+    /** 浮点标记: 原始 8 字节 */
+    static final int DOUBLE_RAW = 1;
+
+    static final String JOIN_SEPARATOR = "、";
+
+    private byte[] buf;
+    private int pos;
+
+    BinaryOutput(int initialCapacity) {
+        this.buf = new byte[Math.max(16, initialCapacity)];
+    }
+
+    void writeByte(int b) {
+        ensure(1);
+        buf[pos++] = (byte) b;
+    }
+
+    void writeBytes(byte[] bytes) {
+        writeVarInt(bytes.length);
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    /** 无符号 varint */
+    void writeVarInt(int value) {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+    }
+
+    /** 有符号 varint (zigzag) */
+    void writeSignedVarInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    void writeSignedVarLong(long value) {
+        long v = (value << 1) ^ (value >> 63);
+        ensure(10);
+        while ((v & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buf[pos++] = (byte) v;
+    }
+
+    void writeLong(long value) {
+        ensure(8);
+        for (int i = 7; i >= 0; i--) {
+            buf[pos++] = (byte) (value >>> (i * 8));
+        }
+    }
+
+    /**
+     * 写入 double
+     *
+     * <p>分数类数据大多是两位小数内的值, 能精确还原时写缩放后的整数, 否则写原始位
+     */
+    void writeDouble(double value) {
+        long scaled = Math.round(value * 100);
+        if (Math.abs(scaled) < (1L << 52)
+                && Double.doubleToRawLongBits(scaled / 100.0) == Double.doubleToRawLongBits(value)) {
+            writeByte(DOUBLE_SCALED);
+            writeSignedVarLong(scaled);
+        } else {
+            writeByte(DOUBLE_RAW);
+            writeLong(Double.doubleToRawLongBits(value));
+        }
+    }
+
+    /** 写入可空布尔: 0=null, 1=false, 2=true */
+    void writeNullableBoolean(Boolean value) {
+        writeByte(value == null ? 0 : (value ? 2 : 1));
+    }
+
+    void writeString(String value) {
+        if (value == null) {
+            writeVarInt(STR_NULL);
+            return;
+        }
+        int id = BaziCodecDictionary.idOf(value);
+        if (id >= 0) {
+            writeVarInt(STR_DICT_BASE + id);
+            return;
+        }
+        if (value.contains(JOIN_SEPARATOR) && writeJoined(value)) {
+            return;
+        }
+        writeVarInt(STR_INLINE);
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean writeJoined(String value) {
+        String[] parts = value.split(JOIN_SEPARATOR, -1);
+        int[] ids = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            ids[i] = BaziCodecDictionary.idOf(parts[i]);
+            if (ids[i] < 0) {
+                return false;
+            }
+        }
+        writeVarInt(STR_JOINED);
+        writeVarInt(ids.length);
+        for (int id : ids) {
+            writeVarInt(id);
+        }
+        return true;
+    }
+
+    int size() {
+        return pos;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buf, pos);
+    }
+
+    private void ensure(int extra) {
+        if (pos + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.tafu.bazi.sdk.fortune;
+
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.ChartTables;
+import com.tafu.bazi.sdk.interaction.InteractionEngine;
+import com.tafu.bazi.sdk.interaction.InteractionType;
+import com.tafu.bazi.sdk.utils.JieTable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+
+/**
+ * 每日运势批量打分: 同一天所有命盘面对相同的流日、流月, 分数只取决于命盘的少数特征
+ *
+ * <p>特征为日干、月支、喜用五行、忌讳五行, 编码为特征键 ({@link #featureKey}), 共 {@link #CLASS_COUNT} 类。
+ * 构造时逐类打分一次, 之后每个命盘只是按特征键查表; 批量接口读写原始数组或字节流 (每个特征键 4 字节大端,
+ * 每个分数 1 字节), 不为单个命盘分配对象
+ *
+ * <p>分数 0-100, 以 {@link #BASE_SCORE} 为基准:
+ * <ul>
+ *   <li>流日天干、地支本气为喜用五行加分, 为忌讳五行减分; 流月同理, 权重较低</li>
+ *   <li>流日天干合日干加分, 冲日干减分</li>
+ *   <li>流日地支与月支六合、半合加分, 六冲、相刑、相害减分</li>
+ * </ul>
+ *
+ * <p>实例不可变, 线程安全
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class DailyFortune {
+
+    /** 特征类个数: 日干 10 × 月支 12 × 喜用掩码 32 × 忌讳掩码 32 */
+    public static final int CLASS_COUNT = 10 * 12 * 32 * 32;
+
+    /** 基准分 */
+    public static final int BASE_SCORE = 60;
+
+    /** 流日天干、地支为喜用 (忌讳) 五行的加 (减) 分 */
+    private static final int DAY_STEM_WEIGHT = 12;
+    private static final int DAY_BRANCH_WEIGHT = 8;
+
+    /** 流月天干、地支为喜用 (忌讳) 五行的加 (减) 分 */
+    private static final int MONTH_WEIGHT = 4;
+
+    /** 流日天干合 (冲) 日干的加 (减) 分 */
+    private static final int DAY_MASTER_WEIGHT = 6;
+
+    /** 流日地支与月支合、冲、刑害的加减分 */
+    private static final int BRANCH_COMBINE_SCORE = 6;
+    private static final int BRANCH_CLASH_SCORE = -10;
+    private static final int BRANCH_PUNISH_HARM_SCORE = -4;
+
+    /** 批量流式处理时每次读入的特征键个数 */
+    private static final int STREAM_BATCH = 16 * 1024;
+
+    /** 流日六十甲子下标 */
+    private final int day;
+
+    /** 流月六十甲子下标 */
+    private final int month;
+
+    /** 各特征类的分数 (按特征键) */
+    private final byte[] scores = new byte[CLASS_COUNT];
+
+    /**
+     * @param day 流日六十甲子下标
+     * @param month 流月六十甲子下标
+     * @throws IllegalArgumentException 下标越界时抛出
+     */
+    public DailyFortune(int day, int month) {
+        if (day < 0 || day >= 60 || month < 0 || month >= 60) {
+            throw new IllegalArgumentException("Day and month pillars must be JiaZi indexes 0-59");
+        }
+        this.day = day;
+        this.month = month;
+        int combine = InteractionType.BRANCH_COMBINE.bit() | InteractionType.HALF_HARMONY.bit();
+        int punishHarm = InteractionType.BRANCH_PUNISH.bit() | InteractionType.BRANCH_HARM.bit();
+        int[] dayElements = {ChartTables.STEM_ELEMENT[day % 10], ChartTables.BRANCH_ELEMENT[day % 12]};
+        int[] monthElements = {ChartTables.STEM_ELEMENT[month % 10], ChartTables.BRANCH_ELEMENT[month % 12]};
+
+        // 只与日干、月支有关的部分
+        int[] natalScores = new int[10 * 12];
+        for (int stem = 0; stem < 10; stem++) {
+            int stemRelations = InteractionEngine.stemRelations(day % 10, stem);
+            int stemScore = (stemRelations & InteractionType.STEM_COMBINE.bit()) != 0 ? DAY_MASTER_WEIGHT
+                : (stemRelations & InteractionType.STEM_CLASH.bit()) != 0 ? -DAY_MASTER_WEIGHT : 0;
+            for (int branch = 0; branch < 12; branch++) {
+                int relations = InteractionEngine.branchRelations(day % 12, branch);
+                int score = stemScore;
+                score += (relations & combine) != 0 ? BRANCH_COMBINE_SCORE : 0;
+                score += (relations & InteractionType.BRANCH_CLASH.bit()) != 0 ? BRANCH_CLASH_SCORE : 0;
+                score += (relations & punishHarm) != 0 ? BRANCH_PUNISH_HARM_SCORE : 0;
+                natalScores[stem * 12 + branch] = score;
+            }
+        }
+        // 只与喜用、忌讳五行有关的部分
+        int[] elementScores = new int[32 * 32];
+        for (int favorable = 0; favorable < 32; favorable++) {
+            for (int unfavorable = 0; unfavorable < 32; unfavorable++) {
+                elementScores[favorable * 32 + unfavorable] =
+                    elementScore(dayElements[0], favorable, unfavorable) * DAY_STEM_WEIGHT
+                        + elementScore(dayElements[1], favorable, unfavorable) * DAY_BRANCH_WEIGHT
+                        + (elementScore(monthElements[0], favorable, unfavorable)
+                        + elementScore(monthElements[1], favorable, unfavorable)) * MONTH_WEIGHT;
+            }
+        }
+        for (int key = 0; key < CLASS_COUNT; key++) {
+            int score = BASE_SCORE + natalScores[key >>> 10] + elementScores[key & 0x3FF];
+            scores[key] = (byte) Math.max(0, Math.min(100, score));
+        }
+    }
+
+    /**
+     * 指定日期的每日运势 (流月按节令交接日期, 交接当天算下一个月)
+     *
+     * @throws IllegalArgumentException 日期为空或超出 1901-2100 年时抛出
+     */
+    public static DailyFortune of(LocalDate date) {
+        if (date == null || date.getYear() < 1901 || date.getYear() > 2100) {
+            throw new IllegalArgumentException("Date must be within 1901 ~ 2100");
+        }
+        long epochDay = date.toEpochDay();
+        JieTable jies = JieTable.between(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        return new DailyFortune(ChartTables.dayJiaZi(epochDay), jies.monthOn(epochDay));
+    }
+
+    /**
+     * 命盘的特征键
+     */
+    public static int featureKey(BaziChart chart) {
+        return featureKey(chart.getStems()[2], chart.getBranches()[1], chart.getFavorable(), chart.getUnfavorable());
+    }
+
+    /**
+     * 特征键: ((日干 × 12 + 月支) × 32 + 喜用掩码) × 32 + 忌讳掩码
+     *
+     * @param dayStem 日干下标
+     * @param monthBranch 月支下标
+     * @param favorable 喜用五行下标, 可为空
+     * @param unfavorable 忌讳五行下标, 可为空
+     * @throws IllegalArgumentException 下标越界时抛出
+     */
+    public static int featureKey(int dayStem, int monthBranch, int[] favorable, int[] unfavorable) {
+        if (dayStem < 0 || dayStem >= 10 || monthBranch < 0 || monthBranch >= 12) {
+            throw new IllegalArgumentException("Invalid day stem or month branch");
+        }
+        return ((dayStem * 12 + monthBranch) << 10) | (elementMask(favorable) << 5) | elementMask(unfavorable);
+    }
+
+    /**
+     * 流日六十甲子下标
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * 流月六十甲子下标
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * 特征键对应的分数 (0-100)
+     *
+     * @throws ArrayIndexOutOfBoundsException 特征键越界时抛出
+     */
+    public int score(int featureKey) {
+        return scores[featureKey];
+    }
+
+    /**
+     * 批量打分
+     *
+     * @param keys 特征键
+     * @param from 起始下标 (含)
+     * @param to 结束下标 (不含)
+     * @param out 输出分数, 从 offset 起写 to - from 个
+     * @param offset 输出起始下标
+     */
+    public void scoreAll(int[] keys, int from, int to, byte[] out, int offset) {
+        byte[] table = scores;
+        for (int i = from; i < to; i++) {
+            out[offset++] = table[keys[i]];
+        }
+    }
+
+    /**
+     * 流式打分: 读入连续的 4 字节大端特征键直到流结束, 按相同顺序每个写出 1 字节分数
+     *
+     * @param in 特征键流
+     * @param out 分数流 (不关闭, 不刷新)
+     * @return 处理的特征键个数
+     * @throws IllegalArgumentException 输入长度不是 4 的倍数或含越界特征键时抛出
+     * @throws UncheckedIOException 读写失败时抛出
+     */
+    public long scoreStream(InputStream in, OutputStream out) {
+        byte[] input = new byte[STREAM_BATCH * 4];
+        byte[] output = new byte[STREAM_BATCH];
+        byte[] table = scores;
+        long count = 0;
+        try {
+            int buffered = 0;
+            int read;
+            while ((read = in.read(input, buffered, input.length - buffered)) >= 0) {
+                buffered += read;
+                int records = buffered >>> 2;
+                for (int i = 0, p = 0; i < records; i++, p += 4) {
+                    int key = (input[p] & 0xFF) << 24 | (input[p + 1] & 0xFF) << 16
+                        | (input[p + 2] & 0xFF) << 8 | input[p + 3] & 0xFF;
+                    if (key < 0 || key >= CLASS_COUNT) {
+                        throw new IllegalArgumentException("Feature key out of range at record " + (count + i));
+                    }
+                    output[i] = table[key];
+                }
+                out.write(output, 0, records);
+                count += records;
+                // 不足 4 字节的尾部留到下一轮
+                int rest = buffered & 3;
+                System.arraycopy(input, records << 2, input, 0, rest);
+                buffered = rest;
+            }
+            if (buffered != 0) {
+                throw new IllegalArgumentException("Feature key stream ends with a partial record");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to stream daily fortune scores", e);
+        }
+        return count;
+    }
+
+    /**
+     * 五行相对喜忌: 喜用 +1, 忌讳 -1, 其余 0
+     */
+    private static int elementScore(int element, int favorable, int unfavorable) {
+        return ((favorable >>> element) & 1) - ((unfavorable >>> element) & 1);
+    }
+
+    private static int elementMask(int[] elements) {
+        int mask = 0;
+        if (elements != null) {
+            for (int element : elements) {
+                if (element < 0 || element >= 5) {
+                    throw new IllegalArgumentException("Invalid five element index: " + element);
+                }
+                mask |= 1 << element;
+            }
+        }
+        return mask;
+    }
+}
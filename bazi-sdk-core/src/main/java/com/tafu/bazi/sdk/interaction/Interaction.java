@@ -0,0 +1,34 @@
+package com.tafu.bazi.sdk.interaction;
+
+import com.tafu.bazi.sdk.chart.ChartTables;
+
+/**
+ * 一条干支作用
+ *
+ * @param type 作用类型
+ * @param positions 参与的柱: 第 0-3 位为年、月、日、时柱, {@link InteractionEngine#EXTERNAL} 位为外部柱 (大运 / 流年)
+ * @param element 合化或成局的五行下标 (见 {@link ChartTables#ELEMENTS}), 冲刑害破为 -1
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record Interaction(InteractionType type, int positions, int element) {
+
+    private static final String[] POSITION_NAMES = {"年", "月", "日", "时", "运"};
+
+    /**
+     * 可读描述, 如 "年日六冲"、"月时运三合(水)"
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < POSITION_NAMES.length; i++) {
+            if ((positions & (1 << i)) != 0) {
+                sb.append(POSITION_NAMES[i]);
+            }
+        }
+        sb.append(type.getChinese());
+        if (element >= 0) {
+            sb.append('(').append(ChartTables.ELEMENTS[element].getChinese()).append(')');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,361 @@
+package com.tafu.bazi.sdk.interaction;
+
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.ChartTables;
+import com.tafu.bazi.sdk.model.BaziDef;
+import com.tafu.bazi.sdk.model.FourPillarsDTO;
+import com.tafu.bazi.sdk.model.PillarDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 干支作用引擎 (合、冲、刑、害、破、半合、三合、三会)
+ *
+ * <p>两柱之间的关系预先展开为 10×10 天干表、12×12 地支表与 60×60 干支表, 值为
+ * {@link InteractionType#bit()} 组成的位掩码; 三合 / 三会按 12 位地支出现掩码查 4096 项的成局表。
+ * 命盘内部分析与命盘对任意外部柱 (大运 / 流年) 的分析都只是常数次查表
+ *
+ * <p>下标约定见 {@link ChartTables}, 四柱数组下标 0-3 依次为年、月、日、时
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class InteractionEngine {
+
+    /** 外部柱 (大运 / 流年) 在 {@link Interaction#positions()} 中的位 */
+    public static final int EXTERNAL = 1 << 4;
+
+    /** {@link #against} 结果中新成局掩码的起始位 */
+    public static final int FRAME_SHIFT = 32;
+
+    /** 成局数: 下标 0-3 为三合局, 4-7 为三会局 */
+    public static final int FRAME_COUNT = 8;
+
+    private static final int ELEMENT_METAL = BaziDef.FiveElement.METAL.ordinal();
+    private static final int ELEMENT_WOOD = BaziDef.FiveElement.WOOD.ordinal();
+    private static final int ELEMENT_WATER = BaziDef.FiveElement.WATER.ordinal();
+    private static final int ELEMENT_FIRE = BaziDef.FiveElement.FIRE.ordinal();
+    private static final int ELEMENT_EARTH = BaziDef.FiveElement.EARTH.ordinal();
+
+    /** 天干关系 [干][干] */
+    private static final int[][] STEM_RELATIONS = new int[10][10];
+
+    /** 地支关系 [支][支] */
+    private static final int[][] BRANCH_RELATIONS = new int[12][12];
+
+    /** 干支关系 [六十甲子][六十甲子] */
+    private static final int[][] PILLAR_RELATIONS = new int[60][60];
+
+    /** 天干五合化出的五行 (按任一方下标) */
+    private static final int[] STEM_COMBINE_ELEMENT = new int[10];
+
+    /** 地支六合化出的五行 (按任一方下标) */
+    private static final int[] BRANCH_COMBINE_ELEMENT = new int[12];
+
+    /** 半合五行 [支][支], 非半合为 -1 */
+    private static final int[][] HALF_HARMONY_ELEMENT = new int[12][12];
+
+    /** 成局地支掩码 */
+    private static final int[] FRAME_MASKS = new int[FRAME_COUNT];
+
+    /** 成局五行 */
+    private static final int[] FRAME_ELEMENTS = new int[FRAME_COUNT];
+
+    /** 地支出现掩码 -> 已成局掩码 */
+    private static final byte[] COMPLETE_FRAMES = new byte[1 << 12];
+
+    static {
+        // 天干五合: 甲己、乙庚、丙辛、丁壬、戊癸
+        int[] stemCombineElements = {ELEMENT_EARTH, ELEMENT_METAL, ELEMENT_WATER, ELEMENT_WOOD, ELEMENT_FIRE};
+        for (int s = 0; s < 5; s++) {
+            stemRelation(s, s + 5, InteractionType.STEM_COMBINE);
+            STEM_COMBINE_ELEMENT[s] = stemCombineElements[s];
+            STEM_COMBINE_ELEMENT[s + 5] = stemCombineElements[s];
+        }
+        // 天干相冲: 甲庚、乙辛、丙壬、丁癸 (戊己居中无冲)
+        for (int s = 0; s < 4; s++) {
+            stemRelation(s, s + 6, InteractionType.STEM_CLASH);
+        }
+
+        // 六合: 子丑土、寅亥木、卯戌火、辰酉金、巳申水、午未土
+        int[][] combines = {
+            {0, 1, ELEMENT_EARTH}, {2, 11, ELEMENT_WOOD}, {3, 10, ELEMENT_FIRE},
+            {4, 9, ELEMENT_METAL}, {5, 8, ELEMENT_WATER}, {6, 7, ELEMENT_EARTH}
+        };
+        for (int[] c : combines) {
+            branchRelation(c[0], c[1], InteractionType.BRANCH_COMBINE);
+            BRANCH_COMBINE_ELEMENT[c[0]] = c[2];
+            BRANCH_COMBINE_ELEMENT[c[1]] = c[2];
+        }
+        // 六冲: 相隔六位
+        for (int b = 0; b < 6; b++) {
+            branchRelation(b, b + 6, InteractionType.BRANCH_CLASH);
+        }
+        // 相刑: 寅巳申无恩之刑、丑戌未恃势之刑、子卯无礼之刑、辰午酉亥自刑
+        int[][] punishments = {{2, 5}, {5, 8}, {2, 8}, {1, 10}, {10, 7}, {1, 7}, {0, 3}, {4, 4}, {6, 6}, {9, 9}, {11, 11}};
+        for (int[] p : punishments) {
+            branchRelation(p[0], p[1], InteractionType.BRANCH_PUNISH);
+        }
+        // 六害: 子未、丑午、寅巳、卯辰、申亥、酉戌
+        int[][] harms = {{0, 7}, {1, 6}, {2, 5}, {3, 4}, {8, 11}, {9, 10}};
+        for (int[] h : harms) {
+            branchRelation(h[0], h[1], InteractionType.BRANCH_HARM);
+        }
+        // 相破: 子酉、卯午、辰丑、未戌、寅亥、巳申
+        int[][] breaks = {{0, 9}, {3, 6}, {4, 1}, {7, 10}, {2, 11}, {5, 8}};
+        for (int[] b : breaks) {
+            branchRelation(b[0], b[1], InteractionType.BRANCH_BREAK);
+        }
+
+        // 三合 (长生、帝旺、墓): 申子辰水、亥卯未木、寅午戌火、巳酉丑金
+        int[][] harmonies = {
+            {8, 0, 4, ELEMENT_WATER}, {11, 3, 7, ELEMENT_WOOD}, {2, 6, 10, ELEMENT_FIRE}, {5, 9, 1, ELEMENT_METAL}
+        };
+        // 三会: 寅卯辰木、巳午未火、申酉戌金、亥子丑水
+        int[][] directions = {
+            {2, 3, 4, ELEMENT_WOOD}, {5, 6, 7, ELEMENT_FIRE}, {8, 9, 10, ELEMENT_METAL}, {11, 0, 1, ELEMENT_WATER}
+        };
+        for (int[] row : HALF_HARMONY_ELEMENT) {
+            Arrays.fill(row, -1);
+        }
+        for (int f = 0; f < 4; f++) {
+            int[] h = harmonies[f];
+            FRAME_MASKS[f] = (1 << h[0]) | (1 << h[1]) | (1 << h[2]);
+            FRAME_ELEMENTS[f] = h[3];
+            // 半合须含帝旺 (中间一支)
+            for (int side : new int[]{h[0], h[2]}) {
+                branchRelation(side, h[1], InteractionType.HALF_HARMONY);
+                HALF_HARMONY_ELEMENT[side][h[1]] = h[3];
+                HALF_HARMONY_ELEMENT[h[1]][side] = h[3];
+            }
+            int[] d = directions[f];
+            FRAME_MASKS[4 + f] = (1 << d[0]) | (1 << d[1]) | (1 << d[2]);
+            FRAME_ELEMENTS[4 + f] = d[3];
+        }
+        for (int mask = 0; mask < COMPLETE_FRAMES.length; mask++) {
+            int frames = 0;
+            for (int f = 0; f < FRAME_COUNT; f++) {
+                if ((mask & FRAME_MASKS[f]) == FRAME_MASKS[f]) {
+                    frames |= 1 << f;
+                }
+            }
+            COMPLETE_FRAMES[mask] = (byte) frames;
+        }
+
+        for (int a = 0; a < 60; a++) {
+            for (int b = 0; b < 60; b++) {
+                PILLAR_RELATIONS[a][b] = STEM_RELATIONS[a % 10][b % 10] | BRANCH_RELATIONS[a % 12][b % 12];
+            }
+        }
+    }
+
+    private InteractionEngine() {
+    }
+
+    // ==================== 查表 ====================
+
+    /**
+     * 两天干之间的关系位掩码
+     */
+    public static int stemRelations(int stemA, int stemB) {
+        return STEM_RELATIONS[stemA][stemB];
+    }
+
+    /**
+     * 两地支之间的关系位掩码
+     */
+    public static int branchRelations(int branchA, int branchB) {
+        return BRANCH_RELATIONS[branchA][branchB];
+    }
+
+    /**
+     * 两柱 (六十甲子下标) 之间的关系位掩码, 天干与地支关系合并
+     */
+    public static int pillarRelations(int jiaZiA, int jiaZiB) {
+        return PILLAR_RELATIONS[jiaZiA][jiaZiB];
+    }
+
+    /**
+     * 地支出现掩码 (第 b 位表示地支 b 出现)
+     */
+    public static int branchMask(int[] branches) {
+        int mask = 0;
+        for (int branch : branches) {
+            mask |= 1 << branch;
+        }
+        return mask;
+    }
+
+    /**
+     * 已成的三合 / 三会局掩码
+     *
+     * @param branchMask 地支出现掩码
+     * @return 第 f 位表示成局 f (0-3 三合, 4-7 三会)
+     */
+    public static int completeFrames(int branchMask) {
+        return COMPLETE_FRAMES[branchMask] & 0xFF;
+    }
+
+    /**
+     * 命盘对外部柱的全部作用 (常数次查表)
+     *
+     * <p>结果按位打包: 第 (8 × 柱) 起的 8 位为外部柱与该柱的关系位掩码,
+     * 第 {@link #FRAME_SHIFT} 起的 8 位为加入外部地支后新成的局 (命盘自身已成的局不计)
+     *
+     * @param stems 四柱天干下标
+     * @param branches 四柱地支下标
+     * @param stem 外部柱天干下标
+     * @param branch 外部柱地支下标
+     * @return 打包结果, 用 {@link #relationsAt} / {@link #newFrames} 解读
+     */
+    public static long against(int[] stems, int[] branches, int stem, int branch) {
+        long packed = 0;
+        for (int p = 0; p < 4; p++) {
+            int relations = STEM_RELATIONS[stem][stems[p]] | BRANCH_RELATIONS[branch][branches[p]];
+            packed |= (long) relations << (8 * p);
+        }
+        int natal = branchMask(branches);
+        int frames = completeFrames(natal | (1 << branch)) & ~completeFrames(natal);
+        return packed | (long) frames << FRAME_SHIFT;
+    }
+
+    /**
+     * 打包结果中外部柱与指定柱的关系位掩码
+     */
+    public static int relationsAt(long packed, int position) {
+        return (int) (packed >>> (8 * position)) & 0xFF;
+    }
+
+    /**
+     * 打包结果中新成的局掩码
+     */
+    public static int newFrames(long packed) {
+        return (int) (packed >>> FRAME_SHIFT) & 0xFF;
+    }
+
+    // ==================== 解读 ====================
+
+    /**
+     * 命盘内部的全部作用: 六对柱之间的关系 (年月、年日、年时、月日、月时、日时), 以及已成的三合 / 三会局
+     *
+     * @param stems 四柱天干下标
+     * @param branches 四柱地支下标
+     * @return 作用列表
+     */
+    public static List<Interaction> analyze(int[] stems, int[] branches) {
+        List<Interaction> result = new ArrayList<>();
+        for (int a = 0; a < 4; a++) {
+            for (int b = a + 1; b < 4; b++) {
+                addPairwise(result, (1 << a) | (1 << b), stems[a], branches[a], stems[b], branches[b]);
+            }
+        }
+        addFrames(result, completeFrames(branchMask(branches)), branches, 0);
+        return result;
+    }
+
+    /**
+     * 命盘内部的全部作用
+     *
+     * @see #analyze(int[], int[])
+     */
+    public static List<Interaction> analyze(BaziChart chart) {
+        return analyze(chart.getStems(), chart.getBranches());
+    }
+
+    /**
+     * 由响应中的四柱分析命盘内部的全部作用
+     *
+     * @param fourPillars 四柱
+     * @return 作用列表
+     * @throws IllegalArgumentException 四柱不完整或干支非法时抛出
+     */
+    public static List<Interaction> analyze(FourPillarsDTO fourPillars) {
+        if (fourPillars == null) {
+            throw new IllegalArgumentException("Four pillars cannot be null");
+        }
+        PillarDTO[] pillars = {fourPillars.getYear(), fourPillars.getMonth(), fourPillars.getDay(), fourPillars.getHour()};
+        int[] stems = new int[4];
+        int[] branches = new int[4];
+        for (int p = 0; p < 4; p++) {
+            PillarDTO pillar = pillars[p];
+            stems[p] = pillar == null || pillar.getHeavenlyStem() == null
+                ? -1 : BaziDef.getTianGanIndex(pillar.getHeavenlyStem().getChinese());
+            branches[p] = pillar == null || pillar.getEarthlyBranch() == null
+                ? -1 : BaziDef.getDiZhiIndex(pillar.getEarthlyBranch().getChinese());
+            if (stems[p] < 0 || branches[p] < 0) {
+                throw new IllegalArgumentException("Invalid pillar at position " + p);
+            }
+        }
+        return analyze(stems, branches);
+    }
+
+    /**
+     * 命盘对外部柱 (大运 / 流年) 的全部作用
+     *
+     * @param stems 四柱天干下标
+     * @param branches 四柱地支下标
+     * @param stem 外部柱天干下标
+     * @param branch 外部柱地支下标
+     * @return 作用列表, 位置含 {@link #EXTERNAL}
+     */
+    public static List<Interaction> analyzeAgainst(int[] stems, int[] branches, int stem, int branch) {
+        long packed = against(stems, branches, stem, branch);
+        List<Interaction> result = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            if (relationsAt(packed, p) != 0) {
+                addPairwise(result, (1 << p) | EXTERNAL, stem, branch, stems[p], branches[p]);
+            }
+        }
+        addFrames(result, newFrames(packed), branches, EXTERNAL);
+        return result;
+    }
+
+    private static void addPairwise(List<Interaction> result, int positions,
+                                    int stemA, int branchA, int stemB, int branchB) {
+        int stemRelations = STEM_RELATIONS[stemA][stemB];
+        int branchRelations = BRANCH_RELATIONS[branchA][branchB];
+        if ((stemRelations | branchRelations) == 0) {
+            return;
+        }
+        for (InteractionType type : InteractionType.values()) {
+            if (!type.isPairwise() || ((stemRelations | branchRelations) & type.bit()) == 0) {
+                continue;
+            }
+            int element = switch (type) {
+                case STEM_COMBINE -> STEM_COMBINE_ELEMENT[stemA];
+                case BRANCH_COMBINE -> BRANCH_COMBINE_ELEMENT[branchA];
+                case HALF_HARMONY -> HALF_HARMONY_ELEMENT[branchA][branchB];
+                default -> -1;
+            };
+            result.add(new Interaction(type, positions, element));
+        }
+    }
+
+    private static void addFrames(List<Interaction> result, int frames, int[] branches, int extra) {
+        for (int f = 0; f < FRAME_COUNT; f++) {
+            if ((frames & (1 << f)) == 0) {
+                continue;
+            }
+            int positions = extra;
+            for (int p = 0; p < 4; p++) {
+                if ((FRAME_MASKS[f] & (1 << branches[p])) != 0) {
+                    positions |= 1 << p;
+                }
+            }
+            InteractionType type = f < 4 ? InteractionType.THREE_HARMONY : InteractionType.DIRECTIONAL;
+            result.add(new Interaction(type, positions, FRAME_ELEMENTS[f]));
+        }
+    }
+
+    private static void stemRelation(int a, int b, InteractionType type) {
+        STEM_RELATIONS[a][b] |= type.bit();
+        STEM_RELATIONS[b][a] |= type.bit();
+    }
+
+    private static void branchRelation(int a, int b, InteractionType type) {
+        BRANCH_RELATIONS[a][b] |= type.bit();
+        BRANCH_RELATIONS[b][a] |= type.bit();
+    }
+}
@@ -0,0 +1,60 @@
+package com.tafu.bazi.sdk.interaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 干支作用类型
+ *
+ * <p>前 8 种为两柱之间的关系, 在 {@link InteractionEngine} 的关系表中以 {@link #bit()} 组成位掩码;
+ * 三合局与三会局需要三个地支同时出现, 由地支出现掩码判断
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public enum InteractionType {
+
+    /** 天干五合 (甲己合土、乙庚合金、丙辛合水、丁壬合木、戊癸合火) */
+    STEM_COMBINE("天干五合"),
+
+    /** 天干相冲 (甲庚、乙辛、丙壬、丁癸) */
+    STEM_CLASH("天干相冲"),
+
+    /** 地支六合 */
+    BRANCH_COMBINE("六合"),
+
+    /** 地支六冲 */
+    BRANCH_CLASH("六冲"),
+
+    /** 地支相刑 (寅巳申、丑戌未、子卯, 辰午酉亥自刑) */
+    BRANCH_PUNISH("相刑"),
+
+    /** 地支六害 */
+    BRANCH_HARM("六害"),
+
+    /** 地支相破 */
+    BRANCH_BREAK("相破"),
+
+    /** 半合 (三合局中含帝旺的两支) */
+    HALF_HARMONY("半合"),
+
+    /** 三合局 (申子辰、亥卯未、寅午戌、巳酉丑) */
+    THREE_HARMONY("三合"),
+
+    /** 三会局 (寅卯辰、巳午未、申酉戌、亥子丑) */
+    DIRECTIONAL("三会");
+
+    private final String chinese;
+
+    /** 关系位 */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /** 是否为两柱之间的关系 (而非三支成局) */
+    public boolean isPairwise() {
+        return this != THREE_HARMONY && this != DIRECTIONAL;
+    }
+}
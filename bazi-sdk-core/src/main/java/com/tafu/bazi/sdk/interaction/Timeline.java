@@ -0,0 +1,143 @@
+package com.tafu.bazi.sdk.interaction;
+
+import com.tafu.bazi.sdk.chart.ChartTables;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 岁运时间线: 按年排列的流年、大运与作用位
+ *
+ * <p>数组下标 i 对应公历 {@code startYear + i} 年; 作用位的打包格式同 {@link InteractionEngine#against},
+ * 事件位为 {@link TimelineEvent#bit()} 组成的位掩码。由 {@link TimelineScanner} 生成, 不可变:
+ * 数组访问器返回副本, 逐年查询请用 {@link #eventsOf(int)} 等方法
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class Timeline {
+
+    /** 起始公历年份 */
+    @Getter
+    private final int startYear;
+
+    /** 日主天干下标 */
+    @Getter
+    private final int dayStem;
+
+    /** 流年六十甲子下标 */
+    private final int[] liuNian;
+
+    /** 所在大运六十甲子下标, 起运前为 -1 */
+    private final int[] daYun;
+
+    /** 流年与命盘的作用 */
+    private final long[] liuNianRelations;
+
+    /** 大运与命盘的作用, 起运前为 0 */
+    private final long[] daYunRelations;
+
+    /** 事件位 */
+    private final int[] events;
+
+    /**
+     * 流年六十甲子下标 (副本)
+     */
+    public int[] getLiuNian() {
+        return liuNian.clone();
+    }
+
+    /**
+     * 所在大运六十甲子下标 (副本), 起运前为 -1
+     */
+    public int[] getDaYun() {
+        return daYun.clone();
+    }
+
+    /**
+     * 流年与命盘的作用 (副本)
+     */
+    public long[] getLiuNianRelations() {
+        return liuNianRelations.clone();
+    }
+
+    /**
+     * 大运与命盘的作用 (副本), 起运前为 0
+     */
+    public long[] getDaYunRelations() {
+        return daYunRelations.clone();
+    }
+
+    /**
+     * 事件位 (副本)
+     */
+    public int[] getEvents() {
+        return events.clone();
+    }
+
+    /**
+     * 年数
+     */
+    public int size() {
+        return events.length;
+    }
+
+    /**
+     * 是否包含指定年份
+     */
+    public boolean contains(int year) {
+        return year >= startYear && year < startYear + size();
+    }
+
+    /**
+     * 指定年份的事件位
+     *
+     * @throws IllegalArgumentException 年份不在时间线内时抛出
+     */
+    public int eventsOf(int year) {
+        return events[index(year)];
+    }
+
+    /**
+     * 指定年份流年与命盘的作用
+     *
+     * @throws IllegalArgumentException 年份不在时间线内时抛出
+     */
+    public long liuNianRelationsOf(int year) {
+        return liuNianRelations[index(year)];
+    }
+
+    /**
+     * 指定年份日主在流年地支的十二长生
+     *
+     * @return 长生下标 (0-11 对应 {@link com.tafu.bazi.sdk.model.BaziDef#CHANG_SHENG})
+     * @throws IllegalArgumentException 年份不在时间线内时抛出
+     */
+    public int lifeStageOf(int year) {
+        return ChartTables.LIFE_STAGE[dayStem][liuNian[index(year)] % 12];
+    }
+
+    /**
+     * 发生指定事件的全部年份
+     */
+    public List<Integer> yearsWith(TimelineEvent event) {
+        List<Integer> years = new ArrayList<>();
+        for (int i = 0; i < events.length; i++) {
+            if ((events[i] & event.bit()) != 0) {
+                years.add(startYear + i);
+            }
+        }
+        return years;
+    }
+
+    private int index(int year) {
+        if (!contains(year)) {
+            throw new IllegalArgumentException("Year " + year + " is outside the timeline");
+        }
+        return year - startYear;
+    }
+}
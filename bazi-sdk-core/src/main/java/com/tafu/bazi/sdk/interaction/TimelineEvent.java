@@ -0,0 +1,55 @@
+package com.tafu.bazi.sdk.interaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 岁运事件: 流年、大运与命盘之间的标志性作用
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public enum TimelineEvent {
+
+    /** 值太岁: 流年地支与年支相同 (本命年) */
+    TAI_SUI_SAME("值太岁"),
+
+    /** 冲太岁: 流年地支冲年支 */
+    TAI_SUI_CLASH("冲太岁"),
+
+    /** 刑太岁: 流年地支刑年支 (不含自刑, 自刑计入值太岁) */
+    TAI_SUI_PUNISH("刑太岁"),
+
+    /** 害太岁: 流年地支害年支 */
+    TAI_SUI_HARM("害太岁"),
+
+    /** 破太岁: 流年地支破年支 */
+    TAI_SUI_BREAK("破太岁"),
+
+    /** 伏吟: 流年干支与命盘某柱相同 */
+    FU_YIN("伏吟"),
+
+    /** 反吟: 流年与命盘某柱天克地冲 (天干相冲且地支六冲) */
+    FAN_YIN("反吟"),
+
+    /** 大运伏吟: 大运干支与命盘某柱相同 */
+    DA_YUN_FU_YIN("大运伏吟"),
+
+    /** 大运反吟: 大运与命盘某柱天克地冲 */
+    DA_YUN_FAN_YIN("大运反吟"),
+
+    /** 岁运并临: 流年干支与大运干支相同 */
+    SUI_YUN_BING_LIN("岁运并临"),
+
+    /** 岁运相冲: 流年地支冲大运地支 */
+    SUI_YUN_CLASH("岁运相冲");
+
+    private final String chinese;
+
+    /** 事件位 */
+    public int bit() {
+        return 1 << ordinal();
+    }
+}
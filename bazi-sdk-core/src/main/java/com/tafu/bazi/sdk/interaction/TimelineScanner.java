@@ -0,0 +1,182 @@
+package com.tafu.bazi.sdk.interaction;
+
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.BaziResponseAssembler;
+import com.tafu.bazi.sdk.chart.ChartTables;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 岁运时间线扫描
+ *
+ * <p>构造时对六十甲子逐一计算一次与命盘的作用 ({@link InteractionEngine#against}) 与事件位,
+ * 之后任意年份的流年、大运都只是按六十甲子下标取表。{@link #scan(int, int[], long[], int[])}
+ * 只写调用方提供的数组、循环内无分支与分配, 适合批量任务复用同一批数组
+ *
+ * <p>实例不可变, 线程安全
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class TimelineScanner {
+
+    /** 流年 × 大运事件 [流年][大运] (岁运并临、岁运相冲) */
+    private static final int[][] SUI_YUN_EVENTS = new int[60][60];
+
+    static {
+        for (int l = 0; l < 60; l++) {
+            for (int d = 0; d < 60; d++) {
+                int events = 0;
+                if (l == d) {
+                    events |= TimelineEvent.SUI_YUN_BING_LIN.bit();
+                }
+                if ((InteractionEngine.branchRelations(l % 12, d % 12) & InteractionType.BRANCH_CLASH.bit()) != 0) {
+                    events |= TimelineEvent.SUI_YUN_CLASH.bit();
+                }
+                SUI_YUN_EVENTS[l][d] = events;
+            }
+        }
+    }
+
+    /** 日主天干下标 */
+    private final int dayStem;
+
+    /** 与命盘的作用 (按六十甲子下标) */
+    private final long[] relations = new long[60];
+
+    /** 作为流年的事件位 (按六十甲子下标) */
+    private final int[] liuNianEvents = new int[60];
+
+    /** 作为大运的事件位 (按六十甲子下标) */
+    private final int[] daYunEvents = new int[60];
+
+    /**
+     * @param stems 四柱天干下标
+     * @param branches 四柱地支下标
+     */
+    public TimelineScanner(int[] stems, int[] branches) {
+        if (stems == null || branches == null || stems.length != 4 || branches.length != 4) {
+            throw new IllegalArgumentException("Four stems and four branches are required");
+        }
+        int[] natal = new int[4];
+        for (int p = 0; p < 4; p++) {
+            natal[p] = ChartTables.jiaZiIndex(stems[p], branches[p]);
+            if (natal[p] < 0) {
+                throw new IllegalArgumentException("Invalid pillar at position " + p);
+            }
+        }
+        dayStem = stems[2];
+        int fanYin = InteractionType.STEM_CLASH.bit() | InteractionType.BRANCH_CLASH.bit();
+        for (int j = 0; j < 60; j++) {
+            relations[j] = InteractionEngine.against(stems, branches, j % 10, j % 12);
+
+            boolean fu = false;
+            boolean fan = false;
+            for (int p = 0; p < 4; p++) {
+                fu |= natal[p] == j;
+                fan |= (InteractionEngine.pillarRelations(j, natal[p]) & fanYin) == fanYin;
+            }
+            int taiSui = InteractionEngine.branchRelations(j % 12, branches[0]);
+            int events = 0;
+            if (j % 12 == branches[0]) {
+                events |= TimelineEvent.TAI_SUI_SAME.bit();
+            } else if ((taiSui & InteractionType.BRANCH_PUNISH.bit()) != 0) {
+                events |= TimelineEvent.TAI_SUI_PUNISH.bit();
+            }
+            if ((taiSui & InteractionType.BRANCH_CLASH.bit()) != 0) {
+                events |= TimelineEvent.TAI_SUI_CLASH.bit();
+            }
+            if ((taiSui & InteractionType.BRANCH_HARM.bit()) != 0) {
+                events |= TimelineEvent.TAI_SUI_HARM.bit();
+            }
+            if ((taiSui & InteractionType.BRANCH_BREAK.bit()) != 0) {
+                events |= TimelineEvent.TAI_SUI_BREAK.bit();
+            }
+            liuNianEvents[j] = events
+                | (fu ? TimelineEvent.FU_YIN.bit() : 0)
+                | (fan ? TimelineEvent.FAN_YIN.bit() : 0);
+            daYunEvents[j] = (fu ? TimelineEvent.DA_YUN_FU_YIN.bit() : 0)
+                | (fan ? TimelineEvent.DA_YUN_FAN_YIN.bit() : 0);
+        }
+    }
+
+    /**
+     * 由命盘构造
+     */
+    public static TimelineScanner of(BaziChart chart) {
+        return new TimelineScanner(chart.getStems(), chart.getBranches());
+    }
+
+    /**
+     * 外部柱与命盘的作用, 打包格式同 {@link InteractionEngine#against}
+     *
+     * @param jiaZi 外部柱六十甲子下标
+     */
+    public long relations(int jiaZi) {
+        return relations[jiaZi];
+    }
+
+    /**
+     * 指定流年与大运的事件位
+     *
+     * @param liuNian 流年六十甲子下标
+     * @param daYun 大运六十甲子下标, 起运前为 -1
+     * @return {@link TimelineEvent#bit()} 组成的位掩码
+     */
+    public int events(int liuNian, int daYun) {
+        int events = liuNianEvents[liuNian];
+        return daYun < 0 ? events : events | daYunEvents[daYun] | SUI_YUN_EVENTS[liuNian][daYun];
+    }
+
+    /**
+     * 批量扫描连续年份
+     *
+     * @param startYear 起始公历年份
+     * @param daYun 每年所在大运的六十甲子下标 (起运前为 -1), 长度即扫描年数
+     * @param relationsOut 输出: 每年流年与命盘的作用
+     * @param eventsOut 输出: 每年的事件位
+     */
+    public void scan(int startYear, int[] daYun, long[] relationsOut, int[] eventsOut) {
+        int liuNian = ChartTables.jiaZiOfYear(startYear);
+        for (int i = 0; i < daYun.length; i++) {
+            relationsOut[i] = relations[liuNian];
+            eventsOut[i] = events(liuNian, daYun[i]);
+            liuNian = liuNian == 59 ? 0 : liuNian + 1;
+        }
+    }
+
+    /**
+     * 扫描命盘的全部大运流年 (年份范围同响应中的流年)
+     *
+     * @param chart 命盘 (须与构造时的四柱一致)
+     * @return 时间线
+     */
+    public Timeline scan(BaziChart chart) {
+        List<BaziChart.DaYunStep> steps = chart.getDaYun();
+        if (steps == null || steps.isEmpty()) {
+            return new Timeline(0, dayStem, new int[0], new int[0], new long[0], new long[0], new int[0]);
+        }
+        int first = Math.max(steps.get(0).startYear(), BaziResponseAssembler.MIN_LIU_NIAN_YEAR);
+        int last = Math.min(steps.get(steps.size() - 1).endYear(), BaziResponseAssembler.MAX_LIU_NIAN_YEAR);
+        int size = Math.max(0, last - first + 1);
+
+        int[] daYun = new int[size];
+        Arrays.fill(daYun, -1);
+        for (BaziChart.DaYunStep step : steps) {
+            for (int year = Math.max(step.startYear(), first); year <= Math.min(step.endYear(), last); year++) {
+                daYun[year - first] = step.ganZhi();
+            }
+        }
+        int[] liuNian = new int[size];
+        long[] daYunRelations = new long[size];
+        for (int i = 0; i < size; i++) {
+            liuNian[i] = ChartTables.jiaZiOfYear(first + i);
+            daYunRelations[i] = daYun[i] < 0 ? 0 : relations[daYun[i]];
+        }
+        long[] liuNianRelations = new long[size];
+        int[] events = new int[size];
+        scan(first, daYun, liuNianRelations, events);
+        return new Timeline(first, dayStem, liuNian, daYun, liuNianRelations, daYunRelations, events);
+    }
+}
@@ -0,0 +1,176 @@
+package com.tafu.bazi.sdk.match;
+
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.ChartTables;
+import com.tafu.bazi.sdk.model.BaziDef;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.FiveElementsDTO;
+import com.tafu.bazi.sdk.model.FourPillarsDTO;
+import com.tafu.bazi.sdk.model.PillarDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 合婚用命盘签名: 把合婚需要的命盘特征压进一个 long, 批量匹配时候选命盘只是一个 long[]
+ *
+ * <p>位布局 (低位在前):
+ * <ul>
+ *   <li>0-23: 年、月、日、时柱六十甲子下标, 各 6 位</li>
+ *   <li>24-29: 命宫六十甲子下标</li>
+ *   <li>30-34: 喜用五行掩码; 35-39: 忌讳五行掩码</li>
+ *   <li>40-59: 五行占比, 每个五行 4 位 (占比 × {@link #SHARE_SCALE} 四舍五入)</li>
+ *   <li>60: 是否男命</li>
+ * </ul>
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class ChartSignature {
+
+    /** 五行占比的满值 (五行合计约为此值) */
+    public static final int SHARE_SCALE = 15;
+
+    private static final int MING_GONG_SHIFT = 24;
+    private static final int FAVORABLE_SHIFT = 30;
+    private static final int UNFAVORABLE_SHIFT = 35;
+    private static final int SHARE_SHIFT = 40;
+    private static final int MALE_SHIFT = 60;
+
+    private ChartSignature() {
+    }
+
+    /**
+     * 由命盘编码
+     */
+    public static long of(BaziChart chart) {
+        int[] pillars = new int[4];
+        for (int p = 0; p < 4; p++) {
+            pillars[p] = ChartTables.jiaZiIndex(chart.getStems()[p], chart.getBranches()[p]);
+        }
+        return encode(pillars, chart.getMingGong(), elementMask(chart.getFavorable()),
+            elementMask(chart.getUnfavorable()), chart.getDistribution(), chart.isMale());
+    }
+
+    /**
+     * 由响应编码 (四柱、命宫、五行分析与性别)
+     *
+     * @throws IllegalArgumentException 响应缺少四柱、命宫或五行分析时抛出
+     */
+    public static long of(BaziResponse response) {
+        FourPillarsDTO fourPillars = response.getFourPillars();
+        FiveElementsDTO fiveElements = response.getFiveElements();
+        if (fourPillars == null || fiveElements == null || response.getMingGong() == null) {
+            throw new IllegalArgumentException("Response must contain four pillars, ming gong and five elements");
+        }
+        int[] pillars = {jiaZi(fourPillars.getYear()), jiaZi(fourPillars.getMonth()), jiaZi(fourPillars.getDay()),
+            jiaZi(fourPillars.getHour())};
+        double[] distribution = new double[5];
+        Map<String, Double> shares = fiveElements.getDistribution();
+        for (int e = 0; e < 5; e++) {
+            Double share = shares == null ? null : shares.get(ChartTables.ELEMENT_CODES[e]);
+            distribution[e] = share == null ? 0.0 : share;
+        }
+        return encode(pillars, ChartTables.jiaZiIndex(response.getMingGong()), elementMask(fiveElements.getFavorable()),
+            elementMask(fiveElements.getUnfavorable()), distribution, "male".equals(response.getGender()));
+    }
+
+    /**
+     * 第 p 柱六十甲子下标 (0 年、1 月、2 日、3 时)
+     */
+    public static int pillar(long signature, int p) {
+        return (int) (signature >>> (p * 6)) & 0x3F;
+    }
+
+    /**
+     * 命宫六十甲子下标
+     */
+    public static int mingGong(long signature) {
+        return (int) (signature >>> MING_GONG_SHIFT) & 0x3F;
+    }
+
+    /**
+     * 喜用五行掩码 (第 e 位为五行 e)
+     */
+    public static int favorable(long signature) {
+        return (int) (signature >>> FAVORABLE_SHIFT) & 0x1F;
+    }
+
+    /**
+     * 忌讳五行掩码
+     */
+    public static int unfavorable(long signature) {
+        return (int) (signature >>> UNFAVORABLE_SHIFT) & 0x1F;
+    }
+
+    /**
+     * 五行 e 的占比 (0 ~ {@link #SHARE_SCALE})
+     */
+    public static int share(long signature, int element) {
+        return (int) (signature >>> (SHARE_SHIFT + element * 4)) & 0xF;
+    }
+
+    /**
+     * 是否男命
+     */
+    public static boolean isMale(long signature) {
+        return (signature >>> MALE_SHIFT & 1) != 0;
+    }
+
+    private static long encode(int[] pillars, int mingGong, int favorable, int unfavorable, double[] distribution,
+                               boolean male) {
+        long signature = 0;
+        for (int p = 0; p < 4; p++) {
+            checkJiaZi(pillars[p]);
+            signature |= (long) pillars[p] << (p * 6);
+        }
+        checkJiaZi(mingGong);
+        signature |= (long) mingGong << MING_GONG_SHIFT;
+        signature |= (long) favorable << FAVORABLE_SHIFT;
+        signature |= (long) unfavorable << UNFAVORABLE_SHIFT;
+        double total = 0.0;
+        for (double share : distribution) {
+            total += share;
+        }
+        for (int e = 0; e < 5 && total > 0.0; e++) {
+            long share = Math.round(distribution[e] / total * SHARE_SCALE);
+            signature |= share << (SHARE_SHIFT + e * 4);
+        }
+        return male ? signature | 1L << MALE_SHIFT : signature;
+    }
+
+    private static int jiaZi(PillarDTO pillar) {
+        if (pillar == null || pillar.getHeavenlyStem() == null || pillar.getEarthlyBranch() == null) {
+            throw new IllegalArgumentException("Response must contain four pillars, ming gong and five elements");
+        }
+        return ChartTables.jiaZiIndex(pillar.getHeavenlyStem().getChinese() + pillar.getEarthlyBranch().getChinese());
+    }
+
+    private static void checkJiaZi(int jiaZi) {
+        if (jiaZi < 0 || jiaZi >= 60) {
+            throw new IllegalArgumentException("Invalid pillar in chart");
+        }
+    }
+
+    private static int elementMask(int[] elements) {
+        int mask = 0;
+        for (int element : elements) {
+            mask |= 1 << element;
+        }
+        return mask;
+    }
+
+    private static int elementMask(List<String> codes) {
+        int mask = 0;
+        if (codes != null) {
+            for (String code : codes) {
+                BaziDef.FiveElement element = BaziDef.FiveElement.fromCode(code);
+                if (element == null) {
+                    throw new IllegalArgumentException("Unknown five element: " + code);
+                }
+                mask |= 1 << element.ordinal();
+            }
+        }
+        return mask;
+    }
+}
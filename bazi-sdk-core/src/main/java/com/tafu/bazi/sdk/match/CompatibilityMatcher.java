@@ -0,0 +1,331 @@
+package com.tafu.bazi.sdk.match;
+
+import com.tafu.bazi.sdk.chart.ChartTables;
+import com.tafu.bazi.sdk.chart.TenGod;
+import com.tafu.bazi.sdk.interaction.InteractionEngine;
+import com.tafu.bazi.sdk.interaction.InteractionType;
+import com.tafu.bazi.sdk.model.CompatibilityDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 合婚评分: 一个命盘 (甲方) 对一个或大量候选命盘 (乙方) 打分
+ *
+ * <p>评分项 (见 {@link CompatibilityDTO}): 日主互为的十神 ({@link ChartTables#TEN_GOD}) 与天干合冲、
+ * 夫妻宫 (日支) 与生肖 (年支) 的合冲刑害、命宫地支的合冲、五行互补 (一方占比高的五行是否为另一方的喜用)。
+ * 评分对甲乙双方对称
+ *
+ * <p>构造时按甲方命盘把各项预先算成以乙方天干 / 地支 / 喜忌掩码为下标的表, 对每个候选只做查表与五次
+ * 占比累加, 不分配对象; 候选以 {@link ChartSignature} 编码的 long[] 给出。{@link #topK} 在候选数达到
+ * {@link #PARALLEL_THRESHOLD} 时分块并行, 每块用定长的最小堆保留前 k 个
+ *
+ * <p>实例不可变, 线程安全
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class CompatibilityMatcher {
+
+    /** 基准分 */
+    public static final int BASE_SCORE = 50;
+
+    /** 并行匹配的最小候选数 */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** 并行匹配的分块大小 */
+    private static final int CHUNK_SIZE = 1 << 15;
+
+    /** 日干视对方日干的十神得分 (按十神下标) */
+    private static final int[] TEN_GOD_SCORES = new int[10];
+
+    static {
+        TEN_GOD_SCORES[TenGod.BI_JIAN.ordinal()] = 2;
+        TEN_GOD_SCORES[TenGod.JIE_CAI.ordinal()] = -4;
+        TEN_GOD_SCORES[TenGod.SHI_SHEN.ordinal()] = 4;
+        TEN_GOD_SCORES[TenGod.SHANG_GUAN.ordinal()] = -4;
+        TEN_GOD_SCORES[TenGod.PIAN_CAI.ordinal()] = 2;
+        TEN_GOD_SCORES[TenGod.ZHENG_CAI.ordinal()] = 6;
+        TEN_GOD_SCORES[TenGod.QI_SHA.ordinal()] = -4;
+        TEN_GOD_SCORES[TenGod.ZHENG_GUAN.ordinal()] = 6;
+        TEN_GOD_SCORES[TenGod.PIAN_YIN.ordinal()] = 0;
+        TEN_GOD_SCORES[TenGod.ZHENG_YIN.ordinal()] = 4;
+    }
+
+    /** 日干五合、相冲得分 */
+    private static final int STEM_COMBINE_SCORE = 10;
+    private static final int STEM_CLASH_SCORE = -4;
+
+    /** 甲方签名 */
+    private final long self;
+
+    /** 甲方五行占比 */
+    private final int[] shares = new int[5];
+
+    /** 甲方五行喜忌权重: 喜用 +1, 忌讳 -1 */
+    private final int[] weights = new int[5];
+
+    /** 日主关系得分 (按乙方日干) */
+    private final int[] dayMasterScores = new int[10];
+
+    /** 夫妻宫得分 (按乙方日支) */
+    private final int[] spousePalaceScores = new int[12];
+
+    /** 生肖得分 (按乙方年支) */
+    private final int[] zodiacScores = new int[12];
+
+    /** 命宫得分 (按乙方命宫地支) */
+    private final int[] palaceScores = new int[12];
+
+    /** 乙方喜忌与甲方占比的互补值 (按乙方 忌讳掩码 × 32 + 喜用掩码, 即签名第 30-39 位) */
+    private final int[] reverseComplements = new int[32 * 32];
+
+    /**
+     * @param self 甲方命盘签名 ({@link ChartSignature})
+     */
+    public CompatibilityMatcher(long self) {
+        this.self = self;
+        int favorable = ChartSignature.favorable(self);
+        int unfavorable = ChartSignature.unfavorable(self);
+        for (int e = 0; e < 5; e++) {
+            shares[e] = ChartSignature.share(self, e);
+            weights[e] = ((favorable >>> e) & 1) - ((unfavorable >>> e) & 1);
+        }
+        int dayStem = ChartSignature.pillar(self, 2) % 10;
+        for (int stem = 0; stem < 10; stem++) {
+            int relations = InteractionEngine.stemRelations(dayStem, stem);
+            dayMasterScores[stem] = TEN_GOD_SCORES[ChartTables.TEN_GOD[dayStem][stem]]
+                + TEN_GOD_SCORES[ChartTables.TEN_GOD[stem][dayStem]]
+                + (has(relations, InteractionType.STEM_COMBINE) ? STEM_COMBINE_SCORE : 0)
+                + (has(relations, InteractionType.STEM_CLASH) ? STEM_CLASH_SCORE : 0);
+        }
+        int dayBranch = ChartSignature.pillar(self, 2) % 12;
+        int yearBranch = ChartSignature.pillar(self, 0) % 12;
+        int palaceBranch = ChartSignature.mingGong(self) % 12;
+        for (int branch = 0; branch < 12; branch++) {
+            spousePalaceScores[branch] = branchScore(InteractionEngine.branchRelations(dayBranch, branch),
+                12, 6, -12, -6, -6, -3);
+            zodiacScores[branch] = branchScore(InteractionEngine.branchRelations(yearBranch, branch),
+                4, 4, -6, -2, -4, 0);
+            palaceScores[branch] = branchScore(InteractionEngine.branchRelations(palaceBranch, branch),
+                4, 4, -4, 0, 0, 0);
+        }
+        for (int masks = 0; masks < 32 * 32; masks++) {
+            int complement = 0;
+            for (int e = 0; e < 5; e++) {
+                complement += (((masks >>> e) & 1) - ((masks >>> 5 >>> e) & 1)) * shares[e];
+            }
+            reverseComplements[masks] = complement;
+        }
+    }
+
+    /**
+     * 单对评分
+     *
+     * @param a 甲方签名
+     * @param b 乙方签名
+     * @return 总分 (0-100)
+     */
+    public static int score(long a, long b) {
+        return new CompatibilityMatcher(a).score(b);
+    }
+
+    /**
+     * 与候选的总分 (0-100)
+     *
+     * @param other 乙方签名
+     */
+    public int score(long other) {
+        int score = BASE_SCORE
+            + dayMasterScores[ChartSignature.pillar(other, 2) % 10]
+            + spousePalaceScores[ChartSignature.pillar(other, 2) % 12]
+            + zodiacScores[ChartSignature.pillar(other, 0) % 12]
+            + palaceScores[ChartSignature.mingGong(other) % 12]
+            + elementScore(other);
+        return Math.max(0, Math.min(100, score));
+    }
+
+    /**
+     * 与候选的评分明细
+     *
+     * @param other 乙方签名
+     */
+    public CompatibilityDTO explain(long other) {
+        int dayStem = ChartSignature.pillar(self, 2) % 10;
+        int otherStem = ChartSignature.pillar(other, 2) % 10;
+        return CompatibilityDTO.builder()
+            .totalScore(score(other))
+            .dayMasterScore(dayMasterScores[otherStem])
+            .spousePalaceScore(spousePalaceScores[ChartSignature.pillar(other, 2) % 12])
+            .zodiacScore(zodiacScores[ChartSignature.pillar(other, 0) % 12])
+            .elementScore(elementScore(other))
+            .palaceScore(palaceScores[ChartSignature.mingGong(other) % 12])
+            .tenGod(TenGod.of(ChartTables.TEN_GOD[dayStem][otherStem]).getChinese())
+            .reverseTenGod(TenGod.of(ChartTables.TEN_GOD[otherStem][dayStem]).getChinese())
+            .build();
+    }
+
+    /**
+     * 批量评分
+     *
+     * @param candidates 候选签名
+     * @param from 起始下标 (含)
+     * @param to 结束下标 (不含)
+     * @param out 输出总分, 从 offset 起写 to - from 个
+     * @param offset 输出起始下标
+     */
+    public void scoreAll(long[] candidates, int from, int to, byte[] out, int offset) {
+        for (int i = from; i < to; i++) {
+            out[offset++] = (byte) score(candidates[i]);
+        }
+    }
+
+    /**
+     * 得分最高的 k 个候选 (同分时下标小者在前)
+     *
+     * @param candidates 候选签名
+     * @param k 个数
+     * @param oppositeGender 是否只匹配异性
+     * @return 按总分从高到低排序
+     * @throws IllegalArgumentException 候选为空或 k 小于 1 时抛出
+     */
+    public List<Match> topK(long[] candidates, int k, boolean oppositeGender) {
+        if (candidates == null || k < 1) {
+            throw new IllegalArgumentException("Candidates cannot be null and k must be positive");
+        }
+        if (candidates.length == 0) {
+            return List.of();
+        }
+        long[] heap;
+        if (candidates.length < PARALLEL_THRESHOLD) {
+            heap = select(candidates, 0, candidates.length, k, oppositeGender);
+        } else {
+            int chunks = (candidates.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            heap = IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> select(candidates, chunk * CHUNK_SIZE,
+                    Math.min(candidates.length, (chunk + 1) * CHUNK_SIZE), k, oppositeGender))
+                .reduce((left, right) -> merge(left, right, k))
+                .orElseThrow();
+        }
+        long[] sorted = Arrays.copyOf(heap, heap.length);
+        Arrays.sort(sorted);
+        List<Match> matches = new ArrayList<>(sorted.length);
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            matches.add(new Match(Integer.MAX_VALUE - (int) sorted[i], (int) (sorted[i] >>> 32)));
+        }
+        return matches;
+    }
+
+    /**
+     * 匹配结果
+     *
+     * @param index 候选下标
+     * @param score 总分
+     */
+    public record Match(int index, int score) {
+    }
+
+    /**
+     * [from, to) 中前 k 个的最小堆, 元素为 总分 << 32 | (MAX - 下标), 越大越靠前
+     */
+    private long[] select(long[] candidates, int from, int to, int k, boolean oppositeGender) {
+        boolean male = ChartSignature.isMale(self);
+        long[] heap = new long[Math.min(k, to - from)];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            long candidate = candidates[i];
+            if (oppositeGender && ChartSignature.isMale(candidate) == male) {
+                continue;
+            }
+            long entry = (long) score(candidate) << 32 | (Integer.MAX_VALUE - i);
+            if (size < heap.length) {
+                heap[size] = entry;
+                siftUp(heap, size++);
+            } else if (entry > heap[0]) {
+                heap[0] = entry;
+                siftDown(heap, size);
+            }
+        }
+        return size == heap.length ? heap : Arrays.copyOf(heap, size);
+    }
+
+    private static long[] merge(long[] left, long[] right, int k) {
+        long[] heap = Arrays.copyOf(left, Math.min(k, left.length + right.length));
+        int size = left.length;
+        for (long entry : right) {
+            if (size < heap.length) {
+                heap[size] = entry;
+                siftUp(heap, size++);
+            } else if (entry > heap[0]) {
+                heap[0] = entry;
+                siftDown(heap, size);
+            }
+        }
+        return heap;
+    }
+
+    private static void siftUp(long[] heap, int i) {
+        long entry = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= entry) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = entry;
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        long entry = heap[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= entry) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = entry;
+    }
+
+    /**
+     * 五行互补得分: (乙方占比对甲方喜忌 + 甲方占比对乙方喜忌) / 2
+     */
+    private int elementScore(long other) {
+        int complement = reverseComplements[(int) (other >>> 30) & 0x3FF];
+        for (int e = 0; e < 5; e++) {
+            complement += weights[e] * ChartSignature.share(other, e);
+        }
+        return complement / 2;
+    }
+
+    /**
+     * 地支关系得分, 各项可叠加
+     */
+    private static int branchScore(int relations, int combine, int harmony, int clash, int punish, int harm,
+                                   int broken) {
+        int score = 0;
+        score += has(relations, InteractionType.BRANCH_COMBINE) ? combine : 0;
+        score += has(relations, InteractionType.HALF_HARMONY) ? harmony : 0;
+        score += has(relations, InteractionType.BRANCH_CLASH) ? clash : 0;
+        score += has(relations, InteractionType.BRANCH_PUNISH) ? punish : 0;
+        score += has(relations, InteractionType.BRANCH_HARM) ? harm : 0;
+        score += has(relations, InteractionType.BRANCH_BREAK) ? broken : 0;
+        return score;
+    }
+
+    private static boolean has(int relations, InteractionType type) {
+        return (relations & type.bit()) != 0;
+    }
+}
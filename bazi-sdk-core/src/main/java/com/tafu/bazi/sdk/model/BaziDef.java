@@ -378,6 +378,114 @@ public class BaziDef {
     /** 特殊格局(从格、化格等) */
     public static final String PATTERN_CATEGORY_SPECIAL = "special";
 
+    /** 日干禄位 (建禄格) */
+    public static final Map<String, String> LU_BRANCH = Map.of(
+        "甲", "寅", "乙", "卯", "丙", "巳", "丁", "午",
+        "戊", "巳", "己", "午", "庚", "申", "辛", "酉",
+        "壬", "亥", "癸", "子"
+    );
+
+    /** 日干羊刃 (羊刃格) */
+    public static final Map<String, String> REN_BRANCH = Map.of(
+        "甲", "卯", "乙", "寅", "丙", "午", "丁", "巳",
+        "戊", "午", "己", "巳", "庚", "酉", "辛", "申",
+        "壬", "子", "癸", "亥"
+    );
+
+    /** 专旺格名称 (按日主五行) */
+    public static final Map<FiveElement, String> ZHUAN_WANG_PATTERNS = Map.of(
+        FiveElement.WOOD, "曲直格",
+        FiveElement.FIRE, "炎上格",
+        FiveElement.EARTH, "稼穑格",
+        FiveElement.METAL, "从革格",
+        FiveElement.WATER, "润下格"
+    );
+
+    /** 正格名称 (按月令藏干十神) */
+    public static final Map<String, String> TEN_GOD_PATTERNS = Map.of(
+        "正官", "正官格",
+        "七杀", "七杀格",
+        "正财", "正财格",
+        "偏财", "偏财格",
+        "正印", "正印格",
+        "偏印", "偏印格",
+        "食神", "食神格",
+        "伤官", "伤官格"
+    );
+
+    /** 格局描述 (格局名称 -> 描述, 顺序固定, 只可追加) */
+    public static final Map<String, String> PATTERN_DESCRIPTIONS = new LinkedHashMap<>() {{
+        put("建禄格", "月支为日主之禄，主身旺有根，宜见财官食伤");
+        put("羊刃格", "月支为日主之刃，主身强刚烈，宜见官杀制刃");
+        put("从财格", "日主极弱而财星极旺，弃命从财，宜顺从财势");
+        put("从官格", "日主极弱而官杀极旺，弃命从官，宜顺从官势");
+        put("从儿格", "日主极弱而食伤极旺，弃命从儿，宜顺从食伤之势");
+        put("曲直格", "木气专旺成局，主仁慈正直，宜水木运");
+        put("炎上格", "火气炎上成局，主热情礼仪，宜木火运");
+        put("稼穑格", "土气稼穑成局，主忠厚信实，宜火土运");
+        put("从革格", "金气从革成局，主刚毅果决，宜土金运");
+        put("润下格", "水气润下成局，主聪慧灵活，宜金水运");
+        put("正官格", "月令透正官，主贵气端正，宜见财印相生");
+        put("七杀格", "月令透七杀，主威严果决，宜见食伤制杀或印化杀");
+        put("正财格", "月令透正财，主务实勤俭，宜见官杀护财");
+        put("偏财格", "月令透偏财，主豪爽大方，宜见官杀护财");
+        put("正印格", "月令透正印，主聪慧仁厚，宜见官杀生印");
+        put("偏印格", "月令透偏印，主机敏多思，宜见财星制印");
+        put("食神格", "月令透食神，主温和福厚，宜见财星泄秀");
+        put("伤官格", "月令透伤官，主聪明傲气，宜见财星或印星");
+        put("杂格", "月令无明显成格条件，需综合分析八字整体格局");
+    }};
+
+    // ========== 日主特征 ==========
+
+    /** 日主特征描述表 (简化版) */
+    public static final Map<String, List<String>> DAY_MASTER_CHARACTERISTICS = new HashMap<>() {{
+        put("甲", List.of("仁慈正直", "进取心强", "有领导才能", "性格直率"));
+        put("乙", List.of("温和体贴", "灵活变通", "艺术才华", "优柔寡断"));
+        put("丙", List.of("热情开朗", "积极向上", "富有激情", "易冲动"));
+        put("丁", List.of("细腻敏感", "思维敏捷", "重视精神", "情绪波动"));
+        put("戊", List.of("稳重踏实", "包容性强", "诚信可靠", "固执保守"));
+        put("己", List.of("细心谨慎", "善于理财", "内敛含蓄", "多虑"));
+        put("庚", List.of("刚毅果断", "执行力强", "讲究原则", "不够圆滑"));
+        put("辛", List.of("细致精巧", "品味高雅", "自尊心强", "敏感脆弱"));
+        put("壬", List.of("智慧聪明", "应变能力强", "善于交际", "缺乏恒心"));
+        put("癸", List.of("柔和内敛", "直觉敏锐", "富有同情心", "容易悲观"));
+    }};
+
+    /** 日主特征缺省值 */
+    public static final List<String> DAY_MASTER_CHARACTERISTICS_DEFAULT = List.of("日主特征待完善");
+
+    // ========== 纳音与生肖 ==========
+
+    /** 纳音对照表 (按60甲子序号) */
+    public static final String[] NA_YIN = {
+        "海中金", "炉中火", "大林木", "路旁土", "剑锋金", "山头火", "涧下水", "城头土", "白蜡金", "杨柳木",
+        "泉中水", "屋上土", "霹雳火", "松柏木", "长流水", "沙中金", "山下火", "平地木", "壁上土", "金箔金",
+        "覆灯火", "天河水", "大驿土", "钗钏金", "桑柘木", "大溪水", "沙中土", "天上火", "石榴木", "大海水",
+        "海中金", "炉中火", "大林木", "路旁土", "剑锋金", "山头火", "涧下水", "城头土", "白蜡金", "杨柳木",
+        "泉中水", "屋上土", "霹雳火", "松柏木", "长流水", "沙中金", "山下火", "平地木", "壁上土", "金箔金",
+        "覆灯火", "天河水", "大驿土", "钗钏金", "桑柘木", "大溪水", "沙中土", "天上火", "石榴木", "大海水"
+    };
+
+    /** 生肖 (按地支顺序) */
+    public static final String[] SHENG_XIAO = {
+        "鼠", "牛", "虎", "兔", "龙", "蛇", "马", "羊", "猴", "鸡", "狗", "猪"
+    };
+
+    // ========== 十二长生 ==========
+
+    /** 十二长生 (顺序固定, 只可追加) */
+    public static final String[] CHANG_SHENG = {
+        "长生", "沐浴", "冠带", "临官", "帝旺", "衰", "病", "死", "墓", "绝", "胎", "养"
+    };
+
+    /** 天干长生地支 (阳干顺行、阴干逆行; 戊随丙、己随丁) */
+    public static final Map<String, String> CHANG_SHENG_BRANCH = Map.of(
+        "甲", "亥", "乙", "午", "丙", "寅", "丁", "酉",
+        "戊", "寅", "己", "酉", "庚", "巳", "辛", "子",
+        "壬", "申", "癸", "卯"
+    );
+
     // ========== 神煞常量 (预留扩展) ==========
     
     /** 桃花 */
@@ -396,6 +504,21 @@ public class BaziDef {
         "亥卯未", "巳"
     );
 
+    /** 天乙贵人 (按日干: 甲戊庚牛羊, 乙己鼠猴乡, 丙丁猪鸡位, 壬癸兔蛇藏, 六辛逢马虎) */
+    public static final Map<String, String> TIAN_YI_GUI_REN = Map.of(
+        "甲", "丑未", "戊", "丑未", "庚", "丑未",
+        "乙", "子申", "己", "子申",
+        "丙", "亥酉", "丁", "亥酉",
+        "壬", "卯巳", "癸", "卯巳",
+        "辛", "寅午"
+    );
+
+    /** 文昌 (按日干) */
+    public static final Map<String, String> WEN_CHANG = Map.of(
+        "甲", "巳", "乙", "午", "丙", "申", "丁", "酉", "戊", "申",
+        "己", "酉", "庚", "亥", "辛", "子", "壬", "寅", "癸", "卯"
+    );
+
     // ========== 工具方法 ==========
     
     /**
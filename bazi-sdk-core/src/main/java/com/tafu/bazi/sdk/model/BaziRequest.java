@@ -16,7 +16,7 @@ import lombok.NoArgsConstructor;
  * @since 2026-01-27
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class BaziRequest {
@@ -121,4 +121,12 @@ public class BaziRequest {
    * <p>范围: -90.0 ~ 90.0 (北纬为正,南纬为负)
    */
   private Double latitude;
+
+  /**
+   * 计分模型名称
+   *
+   * <p>须为计算器 {@link com.tafu.bazi.sdk.chart.ScoringModelRegistry} 中已注册的名称,
+   * 内置 "classic" | "life-stage"; 不提供时使用计算器的默认模型
+   */
+  private String scoringModel;
 }
@@ -0,0 +1,55 @@
+package com.tafu.bazi.sdk.model;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 出生时间不确定时的起盘请求: 公历时间区间, 可选经度范围
+ *
+ * <p>如 "下午三到五点之间, 大概在江浙一带" 对应 15:00 ~ 17:00 与东经 118 ~ 122 度
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ * @since 2026-01-27
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BirthWindowRequest {
+
+  /** 区间起始 (含, 公历北京时间, 精确到分钟) */
+  @NotNull(message = "起始时间不能为空")
+  private LocalDateTime start;
+
+  /** 区间结束 (不含), 区间不超过 31 天 */
+  @NotNull(message = "结束时间不能为空")
+  private LocalDateTime end;
+
+  /**
+   * 最西经度 (西经为负)
+   *
+   * <p>与 {@link #maxLongitude} 同时为空时不做真太阳时修正; 两者相同时为单一经度
+   */
+  @DecimalMin(value = "-180.0", message = "经度必须在-180到180之间")
+  @DecimalMax(value = "180.0", message = "经度必须在-180到180之间")
+  private Double minLongitude;
+
+  /** 最东经度 */
+  @DecimalMin(value = "-180.0", message = "经度必须在-180到180之间")
+  @DecimalMax(value = "180.0", message = "经度必须在-180到180之间")
+  private Double maxLongitude;
+
+  /** 性别: male | female */
+  @NotNull(message = "性别不能为空")
+  @Pattern(regexp = "^(male|female)$", message = "性别必须是 male 或 female")
+  private String gender;
+
+  /** 计分模型名称 (可选, 同 {@link BaziRequest#getScoringModel()}) */
+  private String scoringModel;
+}
@@ -0,0 +1,44 @@
+package com.tafu.bazi.sdk.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 合婚评分明细
+ *
+ * <p>总分 = 基准分 + 各项得分, 限制在 0-100
+ *
+ * @author Tafu Team
+ * @since 2026-01-27
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompatibilityDTO {
+  /** 总分 (0-100) */
+  private int totalScore;
+
+  /** 日主关系得分 (双方日干互为的十神, 天干五合、相冲) */
+  private int dayMasterScore;
+
+  /** 夫妻宫得分 (双方日支的合冲刑害破) */
+  private int spousePalaceScore;
+
+  /** 生肖得分 (双方年支的合冲刑害) */
+  private int zodiacScore;
+
+  /** 五行互补得分 (一方的旺五行是否为另一方的喜用) */
+  private int elementScore;
+
+  /** 命宫得分 (双方命宫地支的合冲) */
+  private int palaceScore;
+
+  /** 甲方视乙方日干的十神 (如 "正财") */
+  private String tenGod;
+
+  /** 乙方视甲方日干的十神 */
+  private String reverseTenGod;
+}
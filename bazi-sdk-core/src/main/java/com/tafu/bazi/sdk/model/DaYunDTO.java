@@ -43,4 +43,7 @@ public class DaYunDTO {
 
   /** 流年列表 */
   private List<LiuNianDTO> liuNian;
+
+  /** 日主在大运地支的十二长生 (运前为空字符串) */
+  private String lifeStage;
 }
@@ -0,0 +1,36 @@
+package com.tafu.bazi.sdk.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 未知时辰模式中某一时辰的命盘
+ *
+ * <p>出生日期内 [startHour, endHour] 各整点起出的命盘相同 (公历时间除外);
+ * 节令交接不在整点时, 交接所在时辰的后一项从交接后的第一分钟 (startMinute) 开始
+ *
+ * @author Tafu Team
+ * @since 2026-01-27
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HourChartDTO {
+  /** 起始小时 (含) */
+  private int startHour;
+
+  /** 起始分钟, 节令交接在时辰内时为交接后的第一分钟, 其余为 0 */
+  private int startMinute;
+
+  /** 结束小时 (含) */
+  private int endHour;
+
+  /** 时柱干支 (如 "甲子") */
+  private String hourPillar;
+
+  /** 命盘, 公历时间为起始小时的起始分钟 */
+  private BaziResponse response;
+}
@@ -34,4 +34,7 @@ public class PillarDTO {
 
   /** 十神 (相对日主) */
   private String tenGod;
+
+  /** 日主在本柱地支的十二长生 (如 "帝旺") */
+  private String lifeStage;
 }
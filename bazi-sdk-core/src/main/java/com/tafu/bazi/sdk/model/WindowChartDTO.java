@@ -0,0 +1,29 @@
+package com.tafu.bazi.sdk.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 出生时间区间内的一种命盘 (四柱) 及起出该命盘的全部时段
+ *
+ * @author Tafu Team
+ * @since 2026-01-27
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WindowChartDTO {
+  /** 四柱干支 (如 "甲辰 丙寅 戊戌 庚申") */
+  private String pillars;
+
+  /** 起出该命盘的时段, 按起始时间排序 */
+  private List<WindowSegmentDTO> segments;
+
+  /** 命盘, 按最早时段的起始时间 (与该时段经度范围中点) 起盘 */
+  private BaziResponse response;
+}
@@ -0,0 +1,35 @@
+package com.tafu.bazi.sdk.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 出生时间区间中起出同一命盘的一段: 时间 [start, end) × 经度 [minLongitude, maxLongitude)
+ *
+ * @author Tafu Team
+ * @since 2026-01-27
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WindowSegmentDTO {
+  /** 起始时间 (含, 北京时间) */
+  private LocalDateTime start;
+
+  /** 结束时间 (不含) */
+  private LocalDateTime end;
+
+  /** 经度下限 (含), 不做真太阳时修正时为空 */
+  private Double minLongitude;
+
+  /** 经度上限 (不含, 为请求的最东经度时含), 不做真太阳时修正时为空 */
+  private Double maxLongitude;
+
+  /** 真太阳时修正 (分钟), 真太阳时 = 北京时间 + 修正 */
+  private int solarOffsetMinutes;
+}
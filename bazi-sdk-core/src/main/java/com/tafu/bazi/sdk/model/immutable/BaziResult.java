@@ -0,0 +1,109 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.BaziResponse;
+import java.util.List;
+
+/**
+ * 八字计算结果 (不可变), JSON 结构与 {@link BaziResponse} 完全一致
+ *
+ * <p>全部嵌套对象均为 record, 列表与 Map 为只读副本 (Map 保持原迭代顺序), 可在线程间、
+ * 缓存条目间直接共享而无需防御性拷贝
+ *
+ * @param gender 性别: "male" | "female"
+ * @param solarDate 公历日期时间 (格式: "1990-06-15 14:30:00")
+ * @param lunarDate 农历日期描述 (格式: "庚午年 壬午月 廿三 未时")
+ * @param trueSolarTime 真太阳时信息 (如果提供了 longitude)
+ * @param fourPillars 四柱
+ * @param dayMaster 日主强弱分析
+ * @param fiveElements 五行统计分析
+ * @param tenGods 十神分析
+ * @param pattern 格局判断
+ * @param yun 大运流年信息
+ * @param shenSha 神煞信息
+ * @param shengXiao 生肖 (如 "马")
+ * @param taiYuan 胎元 (如 "癸酉")
+ * @param mingGong 命宫 (如 "甲戌")
+ * @param shenGong 身宫 (如 "丙子")
+ * @param xunKong 空亡 (如 "辰巳")
+ * @param dayMasterCharacteristics 日主特征描述列表
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record BaziResult(
+    String gender,
+    String solarDate,
+    String lunarDate,
+    TrueSolarTime trueSolarTime,
+    FourPillars fourPillars,
+    DayMaster dayMaster,
+    FiveElements fiveElements,
+    TenGods tenGods,
+    Pattern pattern,
+    YunInfo yun,
+    ShenSha shenSha,
+    String shengXiao,
+    String taiYuan,
+    String mingGong,
+    String shenGong,
+    String xunKong,
+    List<String> dayMasterCharacteristics) {
+
+  public BaziResult {
+    dayMasterCharacteristics = Immutables.list(dayMasterCharacteristics);
+  }
+
+  /**
+   * 由 {@link BaziResponse} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static BaziResult from(BaziResponse dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new BaziResult(
+        dto.getGender(),
+        dto.getSolarDate(),
+        dto.getLunarDate(),
+        TrueSolarTime.from(dto.getTrueSolarTime()),
+        FourPillars.from(dto.getFourPillars()),
+        DayMaster.from(dto.getDayMaster()),
+        FiveElements.from(dto.getFiveElements()),
+        TenGods.from(dto.getTenGods()),
+        Pattern.from(dto.getPattern()),
+        YunInfo.from(dto.getYun()),
+        ShenSha.from(dto.getShenSha()),
+        dto.getShengXiao(),
+        dto.getTaiYuan(),
+        dto.getMingGong(),
+        dto.getShenGong(),
+        dto.getXunKong(),
+        dto.getDayMasterCharacteristics());
+  }
+
+  /**
+   * 转换为可变的 {@link BaziResponse} (集合为新的可变副本)
+   */
+  public BaziResponse toResponse() {
+    return BaziResponse.builder()
+        .gender(gender)
+        .solarDate(solarDate)
+        .lunarDate(lunarDate)
+        .trueSolarTime(trueSolarTime == null ? null : trueSolarTime.toDto())
+        .fourPillars(fourPillars == null ? null : fourPillars.toDto())
+        .dayMaster(dayMaster == null ? null : dayMaster.toDto())
+        .fiveElements(fiveElements == null ? null : fiveElements.toDto())
+        .tenGods(tenGods == null ? null : tenGods.toDto())
+        .pattern(pattern == null ? null : pattern.toDto())
+        .yun(yun == null ? null : yun.toDto())
+        .shenSha(shenSha == null ? null : shenSha.toDto())
+        .shengXiao(shengXiao)
+        .taiYuan(taiYuan)
+        .mingGong(mingGong)
+        .shenGong(shenGong)
+        .xunKong(xunKong)
+        .dayMasterCharacteristics(Immutables.mutableList(dayMasterCharacteristics))
+        .build();
+  }
+}
@@ -0,0 +1,78 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.DaYunDTO;
+import java.util.List;
+
+/**
+ * 大运 (不可变), 对应 {@link DaYunDTO}
+ *
+ * @param index 大运序号 (0-9)
+ * @param startAge 起始年龄
+ * @param endAge 结束年龄
+ * @param ganZhi 干支 (如 "癸未")
+ * @param gan 天干
+ * @param zhi 地支
+ * @param startYear 起始年份
+ * @param endYear 结束年份
+ * @param liuNian 流年列表
+ * @param lifeStage 日主在大运地支的十二长生 (运前为空字符串)
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record DaYun(
+    int index,
+    int startAge,
+    int endAge,
+    String ganZhi,
+    String gan,
+    String zhi,
+    int startYear,
+    int endYear,
+    List<LiuNian> liuNian,
+    String lifeStage) {
+
+  public DaYun {
+    liuNian = Immutables.list(liuNian);
+  }
+
+  /**
+   * 由 {@link DaYunDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static DaYun from(DaYunDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new DaYun(
+        dto.getIndex(),
+        dto.getStartAge(),
+        dto.getEndAge(),
+        dto.getGanZhi(),
+        dto.getGan(),
+        dto.getZhi(),
+        dto.getStartYear(),
+        dto.getEndYear(),
+        Immutables.mapElements(dto.getLiuNian(), LiuNian::from),
+        dto.getLifeStage());
+  }
+
+  /**
+   * 转换为可变的 {@link DaYunDTO} (集合为新的可变副本)
+   */
+  public DaYunDTO toDto() {
+    return DaYunDTO.builder()
+        .index(index)
+        .startAge(startAge)
+        .endAge(endAge)
+        .ganZhi(ganZhi)
+        .gan(gan)
+        .zhi(zhi)
+        .startYear(startYear)
+        .endYear(endYear)
+        .liuNian(Immutables.mapElements(liuNian, LiuNian::toDto))
+        .lifeStage(lifeStage)
+        .build();
+  }
+}
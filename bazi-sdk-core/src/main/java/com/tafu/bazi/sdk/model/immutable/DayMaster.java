@@ -0,0 +1,45 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.DayMasterDTO;
+
+/**
+ * 日主 (不可变), 对应 {@link DayMasterDTO}
+ *
+ * @param gan 日主天干 (如 "甲")
+ * @param strength 强弱: "weak" | "balanced" | "strong"
+ * @param analysis 详细分析
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record DayMaster(
+    String gan,
+    String strength,
+    DayMasterAnalysis analysis) {
+
+  /**
+   * 由 {@link DayMasterDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static DayMaster from(DayMasterDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new DayMaster(
+        dto.getGan(),
+        dto.getStrength(),
+        DayMasterAnalysis.from(dto.getAnalysis()));
+  }
+
+  /**
+   * 转换为可变的 {@link DayMasterDTO} (集合为新的可变副本)
+   */
+  public DayMasterDTO toDto() {
+    return DayMasterDTO.builder()
+        .gan(gan)
+        .strength(strength)
+        .analysis(analysis == null ? null : analysis.toDto())
+        .build();
+  }
+}
@@ -0,0 +1,61 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.DayMasterAnalysisDTO;
+
+/**
+ * 日主强弱详细分析 (不可变), 对应 {@link DayMasterAnalysisDTO}
+ *
+ * @param deLing 得令分数 (-20 ~ 40)
+ * @param deLingDesc 得令描述
+ * @param deDi 得地分数 (0 ~ 30)
+ * @param deDiDesc 得地描述
+ * @param tianGanHelp 天干帮扶 (-20 ~ 20)
+ * @param tianGanHelpDesc 帮扶描述
+ * @param totalScore 总分 (0 ~ 100)
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record DayMasterAnalysis(
+    double deLing,
+    String deLingDesc,
+    double deDi,
+    String deDiDesc,
+    double tianGanHelp,
+    String tianGanHelpDesc,
+    double totalScore) {
+
+  /**
+   * 由 {@link DayMasterAnalysisDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static DayMasterAnalysis from(DayMasterAnalysisDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new DayMasterAnalysis(
+        dto.getDeLing(),
+        dto.getDeLingDesc(),
+        dto.getDeDi(),
+        dto.getDeDiDesc(),
+        dto.getTianGanHelp(),
+        dto.getTianGanHelpDesc(),
+        dto.getTotalScore());
+  }
+
+  /**
+   * 转换为可变的 {@link DayMasterAnalysisDTO}
+   */
+  public DayMasterAnalysisDTO toDto() {
+    return DayMasterAnalysisDTO.builder()
+        .deLing(deLing)
+        .deLingDesc(deLingDesc)
+        .deDi(deDi)
+        .deDiDesc(deDiDesc)
+        .tianGanHelp(tianGanHelp)
+        .tianGanHelpDesc(tianGanHelpDesc)
+        .totalScore(totalScore)
+        .build();
+  }
+}
@@ -0,0 +1,41 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.EarthlyBranchDTO;
+
+/**
+ * 地支 (不可变), 对应 {@link EarthlyBranchDTO}
+ *
+ * @param chinese 中文名 (如 "子")
+ * @param element 五行 (wood/fire/earth/metal/water)
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record EarthlyBranch(
+    String chinese,
+    String element) {
+
+  /**
+   * 由 {@link EarthlyBranchDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static EarthlyBranch from(EarthlyBranchDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new EarthlyBranch(
+        dto.getChinese(),
+        dto.getElement());
+  }
+
+  /**
+   * 转换为可变的 {@link EarthlyBranchDTO}
+   */
+  public EarthlyBranchDTO toDto() {
+    return EarthlyBranchDTO.builder()
+        .chinese(chinese)
+        .element(element)
+        .build();
+  }
+}
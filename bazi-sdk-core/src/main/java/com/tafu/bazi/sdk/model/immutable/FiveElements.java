@@ -0,0 +1,75 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.FiveElementsDTO;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 五行统计 (不可变), 对应 {@link FiveElementsDTO}
+ *
+ * @param distribution 五行分布 (带权重)
+ * @param counts 五行个数 (天干+本气)
+ * @param strongest 最旺五行
+ * @param weakest 最弱五行
+ * @param favorable 喜用五行
+ * @param unfavorable 忌讳五行
+ * @param elementStates 五行旺衰状态
+ * @param monthElement 月令五行
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record FiveElements(
+    Map<String, Double> distribution,
+    Map<String, Integer> counts,
+    String strongest,
+    String weakest,
+    List<String> favorable,
+    List<String> unfavorable,
+    Map<String, String> elementStates,
+    String monthElement) {
+
+  public FiveElements {
+    distribution = Immutables.map(distribution);
+    counts = Immutables.map(counts);
+    favorable = Immutables.list(favorable);
+    unfavorable = Immutables.list(unfavorable);
+    elementStates = Immutables.map(elementStates);
+  }
+
+  /**
+   * 由 {@link FiveElementsDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static FiveElements from(FiveElementsDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new FiveElements(
+        dto.getDistribution(),
+        dto.getCounts(),
+        dto.getStrongest(),
+        dto.getWeakest(),
+        dto.getFavorable(),
+        dto.getUnfavorable(),
+        dto.getElementStates(),
+        dto.getMonthElement());
+  }
+
+  /**
+   * 转换为可变的 {@link FiveElementsDTO} (集合为新的可变副本)
+   */
+  public FiveElementsDTO toDto() {
+    return FiveElementsDTO.builder()
+        .distribution(Immutables.mutableMap(distribution))
+        .counts(Immutables.mutableMap(counts))
+        .strongest(strongest)
+        .weakest(weakest)
+        .favorable(Immutables.mutableList(favorable))
+        .unfavorable(Immutables.mutableList(unfavorable))
+        .elementStates(Immutables.mutableMap(elementStates))
+        .monthElement(monthElement)
+        .build();
+  }
+}
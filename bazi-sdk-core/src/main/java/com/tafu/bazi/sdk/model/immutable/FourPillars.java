@@ -0,0 +1,49 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.FourPillarsDTO;
+
+/**
+ * 四柱 (不可变), 对应 {@link FourPillarsDTO}
+ *
+ * @param year 年柱
+ * @param month 月柱
+ * @param day 日柱
+ * @param hour 时柱
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record FourPillars(
+    Pillar year,
+    Pillar month,
+    Pillar day,
+    Pillar hour) {
+
+  /**
+   * 由 {@link FourPillarsDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static FourPillars from(FourPillarsDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new FourPillars(
+        Pillar.from(dto.getYear()),
+        Pillar.from(dto.getMonth()),
+        Pillar.from(dto.getDay()),
+        Pillar.from(dto.getHour()));
+  }
+
+  /**
+   * 转换为可变的 {@link FourPillarsDTO} (集合为新的可变副本)
+   */
+  public FourPillarsDTO toDto() {
+    return FourPillarsDTO.builder()
+        .year(year == null ? null : year.toDto())
+        .month(month == null ? null : month.toDto())
+        .day(day == null ? null : day.toDto())
+        .hour(hour == null ? null : hour.toDto())
+        .build();
+  }
+}
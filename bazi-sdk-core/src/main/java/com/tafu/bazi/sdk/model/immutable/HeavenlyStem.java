@@ -0,0 +1,45 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.HeavenlyStemDTO;
+
+/**
+ * 天干 (不可变), 对应 {@link HeavenlyStemDTO}
+ *
+ * @param chinese 中文名 (如 "甲")
+ * @param element 五行 (wood/fire/earth/metal/water)
+ * @param yinYang 阴阳 (yang/yin)
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record HeavenlyStem(
+    String chinese,
+    String element,
+    String yinYang) {
+
+  /**
+   * 由 {@link HeavenlyStemDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static HeavenlyStem from(HeavenlyStemDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new HeavenlyStem(
+        dto.getChinese(),
+        dto.getElement(),
+        dto.getYinYang());
+  }
+
+  /**
+   * 转换为可变的 {@link HeavenlyStemDTO}
+   */
+  public HeavenlyStemDTO toDto() {
+    return HeavenlyStemDTO.builder()
+        .chinese(chinese)
+        .element(element)
+        .yinYang(yinYang)
+        .build();
+  }
+}
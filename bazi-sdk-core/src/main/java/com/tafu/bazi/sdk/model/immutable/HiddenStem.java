@@ -0,0 +1,49 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.HiddenStemDTO;
+
+/**
+ * 藏干 (不可变), 对应 {@link HiddenStemDTO}
+ *
+ * @param chinese 中文名 (如 "甲")
+ * @param element 五行 (wood/fire/earth/metal/water)
+ * @param yinYang 阴阳 (yang/yin)
+ * @param tenGod 十神
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record HiddenStem(
+    String chinese,
+    String element,
+    String yinYang,
+    String tenGod) {
+
+  /**
+   * 由 {@link HiddenStemDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static HiddenStem from(HiddenStemDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new HiddenStem(
+        dto.getChinese(),
+        dto.getElement(),
+        dto.getYinYang(),
+        dto.getTenGod());
+  }
+
+  /**
+   * 转换为可变的 {@link HiddenStemDTO}
+   */
+  public HiddenStemDTO toDto() {
+    return HiddenStemDTO.builder()
+        .chinese(chinese)
+        .element(element)
+        .yinYang(yinYang)
+        .tenGod(tenGod)
+        .build();
+  }
+}
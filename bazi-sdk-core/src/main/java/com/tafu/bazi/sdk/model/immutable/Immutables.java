@@ -0,0 +1,63 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 不可变模型的集合工具
+ *
+ * <p>Map 一律复制为保持原迭代顺序的只读 {@link LinkedHashMap}: 十神名存在哈希冲突,
+ * JSON 字段顺序依赖迭代顺序, 不能使用 {@link Map#copyOf}
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+final class Immutables {
+
+  private Immutables() {
+  }
+
+  /** 只读副本 (已是不可变列表时不复制), 元素不能为 null */
+  static <T> List<T> list(List<T> list) {
+    return list == null ? null : List.copyOf(list);
+  }
+
+  /** 保持迭代顺序的只读副本 */
+  static <K, V> Map<K, V> map(Map<K, V> map) {
+    return map == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(map));
+  }
+
+  /** 逐个转换元素, 结果为可变列表 */
+  static <S, T> List<T> mapElements(List<S> list, Function<S, T> convert) {
+    if (list == null) {
+      return null;
+    }
+    List<T> result = new ArrayList<>(list.size());
+    for (S element : list) {
+      result.add(convert.apply(element));
+    }
+    return result;
+  }
+
+  /** 按原顺序逐个转换值, 结果为可变 Map */
+  static <S, T> Map<String, T> mapValues(Map<String, S> map, Function<S, T> convert) {
+    if (map == null) {
+      return null;
+    }
+    Map<String, T> result = new LinkedHashMap<>();
+    map.forEach((key, value) -> result.put(key, convert.apply(value)));
+    return result;
+  }
+
+  static <T> List<T> mutableList(List<T> list) {
+    return list == null ? null : new ArrayList<>(list);
+  }
+
+  static <K, V> Map<K, V> mutableMap(Map<K, V> map) {
+    return map == null ? null : new LinkedHashMap<>(map);
+  }
+}
@@ -0,0 +1,53 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.LiuNianDTO;
+
+/**
+ * 流年 (不可变), 对应 {@link LiuNianDTO}
+ *
+ * @param year 流年年份
+ * @param age 当时年龄
+ * @param ganZhi 流年干支 (如 "甲子")
+ * @param gan 天干
+ * @param zhi 地支
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record LiuNian(
+    int year,
+    int age,
+    String ganZhi,
+    String gan,
+    String zhi) {
+
+  /**
+   * 由 {@link LiuNianDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static LiuNian from(LiuNianDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new LiuNian(
+        dto.getYear(),
+        dto.getAge(),
+        dto.getGanZhi(),
+        dto.getGan(),
+        dto.getZhi());
+  }
+
+  /**
+   * 转换为可变的 {@link LiuNianDTO}
+   */
+  public LiuNianDTO toDto() {
+    return LiuNianDTO.builder()
+        .year(year)
+        .age(age)
+        .ganZhi(ganZhi)
+        .gan(gan)
+        .zhi(zhi)
+        .build();
+  }
+}
@@ -0,0 +1,57 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.PatternDTO;
+
+/**
+ * 格局 (不可变), 对应 {@link PatternDTO}
+ *
+ * @param name 格局名称 (如 "正财格")
+ * @param category 分类: "normal" | "special"
+ * @param description 格局描述
+ * @param monthStem 月令本气 (可选)
+ * @param monthStemTenGod 月令十神 (可选)
+ * @param isTransparent 是否透出 (可选)
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record Pattern(
+    String name,
+    String category,
+    String description,
+    String monthStem,
+    String monthStemTenGod,
+    Boolean isTransparent) {
+
+  /**
+   * 由 {@link PatternDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static Pattern from(PatternDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new Pattern(
+        dto.getName(),
+        dto.getCategory(),
+        dto.getDescription(),
+        dto.getMonthStem(),
+        dto.getMonthStemTenGod(),
+        dto.getIsTransparent());
+  }
+
+  /**
+   * 转换为可变的 {@link PatternDTO}
+   */
+  public PatternDTO toDto() {
+    return PatternDTO.builder()
+        .name(name)
+        .category(category)
+        .description(description)
+        .monthStem(monthStem)
+        .monthStemTenGod(monthStemTenGod)
+        .isTransparent(isTransparent)
+        .build();
+  }
+}
@@ -0,0 +1,66 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.PillarDTO;
+import java.util.List;
+
+/**
+ * 单柱 (不可变), 对应 {@link PillarDTO}
+ *
+ * @param heavenlyStem 天干
+ * @param earthlyBranch 地支
+ * @param naYin 纳音 (如 "路旁土")
+ * @param hiddenStems 藏干列表
+ * @param xunKong 空亡 (如 "辰巳")
+ * @param tenGod 十神 (相对日主)
+ * @param lifeStage 日主在本柱地支的十二长生 (如 "帝旺")
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record Pillar(
+    HeavenlyStem heavenlyStem,
+    EarthlyBranch earthlyBranch,
+    String naYin,
+    List<HiddenStem> hiddenStems,
+    String xunKong,
+    String tenGod,
+    String lifeStage) {
+
+  public Pillar {
+    hiddenStems = Immutables.list(hiddenStems);
+  }
+
+  /**
+   * 由 {@link PillarDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static Pillar from(PillarDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new Pillar(
+        HeavenlyStem.from(dto.getHeavenlyStem()),
+        EarthlyBranch.from(dto.getEarthlyBranch()),
+        dto.getNaYin(),
+        Immutables.mapElements(dto.getHiddenStems(), HiddenStem::from),
+        dto.getXunKong(),
+        dto.getTenGod(),
+        dto.getLifeStage());
+  }
+
+  /**
+   * 转换为可变的 {@link PillarDTO} (集合为新的可变副本)
+   */
+  public PillarDTO toDto() {
+    return PillarDTO.builder()
+        .heavenlyStem(heavenlyStem == null ? null : heavenlyStem.toDto())
+        .earthlyBranch(earthlyBranch == null ? null : earthlyBranch.toDto())
+        .naYin(naYin)
+        .hiddenStems(Immutables.mapElements(hiddenStems, HiddenStem::toDto))
+        .xunKong(xunKong)
+        .tenGod(tenGod)
+        .lifeStage(lifeStage)
+        .build();
+  }
+}
@@ -0,0 +1,57 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.ShenShaDTO;
+import java.util.List;
+
+/**
+ * 神煞 (不可变), 对应 {@link ShenShaDTO}
+ *
+ * @param year 年柱神煞
+ * @param month 月柱神煞
+ * @param day 日柱神煞
+ * @param hour 时柱神煞
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record ShenSha(
+    List<String> year,
+    List<String> month,
+    List<String> day,
+    List<String> hour) {
+
+  public ShenSha {
+    year = Immutables.list(year);
+    month = Immutables.list(month);
+    day = Immutables.list(day);
+    hour = Immutables.list(hour);
+  }
+
+  /**
+   * 由 {@link ShenShaDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static ShenSha from(ShenShaDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new ShenSha(
+        dto.getYear(),
+        dto.getMonth(),
+        dto.getDay(),
+        dto.getHour());
+  }
+
+  /**
+   * 转换为可变的 {@link ShenShaDTO} (集合为新的可变副本)
+   */
+  public ShenShaDTO toDto() {
+    return ShenShaDTO.builder()
+        .year(Immutables.mutableList(year))
+        .month(Immutables.mutableList(month))
+        .day(Immutables.mutableList(day))
+        .hour(Immutables.mutableList(hour))
+        .build();
+  }
+}
@@ -0,0 +1,50 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.TenGodInfoDTO;
+import java.util.List;
+
+/**
+ * 十神详情 (不可变), 对应 {@link TenGodInfoDTO}
+ *
+ * @param name 十神名称 (如 "正财")
+ * @param count 出现次数
+ * @param positions 位置列表 (如 ["年干", "月干"])
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record TenGodInfo(
+    String name,
+    int count,
+    List<String> positions) {
+
+  public TenGodInfo {
+    positions = Immutables.list(positions);
+  }
+
+  /**
+   * 由 {@link TenGodInfoDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static TenGodInfo from(TenGodInfoDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new TenGodInfo(
+        dto.getName(),
+        dto.getCount(),
+        dto.getPositions());
+  }
+
+  /**
+   * 转换为可变的 {@link TenGodInfoDTO} (集合为新的可变副本)
+   */
+  public TenGodInfoDTO toDto() {
+    return TenGodInfoDTO.builder()
+        .name(name)
+        .count(count)
+        .positions(Immutables.mutableList(positions))
+        .build();
+  }
+}
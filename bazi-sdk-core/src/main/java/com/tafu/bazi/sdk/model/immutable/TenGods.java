@@ -0,0 +1,41 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.TenGodsDTO;
+import java.util.Map;
+
+/**
+ * 十神分析 (不可变), 对应 {@link TenGodsDTO}
+ *
+ * @param gods 十神名称 → 详情
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record TenGods(Map<String, TenGodInfo> gods) {
+
+  public TenGods {
+    gods = Immutables.map(gods);
+  }
+
+  /**
+   * 由 {@link TenGodsDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static TenGods from(TenGodsDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new TenGods(
+        Immutables.mapValues(dto.getGods(), TenGodInfo::from));
+  }
+
+  /**
+   * 转换为可变的 {@link TenGodsDTO} (集合为新的可变副本)
+   */
+  public TenGodsDTO toDto() {
+    return TenGodsDTO.builder()
+        .gods(Immutables.mapValues(gods, TenGodInfo::toDto))
+        .build();
+  }
+}
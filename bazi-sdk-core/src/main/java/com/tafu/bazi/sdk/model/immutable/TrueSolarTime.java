@@ -0,0 +1,53 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.TrueSolarTimeDTO;
+
+/**
+ * 真太阳时 (不可变), 对应 {@link TrueSolarTimeDTO}
+ *
+ * @param year 年
+ * @param month 月
+ * @param day 日
+ * @param hour 时
+ * @param minute 分
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record TrueSolarTime(
+    int year,
+    int month,
+    int day,
+    int hour,
+    int minute) {
+
+  /**
+   * 由 {@link TrueSolarTimeDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static TrueSolarTime from(TrueSolarTimeDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new TrueSolarTime(
+        dto.getYear(),
+        dto.getMonth(),
+        dto.getDay(),
+        dto.getHour(),
+        dto.getMinute());
+  }
+
+  /**
+   * 转换为可变的 {@link TrueSolarTimeDTO}
+   */
+  public TrueSolarTimeDTO toDto() {
+    return TrueSolarTimeDTO.builder()
+        .year(year)
+        .month(month)
+        .day(day)
+        .hour(hour)
+        .minute(minute)
+        .build();
+  }
+}
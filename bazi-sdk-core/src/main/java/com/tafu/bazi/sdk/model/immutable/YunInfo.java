@@ -0,0 +1,50 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.tafu.bazi.sdk.model.YunInfoDTO;
+import java.util.List;
+
+/**
+ * 大运信息 (不可变), 对应 {@link YunInfoDTO}
+ *
+ * @param startAge 起运年龄
+ * @param forward 是否顺行
+ * @param daYunList 十步大运列表
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record YunInfo(
+    int startAge,
+    boolean forward,
+    List<DaYun> daYunList) {
+
+  public YunInfo {
+    daYunList = Immutables.list(daYunList);
+  }
+
+  /**
+   * 由 {@link YunInfoDTO} 转换
+   *
+   * @param dto DTO (可为 null)
+   * @return 不可变副本, dto 为 null 时返回 null
+   */
+  public static YunInfo from(YunInfoDTO dto) {
+    if (dto == null) {
+      return null;
+    }
+    return new YunInfo(
+        dto.getStartAge(),
+        dto.isForward(),
+        Immutables.mapElements(dto.getDaYunList(), DaYun::from));
+  }
+
+  /**
+   * 转换为可变的 {@link YunInfoDTO} (集合为新的可变副本)
+   */
+  public YunInfoDTO toDto() {
+    return YunInfoDTO.builder()
+        .startAge(startAge)
+        .forward(forward)
+        .daYunList(Immutables.mapElements(daYunList, DaYun::toDto))
+        .build();
+  }
+}
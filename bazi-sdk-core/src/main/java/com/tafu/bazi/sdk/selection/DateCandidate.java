@@ -0,0 +1,45 @@
+package com.tafu.bazi.sdk.selection;
+
+import com.tafu.bazi.sdk.chart.ChartTables;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 择日候选: 一天, 或一天中的一个时辰
+ *
+ * <p>时辰按晚子时规则归属: 某日的子时为前一天 23:00 ~ 当天 01:00, 十二个时辰的日柱均为当天日柱
+ *
+ * @param date 公历日期
+ * @param hourBranch 时支下标, 按日择日时为 -1
+ * @param year 年柱六十甲子下标 (按日为立春日期口径, 按时辰为交接时刻口径)
+ * @param month 月柱六十甲子下标 (同上)
+ * @param day 日柱六十甲子下标
+ * @param hour 时柱六十甲子下标, 按日择日时为 -1
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public record DateCandidate(LocalDate date, int hourBranch, int year, int month, int day, int hour) {
+
+    /**
+     * 是否为时辰候选
+     */
+    public boolean isHour() {
+        return hourBranch >= 0;
+    }
+
+    /**
+     * 起始时间: 按日为当天零点, 按时辰为时辰开始 (子时为前一天 23 点)
+     */
+    public LocalDateTime start() {
+        return isHour() ? date.atStartOfDay().plusHours(hourBranch * 2L - 1) : date.atStartOfDay();
+    }
+
+    /**
+     * 干支, 以空格分隔 (年月日, 时辰候选另含时柱)
+     */
+    public String pillars() {
+        String pillars = ChartTables.JIA_ZI[year] + " " + ChartTables.JIA_ZI[month] + " " + ChartTables.JIA_ZI[day];
+        return isHour() ? pillars + " " + ChartTables.JIA_ZI[hour] : pillars;
+    }
+}
@@ -0,0 +1,34 @@
+package com.tafu.bazi.sdk.selection;
+
+/**
+ * 择日条件, 可用 {@link #and} / {@link #or} / {@link #negate} 组合
+ *
+ * <p>内置条件见 {@link DateRules}, 均在构造时对六十甲子预先算好, 判断为查表。
+ * 组合按短路求值, 把最严格的条件放在前面可减少后续判断
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface DateRule {
+
+    /** 不加限制 */
+    DateRule ANY = candidate -> true;
+
+    /**
+     * 候选是否满足条件
+     */
+    boolean test(DateCandidate candidate);
+
+    default DateRule and(DateRule other) {
+        return candidate -> test(candidate) && other.test(candidate);
+    }
+
+    default DateRule or(DateRule other) {
+        return candidate -> test(candidate) || other.test(candidate);
+    }
+
+    default DateRule negate() {
+        return candidate -> !test(candidate);
+    }
+}
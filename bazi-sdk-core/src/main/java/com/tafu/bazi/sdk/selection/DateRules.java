@@ -0,0 +1,150 @@
+package com.tafu.bazi.sdk.selection;
+
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.ChartTables;
+import com.tafu.bazi.sdk.interaction.InteractionEngine;
+import com.tafu.bazi.sdk.interaction.InteractionType;
+
+/**
+ * 内置择日条件
+ *
+ * <p>条件作用于候选的日柱, 时辰候选再加上时柱: "全部" 类条件 (不冲、喜用) 要求日柱与时柱都满足,
+ * "任一" 类条件 (相合、神煞) 只要日柱或时柱之一满足。每个条件在构造时对六十甲子逐一算好结果,
+ * 判断时只查表
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class DateRules {
+
+    /** 年柱与日柱 (冲太岁、冲日柱) */
+    public static final int YEAR_AND_DAY = 0b0101;
+
+    /** 四柱全部 */
+    public static final int ALL_PILLARS = 0b1111;
+
+    private DateRules() {
+    }
+
+    /**
+     * 与命盘相合: 天干五合、地支六合、半合, 或加入后成三合 / 三会局 (任一柱)
+     *
+     * @param natal 命盘
+     */
+    public static DateRule combinesWith(BaziChart natal) {
+        int combine = InteractionType.STEM_COMBINE.bit() | InteractionType.BRANCH_COMBINE.bit()
+            | InteractionType.HALF_HARMONY.bit();
+        boolean[] table = new boolean[60];
+        for (int j = 0; j < 60; j++) {
+            long packed = against(natal, j);
+            table[j] = InteractionEngine.newFrames(packed) != 0 || (relations(packed, ALL_PILLARS) & combine) != 0;
+        }
+        return anyPillar(table);
+    }
+
+    /**
+     * 不冲命盘年柱与日柱 (地支六冲)
+     *
+     * @param natal 命盘
+     */
+    public static DateRule noClashWith(BaziChart natal) {
+        return noClashWith(natal, YEAR_AND_DAY);
+    }
+
+    /**
+     * 不冲命盘的指定柱 (地支六冲)
+     *
+     * @param natal 命盘
+     * @param positions 柱掩码 (第 p 位为第 p 柱: 0 年、1 月、2 日、3 时)
+     */
+    public static DateRule noClashWith(BaziChart natal, int positions) {
+        return relations(natal, positions, 0, InteractionType.BRANCH_CLASH.bit());
+    }
+
+    /**
+     * 与命盘指定柱的关系: 含 anyOf 中任一关系 (anyOf 为 0 时不要求) 且不含 noneOf 中任何关系 (每个候选柱)
+     *
+     * @param natal 命盘
+     * @param positions 柱掩码 (第 p 位为第 p 柱)
+     * @param anyOf 需要的关系位 ({@link InteractionType#bit()} 组合)
+     * @param noneOf 排除的关系位
+     * @throws IllegalArgumentException 柱掩码为空或越界时抛出
+     */
+    public static DateRule relations(BaziChart natal, int positions, int anyOf, int noneOf) {
+        if (positions <= 0 || positions > ALL_PILLARS) {
+            throw new IllegalArgumentException("Pillar positions must be a non-empty mask of 4 bits");
+        }
+        boolean[] table = new boolean[60];
+        for (int j = 0; j < 60; j++) {
+            int found = relations(against(natal, j), positions);
+            table[j] = (anyOf == 0 || (found & anyOf) != 0) && (found & noneOf) == 0;
+        }
+        return allPillars(table);
+    }
+
+    /**
+     * 喜用五行: 天干或地支本气为喜用五行, 且都不是忌讳五行 (每个候选柱)
+     *
+     * @param natal 命盘
+     */
+    public static DateRule favorableElements(BaziChart natal) {
+        int favorable = elementMask(natal.getFavorable());
+        int unfavorable = elementMask(natal.getUnfavorable());
+        boolean[] table = new boolean[60];
+        for (int j = 0; j < 60; j++) {
+            int elements = 1 << ChartTables.STEM_ELEMENT[j % 10] | 1 << ChartTables.BRANCH_ELEMENT[j % 12];
+            table[j] = (elements & favorable) != 0 && (elements & unfavorable) == 0;
+        }
+        return allPillars(table);
+    }
+
+    /**
+     * 逢命盘的神煞 (任一候选柱的地支)
+     *
+     * @param natal 命盘
+     * @param shenSha 神煞
+     */
+    public static DateRule shenSha(BaziChart natal, ShenSha shenSha) {
+        int mask = shenSha.branchMask(natal.getStems(), natal.getBranches());
+        boolean[] table = new boolean[60];
+        for (int j = 0; j < 60; j++) {
+            table[j] = (mask & (1 << (j % 12))) != 0;
+        }
+        return anyPillar(table);
+    }
+
+    private static long against(BaziChart natal, int jiaZi) {
+        return InteractionEngine.against(natal.getStems(), natal.getBranches(), jiaZi % 10, jiaZi % 12);
+    }
+
+    /**
+     * 打包结果中与指定柱的关系位合并
+     */
+    private static int relations(long packed, int positions) {
+        int found = 0;
+        for (int p = 0; p < 4; p++) {
+            if ((positions & (1 << p)) != 0) {
+                found |= InteractionEngine.relationsAt(packed, p);
+            }
+        }
+        return found;
+    }
+
+    private static int elementMask(int[] elements) {
+        int mask = 0;
+        if (elements != null) {
+            for (int element : elements) {
+                mask |= 1 << element;
+            }
+        }
+        return mask;
+    }
+
+    private static DateRule allPillars(boolean[] table) {
+        return candidate -> table[candidate.day()] && (candidate.hour() < 0 || table[candidate.hour()]);
+    }
+
+    private static DateRule anyPillar(boolean[] table) {
+        return candidate -> table[candidate.day()] || candidate.hour() >= 0 && table[candidate.hour()];
+    }
+}
@@ -0,0 +1,128 @@
+package com.tafu.bazi.sdk.selection;
+
+import com.tafu.bazi.sdk.chart.ChartTables;
+import com.tafu.bazi.sdk.utils.JieTable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * 择日搜索: 在日期范围内按条件找出吉日 (或吉时)
+ *
+ * <p>搜索前由 {@link JieTable} 求出范围内的节令交接 (每个节查一次 lunar-java), 之后逐日的日柱为纪元日模 60,
+ * 年柱、月柱为交接表二分查找, 时柱为五鼠遁, 不再逐日调用 lunar-java。找到 limit 个结果即停止;
+ * 超过 {@link #PARALLEL_THRESHOLD_DAYS} 天的范围按 {@link #CHUNK_DAYS} 天分块并行扫描,
+ * 某块已凑满 limit 个结果时, 其后的块不再扫描
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class DateSelector {
+
+    /** 并行扫描的最小天数 */
+    public static final int PARALLEL_THRESHOLD_DAYS = 366;
+
+    /** 并行扫描的分块天数 */
+    public static final int CHUNK_DAYS = 128;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private DateSelector() {
+    }
+
+    /**
+     * 搜索吉日
+     *
+     * @param from 首日
+     * @param to 末日之后一天
+     * @param hours true 时逐时辰搜索 (每天十二个时辰), false 时逐日搜索
+     * @param rule 条件
+     * @param limit 最多返回的个数
+     * @return 满足条件的候选, 按时间排序
+     * @throws IllegalArgumentException 参数为空、范围为空或超出 1901-2100 年、limit 小于 1 时抛出
+     */
+    public static List<DateCandidate> search(LocalDate from, LocalDate to, boolean hours, DateRule rule, int limit) {
+        if (from == null || to == null || rule == null) {
+            throw new IllegalArgumentException("Date range and rule cannot be null");
+        }
+        if (!from.isBefore(to) || from.getYear() < 1901 || to.isAfter(LocalDate.of(2101, 1, 1))) {
+            throw new IllegalArgumentException("Date range must be non-empty and within 1901 ~ 2100");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        // 首日子时从前一天 23 点开始
+        JieTable jies = JieTable.between(from.atStartOfDay().minusHours(1), to.atStartOfDay());
+        long first = from.toEpochDay();
+        int days = (int) (to.toEpochDay() - first);
+        if (days < PARALLEL_THRESHOLD_DAYS) {
+            return scan(jies, first, first + days, hours, rule, limit, () -> false);
+        }
+
+        int chunks = (days + CHUNK_DAYS - 1) / CHUNK_DAYS;
+        AtomicInteger firstFull = new AtomicInteger(Integer.MAX_VALUE);
+        List<List<DateCandidate>> found = IntStream.range(0, chunks).parallel()
+            .mapToObj(chunk -> {
+                if (chunk > firstFull.get()) {
+                    return List.<DateCandidate>of();
+                }
+                long start = first + (long) chunk * CHUNK_DAYS;
+                List<DateCandidate> result = scan(jies, start, Math.min(start + CHUNK_DAYS, first + days), hours,
+                    rule, limit, () -> chunk > firstFull.get());
+                if (result.size() >= limit) {
+                    firstFull.accumulateAndGet(chunk, Math::min);
+                }
+                return result;
+            })
+            .toList();
+        List<DateCandidate> results = new ArrayList<>();
+        for (List<DateCandidate> chunk : found) {
+            for (DateCandidate candidate : chunk) {
+                if (results.size() == limit) {
+                    return results;
+                }
+                results.add(candidate);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 顺序扫描 [start, end) 纪元日
+     *
+     * @param cancelled 前面的块已凑满结果时为 true
+     */
+    private static List<DateCandidate> scan(JieTable jies, long start, long end, boolean hours, DateRule rule,
+                                            int limit, BooleanSupplier cancelled) {
+        List<DateCandidate> results = new ArrayList<>();
+        for (long epochDay = start; epochDay < end; epochDay++) {
+            if (cancelled.getAsBoolean()) {
+                break;
+            }
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            int day = ChartTables.dayJiaZi(epochDay);
+            if (!hours) {
+                DateCandidate candidate = new DateCandidate(date, -1, jies.yearOn(epochDay), jies.monthOn(epochDay),
+                    day, -1);
+                if (rule.test(candidate) && results.add(candidate) && results.size() >= limit) {
+                    break;
+                }
+                continue;
+            }
+            for (int branch = 0; branch < 12; branch++) {
+                // 时辰开始的纪元分钟, 子时为前一天 23 点
+                int minute = Math.toIntExact(epochDay * MINUTES_PER_DAY + (branch * 2 - 1) * 60);
+                DateCandidate candidate = new DateCandidate(date, branch, jies.yearAt(minute), jies.monthAt(minute),
+                    day, ChartTables.hourJiaZi(day, branch));
+                if (rule.test(candidate) && results.add(candidate) && results.size() >= limit) {
+                    return results;
+                }
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,65 @@
+package com.tafu.bazi.sdk.selection;
+
+import com.tafu.bazi.sdk.model.BaziDef;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 择日用神煞: 由命盘求出的吉神地支, 候选日 (时) 的地支落在其中即为逢该神煞
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public enum ShenSha {
+
+    /** 天乙贵人 (按日干) */
+    TIAN_YI("天乙贵人"),
+
+    /** 文昌 (按日干) */
+    WEN_CHANG("文昌"),
+
+    /** 桃花 (按年支、日支所在三合局) */
+    TAO_HUA("桃花"),
+
+    /** 驿马 (按年支、日支所在三合局) */
+    YI_MA("驿马");
+
+    private final String chinese;
+
+    /**
+     * 命盘的该神煞地支掩码 (第 b 位表示地支 b)
+     *
+     * @param stems 四柱天干下标
+     * @param branches 四柱地支下标
+     */
+    public int branchMask(int[] stems, int[] branches) {
+        return switch (this) {
+            case TIAN_YI -> mask(BaziDef.TIAN_YI_GUI_REN.get(BaziDef.TIAN_GAN[stems[2]]));
+            case WEN_CHANG -> mask(BaziDef.WEN_CHANG.get(BaziDef.TIAN_GAN[stems[2]]));
+            case TAO_HUA -> byTriad(BaziDef.TAO_HUA, branches[0]) | byTriad(BaziDef.TAO_HUA, branches[2]);
+            case YI_MA -> byTriad(BaziDef.YI_MA, branches[0]) | byTriad(BaziDef.YI_MA, branches[2]);
+        };
+    }
+
+    private static int byTriad(Map<String, String> table, int branch) {
+        String zhi = BaziDef.DI_ZHI[branch];
+        for (Map.Entry<String, String> entry : table.entrySet()) {
+            if (entry.getKey().contains(zhi)) {
+                return mask(entry.getValue());
+            }
+        }
+        return 0;
+    }
+
+    private static int mask(String zhis) {
+        int mask = 0;
+        for (int i = 0; i < zhis.length(); i++) {
+            mask |= 1 << BaziDef.getDiZhiIndex(zhis.substring(i, i + 1));
+        }
+        return mask;
+    }
+}
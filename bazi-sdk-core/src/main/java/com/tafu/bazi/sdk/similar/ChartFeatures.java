@@ -0,0 +1,122 @@
+package com.tafu.bazi.sdk.similar;
+
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.ChartTables;
+import com.tafu.bazi.sdk.chart.TenGodProfile;
+import com.tafu.bazi.sdk.model.BaziDef;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.DayMasterAnalysisDTO;
+import com.tafu.bazi.sdk.model.FiveElementsDTO;
+import com.tafu.bazi.sdk.model.FourPillarsDTO;
+import com.tafu.bazi.sdk.model.PillarDTO;
+
+import java.util.Map;
+
+/**
+ * 相似命盘检索用的特征向量 ({@link #DIMENSION} 维 float)
+ *
+ * <p>分量:
+ * <ul>
+ *   <li>0-4: 五行加权分布占比 (合计为 1)</li>
+ *   <li>5: 日主强弱总分 / 100</li>
+ *   <li>6-15: 十神强度占比 (天干 + 藏干, 按十神下标, 合计为 1)</li>
+ * </ul>
+ * 三组分量量级相同, 欧氏距离对三者大致等权。由命盘与由响应编码的结果一致
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class ChartFeatures {
+
+    /** 向量维数 */
+    public static final int DIMENSION = 16;
+
+    /** 强弱分量的下标 */
+    public static final int STRENGTH = 5;
+
+    /** 十神分量的起始下标 */
+    public static final int TEN_GOD_OFFSET = 6;
+
+    private ChartFeatures() {
+    }
+
+    /**
+     * 由命盘编码
+     */
+    public static float[] of(BaziChart chart) {
+        float[] vector = new float[DIMENSION];
+        compute(chart.getStems(), chart.getBranches(), chart.getDistribution(), chart.getTotalScore(), vector, 0);
+        return vector;
+    }
+
+    /**
+     * 由响应编码 (四柱、五行分布与日主强弱总分)
+     *
+     * @throws IllegalArgumentException 响应缺少四柱、五行分析或日主分析时抛出
+     */
+    public static float[] of(BaziResponse response) {
+        FourPillarsDTO fourPillars = response.getFourPillars();
+        FiveElementsDTO fiveElements = response.getFiveElements();
+        DayMasterAnalysisDTO analysis = response.getDayMaster() == null ? null : response.getDayMaster().getAnalysis();
+        if (fourPillars == null || fiveElements == null || analysis == null) {
+            throw new IllegalArgumentException("Response must contain four pillars, five elements and day master");
+        }
+        PillarDTO[] pillars = {fourPillars.getYear(), fourPillars.getMonth(), fourPillars.getDay(),
+            fourPillars.getHour()};
+        int[] stems = new int[4];
+        int[] branches = new int[4];
+        for (int p = 0; p < 4; p++) {
+            PillarDTO pillar = pillars[p];
+            if (pillar == null || pillar.getHeavenlyStem() == null || pillar.getEarthlyBranch() == null) {
+                throw new IllegalArgumentException("Response must contain four pillars, five elements and day master");
+            }
+            stems[p] = BaziDef.getTianGanIndex(pillar.getHeavenlyStem().getChinese());
+            branches[p] = BaziDef.getDiZhiIndex(pillar.getEarthlyBranch().getChinese());
+            if (stems[p] < 0 || branches[p] < 0) {
+                throw new IllegalArgumentException("Invalid pillar in response");
+            }
+        }
+        double[] distribution = new double[5];
+        Map<String, Double> shares = fiveElements.getDistribution();
+        for (int e = 0; e < 5; e++) {
+            Double share = shares == null ? null : shares.get(ChartTables.ELEMENT_CODES[e]);
+            distribution[e] = share == null ? 0.0 : share;
+        }
+        float[] vector = new float[DIMENSION];
+        compute(stems, branches, distribution, analysis.getTotalScore(), vector, 0);
+        return vector;
+    }
+
+    /**
+     * 计算特征向量并写入调用方提供的数组 (批量建索引时复用)
+     *
+     * @param stems 四柱天干下标
+     * @param branches 四柱地支下标
+     * @param distribution 五行加权分布 (按五行下标)
+     * @param totalScore 日主强弱总分 (0 ~ 100)
+     * @param out 输出
+     * @param offset 写入起点
+     */
+    public static void compute(int[] stems, int[] branches, double[] distribution, double totalScore,
+                               float[] out, int offset) {
+        double total = 0.0;
+        for (int e = 0; e < 5; e++) {
+            total += distribution[e];
+        }
+        for (int e = 0; e < 5; e++) {
+            out[offset + e] = total > 0.0 ? (float) (distribution[e] / total) : 0.0f;
+        }
+        out[offset + STRENGTH] = (float) (Math.max(0.0, Math.min(100.0, totalScore)) / 100.0);
+
+        int[] positions = new int[10];
+        double[] strengths = new double[10];
+        TenGodProfile.compute(stems, branches, positions, strengths);
+        double godTotal = 0.0;
+        for (double strength : strengths) {
+            godTotal += strength;
+        }
+        for (int g = 0; g < 10; g++) {
+            out[offset + TEN_GOD_OFFSET + g] = godTotal > 0.0 ? (float) (strengths[g] / godTotal) : 0.0f;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.tafu.bazi.sdk.similar;
+
+import java.util.Arrays;
+
+/**
+ * 图检索用的二叉堆, 元素为 {@link SimilarChartIndex} 打包的 (距离, 节点) long, 按数值比较
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+final class NodeHeap {
+
+    private final boolean max;
+
+    private long[] items = new long[64];
+
+    private int size;
+
+    /**
+     * @param max true 为最大堆, false 为最小堆
+     */
+    NodeHeap(boolean max) {
+        this.max = max;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long peek() {
+        return items[0];
+    }
+
+    void push(long item) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(item, items[parent])) {
+                break;
+            }
+            items[i] = items[parent];
+            i = parent;
+        }
+        items[i] = item;
+    }
+
+    long pop() {
+        long top = items[0];
+        long item = items[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && before(items[child + 1], items[child])) {
+                child++;
+            }
+            if (!before(items[child], item)) {
+                break;
+            }
+            items[i] = items[child];
+            i = child;
+        }
+        items[i] = item;
+        return top;
+    }
+
+    private boolean before(long a, long b) {
+        return max ? a > b : a < b;
+    }
+}
@@ -0,0 +1,645 @@
+package com.tafu.bazi.sdk.similar;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 相似命盘检索: 基于 HNSW (分层可导航小世界图) 的近似 k 近邻索引, 距离为欧氏距离
+ *
+ * <p>向量通常由 {@link ChartFeatures} 给出, 每个向量带一个调用方的 long 键 (如用户 ID)。
+ * 全部数据存放在基本类型数组中:
+ * <ul>
+ *   <li>向量: 一个 float[], 每节点 {@code dimension} 个分量</li>
+ *   <li>第 0 层邻接: 一个 int[], 每节点 {@code 2M + 1} 格 (首格为邻居数)</li>
+ *   <li>上层邻接: 只有层数大于 0 的节点 (约 1/M) 才有, 每层 {@code M + 1} 格</li>
+ * </ul>
+ * 16 维、M = 16 时每个命盘约 200 字节, 千万命盘约 2 GB 堆内存。
+ *
+ * <p>插入取写锁 (单写), 检索取读锁并使用线程本地的访问标记与堆, 可多线程并发检索。
+ * 层数由固定种子的随机数生成, 同样的插入顺序得到同样的图。{@link #save(Path)} / {@link #load(Path)}
+ * 读写索引文件 (大端):
+ * <pre>
+ * magic "BZHN" | 格式版本 u8 | 维数 u16 | M u16 | efConstruction u16 | 节点数 i32 | 入口节点 i32 | 最高层 i8
+ * 节点 × N: 键 i64 | 层数 u8 | 向量 f32 × 维数 | 每层 (自第 0 层): 邻居数 u16 | 邻居 i32 × 邻居数
+ * CRC32 i32 (覆盖之前全部字节)
+ * </pre>
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Slf4j
+public final class SimilarChartIndex {
+
+    /** 索引文件格式版本 */
+    public static final int FORMAT_VERSION = 1;
+
+    /** 默认每层邻居数 (第 0 层为两倍) */
+    public static final int DEFAULT_M = 16;
+
+    /** 默认建图时的候选列表长度 */
+    public static final int DEFAULT_EF_CONSTRUCTION = 100;
+
+    /** 默认检索时的候选列表长度 (小于 k 时取 k) */
+    public static final int DEFAULT_EF_SEARCH = 64;
+
+    private static final byte[] MAGIC = {'B', 'Z', 'H', 'N'};
+
+    private static final int MAX_LEVEL = 30;
+
+    private static final long SEED = 0x5EED_BA21L;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int dimension;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelFactor;
+
+    private final SplittableRandom random;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    private float[] vectors;
+    private long[] keys;
+    private byte[] levels;
+    private int[] layer0;
+    private int[][] upper;
+
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    /**
+     * 使用 {@link ChartFeatures#DIMENSION} 维与默认参数
+     */
+    public SimilarChartIndex() {
+        this(ChartFeatures.DIMENSION, DEFAULT_M, DEFAULT_EF_CONSTRUCTION);
+    }
+
+    /**
+     * @param dimension 向量维数
+     * @param m 每层邻居数 (2 ~ 255), 越大召回越高、内存与建图时间越多
+     * @param efConstruction 建图时的候选列表长度, 不小于 m
+     * @throws IllegalArgumentException 参数越界时抛出
+     */
+    public SimilarChartIndex(int dimension, int m, int efConstruction) {
+        if (dimension < 1 || dimension > 0xFFFF) {
+            throw new IllegalArgumentException("Dimension must be between 1 and 65535");
+        }
+        if (m < 2 || m > 255) {
+            throw new IllegalArgumentException("M must be between 2 and 255");
+        }
+        if (efConstruction < m || efConstruction > 0xFFFF) {
+            throw new IllegalArgumentException("efConstruction must be between M and 65535");
+        }
+        this.dimension = dimension;
+        this.m = m;
+        this.maxM0 = 2 * m;
+        this.efConstruction = efConstruction;
+        this.levelFactor = 1.0 / Math.log(m);
+        this.random = new SplittableRandom(SEED);
+        this.vectors = new float[INITIAL_CAPACITY * dimension];
+        this.keys = new long[INITIAL_CAPACITY];
+        this.levels = new byte[INITIAL_CAPACITY];
+        this.layer0 = new int[INITIAL_CAPACITY * (maxM0 + 1)];
+        this.upper = new int[INITIAL_CAPACITY][];
+    }
+
+    /**
+     * 近邻
+     *
+     * @param key 插入时给定的键
+     * @param distance 与查询向量的欧氏距离
+     */
+    public record Neighbor(long key, float distance) {
+    }
+
+    /**
+     * 插入一个向量 (键可以重复, 不做去重)
+     *
+     * @param key 调用方的键
+     * @param vector 向量, 长度为维数, 分量为有限值
+     * @return 节点序号 (按插入顺序从 0 开始)
+     * @throws IllegalArgumentException 向量长度不符或含非有限值时抛出
+     */
+    public int add(long key, float[] vector) {
+        checkVector(vector);
+        lock.writeLock().lock();
+        try {
+            int node = size;
+            ensureCapacity(node + 1);
+            System.arraycopy(vector, 0, vectors, node * dimension, dimension);
+            keys[node] = key;
+            int level = randomLevel();
+            levels[node] = (byte) level;
+            if (level > 0) {
+                upper[node] = new int[level * (m + 1)];
+            }
+            size++;
+            insert(node, level);
+            return node;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 检索 k 个近邻, 候选列表长度为 {@link #DEFAULT_EF_SEARCH}
+     */
+    public List<Neighbor> search(float[] query, int k) {
+        return search(query, k, DEFAULT_EF_SEARCH);
+    }
+
+    /**
+     * 检索 k 个近邻
+     *
+     * @param query 查询向量
+     * @param k 近邻个数
+     * @param ef 候选列表长度 (小于 k 时取 k), 越大召回越高、越慢
+     * @return 按距离升序的近邻, 索引不足 k 个时返回全部
+     * @throws IllegalArgumentException 向量长度不符或 k 小于 1 时抛出
+     */
+    public List<Neighbor> search(float[] query, int k, int ef) {
+        checkVector(query);
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        lock.readLock().lock();
+        try {
+            if (size == 0) {
+                return List.of();
+            }
+            Scratch s = scratch.get();
+            int entry = descend(query, 0, entryPoint, maxLevel, 0);
+            s.entries[0] = entry;
+            int count = searchLayer(s, query, 0, 1, Math.max(ef, k), 0);
+            List<Neighbor> result = new ArrayList<>(Math.min(k, count));
+            for (int i = 0; i < count && i < k; i++) {
+                long item = s.sorted[i];
+                result.add(new Neighbor(keys[node(item)], (float) Math.sqrt(distance(item))));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    // ==================== 建图 ====================
+
+    private void insert(int node, int level) {
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+        Scratch s = scratch.get();
+        int offset = node * dimension;
+        s.entries[0] = descend(vectors, offset, entryPoint, maxLevel, level);
+        int entries = 1;
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            int count = searchLayer(s, vectors, offset, entries, efConstruction, l);
+            int selected = selectNeighbors(s.sorted, count, m, s.selected);
+            int[] links = links(node, l);
+            int base = base(node, l);
+            links[base] = selected;
+            for (int i = 0; i < selected; i++) {
+                links[base + 1 + i] = node(s.selected[i]);
+            }
+            for (int i = 0; i < selected; i++) {
+                connect(s, node(s.selected[i]), node, distance(s.selected[i]), l);
+            }
+            if (s.entries.length < count) {
+                s.entries = new int[count];
+            }
+            for (int i = 0; i < count; i++) {
+                s.entries[i] = node(s.sorted[i]);
+            }
+            entries = count;
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    /**
+     * 把新节点加入邻居的邻接表, 满时按启发式重新挑选
+     */
+    private void connect(Scratch s, int neighbor, int node, float distance, int level) {
+        int[] links = links(neighbor, level);
+        int base = base(neighbor, level);
+        int count = links[base];
+        int capacity = level == 0 ? maxM0 : m;
+        if (count < capacity) {
+            links[base + 1 + count] = node;
+            links[base] = count + 1;
+            return;
+        }
+        long[] pool = s.pool;
+        int offset = neighbor * dimension;
+        for (int i = 0; i < count; i++) {
+            int other = links[base + 1 + i];
+            pool[i] = pack(distance(vectors, offset, other), other);
+        }
+        pool[count] = pack(distance, node);
+        Arrays.sort(pool, 0, count + 1);
+        int selected = selectNeighbors(pool, count + 1, capacity, s.kept);
+        links[base] = selected;
+        for (int i = 0; i < selected; i++) {
+            links[base + 1 + i] = node(s.kept[i]);
+        }
+    }
+
+    /**
+     * 启发式挑选邻居: 按距离升序, 只保留离查询点比离已选邻居都近的候选 (保持图的多方向连通)
+     *
+     * @return 选中的个数, 写入 out
+     */
+    private int selectNeighbors(long[] sorted, int count, int limit, long[] out) {
+        int selected = 0;
+        for (int i = 0; i < count && selected < limit; i++) {
+            int candidate = node(sorted[i]);
+            float toQuery = distance(sorted[i]);
+            int offset = candidate * dimension;
+            boolean keep = true;
+            for (int j = 0; j < selected; j++) {
+                if (distance(vectors, offset, node(out[j])) < toQuery) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                out[selected++] = sorted[i];
+            }
+        }
+        return selected;
+    }
+
+    private int randomLevel() {
+        double level = -Math.log(1.0 - random.nextDouble()) * levelFactor;
+        return (int) Math.min(level, MAX_LEVEL);
+    }
+
+    // ==================== 检索 ====================
+
+    /**
+     * 自 from 层贪心下降到 to 层 (不含), 返回 to 层的入口节点
+     */
+    private int descend(float[] query, int offset, int entry, int from, int to) {
+        int current = entry;
+        float best = distance(query, offset, current);
+        for (int l = from; l > to; l--) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                int[] links = links(current, l);
+                int base = base(current, l);
+                for (int i = 1; i <= links[base]; i++) {
+                    int other = links[base + i];
+                    float d = distance(query, offset, other);
+                    if (d < best) {
+                        best = d;
+                        current = other;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 在一层内以 s.entries[0, entries) 为入口做宽度为 ef 的最佳优先检索
+     *
+     * @return 结果个数, 按距离升序写入 s.sorted
+     */
+    private int searchLayer(Scratch s, float[] query, int offset, int entries, int ef, int level) {
+        s.nextEpoch(size);
+        NodeHeap candidates = s.candidates;
+        NodeHeap results = s.results;
+        candidates.clear();
+        results.clear();
+        for (int i = 0; i < entries; i++) {
+            int entry = s.entries[i];
+            s.visited[entry] = s.epoch;
+            long item = pack(distance(query, offset, entry), entry);
+            candidates.push(item);
+            results.push(item);
+            if (results.size() > ef) {
+                results.pop();
+            }
+        }
+        while (candidates.size() > 0) {
+            long closest = candidates.pop();
+            if (results.size() >= ef && closest > results.peek()) {
+                break;
+            }
+            int current = node(closest);
+            int[] links = links(current, level);
+            int base = base(current, level);
+            for (int i = 1; i <= links[base]; i++) {
+                int other = links[base + i];
+                if (s.visited[other] == s.epoch) {
+                    continue;
+                }
+                s.visited[other] = s.epoch;
+                long item = pack(distance(query, offset, other), other);
+                if (results.size() < ef || item < results.peek()) {
+                    candidates.push(item);
+                    results.push(item);
+                    if (results.size() > ef) {
+                        results.pop();
+                    }
+                }
+            }
+        }
+        int count = results.size();
+        if (s.sorted.length < count) {
+            s.sorted = new long[count];
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            s.sorted[i] = results.pop();
+        }
+        return count;
+    }
+
+    // ==================== 存储 ====================
+
+    private int[] links(int node, int level) {
+        return level == 0 ? layer0 : upper[node];
+    }
+
+    private int base(int node, int level) {
+        return level == 0 ? node * (maxM0 + 1) : (level - 1) * (m + 1);
+    }
+
+    /**
+     * 查询向量 (query 自 offset 起) 与节点的欧氏距离平方
+     */
+    private float distance(float[] query, int offset, int node) {
+        int other = node * dimension;
+        float sum = 0.0f;
+        for (int i = 0; i < dimension; i++) {
+            float diff = query[offset + i] - vectors[other + i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    /**
+     * 距离 (非负 float 的位模式与数值同序) 放在高 32 位, 节点放在低 32 位, 整数比较即按距离比较
+     */
+    private static long pack(float distance, int node) {
+        return (long) Float.floatToRawIntBits(distance) << 32 | node;
+    }
+
+    private static int node(long item) {
+        return (int) item;
+    }
+
+    private static float distance(long item) {
+        return Float.intBitsToFloat((int) (item >>> 32));
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= keys.length) {
+            return;
+        }
+        int grown = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(capacity, keys.length * 2L));
+        if ((long) grown * Math.max(dimension, maxM0 + 1) > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Similar chart index is full");
+        }
+        vectors = Arrays.copyOf(vectors, grown * dimension);
+        keys = Arrays.copyOf(keys, grown);
+        levels = Arrays.copyOf(levels, grown);
+        layer0 = Arrays.copyOf(layer0, grown * (maxM0 + 1));
+        upper = Arrays.copyOf(upper, grown);
+    }
+
+    private void checkVector(float[] vector) {
+        if (vector == null || vector.length != dimension) {
+            throw new IllegalArgumentException("Vector must have " + dimension + " components");
+        }
+        for (float value : vector) {
+            if (!Float.isFinite(value)) {
+                throw new IllegalArgumentException("Vector components must be finite");
+            }
+        }
+    }
+
+    /**
+     * 检索线程的工作区: 访问标记 (按轮次清零) 与两个堆
+     */
+    private static final class Scratch {
+
+        int[] visited = new int[0];
+        int epoch;
+        int[] entries = new int[1];
+        long[] sorted = new long[0];
+        long[] selected = new long[256];
+        long[] pool = new long[2 * 255 + 1];
+        long[] kept = new long[2 * 255];
+        final NodeHeap candidates = new NodeHeap(false);
+        final NodeHeap results = new NodeHeap(true);
+
+        void nextEpoch(int size) {
+            if (visited.length < size) {
+                visited = new int[Math.max(size, visited.length * 2)];
+                epoch = 0;
+            }
+            if (++epoch == 0) {
+                Arrays.fill(visited, 0);
+                epoch = 1;
+            }
+        }
+    }
+
+    // ==================== 持久化 ====================
+
+    /**
+     * 保存索引 (先写临时文件再原子替换)
+     *
+     * @throws UncheckedIOException 写入失败时抛出
+     */
+    public void save(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        lock.readLock().lock();
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(tmp)) {
+                    write(out);
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            log.info("Saved similar chart index with {} charts to {}", size, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write similar chart index " + file, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 读取索引文件, 之后可以继续插入
+     *
+     * @throws IllegalArgumentException 文件损坏或格式版本不一致时抛出
+     * @throws UncheckedIOException 读取失败时抛出
+     */
+    public static SimilarChartIndex load(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read similar chart index " + file, e);
+        }
+    }
+
+    void write(OutputStream target) throws IOException {
+        CRC32 crc = new CRC32();
+        DataOutputStream out = new DataOutputStream(
+            new CheckedOutputStream(new BufferedOutputStream(target, 1 << 16), crc));
+        out.write(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeShort(dimension);
+        out.writeShort(m);
+        out.writeShort(efConstruction);
+        out.writeInt(size);
+        out.writeInt(entryPoint);
+        out.writeByte(maxLevel);
+        for (int node = 0; node < size; node++) {
+            out.writeLong(keys[node]);
+            out.writeByte(levels[node]);
+            for (int i = node * dimension, end = i + dimension; i < end; i++) {
+                out.writeFloat(vectors[i]);
+            }
+            for (int l = 0; l <= levels[node]; l++) {
+                int[] links = links(node, l);
+                int base = base(node, l);
+                out.writeShort(links[base]);
+                for (int i = 1; i <= links[base]; i++) {
+                    out.writeInt(links[base + i]);
+                }
+            }
+        }
+        out.writeInt((int) crc.getValue());
+        out.flush();
+    }
+
+    static SimilarChartIndex read(InputStream source) throws IOException {
+        CRC32 crc = new CRC32();
+        DataInputStream in = new DataInputStream(
+            new CheckedInputStream(new BufferedInputStream(source, 1 << 16), crc));
+        try {
+            for (byte b : MAGIC) {
+                if (in.readByte() != b) {
+                    throw new IllegalArgumentException("Not a similar chart index");
+                }
+            }
+            int format = in.readUnsignedByte();
+            if (format != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported similar chart index format " + format);
+            }
+            int dimension = in.readUnsignedShort();
+            int m = in.readUnsignedShort();
+            int efConstruction = in.readUnsignedShort();
+            SimilarChartIndex index = new SimilarChartIndex(dimension, m, efConstruction);
+            int size = in.readInt();
+            int entryPoint = in.readInt();
+            int maxLevel = in.readByte();
+            if (size < 0 || (size == 0 ? entryPoint != -1 || maxLevel != -1
+                : entryPoint < 0 || entryPoint >= size || maxLevel < 0 || maxLevel > MAX_LEVEL)) {
+                throw new IllegalArgumentException("Malformed similar chart index header");
+            }
+            index.ensureCapacity(size);
+            for (int node = 0; node < size; node++) {
+                index.keys[node] = in.readLong();
+                int level = in.readUnsignedByte();
+                if (level > maxLevel) {
+                    throw new IllegalArgumentException("Malformed level of node " + node);
+                }
+                index.levels[node] = (byte) level;
+                if (level > 0) {
+                    index.upper[node] = new int[level * (m + 1)];
+                }
+                for (int i = node * dimension, end = i + dimension; i < end; i++) {
+                    index.vectors[i] = in.readFloat();
+                }
+                for (int l = 0; l <= level; l++) {
+                    int[] links = index.links(node, l);
+                    int base = index.base(node, l);
+                    int count = in.readUnsignedShort();
+                    if (count > (l == 0 ? index.maxM0 : m)) {
+                        throw new IllegalArgumentException("Malformed links of node " + node);
+                    }
+                    links[base] = count;
+                    for (int i = 1; i <= count; i++) {
+                        int other = in.readInt();
+                        if (other < 0 || other >= size) {
+                            throw new IllegalArgumentException("Malformed links of node " + node);
+                        }
+                        links[base + i] = other;
+                    }
+                }
+            }
+            if (size > 0 && index.levels[entryPoint] != maxLevel) {
+                throw new IllegalArgumentException("Malformed similar chart index header");
+            }
+            int expected = (int) crc.getValue();
+            if (in.readInt() != expected) {
+                throw new IllegalArgumentException("Checksum mismatch");
+            }
+            if (in.read() != -1) {
+                throw new IllegalArgumentException("Trailing bytes in similar chart index");
+            }
+            index.size = size;
+            index.entryPoint = entryPoint;
+            index.maxLevel = maxLevel;
+            return index;
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Truncated similar chart index", e);
+        }
+    }
+}
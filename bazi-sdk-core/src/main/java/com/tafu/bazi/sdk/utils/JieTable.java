@@ -0,0 +1,211 @@
+package com.tafu.bazi.sdk.utils;
+
+import com.nlf.calendar.EightChar;
+import com.nlf.calendar.JieQi;
+import com.nlf.calendar.Lunar;
+import com.nlf.calendar.Solar;
+import com.tafu.bazi.sdk.chart.ChartTables;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * 一段时间内的节令交接表: 预先由 lunar-java 求出各节的交接时刻, 之后年柱、月柱为二分查找
+ *
+ * <p>月柱逐节顺排 (六十甲子下标 +1), 交接后为寅月时年柱 +1 (立春)。提供两种口径:
+ * <ul>
+ *   <li>按分钟 ({@link #monthAt} / {@link #yearAt}): 与 {@code EightChar} 一致, 整分钟时刻不早于交接时刻即算下一个月</li>
+ *   <li>按日期 ({@link #monthOn} / {@link #yearOn}): 与 {@code Lunar#getMonthInGanZhi()} 一致, 交接当天整天算下一个月</li>
+ * </ul>
+ *
+ * <p>时间以纪元分钟 / 纪元日表示 (公历北京时间, 不含时区换算)。实例不可变, 线程安全
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class JieTable {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /** 首个纪元分钟 (含) */
+    private final int from;
+
+    /** 末个纪元分钟 (不含) */
+    private final int to;
+
+    /** from 时刻的年柱、月柱 */
+    private final int firstYear;
+    private final int firstMonth;
+
+    /** 各节交接后的第一个纪元分钟 */
+    private final int[] minutes;
+
+    /** 各节交接当天的纪元日 */
+    private final long[] days;
+
+    /** 各节交接后的年柱、月柱 */
+    private final int[] years;
+    private final int[] months;
+
+    private JieTable(int from, int to, int firstYear, int firstMonth, int[] minutes, long[] days, int[] years,
+                     int[] months) {
+        this.from = from;
+        this.to = to;
+        this.firstYear = firstYear;
+        this.firstMonth = firstMonth;
+        this.minutes = minutes;
+        this.days = days;
+        this.years = years;
+        this.months = months;
+    }
+
+    /**
+     * 求 [from, to) 内的节令交接 (每个节查一次 lunar-java, 约一百微秒)
+     *
+     * @param from 起始时间 (含)
+     * @param to 结束时间 (不含)
+     * @throws IllegalArgumentException 时间为空或 from 不早于 to 时抛出
+     */
+    public static JieTable between(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Jie table range must be non-empty");
+        }
+        int start = epochMinute(from);
+        int end = epochMinute(to);
+        Lunar lunar = LunarUtils.createSolar(from.getYear(), from.getMonthValue(), from.getDayOfMonth(),
+            from.getHour(), from.getMinute()).getLunar();
+        EightChar eightChar = lunar.getEightChar();
+        int year = ChartTables.jiaZiIndex(eightChar.getYear());
+        int month = ChartTables.jiaZiIndex(eightChar.getMonth());
+
+        int capacity = (int) ((end - start) / (28L * MINUTES_PER_DAY)) + 2;
+        int[] minutes = new int[capacity];
+        long[] days = new long[capacity];
+        int[] years = new int[capacity];
+        int[] months = new int[capacity];
+        int n = 0;
+        int firstYear = year;
+        int firstMonth = month;
+        long lastDay = Math.floorDiv(end - 1, MINUTES_PER_DAY);
+        JieQi jie = lunar.getNextJie();
+        // 交接分钟不晚于起始时刻的节已计入起始年柱、月柱
+        while (minuteOf(jie.getSolar()) <= start) {
+            jie = nextJie(jie);
+        }
+        // 末日的节按日期口径也要计入 (交接在末日最后一分钟内时, 交接后的第一分钟已在范围之外)
+        while (true) {
+            Solar solar = jie.getSolar();
+            int minute = minuteOf(solar);
+            long day = LocalDate.of(solar.getYear(), solar.getMonth(), solar.getDay()).toEpochDay();
+            if (minute >= end && day > lastDay) {
+                break;
+            }
+            month = (month + 1) % 60;
+            if (month % 12 == 2) {
+                year = (year + 1) % 60;
+            }
+            if (n == minutes.length) {
+                minutes = Arrays.copyOf(minutes, n * 2);
+                days = Arrays.copyOf(days, n * 2);
+                years = Arrays.copyOf(years, n * 2);
+                months = Arrays.copyOf(months, n * 2);
+            }
+            minutes[n] = minute;
+            days[n] = day;
+            years[n] = year;
+            months[n] = month;
+            n++;
+            jie = nextJie(jie);
+        }
+        return new JieTable(start, end, firstYear, firstMonth, Arrays.copyOf(minutes, n), Arrays.copyOf(days, n),
+            Arrays.copyOf(years, n), Arrays.copyOf(months, n));
+    }
+
+    /**
+     * 给定纪元分钟的月柱 (按分钟)
+     */
+    public int monthAt(int epochMinute) {
+        int i = indexAt(epochMinute);
+        return i < 0 ? firstMonth : months[i];
+    }
+
+    /**
+     * 给定纪元分钟的年柱 (按立春交接分钟)
+     */
+    public int yearAt(int epochMinute) {
+        int i = indexAt(epochMinute);
+        return i < 0 ? firstYear : years[i];
+    }
+
+    /**
+     * 给定纪元日的月柱 (按日期, 交接当天算下一个月)
+     */
+    public int monthOn(long epochDay) {
+        int i = indexOn(epochDay);
+        return i < 0 ? firstMonth : months[i];
+    }
+
+    /**
+     * 给定纪元日的年柱 (按立春日期)
+     */
+    public int yearOn(long epochDay) {
+        int i = indexOn(epochDay);
+        return i < 0 ? firstYear : years[i];
+    }
+
+    /**
+     * 给定纪元分钟之后 (不含) 的下一个交接分钟, 范围内无交接时为结束分钟
+     */
+    public int nextJieAfter(int epochMinute) {
+        int i = indexAt(epochMinute) + 1;
+        return i < minutes.length ? Math.min(minutes[i], to) : to;
+    }
+
+    /**
+     * 表内节的个数
+     */
+    public int size() {
+        return minutes.length;
+    }
+
+    private int indexAt(int epochMinute) {
+        checkRange(epochMinute >= from && epochMinute < to);
+        int i = Arrays.binarySearch(minutes, epochMinute);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    private int indexOn(long epochDay) {
+        checkRange(epochDay >= Math.floorDiv(from, MINUTES_PER_DAY)
+            && epochDay <= Math.floorDiv(to - 1, MINUTES_PER_DAY));
+        int i = Arrays.binarySearch(days, epochDay);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    private void checkRange(boolean inRange) {
+        if (!inRange) {
+            throw new IllegalArgumentException("Time is outside the jie table range");
+        }
+    }
+
+    /**
+     * 纪元分钟 (公历时间按 UTC 换算, 只作序号)
+     */
+    public static int epochMinute(LocalDateTime dateTime) {
+        return (int) Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60L);
+    }
+
+    /**
+     * 节令交接后的第一分钟 (lunar-java 按秒比较, 整分钟时刻不早于交接时刻即算下一个月)
+     */
+    private static int minuteOf(Solar solar) {
+        int minute = epochMinute(LocalDateTime.of(solar.getYear(), solar.getMonth(), solar.getDay(),
+            solar.getHour(), solar.getMinute()));
+        return solar.getSecond() > 0 ? minute + 1 : minute;
+    }
+
+    private static JieQi nextJie(JieQi jie) {
+        return jie.getSolar().next(1).getLunar().getNextJie();
+    }
+}
@@ -0,0 +1,261 @@
+package com.tafu.bazi.sdk.utils;
+
+import java.time.LocalDate;
+
+/**
+ * 农历历表
+ *
+ * <p>以逐年压缩编码的月大小与闰月表示 1900-2101 年的农历, 提供 O(1) 的闰月与月天数查询,
+ * 以及基于日偏移的农历 / 公历互转, 不依赖 lunar-java 的天文计算。
+ * 表中数据由 lunar-java 逐年生成, 并由测试逐日校验两者一致
+ *
+ * <p>每年一个 int:
+ * <pre>
+ * bit 0-3   闰月月份 (0 表示无闰月)
+ * bit 4-15  正月 ~ 腊月是否大月 (bit 15 为正月, bit 4 为腊月; 大月 30 天, 小月 29 天)
+ * bit 16    闰月是否大月
+ * </pre>
+ *
+ * <p>月份沿用 lunar-java 的约定: 负数表示闰月。日期以纪元日 ({@link LocalDate#toEpochDay()}) 表示,
+ * 各年正月初一的纪元日在类加载时由逐年天数累加得到
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public final class LunarCalendar {
+
+    /** 支持的最小农历年 */
+    public static final int MIN_YEAR = 1900;
+
+    /** 支持的最大农历年 */
+    public static final int MAX_YEAR = 2101;
+
+    private static final int[] YEAR_INFO = {
+        0x04bd8, 0x04ae0, 0x0a570, 0x054d5, 0x0d260, 0x0d950, 0x16554, 0x056a0, 0x09ad0, 0x055d2,
+        0x04ae0, 0x0a5b6, 0x0a4d0, 0x0d250, 0x1d255, 0x0b540, 0x0d6a0, 0x0ada2, 0x095b0, 0x14977,
+        0x04970, 0x0a4b0, 0x0b4b5, 0x06a50, 0x06d40, 0x1ab54, 0x02b60, 0x09570, 0x052f2, 0x04970,
+        0x06566, 0x0d4a0, 0x0ea50, 0x16a95, 0x05ad0, 0x02b60, 0x186e3, 0x092e0, 0x1c8d7, 0x0c950,
+        0x0d4a0, 0x1d8a6, 0x0b550, 0x056a0, 0x1a5b4, 0x025d0, 0x092d0, 0x0d2b2, 0x0a950, 0x0b557,
+        0x06ca0, 0x0b550, 0x15355, 0x04da0, 0x0a5b0, 0x14573, 0x052b0, 0x0a9a8, 0x0e950, 0x06aa0,
+        0x0aea6, 0x0ab50, 0x04b60, 0x0aae4, 0x0a570, 0x05260, 0x0f263, 0x0d950, 0x05b57, 0x056a0,
+        0x096d0, 0x04dd5, 0x04ad0, 0x0a4d0, 0x0d4d4, 0x0d250, 0x0d558, 0x0b540, 0x0b6a0, 0x195a6,
+        0x095b0, 0x049b0, 0x0a974, 0x0a4b0, 0x0b27a, 0x06a50, 0x06d40, 0x0af46, 0x0ab60, 0x09570,
+        0x04af5, 0x04970, 0x064b0, 0x074a3, 0x0ea50, 0x06b58, 0x05ac0, 0x0ab60, 0x096d5, 0x092e0,
+        0x0c960, 0x0d954, 0x0d4a0, 0x0da50, 0x07552, 0x056a0, 0x0abb7, 0x025d0, 0x092d0, 0x0cab5,
+        0x0a950, 0x0b4a0, 0x0baa4, 0x0ad50, 0x055d9, 0x04ba0, 0x0a5b0, 0x15176, 0x052b0, 0x0a930,
+        0x07954, 0x06aa0, 0x0ad50, 0x05b52, 0x04b60, 0x0a6e6, 0x0a4e0, 0x0d260, 0x0ea65, 0x0d530,
+        0x05aa0, 0x076a3, 0x096d0, 0x04afb, 0x04ad0, 0x0a4d0, 0x1d0b6, 0x0d250, 0x0d520, 0x0dd45,
+        0x0b5a0, 0x056d0, 0x055b2, 0x049b0, 0x0a577, 0x0a4b0, 0x0aa50, 0x1b255, 0x06d20, 0x0ada0,
+        0x14b63, 0x09370, 0x049f8, 0x04970, 0x064b0, 0x168a6, 0x0ea50, 0x06aa0, 0x1a6c4, 0x0aae0,
+        0x092e0, 0x0d2e3, 0x0c960, 0x0d557, 0x0d4a0, 0x0da50, 0x05d55, 0x056a0, 0x0a6d0, 0x055d4,
+        0x052d0, 0x0a9b8, 0x0a950, 0x0b4a0, 0x0b6a6, 0x0ad50, 0x055a0, 0x0aba4, 0x0a5b0, 0x052b0,
+        0x0b273, 0x06930, 0x07337, 0x06aa0, 0x0ad50, 0x14b55, 0x04b60, 0x0a570, 0x054e4, 0x0d160,
+        0x0e968, 0x0d520, 0x0daa0, 0x16aa6, 0x056d0, 0x04ae0, 0x0a9d4, 0x0a2d0, 0x0d150, 0x0f252,
+        0x0d520, 0x0db27
+    };
+
+    /** 农历 1900 年正月初一 = 公历 1900-01-31 */
+    private static final int BASE_EPOCH_DAY = (int) LocalDate.of(MIN_YEAR, 1, 31).toEpochDay();
+
+    /** 各年正月初一的纪元日, 末项为 {@link #MAX_YEAR} 次年正月初一 */
+    private static final int[] NEW_YEAR_EPOCH_DAYS = new int[YEAR_INFO.length + 1];
+
+    static {
+        NEW_YEAR_EPOCH_DAYS[0] = BASE_EPOCH_DAY;
+        for (int i = 0; i < YEAR_INFO.length; i++) {
+            NEW_YEAR_EPOCH_DAYS[i + 1] = NEW_YEAR_EPOCH_DAYS[i] + yearDays(YEAR_INFO[i]);
+        }
+    }
+
+    private LunarCalendar() {
+    }
+
+    /**
+     * 年份是否在历表范围内
+     */
+    public static boolean isSupported(int year) {
+        return year >= MIN_YEAR && year <= MAX_YEAR;
+    }
+
+    /**
+     * 查询闰月
+     *
+     * @param year 农历年 (1900-2101)
+     * @return 闰月月份 (0 表示无闰月)
+     * @throws IllegalArgumentException 年份超出范围时抛出
+     */
+    public static int getLeapMonth(int year) {
+        return info(year) & 0xF;
+    }
+
+    /**
+     * 查询月天数
+     *
+     * @param year 农历年 (1900-2101)
+     * @param month 农历月 (负数表示闰月)
+     * @return 29 或 30
+     * @throws IllegalArgumentException 年份超出范围或该月不存在时抛出
+     */
+    public static int getMonthDays(int year, int month) {
+        int info = info(year);
+        checkMonth(year, month, info);
+        return monthDays(info, month);
+    }
+
+    /**
+     * 查询全年天数
+     *
+     * @param year 农历年 (1900-2101)
+     * @return 353-385
+     * @throws IllegalArgumentException 年份超出范围时抛出
+     */
+    public static int getYearDays(int year) {
+        return yearDays(info(year));
+    }
+
+    /**
+     * 农历转纪元日
+     *
+     * <p>校验顺序与异常信息与 lunar-java 的 {@code Lunar.fromYmd} 一致
+     *
+     * @param year 农历年 (1900-2101)
+     * @param month 农历月 (负数表示闰月)
+     * @param day 农历日
+     * @return 纪元日
+     * @throws IllegalArgumentException 日期不存在时抛出
+     */
+    public static long toEpochDay(int year, int month, int day) {
+        int info = info(year);
+        checkMonth(year, month, info);
+        if (day < 1) {
+            throw new IllegalArgumentException("lunar day must bigger than 0");
+        }
+        int days = monthDays(info, month);
+        if (day > days) {
+            throw new IllegalArgumentException(
+                String.format("only %d days in lunar year %d month %d", days, year, month));
+        }
+        return NEW_YEAR_EPOCH_DAYS[year - MIN_YEAR] + daysBeforeMonth(info, month) + day - 1;
+    }
+
+    /**
+     * 农历转公历
+     *
+     * @see #toEpochDay(int, int, int)
+     */
+    public static LocalDate toSolar(int year, int month, int day) {
+        return LocalDate.ofEpochDay(toEpochDay(year, month, day));
+    }
+
+    /**
+     * 纪元日转农历
+     *
+     * @param epochDay 纪元日
+     * @return 农历日期
+     * @throws IllegalArgumentException 超出历表范围时抛出
+     */
+    public static LunarDate fromEpochDay(long epochDay) {
+        if (epochDay < NEW_YEAR_EPOCH_DAYS[0] || epochDay >= NEW_YEAR_EPOCH_DAYS[YEAR_INFO.length]) {
+            throw new IllegalArgumentException("Date out of lunar table range: " + LocalDate.ofEpochDay(epochDay));
+        }
+        // 按平均年长估算年份, 误差至多一年
+        int index = (int) ((epochDay - BASE_EPOCH_DAY) * 10000 / 3652422);
+        index = Math.min(index, YEAR_INFO.length - 1);
+        while (epochDay < NEW_YEAR_EPOCH_DAYS[index]) {
+            index--;
+        }
+        while (epochDay >= NEW_YEAR_EPOCH_DAYS[index + 1]) {
+            index++;
+        }
+
+        int info = YEAR_INFO[index];
+        int leapMonth = info & 0xF;
+        int offset = (int) (epochDay - NEW_YEAR_EPOCH_DAYS[index]);
+        for (int month = 1; ; month++) {
+            int days = monthDays(info, month);
+            if (offset < days) {
+                return new LunarDate(MIN_YEAR + index, month, offset + 1);
+            }
+            offset -= days;
+            if (month == leapMonth) {
+                days = monthDays(info, -month);
+                if (offset < days) {
+                    return new LunarDate(MIN_YEAR + index, -month, offset + 1);
+                }
+                offset -= days;
+            }
+        }
+    }
+
+    /**
+     * 公历转农历
+     *
+     * @see #fromEpochDay(long)
+     */
+    public static LunarDate fromSolar(LocalDate date) {
+        return fromEpochDay(date.toEpochDay());
+    }
+
+    // ==================== 私有方法 ====================
+
+    private static int info(int year) {
+        if (!isSupported(year)) {
+            throw new IllegalArgumentException("Lunar year must be between " + MIN_YEAR + " and " + MAX_YEAR);
+        }
+        return YEAR_INFO[year - MIN_YEAR];
+    }
+
+    private static void checkMonth(int year, int month, int info) {
+        int leapMonth = info & 0xF;
+        if (month == 0 || month > 12 || month < 0 && -month != leapMonth) {
+            throw new IllegalArgumentException(String.format("wrong lunar year %d month %d", year, month));
+        }
+    }
+
+    private static int monthDays(int info, int month) {
+        if (month < 0) {
+            return (info & 0x10000) != 0 ? 30 : 29;
+        }
+        return (info & (0x10000 >> month)) != 0 ? 30 : 29;
+    }
+
+    private static int yearDays(int info) {
+        int days = 12 * 29 + Integer.bitCount(info & 0xFFF0);
+        if ((info & 0xF) != 0) {
+            days += (info & 0x10000) != 0 ? 30 : 29;
+        }
+        return days;
+    }
+
+    /**
+     * 年内该月之前的天数: 之前各月 29 天 + 大月个数, 闰月在同名月之后
+     */
+    private static int daysBeforeMonth(int info, int month) {
+        int target = Math.abs(month);
+        int leapMonth = info & 0xF;
+        // 正月 ~ (target-1) 月对应 bit 15 ~ bit (17-target)
+        int mask = 0xFFFF & ~(0xFFFF >> (target - 1));
+        int days = 29 * (target - 1) + Integer.bitCount(info & mask);
+        if (month < 0) {
+            days += monthDays(info, target);
+        } else if (leapMonth != 0 && leapMonth < target) {
+            days += monthDays(info, -leapMonth);
+        }
+        return days;
+    }
+
+    /**
+     * 农历日期
+     *
+     * @param year 农历年
+     * @param month 农历月 (负数表示闰月)
+     * @param day 农历日
+     */
+    public record LunarDate(int year, int month, int day) {
+
+        /** 是否闰月 */
+        public boolean isLeapMonth() {
+            return month < 0;
+        }
+    }
+}
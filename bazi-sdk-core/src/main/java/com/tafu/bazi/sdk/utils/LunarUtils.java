@@ -62,10 +62,7 @@ public class LunarUtils {
         int dayOfYear = cal.get(Calendar.DAY_OF_YEAR);
         
         // 计算均时差 (Equation of Time, EOT)
-        // B 为角度参数
-        double B = (2 * Math.PI * (dayOfYear - 81)) / 365.0;
-        // 均时差公式 (单位:分钟)
-        double eot = 9.87 * Math.sin(2 * B) - 7.53 * Math.cos(B) - 1.5 * Math.sin(B);
+        double eot = equationOfTime(dayOfYear);
         
         // 计算总时差: 经度修正 + 均时差
         double longitudeCorrection = (longitude - 120.0) * 4.0;  // 经度修正
@@ -111,6 +108,19 @@ public class LunarUtils {
         );
     }
 
+    /**
+     * 均时差 (Equation of Time), 真太阳时与平太阳时之差
+     *
+     * @param dayOfYear 公历年内第几天 (1 起)
+     * @return 均时差 (分钟)
+     */
+    public static double equationOfTime(int dayOfYear) {
+        // B 为角度参数
+        double B = (2 * Math.PI * (dayOfYear - 81)) / 365.0;
+        // 均时差公式 (单位:分钟)
+        return 9.87 * Math.sin(2 * B) - 7.53 * Math.cos(B) - 1.5 * Math.sin(B);
+    }
+
     /**
      * 从八字对象中提取干支字符串
      * 
@@ -161,6 +171,9 @@ public class LunarUtils {
      * @return 闰月月份 (0 表示无闰月, 1-12 表示闰几月)
      */
     public static int getLeapMonth(int lunarYear) {
+        if (LunarCalendar.isSupported(lunarYear)) {
+            return LunarCalendar.getLeapMonth(lunarYear);
+        }
         try {
             // 使用 LunarYear 获取指定年份的闰月信息
             LunarYear ly = LunarYear.fromYear(lunarYear);
@@ -246,16 +259,6 @@ public class LunarUtils {
             return "";
         }
         
-        // 纳音对照表 (60甲子)
-        String[] naYinTable = {
-            "海中金", "炉中火", "大林木", "路旁土", "剑锋金", "山头火", "涧下水", "城头土", "白蜡金", "杨柳木",
-            "泉中水", "屋上土", "霹雳火", "松柏木", "长流水", "沙中金", "山下火", "平地木", "壁上土", "金箔金",
-            "覆灯火", "天河水", "大驿土", "钗钏金", "桑柘木", "大溪水", "沙中土", "天上火", "石榴木", "大海水",
-            "海中金", "炉中火", "大林木", "路旁土", "剑锋金", "山头火", "涧下水", "城头土", "白蜡金", "杨柳木",
-            "泉中水", "屋上土", "霹雳火", "松柏木", "长流水", "沙中金", "山下火", "平地木", "壁上土", "金箔金",
-            "覆灯火", "天河水", "大驿土", "钗钏金", "桑柘木", "大溪水", "沙中土", "天上火", "石榴木", "大海水"
-        };
-        
         String gan = extractGan(ganZhi);
         String zhi = extractZhi(ganZhi);
         
@@ -269,7 +272,7 @@ public class LunarUtils {
         // 计算60甲子序号: 天干序号*6 + 地支序号/2
         int index = (ganIndex * 6 + zhiIndex / 2) % 60;
         
-        return naYinTable[index];
+        return BaziDef.NA_YIN[index];
     }
 
     /**
@@ -279,9 +282,8 @@ public class LunarUtils {
      * @return 生肖名称
      */
     public static String getShengXiao(String yearZhi) {
-        String[] shengXiao = {"鼠", "牛", "虎", "兔", "龙", "蛇", "马", "羊", "猴", "鸡", "狗", "猪"};
         int index = BaziDef.getDiZhiIndex(yearZhi);
-        return index >= 0 ? shengXiao[index] : "";
+        return index >= 0 ? BaziDef.SHENG_XIAO[index] : "";
     }
 
     /**
@@ -0,0 +1,56 @@
+package com.tafu.bazi.sdk.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * SDK 版本
+ *
+ * <p>取自构建时经 Maven 资源过滤写入的 {@code sdk-version.properties} ({@code ${project.version}}),
+ * 发布新版本时自动变化。缓存快照、共享缓存键、命盘图集与四柱索引以此判断旧数据是否过期
+ *
+ * <p>未经过滤的构建 (如直接用 javac 编译) 读不到版本, 此时为 {@link #UNKNOWN} 并记录警告
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Slf4j
+public final class SdkVersion {
+
+    /** 读不到构建版本时的取值 */
+    public static final String UNKNOWN = "unknown";
+
+    static final String RESOURCE = "/com/tafu/bazi/sdk/sdk-version.properties";
+
+    private static final String CURRENT = load();
+
+    private SdkVersion() {
+    }
+
+    /**
+     * 当前 SDK 版本 (如 "1.0.0")
+     */
+    public static String current() {
+        return CURRENT;
+    }
+
+    private static String load() {
+        try (InputStream in = SdkVersion.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                Properties properties = new Properties();
+                properties.load(in);
+                String version = properties.getProperty("version", "").trim();
+                if (!version.isEmpty() && !version.startsWith("${")) {
+                    return version;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to read {}", RESOURCE, e);
+        }
+        log.warn("SDK version unavailable ({} missing or not filtered), using '{}'", RESOURCE, UNKNOWN);
+        return UNKNOWN;
+    }
+}
@@ -0,0 +1,160 @@
+package com.tafu.bazi.sdk.warmup;
+
+import com.tafu.bazi.sdk.BaziCalculator;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.codec.BaziBinaryCodec;
+import com.tafu.bazi.sdk.codec.BaziJsonWriter;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 计算器预热
+ *
+ * <p>首次请求需要完成 lunar-java 与 {@link com.tafu.bazi.sdk.model.BaziDef} 的类加载、静态表初始化,
+ * 且 {@code calculate} 尚未被 JIT 编译, 耗时可达稳定状态的数十倍。预热用一组确定性样本
+ * 走遍所有分支, 把这些成本提前到启动阶段
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Slf4j
+public final class BaziWarmup {
+
+    /** 分支组合数: 公历 / 农历 / 农历闰月 × 有无经度 × 男女 */
+    public static final int BRANCH_COMBINATIONS = 12;
+
+    /** 样本年份范围 (避开农历年跨入 2101 年的边界) */
+    private static final int MIN_YEAR = 1902;
+    private static final int MAX_YEAR = 2099;
+
+    private BaziWarmup() {
+    }
+
+    /**
+     * CDS 训练入口: 加载并执行计算、JSON 直写、二进制编解码的全部路径后退出,
+     * 配合 {@code -XX:ArchiveClassesAtExit=bazi.jsa} 生成应用类数据共享归档
+     *
+     * @param args 可选, 第一个参数为样本数 (默认 {@link WarmupPolicy#defaults()} 的每轮样本数)
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : WarmupPolicy.defaults().getSamplesPerRound();
+        BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+        BaziJsonWriter jsonWriter = new BaziJsonWriter(calculator);
+        BaziBinaryCodec codec = new BaziBinaryCodec();
+        for (BaziRequest sample : samples(calculator, count, WarmupPolicy.defaults().getSeed())) {
+            codec.decode(codec.encode(calculator.calculate(sample)));
+            jsonWriter.writeBytes(sample);
+        }
+    }
+
+    /**
+     * 按策略预热计算器
+     *
+     * @param calculator 计算器
+     * @param policy 预热策略
+     * @return 预热结果
+     */
+    public static WarmupReport run(BaziCalculator calculator, WarmupPolicy policy) {
+        if (calculator == null || policy == null) {
+            throw new IllegalArgumentException("Calculator and policy cannot be null");
+        }
+        if (policy.getRounds() < 0 || policy.getSamplesPerRound() < 0) {
+            throw new IllegalArgumentException("Rounds and samplesPerRound must not be negative");
+        }
+
+        long start = System.nanoTime();
+        long deadline = policy.getMaxDuration() == null ? Long.MAX_VALUE : start + policy.getMaxDuration().toNanos();
+        List<BaziRequest> samples = samples(calculator, policy.getSamplesPerRound(), policy.getSeed());
+
+        int calculations = 0;
+        int failures = 0;
+        int rounds = 0;
+        long firstRoundAvg = 0;
+        long lastRoundAvg = 0;
+        boolean truncated = false;
+
+        rounds:
+        for (int round = 0; round < policy.getRounds(); round++) {
+            long roundStart = System.nanoTime();
+            for (BaziRequest sample : samples) {
+                if (System.nanoTime() >= deadline || Thread.currentThread().isInterrupted()) {
+                    truncated = true;
+                    break rounds;
+                }
+                try {
+                    calculator.calculate(sample);
+                } catch (RuntimeException e) {
+                    failures++;
+                    log.debug("预热样本计算失败 {}: {}", sample, e.getMessage());
+                }
+                calculations++;
+            }
+            long avg = samples.isEmpty() ? 0 : (System.nanoTime() - roundStart) / samples.size() / 1000;
+            if (round == 0) {
+                firstRoundAvg = avg;
+            }
+            lastRoundAvg = avg;
+            rounds++;
+        }
+
+        WarmupReport report = WarmupReport.builder()
+            .calculations(calculations)
+            .failures(failures)
+            .rounds(rounds)
+            .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+            .firstRoundAvgMicros(firstRoundAvg)
+            .lastRoundAvgMicros(lastRoundAvg)
+            .truncated(truncated)
+            .build();
+        log.info("BaziCalculator warm-up finished: {}", report);
+        return report;
+    }
+
+    /**
+     * 生成预热样本: 按下标轮流覆盖 {@link #BRANCH_COMBINATIONS} 种分支组合,
+     * 日期与时辰 (含 23 点晚子时) 随机
+     *
+     * @param calculator 用于查询闰月
+     * @param count 样本数
+     * @param seed 随机种子
+     * @return 样本列表
+     */
+    public static List<BaziRequest> samples(BaziCalculator calculator, int count, long seed) {
+        Random random = new Random(seed);
+        List<BaziRequest> samples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int calendar = i % 3;
+            boolean withLongitude = (i / 3) % 2 == 1;
+            boolean male = (i / 6) % 2 == 0;
+
+            int year = MIN_YEAR + random.nextInt(MAX_YEAR - MIN_YEAR + 1);
+            int month = 1 + random.nextInt(12);
+            boolean leap = false;
+            if (calendar == 2) {
+                // 找到有闰月的年份
+                while (calculator.getLeapMonth(year) == 0) {
+                    year = MIN_YEAR + random.nextInt(MAX_YEAR - MIN_YEAR + 1);
+                }
+                month = calculator.getLeapMonth(year);
+                leap = true;
+            }
+
+            samples.add(BaziRequest.builder()
+                .year(year)
+                .month(month)
+                .day(1 + random.nextInt(28))
+                .hour(random.nextInt(24))
+                .minute(random.nextInt(60))
+                .calendarType(calendar == 0 ? "solar" : "lunar")
+                .isLeapMonth(leap)
+                .gender(male ? "male" : "female")
+                .longitude(withLongitude ? 73.0 + random.nextDouble() * 62.0 : null)
+                .build());
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,57 @@
+package com.tafu.bazi.sdk.warmup;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * 预热策略
+ *
+ * <p>控制 {@link com.tafu.bazi.sdk.BaziCalculator#warmUp(WarmupPolicy)} 的样本规模与耗时上限。
+ * 每轮样本覆盖公历/农历、闰月、真太阳时 (经度)、男女、子时跨日等全部分支
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarmupPolicy {
+
+    /** 轮数, 多轮可让 JIT 完成分层编译 */
+    @Builder.Default
+    private int rounds = 3;
+
+    /** 每轮样本数 */
+    @Builder.Default
+    private int samplesPerRound = 200;
+
+    /** 样本随机种子, 相同种子生成相同的样本 */
+    @Builder.Default
+    private long seed = 20260127L;
+
+    /** 最长耗时, 超时后提前结束 (null 表示不限制) */
+    @Builder.Default
+    private Duration maxDuration = Duration.ofSeconds(30);
+
+    /**
+     * 默认策略: 3 轮 × 200 个样本, 最长 30 秒
+     */
+    public static WarmupPolicy defaults() {
+        return WarmupPolicy.builder().build();
+    }
+
+    /**
+     * 最小策略: 1 轮, 每个分支组合各计算一次, 仅触发类加载与静态表初始化
+     */
+    public static WarmupPolicy minimal() {
+        return WarmupPolicy.builder()
+            .rounds(1)
+            .samplesPerRound(BaziWarmup.BRANCH_COMBINATIONS)
+            .build();
+    }
+}
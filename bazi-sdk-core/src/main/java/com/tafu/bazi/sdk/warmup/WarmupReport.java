@@ -0,0 +1,40 @@
+package com.tafu.bazi.sdk.warmup;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 预热结果
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarmupReport {
+
+    /** 完成的计算次数 */
+    private int calculations;
+
+    /** 失败次数 (样本异常, 不中断预热) */
+    private int failures;
+
+    /** 完成的轮数 */
+    private int rounds;
+
+    /** 总耗时 (毫秒) */
+    private long elapsedMillis;
+
+    /** 第一轮平均耗时 (微秒) */
+    private long firstRoundAvgMicros;
+
+    /** 最后一轮平均耗时 (微秒) */
+    private long lastRoundAvgMicros;
+
+    /** 是否因超时或中断提前结束 */
+    private boolean truncated;
+}
@@ -0,0 +1,122 @@
+package com.tafu.bazi.sdk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.BirthWindowRequest;
+import com.tafu.bazi.sdk.model.CompatibilityDTO;
+import com.tafu.bazi.sdk.model.HourChartDTO;
+import com.tafu.bazi.sdk.model.WindowChartDTO;
+import com.tafu.bazi.sdk.model.immutable.BaziResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 原生镜像元数据测试: 新增 DTO 时必须同步登记反射配置
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class NativeImageMetadataTest {
+
+    private static final String METADATA_DIR = "/META-INF/native-image/com.tafu/bazi-sdk-core/";
+    private static final String MODEL_PACKAGE = "com.tafu.bazi.sdk.model.";
+
+    @Test
+    void testReflectConfig_CoversAllDtos() throws Exception {
+        Set<String> registered = new HashSet<>();
+        for (JsonNode entry : read("reflect-config.json")) {
+            registered.add(entry.get("name").asText());
+        }
+
+        Set<String> reachable = reachableDtos(BaziRequest.class, BaziResponse.class, BaziResult.class,
+            HourChartDTO.class, BirthWindowRequest.class, WindowChartDTO.class, CompatibilityDTO.class);
+        for (String name : reachable) {
+            assertTrue(registered.contains(name), name + " 未登记到 reflect-config.json");
+        }
+    }
+
+    @Test
+    void testReflectConfig_ClassesExist() throws Exception {
+        for (JsonNode entry : read("reflect-config.json")) {
+            String name = entry.get("name").asText();
+            if (name.startsWith("com.tafu.")) {
+                assertDoesNotThrow(() -> Class.forName(name), name + " 不存在");
+            }
+        }
+    }
+
+    @Test
+    void testResourceConfig_IncludesSdkVersion() throws Exception {
+        String resource = "com/tafu/bazi/sdk/sdk-version.properties";
+        boolean included = false;
+        for (JsonNode entry : read("resource-config.json").get("resources").get("includes")) {
+            included |= Pattern.matches(entry.get("pattern").asText(), resource);
+        }
+        assertTrue(included, resource + " 未登记到 resource-config.json");
+        assertNotNull(getClass().getClassLoader().getResource(resource));
+    }
+
+    @Test
+    void testNativeImageProperties_BuildTimeClassesExist() throws Exception {
+        String args;
+        try (InputStream in = getClass().getResourceAsStream(METADATA_DIR + "native-image.properties")) {
+            assertNotNull(in);
+            Properties properties = new Properties();
+            properties.load(in);
+            args = properties.getProperty("Args");
+        }
+        assertNotNull(args);
+        String prefix = "--initialize-at-build-time=";
+        assertTrue(args.startsWith(prefix));
+        ClassLoader loader = getClass().getClassLoader();
+        for (String name : args.substring(prefix.length()).split(",")) {
+            // 包名 (目录存在) 或类名; 不依赖包中的类是否已被其他测试加载
+            if (loader.getResource(name.replace('.', '/') + "/") == null) {
+                assertDoesNotThrow(() -> Class.forName(name, false, loader), name + " 不存在");
+            }
+        }
+    }
+
+    private JsonNode read(String file) throws Exception {
+        try (InputStream in = getClass().getResourceAsStream(METADATA_DIR + file)) {
+            assertNotNull(in, file + " 不存在");
+            return new ObjectMapper().readTree(in);
+        }
+    }
+
+    /**
+     * 从根类型出发, 沿字段类型与泛型参数收集 model 包内的全部 DTO
+     */
+    private static Set<String> reachableDtos(Class<?>... roots) {
+        Set<String> found = new HashSet<>();
+        Deque<Type> pending = new ArrayDeque<>(List.of(roots));
+        while (!pending.isEmpty()) {
+            Type type = pending.pop();
+            if (type instanceof ParameterizedType parameterized) {
+                pending.addAll(List.of(parameterized.getActualTypeArguments()));
+                pending.push(parameterized.getRawType());
+            } else if (type instanceof Class<?> clazz
+                && clazz.getName().startsWith(MODEL_PACKAGE) && found.add(clazz.getName())) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    pending.push(field.getGenericType());
+                }
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,136 @@
+package com.tafu.bazi.sdk;
+
+import com.nlf.calendar.JieQi;
+import com.nlf.calendar.Solar;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.HourChartDTO;
+import com.tafu.bazi.sdk.model.PillarDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 未知时辰模式测试: 与逐个整点起盘 (接口默认实现) 一致, 覆盖节令交接日、晚子时与农历输入
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class UnknownHourTest {
+
+    private final BaziCalculatorImpl engine = new BaziCalculatorImpl();
+
+    /** 只实现 calculate, 使用接口默认的逐整点实现 */
+    private final BaziCalculator perHour = new BaziCalculator() {
+        @Override
+        public BaziResponse calculate(BaziRequest request) {
+            return engine.calculate(request);
+        }
+
+        @Override
+        public int getLeapMonth(int lunarYear) {
+            return engine.getLeapMonth(lunarYear);
+        }
+    };
+
+    @Test
+    void testRandomDates_MatchPerHour() {
+        Random random = new Random(44L);
+        for (int i = 0; i < 60; i++) {
+            LocalDate date = LocalDate.of(1901, 1, 1).plusDays(random.nextInt(199 * 365));
+            assertSame(solar(date, random.nextBoolean() ? "male" : "female"));
+        }
+    }
+
+    @Test
+    void testJieDays_MatchPerHour() {
+        // 2023-2024 全部节 (含立春, 年柱交接) 所在日期
+        Set<LocalDate> days = new TreeSet<>();
+        for (int year = 2023; year <= 2024; year++) {
+            for (int month = 1; month <= 12; month++) {
+                JieQi jie = Solar.fromYmd(year, month, 15).getLunar().getPrevJie();
+                Solar solar = jie.getSolar();
+                days.add(LocalDate.of(solar.getYear(), solar.getMonth(), solar.getDay()));
+            }
+        }
+        for (LocalDate date : days) {
+            assertSame(solar(date, "male"));
+            assertSame(solar(date, "female"));
+        }
+        assertEquals(24, days.size());
+    }
+
+    @Test
+    void testJieDay_SplitsAtJieMinute() {
+        // 2024-02-04 16:26:53 立春: 16:27 起为甲辰年丙寅月, 申时拆为 15:00-16:26 与 16:27-16:59 两项
+        BaziRequest request = solar(LocalDate.of(2024, 2, 4), "female");
+        for (List<HourChartDTO> hours : List.of(engine.calculateAllHours(request), perHour.calculateAllHours(request))) {
+            assertEquals(14, hours.size());
+            HourChartDTO before = hours.get(8);
+            HourChartDTO after = hours.get(9);
+            assertEquals(15, before.getStartHour());
+            assertEquals(0, before.getStartMinute());
+            assertEquals(16, before.getEndHour());
+            assertEquals("癸卯", pillar(before.getResponse().getFourPillars().getYear()));
+            assertEquals("乙丑", pillar(before.getResponse().getFourPillars().getMonth()));
+            assertEquals(16, after.getStartHour());
+            assertEquals(27, after.getStartMinute());
+            assertEquals(16, after.getEndHour());
+            assertEquals("甲辰", pillar(after.getResponse().getFourPillars().getYear()));
+            assertEquals("丙寅", pillar(after.getResponse().getFourPillars().getMonth()));
+            assertEquals(before.getHourPillar(), after.getHourPillar());
+            assertEquals(engine.calculate(request.toBuilder().hour(16).minute(27).build()), after.getResponse());
+            assertEquals(17, hours.get(10).getStartHour());
+            assertEquals(0, hours.get(10).getStartMinute());
+        }
+        assertEquals("乙丑", pillar(engine.calculate(request.toBuilder().hour(16).minute(26).build())
+            .getFourPillars().getMonth()));
+    }
+
+    @Test
+    void testLunarInput_AndHourRanges() {
+        BaziRequest request = BaziRequest.builder()
+            .year(2023).month(2).day(15).isLeapMonth(true)
+            .calendarType("lunar").gender("female").build();
+        assertSame(request);
+
+        // 无节令交接: 早子 0 点、晚子 23 点分开, 其余按时辰合并
+        List<HourChartDTO> hours = engine.calculateAllHours(solar(LocalDate.of(1990, 6, 15), "male"));
+        assertEquals(13, hours.size());
+        assertEquals(0, hours.get(0).getStartHour());
+        assertEquals(0, hours.get(0).getEndHour());
+        assertEquals(1, hours.get(1).getStartHour());
+        assertEquals(2, hours.get(1).getEndHour());
+        assertEquals(23, hours.get(12).getStartHour());
+        assertEquals(hours.get(0).getHourPillar().charAt(1), hours.get(12).getHourPillar().charAt(1));
+        assertNotEquals(hours.get(0).getResponse().getFourPillars().getDay(),
+            hours.get(12).getResponse().getFourPillars().getDay());
+
+        assertThrows(IllegalArgumentException.class, () -> engine.calculateAllHours(null));
+        assertThrows(IllegalArgumentException.class,
+            () -> engine.calculateAllHours(BaziRequest.builder().year(2023).month(13).day(1)
+                .calendarType("solar").gender("male").build()));
+    }
+
+    private void assertSame(BaziRequest request) {
+        List<HourChartDTO> expected = perHour.calculateAllHours(request);
+        List<HourChartDTO> actual = engine.calculateAllHours(request);
+        assertEquals(expected, actual, request.toString());
+    }
+
+    private static String pillar(PillarDTO pillar) {
+        return pillar.getHeavenlyStem().getChinese() + pillar.getEarthlyBranch().getChinese();
+    }
+
+    private static BaziRequest solar(LocalDate date, String gender) {
+        return BaziRequest.builder()
+            .year(date.getYear()).month(date.getMonthValue()).day(date.getDayOfMonth())
+            .calendarType("solar").gender(gender).build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.tafu.bazi.sdk.atlas;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.ChartTables;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.utils.LunarCalendar;
+import com.tafu.bazi.sdk.warmup.WarmupPolicy;
+import com.tafu.bazi.sdk.warmup.WarmupReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 命盘图集测试: 与引擎结果逐条一致、节令交接回退、文件校验
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class AtlasBaziCalculatorTest {
+
+    /** 含小寒 (月柱交接)、立春 (年柱、月柱交接) 与年末 */
+    private static final LocalDate FROM = LocalDate.of(2023, 12, 28);
+    private static final LocalDate TO = LocalDate.of(2024, 2, 10);
+
+    private final BaziCalculatorImpl engine = new BaziCalculatorImpl();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testEverySlot_MatchesEngine() {
+        ChartAtlas atlas = new ChartAtlasGenerator(engine).generate(FROM, TO, dir.resolve("atlas.bin"));
+        AtlasBaziCalculator calculator = new AtlasBaziCalculator(atlas, engine);
+        assertEquals((TO.toEpochDay() - FROM.toEpochDay()) * ChartAtlas.SLOTS_PER_DAY, atlas.size());
+
+        Random random = new Random(60L);
+        int inexact = 0;
+        for (int index = 0; index < atlas.size(); index++) {
+            LocalDate date = atlas.dateOf(index);
+            int slot = index % ChartAtlas.SLOTS_PER_DAY;
+            if (!atlas.isExact(index)) {
+                inexact++;
+            }
+            for (String gender : List.of("male", "female")) {
+                int hour = random.nextBoolean() ? ChartAtlas.firstHourOf(slot) : ChartAtlas.lastHourOf(slot);
+                BaziRequest request = request(date, hour, random.nextInt(60), gender);
+                assertEquals(engine.calculate(request), calculator.calculate(request), request.toString());
+            }
+
+            BaziChart chart = engine.calculateChart(request(date, ChartAtlas.firstHourOf(slot), 0, "male"));
+            assertEquals(chart.getStrength(), atlas.strength(index));
+            assertEquals(chart.getPattern(), atlas.pattern(index));
+            assertEquals(chart.getTotalScore(), atlas.totalScore(index));
+            assertEquals(chart.getDistribution()[2], atlas.distribution(index, 2));
+            assertEquals(ChartTables.jiaZiIndex(chart.getStems()[2], chart.getBranches()[2]), atlas.jiaZi(index, 2));
+        }
+        assertEquals(2, inexact, "小寒、立春交接的时段各一个");
+        assertTrue(calculator.getAtlasHits() > calculator.getFallbacks());
+    }
+
+    @Test
+    void testFallbacks_AndScoringModel() {
+        ChartAtlas atlas = new ChartAtlasGenerator(engine).generate(FROM, TO, dir.resolve("atlas.bin"));
+        AtlasBaziCalculator calculator = new AtlasBaziCalculator(atlas, engine);
+
+        BaziRequest withLongitude = request(LocalDate.of(2024, 1, 15), 10, 30, "male");
+        withLongitude.setLongitude(87.6);
+        BaziRequest outside = request(LocalDate.of(1990, 6, 15), 14, 30, "female");
+        BaziRequest invalidDay = request(LocalDate.of(2024, 2, 1), 8, 0, "male");
+        invalidDay.setDay(31);
+        for (BaziRequest request : List.of(withLongitude, outside, invalidDay)) {
+            assertEquals(engine.calculate(request), calculator.calculate(request));
+        }
+        assertEquals(3, calculator.getFallbacks());
+        assertEquals(0, calculator.getAtlasHits());
+
+        LunarCalendar.LunarDate lunar = LunarCalendar.fromSolar(LocalDate.of(2024, 1, 20));
+        BaziRequest lunarRequest = BaziRequest.builder().year(lunar.year()).month(lunar.month()).day(lunar.day())
+            .hour(23).minute(15).calendarType("lunar").gender("female").scoringModel("life-stage").build();
+        assertEquals(engine.calculate(lunarRequest), calculator.calculate(lunarRequest));
+        assertEquals(1, calculator.getAtlasHits());
+
+        IllegalArgumentException expected = assertThrows(IllegalArgumentException.class,
+            () -> engine.calculate(request(FROM, 24, 0, "male")));
+        IllegalArgumentException actual = assertThrows(IllegalArgumentException.class,
+            () -> calculator.calculate(request(FROM, 24, 0, "male")));
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(withModel(outside, "unknown")));
+    }
+
+    @Test
+    void testWarmUp_GoesToEngine() {
+        ChartAtlas atlas = new ChartAtlasGenerator(engine).generate(FROM, TO, dir.resolve("atlas.bin"));
+        AtlasBaziCalculator calculator = new AtlasBaziCalculator(atlas, engine);
+
+        WarmupReport report = calculator.warmUp(WarmupPolicy.builder().rounds(1).samplesPerRound(20).build());
+        assertEquals(20, report.getCalculations());
+        assertEquals(0, report.getFailures());
+        assertEquals(0, calculator.getAtlasHits());
+        assertEquals(0, calculator.getFallbacks());
+    }
+
+    @Test
+    void testOpen_RejectsCorruptFile() throws Exception {
+        Path file = dir.resolve("atlas.bin");
+        new ChartAtlasGenerator(engine).generate(FROM, FROM.plusDays(2), file);
+        ChartAtlas atlas = ChartAtlas.open(file);
+        assertEquals(FROM, atlas.getFirstDate());
+        assertEquals(FROM.plusDays(2), atlas.getEndDate());
+        assertEquals(-1, atlas.indexOf(FROM.minusDays(1), 12));
+        assertEquals(ChartAtlas.SLOTS_PER_DAY + 12, atlas.indexOf(FROM.plusDays(1), 23));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IllegalArgumentException.class, () -> ChartAtlas.open(file));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ChartAtlasGenerator(engine).generate(LocalDate.of(1900, 12, 31), FROM, file));
+    }
+
+    private static BaziRequest request(LocalDate date, int hour, int minute, String gender) {
+        return BaziRequest.builder()
+            .year(date.getYear())
+            .month(date.getMonthValue())
+            .day(date.getDayOfMonth())
+            .hour(hour)
+            .minute(minute)
+            .calendarType("solar")
+            .gender(gender)
+            .build();
+    }
+
+    private static BaziRequest withModel(BaziRequest request, String scoringModel) {
+        BaziRequest copy = request(LocalDate.of(request.getYear(), request.getMonth(), request.getDay()),
+            request.getHour(), request.getMinute(), request.getGender());
+        copy.setScoringModel(scoringModel);
+        return copy;
+    }
+}
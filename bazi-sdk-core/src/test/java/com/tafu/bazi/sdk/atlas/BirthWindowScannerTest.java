@@ -0,0 +1,185 @@
+package com.tafu.bazi.sdk.atlas;
+
+import com.nlf.calendar.Solar;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.model.BirthWindowRequest;
+import com.tafu.bazi.sdk.model.FourPillarsDTO;
+import com.tafu.bazi.sdk.model.PillarDTO;
+import com.tafu.bazi.sdk.model.WindowChartDTO;
+import com.tafu.bazi.sdk.model.WindowSegmentDTO;
+import com.tafu.bazi.sdk.utils.LunarUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 出生时间区间扫描测试: 与逐分钟起盘一致 (节令交接、晚子时、跨日真太阳时), 经度范围逐点覆盖
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class BirthWindowScannerTest {
+
+    @Test
+    void testNoLongitude_MatchesEveryMinute() {
+        // 立春 (2024-02-04 16:27) 前后, 含两次晚子时换日
+        assertMatches(LocalDateTime.of(2024, 2, 3, 20, 0), LocalDateTime.of(2024, 2, 5, 2, 0), null);
+
+        Random random = new Random(45L);
+        for (int i = 0; i < 30; i++) {
+            LocalDateTime jie = jieNear(random);
+            assertMatches(jie.minusMinutes(random.nextInt(300)), jie.plusMinutes(1 + random.nextInt(300)), null);
+        }
+    }
+
+    @Test
+    void testSingleLongitude_MatchesEveryMinute() {
+        Random random = new Random(46L);
+        for (int i = 0; i < 20; i++) {
+            LocalDateTime jie = jieNear(random);
+            double longitude = -180.0 + random.nextDouble() * 360.0;
+            assertMatches(jie.minusMinutes(random.nextInt(600)), jie.plusMinutes(1 + random.nextInt(600)), longitude);
+        }
+        // 跨公历日, 两天的均时差取整不同
+        assertMatches(LocalDateTime.of(1990, 6, 15, 20, 0), LocalDateTime.of(1990, 6, 16, 3, 0), 87.6);
+    }
+
+    @Test
+    void testLongitudeRange_CoversEveryPoint() {
+        Random random = new Random(47L);
+        for (int round = 0; round < 10; round++) {
+            LocalDateTime jie = jieNear(random);
+            LocalDateTime start = jie.minusMinutes(random.nextInt(240));
+            LocalDateTime end = jie.plusMinutes(1 + random.nextInt(240));
+            double west = 70.0 + random.nextDouble() * 30.0;
+            double east = west + random.nextDouble() * 40.0;
+            List<BirthWindowScanner.Candidate> candidates = BirthWindowScanner.scan(start, end, west, east);
+
+            int minutes = (int) Duration.between(start, end).toMinutes();
+            for (int i = 0; i < 300; i++) {
+                LocalDateTime time = start.plusMinutes(random.nextInt(minutes));
+                double longitude = i == 0 ? west : i == 1 ? east : west + random.nextDouble() * (east - west);
+                int expected = keyAt(time, longitude);
+                int found = 0;
+                for (BirthWindowScanner.Candidate candidate : candidates) {
+                    for (WindowSegmentDTO segment : candidate.segments()) {
+                        if (!time.isBefore(segment.getStart()) && time.isBefore(segment.getEnd())
+                            && longitude >= segment.getMinLongitude()
+                            && (longitude < segment.getMaxLongitude() || longitude == segment.getMaxLongitude() && longitude == east)) {
+                            found++;
+                            assertEquals(expected, candidate.key(), time + " @ " + longitude);
+                        }
+                    }
+                }
+                assertEquals(1, found, time + " @ " + longitude);
+            }
+        }
+    }
+
+    @Test
+    void testCalculateWindow_ChartPerPillars() {
+        BaziCalculatorImpl engine = new BaziCalculatorImpl();
+        // 22:00 ~ 00:30: 亥时、晚子时 (日柱算次日)
+        List<WindowChartDTO> charts = engine.calculateWindow(BirthWindowRequest.builder()
+            .start(LocalDateTime.of(1990, 6, 15, 22, 0))
+            .end(LocalDateTime.of(1990, 6, 16, 0, 30))
+            .gender("male").build());
+        assertEquals(2, charts.size());
+        assertEquals(LocalDateTime.of(1990, 6, 15, 23, 0), charts.get(1).getSegments().get(0).getStart());
+        assertEquals(LocalDateTime.of(1990, 6, 16, 0, 30), charts.get(1).getSegments().get(0).getEnd());
+
+        // 下午三到五点, 东经 100 ~ 125 度
+        charts = engine.calculateWindow(BirthWindowRequest.builder()
+            .start(LocalDateTime.of(1990, 6, 15, 15, 0))
+            .end(LocalDateTime.of(1990, 6, 15, 17, 0))
+            .minLongitude(100.0).maxLongitude(125.0)
+            .gender("female").build());
+        assertEquals(3, charts.size());
+        for (WindowChartDTO chart : charts) {
+            FourPillarsDTO pillars = chart.getResponse().getFourPillars();
+            assertEquals(chart.getPillars(), ganZhi(pillars.getYear()) + " " + ganZhi(pillars.getMonth()) + " "
+                + ganZhi(pillars.getDay()) + " " + ganZhi(pillars.getHour()));
+            assertFalse(chart.getSegments().isEmpty(), chart.getPillars());
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> engine.calculateWindow(BirthWindowRequest.builder()
+            .start(LocalDateTime.of(1990, 6, 15, 15, 0)).end(LocalDateTime.of(1990, 6, 15, 15, 0))
+            .gender("male").build()));
+        assertThrows(IllegalArgumentException.class, () -> engine.calculateWindow(BirthWindowRequest.builder()
+            .start(LocalDateTime.of(1990, 6, 15, 15, 0)).end(LocalDateTime.of(1990, 8, 15, 15, 0))
+            .gender("male").build()));
+        assertThrows(IllegalArgumentException.class, () -> engine.calculateWindow(BirthWindowRequest.builder()
+            .start(LocalDateTime.of(1990, 6, 15, 15, 0)).end(LocalDateTime.of(1990, 6, 15, 17, 0))
+            .minLongitude(125.0).maxLongitude(100.0).gender("male").build()));
+    }
+
+    /**
+     * 与逐分钟起盘比较
+     */
+    private static void assertMatches(LocalDateTime start, LocalDateTime end, Double longitude) {
+        Map<Integer, List<LocalDateTime[]>> expected = new TreeMap<>();
+        int previous = -1;
+        for (LocalDateTime time = start; time.isBefore(end); time = time.plusMinutes(1)) {
+            int key = keyAt(time, longitude);
+            List<LocalDateTime[]> intervals = expected.computeIfAbsent(key, k -> new ArrayList<>());
+            if (key == previous && !intervals.isEmpty()) {
+                intervals.get(intervals.size() - 1)[1] = time.plusMinutes(1);
+            } else {
+                intervals.add(new LocalDateTime[]{time, time.plusMinutes(1)});
+            }
+            previous = key;
+        }
+
+        List<BirthWindowScanner.Candidate> candidates = BirthWindowScanner.scan(start, end, longitude, longitude);
+        assertEquals(expected.size(), candidates.size(), start + " ~ " + end);
+        for (BirthWindowScanner.Candidate candidate : candidates) {
+            List<LocalDateTime[]> intervals = expected.get(candidate.key());
+            assertNotNull(intervals, candidate.pillars());
+            // 真太阳时修正跨日变化时, 同一四柱可能在公历零点处分为两段
+            List<LocalDateTime[]> actual = new ArrayList<>();
+            for (WindowSegmentDTO segment : candidate.segments()) {
+                LocalDateTime[] last = actual.isEmpty() ? null : actual.get(actual.size() - 1);
+                if (last != null && last[1].equals(segment.getStart())) {
+                    last[1] = segment.getEnd();
+                } else {
+                    actual.add(new LocalDateTime[]{segment.getStart(), segment.getEnd()});
+                }
+            }
+            assertEquals(intervals.size(), actual.size(), candidate.pillars());
+            for (int i = 0; i < intervals.size(); i++) {
+                assertArrayEquals(intervals.get(i), actual.get(i), candidate.pillars() + " " + start);
+            }
+        }
+    }
+
+    private static int keyAt(LocalDateTime time, Double longitude) {
+        if (longitude == null) {
+            return PillarIndexGenerator.keyAt(BirthInterval.epochMinute(time));
+        }
+        Solar solar = LunarUtils.getTrueSolarTime(time.getYear(), time.getMonthValue(), time.getDayOfMonth(),
+            time.getHour(), time.getMinute(), longitude);
+        return PillarIndexGenerator.keyAt(BirthInterval.epochMinute(LocalDateTime.of(solar.getYear(),
+            solar.getMonth(), solar.getDay(), solar.getHour(), solar.getMinute())));
+    }
+
+    /**
+     * 随机日期之后的第一个节 (精确到分钟)
+     */
+    private static LocalDateTime jieNear(Random random) {
+        Solar solar = Solar.fromYmd(1901 + random.nextInt(199), 1 + random.nextInt(12), 1 + random.nextInt(28))
+            .getLunar().getNextJie().getSolar();
+        return LocalDateTime.of(solar.getYear(), solar.getMonth(), solar.getDay(), solar.getHour(), solar.getMinute());
+    }
+
+    private static String ganZhi(PillarDTO pillar) {
+        return pillar.getHeavenlyStem().getChinese() + pillar.getEarthlyBranch().getChinese();
+    }
+}
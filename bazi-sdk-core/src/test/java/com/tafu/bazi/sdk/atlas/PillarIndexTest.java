@@ -0,0 +1,147 @@
+package com.tafu.bazi.sdk.atlas;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 四柱反查索引测试: 与逐分钟起盘结果一致、部分柱查询、与引擎一致、文件校验
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class PillarIndexTest {
+
+    /** 含立春 (2024-02-04 16:27, 年柱、月柱交接) */
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 31);
+    private static final LocalDate TO = LocalDate.of(2024, 2, 8);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testEveryMinute_MatchesBruteForce() {
+        PillarIndex index = PillarIndexGenerator.generate(FROM, TO, dir.resolve("pillars.bin"));
+        Map<Integer, List<BirthInterval>> expected = bruteForce();
+        assertEquals(expected.size(), index.keyCount());
+        assertEquals(expected.values().stream().mapToInt(List::size).sum(), index.size());
+
+        for (Map.Entry<Integer, List<BirthInterval>> entry : expected.entrySet()) {
+            int[] p = pillars(entry.getKey());
+            assertEquals(entry.getValue(), index.find(p[0], p[1], p[2], p[3]), "key " + entry.getKey());
+            assertEquals(entry.getValue().size(), index.count(p[0], p[1], p[2], p[3]));
+        }
+        LocalDateTime lichun = LocalDateTime.of(2024, 2, 4, 16, 27);
+        assertTrue(index.find(PillarIndex.ANY, PillarIndex.ANY, PillarIndex.ANY, PillarIndex.ANY).stream()
+            .anyMatch(interval -> interval.start().equals(lichun)), "立春交接分钟切分区间");
+    }
+
+    @Test
+    void testPartialKeys_EveryPillarMask() {
+        PillarIndex index = PillarIndexGenerator.generate(FROM, TO, dir.resolve("pillars.bin"));
+        Map<Integer, List<BirthInterval>> expected = bruteForce();
+
+        for (int key : expected.keySet()) {
+            int[] p = pillars(key);
+            // 16 种给出柱的组合: 年月日时前缀、日时年月前缀与逐键展开三种查找路径
+            for (int mask = 0; mask < 16; mask++) {
+                int[] query = new int[4];
+                for (int pillar = 0; pillar < 4; pillar++) {
+                    query[pillar] = (mask & (1 << pillar)) != 0 ? p[pillar] : PillarIndex.ANY;
+                }
+                List<BirthInterval> matched = new ArrayList<>();
+                for (Map.Entry<Integer, List<BirthInterval>> entry : expected.entrySet()) {
+                    int[] q = pillars(entry.getKey());
+                    boolean match = true;
+                    for (int pillar = 0; pillar < 4; pillar++) {
+                        match &= query[pillar] == PillarIndex.ANY || query[pillar] == q[pillar];
+                    }
+                    if (match) {
+                        matched.addAll(entry.getValue());
+                    }
+                }
+                matched.sort(Comparator.comparing(BirthInterval::start));
+                assertEquals(matched, index.find(query[0], query[1], query[2], query[3]), "mask " + mask);
+                assertEquals(matched.size(), index.count(query[0], query[1], query[2], query[3]));
+            }
+        }
+        // 月干与年干不符 (五虎遁) 的组合不存在
+        int[] p = pillars(expected.keySet().iterator().next());
+        assertEquals(0, index.count(p[0], (p[1] + 2) % 60, PillarIndex.ANY, PillarIndex.ANY));
+        assertThrows(IllegalArgumentException.class, () -> index.find(60, 0, 0, 0));
+    }
+
+    @Test
+    void testFindChart_ContainsBirthTime() {
+        PillarIndex index = PillarIndexGenerator.generate(FROM, TO, dir.resolve("pillars.bin"));
+        BaziCalculatorImpl engine = new BaziCalculatorImpl();
+        Random random = new Random(43L);
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime time = FROM.atStartOfDay().plusMinutes(random.nextInt(
+                (int) (TO.toEpochDay() - FROM.toEpochDay()) * 24 * 60));
+            BaziChart chart = engine.calculateChart(BaziRequest.builder()
+                .year(time.getYear()).month(time.getMonthValue()).day(time.getDayOfMonth())
+                .hour(time.getHour()).minute(time.getMinute())
+                .calendarType("solar").gender("male").build());
+            List<BirthInterval> intervals = index.find(chart);
+            assertEquals(1, intervals.stream().filter(interval -> interval.contains(time)).count(), time.toString());
+        }
+    }
+
+    @Test
+    void testOpen_RejectsCorruptFile() throws Exception {
+        Path file = dir.resolve("pillars.bin");
+        PillarIndexGenerator.generate(FROM, FROM.plusDays(2), file);
+        PillarIndex index = PillarIndex.open(file);
+        assertEquals(FROM, index.getFirstDate());
+        assertEquals(FROM.plusDays(2), index.getEndDate());
+        assertEquals(2 * 24 * 60, index.find(PillarIndex.ANY, PillarIndex.ANY, PillarIndex.ANY, PillarIndex.ANY)
+            .stream().mapToLong(BirthInterval::minutes).sum());
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IllegalArgumentException.class, () -> PillarIndex.open(file));
+        assertThrows(IllegalArgumentException.class,
+            () -> PillarIndexGenerator.generate(FROM, FROM, file));
+    }
+
+    /**
+     * 逐分钟起盘, 相邻相同四柱合并为区间
+     */
+    private static Map<Integer, List<BirthInterval>> bruteForce() {
+        Map<Integer, List<BirthInterval>> intervals = new TreeMap<>();
+        int start = BirthInterval.epochMinute(FROM.atStartOfDay());
+        int end = BirthInterval.epochMinute(TO.atStartOfDay());
+        int from = start;
+        int key = PillarIndexGenerator.keyAt(start);
+        for (int minute = start + 1; minute <= end; minute++) {
+            int next = minute == end ? -1 : PillarIndexGenerator.keyAt(minute);
+            if (next != key) {
+                intervals.computeIfAbsent(key, k -> new ArrayList<>()).add(BirthInterval.ofEpochMinutes(from, minute));
+                from = minute;
+                key = next;
+            }
+        }
+        return intervals;
+    }
+
+    private static int[] pillars(int key) {
+        return new int[]{key / 216000, key / 3600 % 60, key / 60 % 60, key % 60};
+    }
+}
@@ -0,0 +1,126 @@
+package com.tafu.bazi.sdk.batch;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.CompiledScoringModel;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量五行内核测试: 与命盘的五行分布一致, 向量实现与标量实现逐位一致 (含尾部)。
+ * 吞吐量见 bazi-sdk-benchmarks 的 ElementKernelBenchmark
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class ElementKernelTest {
+
+    private final BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+
+    @Test
+    void testDistribution_MatchesChart() {
+        List<BaziChart> charts = new ArrayList<>();
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 301, 49L)) {
+            charts.add(calculator.calculateChart(sample));
+        }
+        ElementBatch batch = new ElementBatch(charts.size());
+        charts.forEach(batch::add);
+        for (ElementKernel kernel : kernels()) {
+            double[][] out = new double[5][batch.size()];
+            kernel.distribution(batch, CompiledScoringModel.CLASSIC, out);
+            for (int i = 0; i < charts.size(); i++) {
+                for (int e = 0; e < 5; e++) {
+                    assertEquals(charts.get(i).getDistribution()[e], out[e][i], 1e-9, kernel.name() + " " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testVector_MatchesScalarBitwise() {
+        Random random = new Random(50L);
+        ElementKernel scalar = ElementKernels.scalar();
+        for (ElementKernel kernel : kernels()) {
+            // 覆盖不足一个向量宽度与有尾部的批次
+            for (int size : new int[]{1, 3, 8, 17, 1000}) {
+                ElementBatch batch = randomBatch(random, size);
+                for (CompiledScoringModel model : List.of(CompiledScoringModel.CLASSIC,
+                    CompiledScoringModel.LIFE_STAGE)) {
+                    double[][] expected = new double[5][size];
+                    double[][] actual = new double[5][size];
+                    scalar.distribution(batch, model, expected);
+                    kernel.distribution(batch, model, actual);
+                    for (int e = 0; e < 5; e++) {
+                        assertArrayEquals(expected[e], actual[e], 0.0, kernel.name() + " " + size);
+                    }
+
+                    double[] query = {expected[0][0], expected[1][0], expected[2][0], expected[3][0], expected[4][0]};
+                    double[] cosineExpected = new double[size];
+                    double[] cosineActual = new double[size];
+                    scalar.cosine(query, expected, size, cosineExpected);
+                    kernel.cosine(query, expected, size, cosineActual);
+                    assertArrayEquals(cosineExpected, cosineActual, 0.0);
+                    assertEquals(1.0, cosineActual[0], 1e-12);
+                }
+            }
+            // 全 0 分布的相似度为 0
+            double[] out = new double[9];
+            kernel.cosine(new double[5], new double[5][9], 9, out);
+            assertArrayEquals(new double[9], out, 0.0);
+            kernel.cosine(new double[]{1, 0, 0, 0, 0}, new double[5][9], 9, out);
+            assertArrayEquals(new double[9], out, 0.0);
+        }
+    }
+
+    @Test
+    void testSelection_AndValidation() {
+        // 以 -Pvector 构建且带孵化模块运行时必须加载向量内核, 否则回退到标量内核
+        boolean available = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && ElementKernels.class.getResource("VectorElementKernel.class") != null;
+        assertEquals(available, ElementKernels.vector().isPresent());
+        assertEquals(available ? "vector" : "scalar", ElementKernels.best().name());
+
+        ElementBatch batch = new ElementBatch(1);
+        assertThrows(IllegalArgumentException.class, () -> batch.add(new int[]{0, 0, 10, 0}, new int[4]));
+        batch.add(new int[4], new int[4]);
+        assertThrows(IllegalArgumentException.class, () -> batch.add(new int[4], new int[4]));
+        assertThrows(IllegalArgumentException.class, () -> new ElementBatch(0));
+        for (ElementKernel kernel : kernels()) {
+            assertThrows(IllegalArgumentException.class,
+                () -> kernel.distribution(batch, CompiledScoringModel.CLASSIC, new double[4][1]));
+            assertThrows(IllegalArgumentException.class,
+                () -> kernel.cosine(new double[4], new double[5][1], 1, new double[1]));
+        }
+        batch.clear();
+        assertEquals(0, batch.size());
+    }
+
+    private static List<ElementKernel> kernels() {
+        List<ElementKernel> kernels = new ArrayList<>();
+        kernels.add(ElementKernels.scalar());
+        ElementKernels.vector().ifPresent(kernels::add);
+        return kernels;
+    }
+
+    private static ElementBatch randomBatch(Random random, int size) {
+        ElementBatch batch = new ElementBatch(size);
+        int[] stems = new int[4];
+        int[] branches = new int[4];
+        for (int i = 0; i < size; i++) {
+            for (int p = 0; p < 4; p++) {
+                // 干支阴阳一致
+                stems[p] = random.nextInt(10);
+                branches[p] = (stems[p] & 1) + 2 * random.nextInt(6);
+            }
+            batch.add(stems, branches);
+        }
+        return batch;
+    }
+}
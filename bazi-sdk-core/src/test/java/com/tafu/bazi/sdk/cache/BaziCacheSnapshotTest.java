@@ -0,0 +1,181 @@
+package com.tafu.bazi.sdk.cache;
+
+import com.tafu.bazi.sdk.BaziCalculator;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.PillarDTO;
+import com.tafu.bazi.sdk.utils.SdkVersion;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LocalBaziCache / CachingBaziCalculator / BaziCacheSnapshot 测试类
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class BaziCacheSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private final BaziCalculator impl = new BaziCalculatorImpl();
+
+    private LocalBaziCache filledCache(int count) {
+        LocalBaziCache cache = new LocalBaziCache(count);
+        CachingBaziCalculator calculator = new CachingBaziCalculator(impl, cache);
+        for (BaziRequest sample : BaziWarmup.samples(impl, count, 7L)) {
+            calculator.calculate(sample);
+        }
+        return cache;
+    }
+
+    @Test
+    void testCache_EvictsLeastRecentlyUsed() {
+        LocalBaziCache cache = new LocalBaziCache(2);
+        List<BaziRequest> samples = BaziWarmup.samples(impl, 3, 1L);
+        BaziCacheKey a = BaziCacheKey.of(samples.get(0));
+        BaziCacheKey b = BaziCacheKey.of(samples.get(1));
+        BaziCacheKey c = BaziCacheKey.of(samples.get(2));
+        BaziResponse response = impl.calculate(samples.get(0));
+
+        cache.put(a, response);
+        cache.put(b, response);
+        assertNotNull(cache.get(a));
+        cache.put(c, response);
+
+        assertNull(cache.get(b));
+        assertEquals(List.of(c, a), cache.hottest(10).stream().map(Map.Entry::getKey).toList());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testCache_DoesNotShareMutableResults() {
+        LocalBaziCache cache = new LocalBaziCache(10);
+        BaziRequest request = BaziWarmup.samples(impl, 1, 2L).get(0);
+        BaziCacheKey key = BaziCacheKey.of(request);
+        BaziResponse expected = impl.calculate(request);
+        BaziResponse response = impl.calculate(request);
+        PillarDTO day = response.getFourPillars().getDay();
+
+        cache.put(key, response);
+        // 写入不替换调用方的子对象
+        assertSame(day, response.getFourPillars().getDay());
+        response.getFourPillars().getDay().setNaYin("改");
+        response.setPattern(null);
+
+        BaziResponse first = cache.get(key);
+        assertEquals(expected, first);
+        first.getFourPillars().setDay(null);
+        first.getYun().getDaYunList().clear();
+        assertEquals(expected, cache.get(key));
+        assertSame(cache.getResult(key), cache.getResult(key));
+    }
+
+    @Test
+    void testCachingCalculator_HitsAfterFirstCall() {
+        LocalBaziCache cache = new LocalBaziCache(10);
+        CachingBaziCalculator calculator = new CachingBaziCalculator(impl, cache);
+        BaziRequest request = BaziWarmup.samples(impl, 1, 1L).get(0);
+
+        BaziResponse first = calculator.calculate(request);
+        BaziResponse second = calculator.calculate(request);
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(null));
+    }
+
+    @Test
+    void testSnapshot_RoundTrip() {
+        LocalBaziCache cache = filledCache(120);
+        Path file = dir.resolve("bazi-cache.bin");
+
+        assertEquals(120, BaziCacheSnapshot.save(cache, file, 1000, "rules-1"));
+        LocalBaziCache restored = new LocalBaziCache(120);
+        assertEquals(120, BaziCacheSnapshot.load(restored, file, "rules-1"));
+        assertEquals(120, restored.size());
+        List<Map.Entry<BaziCacheKey, BaziResponse>> expected = cache.hottest(1000);
+        List<Map.Entry<BaziCacheKey, BaziResponse>> actual = restored.hottest(1000);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getKey(), actual.get(i).getKey());
+            assertEquals(expected.get(i).getValue(), actual.get(i).getValue());
+        }
+
+        // 载入后的请求直接命中
+        CachingBaziCalculator calculator = new CachingBaziCalculator(impl, restored);
+        BaziRequest request = expected.get(0).getKey().toRequest();
+        assertEquals(impl.calculate(request), calculator.calculate(request));
+        assertEquals(1, restored.getHits());
+    }
+
+    @Test
+    void testSnapshot_KeepsHottestEntries() {
+        LocalBaziCache cache = filledCache(50);
+        Path file = dir.resolve("bazi-cache.bin");
+
+        assertEquals(10, BaziCacheSnapshot.save(cache, file, 10, null));
+        List<Map.Entry<BaziCacheKey, BaziResponse>> read = BaziCacheSnapshot.read(file, null);
+        assertEquals(cache.hottest(10).stream().map(Map.Entry::getKey).toList(),
+            read.stream().map(Map.Entry::getKey).toList());
+    }
+
+    @Test
+    void testSnapshot_KeepsRulesVersionOfKeys() {
+        LocalBaziCache cache = new LocalBaziCache(10);
+        CachingBaziCalculator calculator = new CachingBaziCalculator(impl, cache, List.of(), Duration.ofMillis(50),
+            () -> "rules-1");
+        BaziRequest request = BaziWarmup.samples(impl, 1, 8L).get(0);
+        calculator.calculate(request);
+        Path file = dir.resolve("bazi-cache.bin");
+
+        BaziCacheSnapshot.save(cache, file, 10, "rules-1");
+        List<Map.Entry<BaziCacheKey, BaziResponse>> read = BaziCacheSnapshot.read(file, "rules-1");
+        assertEquals(BaziCacheKey.of(request, "rules-1"), read.get(0).getKey());
+    }
+
+    @Test
+    void testSdkVersion_ComesFromBuild() {
+        // 构建时过滤写入 project.version, 不是手工维护的常量
+        assertNotEquals(SdkVersion.UNKNOWN, BaziCacheSnapshot.SDK_VERSION);
+        assertTrue(BaziCacheSnapshot.SDK_VERSION.matches("\\d+\\.\\d+\\.\\d+.*"), BaziCacheSnapshot.SDK_VERSION);
+        assertEquals(SdkVersion.current(), BaziCacheSnapshot.SDK_VERSION);
+        BaziRequest request = BaziWarmup.samples(impl, 1, 7L).get(0);
+        assertTrue(BaziCacheKey.of(request).toStorageKey().startsWith("bazi:" + SdkVersion.current() + ':'));
+    }
+
+    @Test
+    void testSnapshot_StaleOrCorruptIsIgnored() throws Exception {
+        LocalBaziCache cache = filledCache(20);
+        Path file = dir.resolve("bazi-cache.bin");
+        BaziCacheSnapshot.save(cache, file, 100, "rules-1");
+
+        LocalBaziCache target = new LocalBaziCache(100);
+        assertEquals(0, BaziCacheSnapshot.load(target, file, "rules-2"));
+        assertThrows(IllegalArgumentException.class, () -> BaziCacheSnapshot.read(file, "rules-2"));
+
+        byte[] data = Files.readAllBytes(file);
+        data[data.length / 2] ^= 0x5A;
+        Files.write(file, data);
+        assertEquals(0, BaziCacheSnapshot.load(target, file, "rules-1"));
+        assertThrows(IllegalArgumentException.class, () -> BaziCacheSnapshot.read(file, "rules-1"));
+
+        Files.write(file, new byte[3]);
+        assertEquals(0, BaziCacheSnapshot.load(target, file, "rules-1"));
+        assertEquals(0, BaziCacheSnapshot.load(target, dir.resolve("missing.bin"), "rules-1"));
+        assertEquals(0, target.size());
+    }
+}
@@ -0,0 +1,161 @@
+package com.tafu.bazi.sdk.cache;
+
+import com.tafu.bazi.sdk.BaziCalculator;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BaziCacheTier / 分层缓存测试类
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class BaziCacheTierTest {
+
+    private final BaziCalculator impl = new BaziCalculatorImpl();
+
+    private CachingBaziCalculator instance(BaziCacheTier... tiers) {
+        return new CachingBaziCalculator(impl, new LocalBaziCache(1000), List.of(tiers), Duration.ofMillis(50));
+    }
+
+    @Test
+    void testSharedTier_SecondInstanceSkipsComputation() throws Exception {
+        InMemoryBaziCacheTier remote = new InMemoryBaziCacheTier("remote");
+        CachingBaziCalculator first = instance(remote);
+        CachingBaziCalculator second = instance(remote);
+        List<BaziRequest> samples = BaziWarmup.samples(impl, 24, 3L);
+
+        for (BaziRequest sample : samples) {
+            first.calculate(sample);
+        }
+        assertEquals(samples.size(), remote.size());
+
+        for (BaziRequest sample : samples) {
+            assertEquals(impl.calculate(sample), second.calculate(sample));
+        }
+        // 第二次命中本地缓存
+        second.calculate(samples.get(0));
+
+        CacheStats stats = second.getStats();
+        assertEquals(0, stats.getComputations());
+        assertEquals(samples.size(), stats.getTierHits());
+        assertEquals(1, stats.getLocalHits());
+    }
+
+    @Test
+    void testSharedTier_RulesVersionSeparatesEntries() {
+        InMemoryBaziCacheTier remote = new InMemoryBaziCacheTier("remote");
+        BaziRequest request = BaziWarmup.samples(impl, 1, 5L).get(0);
+        CachingBaziCalculator builtIn = instance(remote);
+        CachingBaziCalculator custom = new CachingBaziCalculator(impl, new LocalBaziCache(10), List.of(remote),
+            Duration.ofMillis(50), () -> "rules-b");
+
+        builtIn.calculate(request);
+        custom.calculate(request);
+
+        // 不同规则版本的实例共用存储但互不命中
+        assertEquals(2, remote.size());
+        assertEquals(0, custom.getStats().getTierHits());
+        assertEquals(1, custom.getStats().getComputations());
+        assertNotEquals(BaziCacheKey.of(request).toStorageKey(), BaziCacheKey.of(request, "rules-b").toStorageKey());
+        assertEquals(BaziCacheKey.of(request), BaziCacheKey.of(request, " "));
+    }
+
+    @Test
+    void testTierOrder_HitBackfillsEarlierTiers() {
+        InMemoryBaziCacheTier near = new InMemoryBaziCacheTier("near");
+        InMemoryBaziCacheTier far = new InMemoryBaziCacheTier("far");
+        BaziRequest request = BaziWarmup.samples(impl, 1, 5L).get(0);
+        instance(far).calculate(request);
+        assertEquals(0, near.size());
+
+        CachingBaziCalculator calculator = instance(near, far);
+        calculator.calculate(request);
+
+        assertEquals(1, near.size());
+        assertEquals(1, calculator.getStats().getTierMisses());
+        assertEquals(1, calculator.getStats().getTierHits());
+    }
+
+    @Test
+    void testSlowTier_TimesOutAndComputesLocally() {
+        InMemoryBaziCacheTier remote = new InMemoryBaziCacheTier("remote");
+        BaziRequest request = BaziWarmup.samples(impl, 1, 9L).get(0);
+        instance(remote).calculate(request);
+
+        // 查询挂起直到测试放行, 计算器只能靠超时降级返回
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        BaziCacheTier stalled = new BaziCacheTier() {
+            @Override
+            public String name() {
+                return "stalled";
+            }
+
+            @Override
+            public CompletableFuture<byte[]> get(BaziCacheKey key) {
+                return release.thenCompose(ignored -> remote.get(key));
+            }
+
+            @Override
+            public CompletableFuture<Void> put(BaziCacheKey key, byte[] value) {
+                return remote.put(key, value);
+            }
+        };
+
+        CachingBaziCalculator calculator = instance(stalled);
+        BaziResponse response = calculator.calculate(request);
+
+        assertFalse(release.isDone());
+        assertEquals(impl.calculate(request), response);
+        assertEquals(1, calculator.getStats().getTierTimeouts());
+        assertEquals(0, calculator.getStats().getTierHits());
+        assertEquals(1, calculator.getStats().getComputations());
+        release.complete(null);
+    }
+
+    @Test
+    void testCorruptValue_IsTreatedAsMiss() {
+        InMemoryBaziCacheTier remote = new InMemoryBaziCacheTier("remote");
+        BaziRequest request = BaziWarmup.samples(impl, 1, 11L).get(0);
+        remote.putRaw(BaziCacheKey.of(request), new byte[]{1, 2, 3});
+
+        CachingBaziCalculator calculator = instance(remote);
+        assertEquals(impl.calculate(request), calculator.calculate(request));
+        assertEquals(1, calculator.getStats().getTierErrors());
+        assertEquals(1, calculator.getStats().getComputations());
+    }
+
+    @Test
+    void testCalculateAll_UsesOneBatchGetPerTier() {
+        InMemoryBaziCacheTier remote = new InMemoryBaziCacheTier("remote");
+        List<BaziRequest> samples = BaziWarmup.samples(impl, 20, 13L);
+        instance(remote).calculateAll(samples.subList(0, 10));
+
+        List<BaziRequest> batch = new ArrayList<>(samples);
+        batch.add(samples.get(0));
+        batch.add(samples.get(15));
+        CachingBaziCalculator calculator = instance(remote);
+        long batchGetsBefore = remote.getBatchGetCount();
+        List<BaziResponse> results = calculator.calculateAll(batch);
+
+        assertEquals(1, remote.getBatchGetCount() - batchGetsBefore);
+        assertEquals(batch.size(), results.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(impl.calculate(batch.get(i)), results.get(i));
+        }
+        assertSame(results.get(0), results.get(20));
+        assertEquals(10, calculator.getStats().getTierHits());
+        assertEquals(10, calculator.getStats().getComputations());
+        assertEquals(20, remote.size());
+    }
+}
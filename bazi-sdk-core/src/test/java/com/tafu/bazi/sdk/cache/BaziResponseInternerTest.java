@@ -0,0 +1,82 @@
+package com.tafu.bazi.sdk.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tafu.bazi.sdk.BaziCalculator;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.immutable.BaziResult;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BaziResponseInterner 测试类 (对象图大小由 JOL 测量)
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class BaziResponseInternerTest {
+
+    private static final int CHARTS = 2000;
+
+    private final BaziCalculator calculator = new BaziCalculatorImpl();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testIntern_PreservesContentAndJson() throws Exception {
+        BaziResponseInterner interner = new BaziResponseInterner();
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 1000, 17L)) {
+            BaziResponse expected = calculator.calculate(sample);
+            BaziResult result = BaziResult.from(calculator.calculate(sample));
+            BaziResult interned = interner.intern(result);
+
+            assertEquals(result, interned);
+            assertEquals(expected, interned.toResponse());
+            assertEquals(objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(interned));
+            // 重复 intern 不改变结果
+            assertEquals(result, interner.intern(interned));
+        }
+    }
+
+    @Test
+    void testIntern_SharesSubResults() {
+        BaziResponseInterner interner = new BaziResponseInterner();
+        BaziRequest request = BaziWarmup.samples(calculator, 1, 19L).get(0);
+        BaziResult first = interner.intern(calculator.calculateImmutable(request));
+        BaziResult second = interner.intern(calculator.calculateImmutable(request));
+
+        assertNotSame(first, second);
+        assertSame(first.fourPillars().day(), second.fourPillars().day());
+        assertSame(first.pattern(), second.pattern());
+        assertSame(first.yun().daYunList(), second.yun().daYunList());
+        assertSame(first.tenGods(), second.tenGods());
+        assertSame(first.shenSha(), second.shenSha());
+        assertSame(first.dayMasterCharacteristics(), second.dayMasterCharacteristics());
+        assertSame(first.fiveElements().favorable(), second.fiveElements().favorable());
+        assertThrows(UnsupportedOperationException.class, () -> first.yun().daYunList().clear());
+    }
+
+    @Test
+    void testIntern_RetainedHeapSavings() {
+        List<BaziRequest> samples = BaziWarmup.samples(calculator, CHARTS, 23L);
+        List<BaziResult> plain = new ArrayList<>(CHARTS);
+        List<BaziResult> shared = new ArrayList<>(CHARTS);
+        BaziResponseInterner interner = new BaziResponseInterner();
+        for (BaziRequest sample : samples) {
+            plain.add(calculator.calculateImmutable(sample));
+            shared.add(interner.intern(calculator.calculateImmutable(sample)));
+        }
+
+        // 池本身也计入 (池中对象已被响应引用, 额外开销只是 Map 节点)
+        long plainBytes = GraphLayout.parseInstance(plain).totalSize();
+        long sharedBytes = GraphLayout.parseInstance(shared, interner).totalSize();
+        double saving = 1.0 - (double) sharedBytes / plainBytes;
+        assertTrue(saving > 0.3, "Expected at least 30% retained-heap saving, got " + saving);
+    }
+}
@@ -0,0 +1,210 @@
+package com.tafu.bazi.sdk.cache;
+
+import com.tafu.bazi.sdk.BaziCalculator;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.PatternRuleSet;
+import com.tafu.bazi.sdk.chart.ScoringModelRegistry;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CoalescingBaziCalculator 测试类 (含计算进行中的规则热更新)
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class CoalescingBaziCalculatorTest {
+
+    private static final int THREADS = 16;
+
+    private static BaziRequest request(int day) {
+        return BaziRequest.builder()
+            .year(1990).month(5).day(day).hour(14).minute(30)
+            .calendarType("solar")
+            .gender("male")
+            .longitude(116.4)
+            .build();
+    }
+
+    @Test
+    void testCacheKey_Normalization() {
+        BaziRequest base = request(15);
+        BaziRequest withLatitude = request(15);
+        withLatitude.setLatitude(39.9);
+        BaziRequest solarLeap = request(15);
+        solarLeap.setIsLeapMonth(true);
+
+        assertEquals(BaziCacheKey.of(base), BaziCacheKey.of(withLatitude));
+        assertEquals(BaziCacheKey.of(base), BaziCacheKey.of(solarLeap));
+        assertNotEquals(BaziCacheKey.of(base), BaziCacheKey.of(request(16)));
+        assertEquals(BaziCacheKey.of(base), BaziCacheKey.of(BaziCacheKey.of(base).toRequest()));
+    }
+
+    @Test
+    void testCalculate_ConcurrentIdenticalRequestsShareOneComputation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        BaziCalculatorImpl impl = new BaziCalculatorImpl();
+        CoalescingBaziCalculator calculator = new CoalescingBaziCalculator(new BaziCalculator() {
+            @Override
+            public BaziResponse calculate(BaziRequest request) {
+                computations.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return impl.calculate(request);
+            }
+
+            @Override
+            public int getLeapMonth(int lunarYear) {
+                return impl.getLeapMonth(lunarYear);
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<BaziResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> calculator.calculate(request(15))));
+            }
+            // 等待全部线程进入 (1 个计算 + 其余等待)
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (calculator.getStats().getCalls() < THREADS && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            BaziResponse first = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<BaziResponse> future : futures) {
+                assertSame(first, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        CoalescingStats stats = calculator.getStats();
+        assertEquals(1, computations.get());
+        assertEquals(THREADS, stats.getCalls());
+        assertEquals(1, stats.getComputations());
+        assertEquals(THREADS - 1, stats.getCoalescedCalls());
+        assertEquals(0, stats.getInFlight());
+    }
+
+    @Test
+    void testRulesReload_DuringCalculation() throws Exception {
+        PatternRuleSet reloaded = PatternRuleSet.compile(PatternRuleSet.readJson(new ByteArrayInputStream("""
+            [{"name": "测试格", "priority": 1000, "when": "true"}]
+            """.getBytes(StandardCharsets.UTF_8))));
+        AtomicReference<PatternRuleSet> rules = new AtomicReference<>(PatternRuleSet.builtIn());
+        BaziCalculatorImpl engine = new BaziCalculatorImpl(ScoringModelRegistry.defaults(), rules::get);
+        Supplier<String> rulesVersion = () -> rules.get().fingerprint();
+
+        // 第一个计算按旧规则算完后停住, 模拟热更新时仍在进行的计算
+        CountDownLatch computed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        BaziCalculator blocking = new BaziCalculator() {
+            @Override
+            public BaziResponse calculate(BaziRequest request) {
+                BaziResponse response = engine.calculate(request);
+                if (computations.getAndIncrement() == 0) {
+                    computed.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return response;
+            }
+
+            @Override
+            public int getLeapMonth(int lunarYear) {
+                return engine.getLeapMonth(lunarYear);
+            }
+        };
+        LocalBaziCache cache = new LocalBaziCache(10);
+        InMemoryBaziCacheTier remote = new InMemoryBaziCacheTier("remote");
+        CoalescingBaziCalculator coalescing = new CoalescingBaziCalculator(blocking, rulesVersion);
+        CachingBaziCalculator calculator = new CachingBaziCalculator(coalescing, cache, List.of(remote),
+            Duration.ofMillis(50), rulesVersion);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<BaziResponse> stale = executor.submit(() -> calculator.calculate(request(15)));
+            assertTrue(computed.await(5, TimeUnit.SECONDS));
+
+            rules.set(reloaded);
+            cache.clear();
+            BaziResponse fresh = calculator.calculate(request(15));
+            assertEquals("测试格", fresh.getPattern().getName());
+
+            release.countDown();
+            assertNotEquals("测试格", stale.get(5, TimeUnit.SECONDS).getPattern().getName());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 旧计算写回的结果落在旧规则版本的键下, 之后的请求 (含本地缓存与共享层) 只命中新规则的结果
+        assertEquals(2, computations.get());
+        assertEquals(0, coalescing.getStats().getCoalescedCalls());
+        assertEquals(2, remote.size());
+        assertEquals("测试格", calculator.calculate(request(15)).getPattern().getName());
+        CachingBaziCalculator otherInstance = new CachingBaziCalculator(engine, new LocalBaziCache(10), List.of(remote),
+            Duration.ofMillis(50), rulesVersion);
+        assertEquals("测试格", otherInstance.calculate(request(15)).getPattern().getName());
+        assertEquals(0, otherInstance.getStats().getComputations());
+    }
+
+    @Test
+    void testCalculate_FailureIsSharedAndNotRetained() {
+        CoalescingBaziCalculator calculator = new CoalescingBaziCalculator(new BaziCalculatorImpl());
+        BaziRequest invalid = request(15);
+        invalid.setYear(1800);
+
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(invalid));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(invalid));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(null));
+        assertEquals(0, calculator.getStats().getInFlight());
+        assertEquals(2, calculator.getStats().getComputations());
+    }
+
+    @Test
+    void testCalculateAll_DeduplicatesBatch() {
+        CoalescingBaziCalculator calculator = new CoalescingBaziCalculator(new BaziCalculatorImpl());
+        List<BaziRequest> batch = List.of(request(15), request(16), request(15), request(15), request(16));
+
+        List<BaziResponse> results = calculator.calculateAll(batch);
+
+        assertEquals(batch.size(), results.size());
+        assertSame(results.get(0), results.get(2));
+        assertSame(results.get(1), results.get(4));
+        assertNotSame(results.get(0), results.get(1));
+        assertEquals(2, calculator.getStats().getComputations());
+        assertEquals(3, calculator.getStats().getBatchDuplicates());
+
+        // 默认实现同样去重
+        List<BaziResponse> plain = new BaziCalculatorImpl().calculateAll(batch);
+        assertSame(plain.get(0), plain.get(3));
+        assertEquals(results.get(1), plain.get(1));
+    }
+}
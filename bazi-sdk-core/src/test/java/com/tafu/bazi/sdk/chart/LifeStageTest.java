@@ -0,0 +1,105 @@
+package com.tafu.bazi.sdk.chart;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.interaction.Timeline;
+import com.tafu.bazi.sdk.interaction.TimelineScanner;
+import com.tafu.bazi.sdk.model.BaziDef;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.DaYunDTO;
+import com.tafu.bazi.sdk.model.DayMasterAnalysisDTO;
+import com.tafu.bazi.sdk.model.LiuNianDTO;
+import com.tafu.bazi.sdk.model.PillarDTO;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 十二长生表与十二长生强弱模型测试
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class LifeStageTest {
+
+    private static final int LIN_GUAN = 3;
+    private static final int DI_WANG = 4;
+
+    private final BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+    private final BaziCalculatorImpl lifeStageCalculator = new BaziCalculatorImpl(StrengthModel.LIFE_STAGE);
+
+    @Test
+    void testTable_ConsistentWithLuAndRen() {
+        for (int s = 0; s < 10; s++) {
+            Set<Integer> stages = new HashSet<>();
+            for (int b = 0; b < 12; b++) {
+                stages.add(ChartTables.LIFE_STAGE[s][b]);
+            }
+            assertEquals(12, stages.size(), "每个天干的十二长生应覆盖全部地支");
+            assertEquals(LIN_GUAN, ChartTables.LIFE_STAGE[s][ChartTables.LU_BRANCH[s]], BaziDef.TIAN_GAN[s] + " 禄位应为临官");
+            assertEquals(DI_WANG, ChartTables.LIFE_STAGE[s][ChartTables.REN_BRANCH[s]], BaziDef.TIAN_GAN[s] + " 羊刃应为帝旺");
+        }
+        // 戊随丙、己随丁
+        assertArrayEquals(ChartTables.LIFE_STAGE[2], ChartTables.LIFE_STAGE[4]);
+        assertArrayEquals(ChartTables.LIFE_STAGE[3], ChartTables.LIFE_STAGE[5]);
+        // 甲木长生在亥、墓在未; 乙木长生在午、墓在戌
+        assertEquals("长生", stage("甲", "亥"));
+        assertEquals("墓", stage("甲", "未"));
+        assertEquals("长生", stage("乙", "午"));
+        assertEquals("墓", stage("乙", "戌"));
+        assertEquals("绝", stage("庚", "寅"));
+    }
+
+    @Test
+    void testResponse_ExposesLifeStages() {
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 300, 38L)) {
+            BaziResponse response = calculator.calculate(sample);
+            BaziChart chart = calculator.calculateChart(sample);
+            Timeline timeline = TimelineScanner.of(chart).scan(chart);
+            String dayGan = response.getDayMaster().getGan();
+            for (PillarDTO pillar : List.of(response.getFourPillars().getYear(), response.getFourPillars().getMonth(),
+                response.getFourPillars().getDay(), response.getFourPillars().getHour())) {
+                assertEquals(stage(dayGan, pillar.getEarthlyBranch().getChinese()), pillar.getLifeStage());
+            }
+            for (DaYunDTO daYun : response.getYun().getDaYunList()) {
+                assertEquals(daYun.getZhi().isEmpty() ? "" : stage(dayGan, daYun.getZhi()), daYun.getLifeStage());
+                for (LiuNianDTO liuNian : daYun.getLiuNian()) {
+                    assertEquals(stage(dayGan, liuNian.getZhi()),
+                        BaziDef.CHANG_SHENG[timeline.lifeStageOf(liuNian.getYear())]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testStrengthModel_OnlyChangesDeDi() {
+        int changed = 0;
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 500, 39L)) {
+            DayMasterAnalysisDTO classic = calculator.calculate(sample).getDayMaster().getAnalysis();
+            DayMasterAnalysisDTO lifeStage = lifeStageCalculator.calculate(sample).getDayMaster().getAnalysis();
+            assertEquals(classic.getDeLing(), lifeStage.getDeLing());
+            assertEquals(classic.getDeDiDesc(), lifeStage.getDeDiDesc());
+            assertEquals(classic.getTianGanHelp(), lifeStage.getTianGanHelp());
+            assertTrue(lifeStage.getDeDi() >= 0 && lifeStage.getDeDi() <= 30);
+            assertEquals(lifeStage.getDeLing() + lifeStage.getDeDi() + lifeStage.getTianGanHelp(),
+                lifeStage.getTotalScore(), 1e-9);
+            if (classic.getDeDi() != lifeStage.getDeDi()) {
+                changed++;
+            }
+        }
+        assertTrue(changed > 0);
+        assertEquals(StrengthModel.CLASSIC, calculator.getStrengthModel());
+        assertEquals(StrengthModel.LIFE_STAGE, StrengthModel.fromCode("life-stage"));
+        assertThrows(IllegalArgumentException.class, () -> StrengthModel.fromCode("unknown"));
+        assertThrows(IllegalArgumentException.class, () -> new BaziCalculatorImpl((StrengthModel) null));
+    }
+
+    private static String stage(String gan, String zhi) {
+        return BaziDef.CHANG_SHENG[ChartTables.LIFE_STAGE[BaziDef.getTianGanIndex(gan)][BaziDef.getDiZhiIndex(zhi)]];
+    }
+}
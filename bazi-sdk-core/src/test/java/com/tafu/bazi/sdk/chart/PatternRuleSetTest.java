@@ -0,0 +1,154 @@
+package com.tafu.bazi.sdk.chart;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.codec.BaziBinaryCodec;
+import com.tafu.bazi.sdk.codec.BaziJsonWriter;
+import com.tafu.bazi.sdk.model.BaziDef;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 格局规则测试: 内置规则与原判定一致、扩展规则、判定解释、优先级与热替换、条件语法错误
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class PatternRuleSetTest {
+
+    private static final String JSON = """
+        [{"name": "测试格", "category": "special", "priority": 200, "description": "测试用",
+          "when": "strength == strong && god(正官) >= 2"},
+         {"name": "杂格", "priority": 0, "when": "true", "enabled": false}]
+        """;
+
+    private final BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testBuiltIns_MatchOriginalCascade() {
+        PatternRuleSet recompiled = PatternRuleSet.compile(PatternRuleSet.builtInRules());
+        PatternRuleSet merged = PatternRuleSet.withBuiltIns(List.of());
+        assertEquals(PatternRuleSet.builtIn().fingerprint(), recompiled.fingerprint());
+        assertEquals(PatternRuleSet.builtIn().fingerprint(), merged.fingerprint());
+        assertEquals(19, PatternRuleSet.builtIn().size());
+
+        BaziCalculatorImpl explicit = new BaziCalculatorImpl(ScoringModelRegistry.defaults(), recompiled);
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 300, 50L)) {
+            BaziChart chart = calculator.calculateChart(sample);
+            assertTrue(chart.getPattern() >= 0);
+            assertEquals(ChartTables.PATTERN_NAMES[chart.getPattern()], chart.getPatternDefinition().name());
+            assertEquals(calculator.calculate(sample), explicit.calculate(sample));
+        }
+    }
+
+    @Test
+    void testExtendedRules_NewPatterns() throws Exception {
+        BaziCalculatorImpl extended = new BaziCalculatorImpl(ScoringModelRegistry.defaults(),
+            PatternRuleSet.withBuiltIns(PatternRuleSet.extendedRules()));
+        BaziJsonWriter writer = new BaziJsonWriter(extended);
+        BaziBinaryCodec codec = new BaziBinaryCodec();
+
+        Map<String, Integer> counts = new TreeMap<>();
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 2000, 51L)) {
+            BaziChart chart = extended.calculateChart(sample);
+            BaziResponse response = extended.calculate(sample);
+            String name = response.getPattern().getName();
+            counts.merge(name, 1, Integer::sum);
+
+            if (chart.getPattern() < 0) {
+                assertFalse(BaziDef.PATTERN_DESCRIPTIONS.containsKey(name), name);
+                assertEquals(BaziDef.PATTERN_CATEGORY_SPECIAL, response.getPattern().getCategory());
+                assertFalse(response.getPattern().getDescription().isEmpty());
+                assertNull(response.getPattern().getMonthStem());
+            } else {
+                assertEquals(calculator.calculate(sample).getPattern(), response.getPattern(), sample.toString());
+            }
+            assertArrayEquals(objectMapper.writeValueAsBytes(response), writer.writeBytes(sample));
+            assertEquals(response, codec.decode(codec.encode(response)));
+        }
+        assertTrue(counts.keySet().stream().anyMatch(name -> !BaziDef.PATTERN_DESCRIPTIONS.containsKey(name)),
+            "扩展规则应至少命中一次");
+    }
+
+    @Test
+    void testExplain_TraceEndsWithMatchedRule() {
+        PatternRuleSet rules = PatternRuleSet.withBuiltIns(PatternRuleSet.extendedRules());
+        BaziCalculatorImpl extended = new BaziCalculatorImpl(ScoringModelRegistry.defaults(), rules);
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 200, 52L)) {
+            PatternExplanation explanation = extended.explainPattern(sample);
+            assertEquals(extended.calculate(sample).getPattern().getName(), explanation.pattern());
+
+            List<PatternExplanation.RuleTrace> trace = explanation.trace();
+            PatternExplanation.RuleTrace last = trace.get(trace.size() - 1);
+            assertTrue(last.matched());
+            assertNull(last.failedClause());
+            assertEquals(explanation.pattern(), explanation.rule().getName());
+            for (PatternExplanation.RuleTrace rule : trace.subList(0, trace.size() - 1)) {
+                assertFalse(rule.matched());
+                assertTrue(rule.when().contains(rule.failedClause()), rule.toString());
+            }
+        }
+        PatternExplanation explanation = extended.explainPattern(BaziWarmup.samples(calculator, 1, 53L).get(0));
+        String text = explanation.toString();
+        assertTrue(text.startsWith("格局: " + explanation.pattern()), text);
+        assertEquals(explanation.trace().size() + 1, text.lines().count());
+    }
+
+    @Test
+    void testPriority_AndHotSwap() {
+        List<PatternRule> custom = PatternRuleSet.readJson(
+            new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)));
+        PatternRuleSet rules = PatternRuleSet.withBuiltIns(custom);
+        assertEquals("测试格", rules.rules().get(0).getName());
+        assertEquals(PatternRuleSet.builtIn().size(), rules.size(), "停用的同名规则替换内置杂格, 新规则追加");
+        assertNotEquals(PatternRuleSet.builtIn().fingerprint(), rules.fingerprint());
+
+        AtomicReference<PatternRuleSet> current = new AtomicReference<>(PatternRuleSet.builtIn());
+        BaziCalculatorImpl swappable = new BaziCalculatorImpl(ScoringModelRegistry.defaults(), current::get);
+        int matched = 0;
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 500, 54L)) {
+            BaziChart before = swappable.calculateChart(sample);
+            current.set(rules);
+            BaziChart after = swappable.calculateChart(sample);
+            BaziChart rescored = swappable.rescore(before, null);
+            current.set(PatternRuleSet.builtIn());
+
+            assertEquals(after.getPatternDefinition(), rescored.getPatternDefinition());
+            if ("测试格".equals(after.getPatternDefinition().name())) {
+                matched++;
+                assertEquals(-1, after.getPattern());
+                assertEquals(BaziChart.STRONG, after.getStrength());
+            } else if (before.getPattern() != ChartTables.PATTERN_NAMES.length - 1) {
+                // 杂格规则已停用, 其余命盘结果不变
+                assertEquals(before.getPatternDefinition(), after.getPatternDefinition());
+            }
+        }
+        assertTrue(matched > 0);
+    }
+
+    @Test
+    void testInvalidRules_Rejected() {
+        for (String when : List.of("", "score >", "unknown > 1", "dist(木", "share(1, 2)", "score > 1)", "god()")) {
+            PatternRule rule = PatternRule.builder().name("坏格").when(when).build();
+            assertThrows(IllegalArgumentException.class, () -> PatternRuleSet.compile(List.of(rule)), when);
+        }
+        assertThrows(IllegalArgumentException.class,
+            () -> PatternRuleSet.compile(List.of(PatternRule.builder().when("true").build())));
+        assertThrows(IllegalArgumentException.class, () -> PatternRuleSet.readJson(
+            new ByteArrayInputStream("[{\"name\": \"x\", \"bogus\": 1}]".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(IllegalArgumentException.class, () -> PatternRule.Source.fromCode("month"));
+        assertEquals(PatternRule.Source.MONTH_GOD, PatternRule.Source.fromCode("month-god"));
+    }
+}
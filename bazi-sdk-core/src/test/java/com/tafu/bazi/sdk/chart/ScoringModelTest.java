@@ -0,0 +1,149 @@
+package com.tafu.bazi.sdk.chart;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.cache.BaziCacheKey;
+import com.tafu.bazi.sdk.cache.BaziCacheSnapshot;
+import com.tafu.bazi.sdk.cache.LocalBaziCache;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 计分模型测试: 内置模型与原规则一致、按请求选择、重新计分、JSON 载入与校验
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class ScoringModelTest {
+
+    private static final String JSON = """
+        {"strict": {"strongThreshold": 60, "weakThreshold": 35, "deLingScores": [30, 20, -10, -20, -5]},
+         "life-stage-wide": {"strengthModel": "life-stage", "deDiCap": 40}}
+        """;
+
+    private final BaziCalculatorImpl classic = new BaziCalculatorImpl();
+    private final BaziCalculatorImpl lifeStage = new BaziCalculatorImpl(StrengthModel.LIFE_STAGE);
+    private final BaziCalculatorImpl calculator = new BaziCalculatorImpl(ScoringModelRegistry.of(
+        ScoringModelRegistry.readJson(new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8))), null));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testBuiltIns_MatchDefaults() {
+        assertEquals(ScoringModel.classic().compile("copy").fingerprint(), CompiledScoringModel.CLASSIC.fingerprint());
+        assertNotEquals(CompiledScoringModel.CLASSIC.fingerprint(), CompiledScoringModel.LIFE_STAGE.fingerprint());
+        assertEquals(List.of("classic", "life-stage", "strict", "life-stage-wide"),
+            List.copyOf(calculator.getScoringModels().names()));
+        assertEquals("classic", calculator.getScoringModels().getDefaultModel().getName());
+        assertEquals(StrengthModel.LIFE_STAGE, lifeStage.getStrengthModel());
+        assertNotEquals(ScoringModelRegistry.defaults().fingerprint(), calculator.getScoringModels().fingerprint());
+
+        for (BaziRequest sample : BaziWarmup.samples(classic, 300, 40L)) {
+            BaziResponse expected = classic.calculate(sample);
+            assertEquals(expected, calculator.calculate(sample));
+            sample.setScoringModel("classic");
+            assertEquals(expected, calculator.calculate(sample));
+            sample.setScoringModel("life-stage");
+            assertEquals(lifeStage.calculate(withModel(sample, null)), calculator.calculate(sample));
+        }
+    }
+
+    @Test
+    void testPerRequestSelection_AndRescore() {
+        int changed = 0;
+        for (BaziRequest sample : BaziWarmup.samples(classic, 300, 41L)) {
+            BaziChart base = calculator.calculateChart(sample);
+            for (String name : List.of("strict", "life-stage-wide")) {
+                BaziChart scored = calculator.calculateChart(withModel(sample, name));
+                BaziChart rescored = calculator.rescore(base, name);
+                assertEquals(calculator.calculate(withModel(sample, name)),
+                    new BaziResponseAssembler().assemble(rescored), sample + " " + name);
+                assertEquals(scored.getTotalScore(), rescored.getTotalScore());
+                assertSame(base.getDaYun(), rescored.getDaYun(), "重新计分不应重算大运");
+                if (scored.getStrength() != base.getStrength() || scored.getPattern() != base.getPattern()) {
+                    changed++;
+                }
+            }
+            assertEquals(base.getTotalScore(), calculator.rescore(base, null).getTotalScore());
+        }
+        assertTrue(changed > 0);
+        assertThrows(IllegalArgumentException.class,
+            () -> calculator.calculate(withModel(BaziWarmup.samples(classic, 1, 1L).get(0), "unknown")));
+        assertThrows(IllegalArgumentException.class, () -> calculator.rescore(null, "strict"));
+    }
+
+    @Test
+    void testCacheKey_IncludesModel() {
+        BaziRequest sample = BaziWarmup.samples(classic, 1, 42L).get(0);
+        BaziCacheKey plain = BaziCacheKey.of(sample);
+        BaziCacheKey strict = BaziCacheKey.of(withModel(sample, "strict"));
+        assertNotEquals(plain, strict);
+        assertEquals(plain, BaziCacheKey.of(withModel(sample, " ")));
+        assertTrue(plain.toStorageKey().endsWith(":-:-"));
+        assertTrue(strict.toStorageKey().endsWith(":strict:-"));
+        assertEquals(strict, BaziCacheKey.of(strict.toRequest()));
+
+        LocalBaziCache cache = new LocalBaziCache(10);
+        cache.put(plain, calculator.calculate(sample));
+        cache.put(strict, calculator.calculate(strict.toRequest()));
+        Path file = dir.resolve("scoring.bin");
+        String rules = calculator.getScoringModels().fingerprint();
+        assertEquals(2, BaziCacheSnapshot.save(cache, file, 10, rules));
+        LocalBaziCache restored = new LocalBaziCache(10);
+        assertEquals(2, BaziCacheSnapshot.load(restored, file, rules));
+        assertEquals(cache.get(strict), restored.get(strict));
+        assertEquals(cache.get(plain), restored.get(plain));
+        assertEquals(0, BaziCacheSnapshot.load(new LocalBaziCache(10), file,
+            ScoringModelRegistry.defaults().fingerprint()), "模型集合变化后快照应过期");
+    }
+
+    @Test
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> ScoringModel.builder()
+            .deLingScores(new double[]{40, 30}).build().compile("short"));
+        assertThrows(IllegalArgumentException.class, () -> ScoringModel.builder()
+            .weakThreshold(60).build().compile("inverted"));
+        assertThrows(IllegalArgumentException.class, () -> ScoringModel.builder()
+            .peerHelp(Double.NaN).build().compile("nan"));
+        assertThrows(IllegalArgumentException.class, () -> ScoringModel.classic().compile(" "));
+        assertThrows(IllegalArgumentException.class, () -> ScoringModelRegistry.of(Map.of(), "missing"));
+        assertThrows(IllegalArgumentException.class, () -> ScoringModelRegistry.readJson(
+            new ByteArrayInputStream("{\"x\": {\"unknownField\": 1}}".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(IllegalArgumentException.class, () -> ScoringModelRegistry.readJson(
+            new ByteArrayInputStream("{\"x\": {\"strengthModel\": \"none\"}}".getBytes(StandardCharsets.UTF_8))));
+
+        // 编译后修改参数不影响已编译模型
+        ScoringModel model = ScoringModel.classic();
+        CompiledScoringModel compiled = model.compile("snapshot");
+        model.getDeLingScores()[0] = 99;
+        assertEquals(CompiledScoringModel.CLASSIC.fingerprint(), compiled.fingerprint());
+        assertEquals(40, compiled.deLingScores[0]);
+    }
+
+    private static BaziRequest withModel(BaziRequest request, String name) {
+        return BaziRequest.builder()
+            .year(request.getYear())
+            .month(request.getMonth())
+            .day(request.getDay())
+            .hour(request.getHour())
+            .minute(request.getMinute())
+            .calendarType(request.getCalendarType())
+            .isLeapMonth(request.getIsLeapMonth())
+            .gender(request.getGender())
+            .longitude(request.getLongitude())
+            .latitude(request.getLatitude())
+            .scoringModel(name)
+            .build();
+    }
+}
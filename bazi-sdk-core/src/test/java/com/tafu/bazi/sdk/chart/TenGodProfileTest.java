@@ -0,0 +1,77 @@
+package com.tafu.bazi.sdk.chart;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.model.BaziDef;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.HiddenStemDTO;
+import com.tafu.bazi.sdk.model.PillarDTO;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TenGodProfile 测试类: 与响应中各柱、藏干标注的十神比对
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class TenGodProfileTest {
+
+    private final BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+
+    @Test
+    void testTenGod_MatchesDefinitions() {
+        for (TenGod god : TenGod.values()) {
+            assertEquals(BaziDef.TEN_GODS.get(god.ordinal()), god.getChinese());
+            assertEquals(god, TenGod.fromChinese(god.getChinese()));
+        }
+        assertEquals(TenGod.BI_JIAN, TenGod.of(0, 0));
+        assertEquals(TenGod.ZHENG_GUAN, TenGod.of(0, 7));
+        assertThrows(IllegalArgumentException.class, () -> TenGod.fromChinese("日主"));
+    }
+
+    @Test
+    void testProfile_MatchesResponse() {
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 500, 41L)) {
+            BaziChart chart = calculator.calculateChart(sample);
+            BaziResponse response = calculator.calculate(sample);
+            TenGodProfile profile = TenGodProfile.of(chart);
+
+            List<PillarDTO> pillars = List.of(response.getFourPillars().getYear(), response.getFourPillars().getMonth(),
+                response.getFourPillars().getDay(), response.getFourPillars().getHour());
+            for (TenGod god : TenGod.values()) {
+                int stems = 0;
+                int hidden = 0;
+                double strength = 0;
+                for (int p = 0; p < 4; p++) {
+                    PillarDTO pillar = pillars.get(p);
+                    if (pillar.getTenGod().equals(god.getChinese())) {
+                        stems++;
+                        assertTrue((profile.positions(god) & (1 << p)) != 0);
+                        strength += p == 2 ? 0 : TenGodProfile.STEM_WEIGHT;
+                    }
+                    List<HiddenStemDTO> hiddenStems = pillar.getHiddenStems();
+                    for (int j = 0; j < hiddenStems.size(); j++) {
+                        if (hiddenStems.get(j).getTenGod().equals(god.getChinese())) {
+                            hidden++;
+                            assertTrue((profile.positions(god) & (1 << (TenGodProfile.HIDDEN_SHIFT + p * 3 + j))) != 0);
+                            strength += ChartTables.HIDDEN_STEM_WEIGHTS[chart.getBranches()[p]][j];
+                        }
+                    }
+                }
+                assertEquals(stems, profile.stemCount(god), sample + " " + god);
+                assertEquals(hidden, profile.hiddenCount(god), sample + " " + god);
+                assertEquals(stems + hidden, profile.count(god));
+                assertEquals(strength, profile.strength(god), 1e-9);
+            }
+            assertEquals(response.getTenGods(), profile.toDto());
+            assertEquals(new ArrayList<>(response.getTenGods().getGods().keySet()),
+                new ArrayList<>(profile.toDto().getGods().keySet()), "键顺序应与响应一致");
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.tafu.bazi.sdk.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tafu.bazi.sdk.BaziCalculator;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BaziBinaryCodec 测试类
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class BaziBinaryCodecTest {
+
+    private static final int DICTIONARY_SIZE = 462;
+    private static final long DICTIONARY_FINGERPRINT = 1984687034L;
+
+    private BaziCalculator calculator;
+    private BaziBinaryCodec codec;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        calculator = new BaziCalculatorImpl();
+        codec = new BaziBinaryCodec();
+        objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    void testRoundTrip_ExactDtoAndJson() throws Exception {
+        for (BaziResponse response : sampleResponses(200)) {
+            byte[] data = codec.encode(response);
+            BaziResponse decoded = codec.decode(data);
+
+            assertEquals(response, decoded);
+            assertEquals(objectMapper.writeValueAsString(response), objectMapper.writeValueAsString(decoded));
+        }
+    }
+
+    @Test
+    void testRoundTrip_UnknownStringsAndNulls() {
+        BaziResponse response = calculator.calculate(request(1990, 6, 15, 14, 30, "solar", "male", 116.4074));
+        response.setLunarDate("自定义描述");
+        response.setSolarDate("1990/06/15");
+        response.getPattern().setDescription(null);
+        response.getShenSha().setDay(List.of("天乙贵人", "文昌"));
+        response.getDayMaster().getAnalysis().setTotalScore(-0.0);
+        response.setTenGods(null);
+
+        assertEquals(response, codec.decode(codec.encode(response)));
+    }
+
+    @Test
+    void testDecode_RejectsCorruptData() {
+        byte[] data = codec.encode(calculator.calculate(request(2000, 1, 1, 12, 0, "lunar", "female", null)));
+
+        byte[] wrongVersion = data.clone();
+        wrongVersion[2] = (byte) (BaziBinaryCodec.FORMAT_VERSION + 1);
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(wrongVersion));
+
+        byte[] truncated = Arrays.copyOf(data, data.length / 2);
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(truncated));
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[]{'{', '"'}));
+    }
+
+    @Test
+    void testDictionary_PinnedToVersion() {
+        // 字典条目变化时必须提升 BaziCodecDictionary.VERSION, 并同步更新这里的指纹
+        assertEquals(2, BaziCodecDictionary.VERSION);
+        assertEquals(DICTIONARY_SIZE, BaziCodecDictionary.size());
+        assertEquals(DICTIONARY_FINGERPRINT, BaziCodecDictionary.fingerprint());
+    }
+
+    @Test
+    void testEncode_MuchSmallerThanJson() throws Exception {
+        long jsonBytes = 0;
+        long binaryBytes = 0;
+        for (BaziResponse response : sampleResponses(300)) {
+            jsonBytes += objectMapper.writeValueAsBytes(response).length;
+            binaryBytes += codec.encode(response).length;
+        }
+        assertTrue(binaryBytes * 4 < jsonBytes, "二进制体积应显著小于 JSON: " + binaryBytes + " / " + jsonBytes);
+    }
+
+    private List<BaziResponse> sampleResponses(int count) {
+        Random random = new Random(20260127);
+        List<BaziResponse> responses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            boolean lunar = i % 3 == 0;
+            responses.add(calculator.calculate(request(
+                1901 + random.nextInt(199),
+                1 + random.nextInt(12),
+                1 + random.nextInt(28),
+                random.nextInt(24),
+                random.nextInt(60),
+                lunar ? "lunar" : "solar",
+                i % 2 == 0 ? "male" : "female",
+                i % 4 == 0 ? 75 + random.nextDouble() * 60 : null)));
+        }
+        return responses;
+    }
+
+    private BaziRequest request(int year, int month, int day, int hour, int minute,
+                                String calendarType, String gender, Double longitude) {
+        return BaziRequest.builder()
+            .year(year)
+            .month(month)
+            .day(day)
+            .hour(hour)
+            .minute(minute)
+            .calendarType(calendarType)
+            .gender(gender)
+            .longitude(longitude)
+            .build();
+    }
+}
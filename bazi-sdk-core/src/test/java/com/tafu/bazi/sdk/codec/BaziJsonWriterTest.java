@@ -0,0 +1,110 @@
+package com.tafu.bazi.sdk.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.model.BaziDef;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BaziJsonWriter 测试类
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class BaziJsonWriterTest {
+
+    private BaziCalculatorImpl calculator;
+    private BaziJsonWriter writer;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        calculator = new BaziCalculatorImpl();
+        writer = new BaziJsonWriter(calculator);
+        objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    void testWriteBytes_IdenticalToJackson() throws Exception {
+        for (BaziRequest request : sampleRequests(1000)) {
+            byte[] expected = objectMapper.writeValueAsBytes(calculator.calculate(request));
+            byte[] actual = writer.writeBytes(request);
+
+            assertArrayEquals(expected, actual, () -> "JSON 不一致: " + request + "\n"
+                + new String(expected, StandardCharsets.UTF_8) + "\n" + new String(actual, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testWrite_IntoExistingGenerator() throws Exception {
+        List<BaziRequest> requests = sampleRequests(3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator gen = new JsonFactory().createGenerator(out)) {
+            gen.writeStartArray();
+            for (BaziRequest request : requests) {
+                writer.write(calculator.calculateChart(request), gen);
+            }
+            gen.writeEndArray();
+        }
+
+        List<Object> expected = new ArrayList<>();
+        for (BaziRequest request : requests) {
+            expected.add(calculator.calculate(request));
+        }
+        assertEquals(objectMapper.writeValueAsString(expected), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCalculateChart_ConsistentWithResponse() {
+        BaziRequest request = request(1990, 6, 15, 14, 30, "solar", "male", null);
+        BaziChart chart = calculator.calculateChart(request);
+
+        assertEquals(calculator.calculate(request).getDayMaster().getGan(), BaziDef.TIAN_GAN[chart.getDayStem()]);
+        assertNull(chart.getTrueSolarTime());
+    }
+
+    private List<BaziRequest> sampleRequests(int count) {
+        Random random = new Random(20260127);
+        List<BaziRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            boolean lunar = i % 3 == 0;
+            requests.add(request(
+                1901 + random.nextInt(199),
+                1 + random.nextInt(12),
+                1 + random.nextInt(28),
+                random.nextInt(24),
+                random.nextInt(60),
+                lunar ? "lunar" : "solar",
+                i % 2 == 0 ? "male" : "female",
+                i % 4 == 0 ? 75 + random.nextDouble() * 60 : null));
+        }
+        return requests;
+    }
+
+    private BaziRequest request(int year, int month, int day, int hour, int minute,
+                                String calendarType, String gender, Double longitude) {
+        return BaziRequest.builder()
+            .year(year)
+            .month(month)
+            .day(day)
+            .hour(hour)
+            .minute(minute)
+            .calendarType(calendarType)
+            .gender(gender)
+            .longitude(longitude)
+            .build();
+    }
+}
@@ -0,0 +1,178 @@
+package com.tafu.bazi.sdk.fortune;
+
+import com.nlf.calendar.Lunar;
+import com.nlf.calendar.Solar;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.ChartTables;
+import com.tafu.bazi.sdk.interaction.InteractionEngine;
+import com.tafu.bazi.sdk.interaction.InteractionType;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 每日运势批量打分测试: 查表结果与逐个命盘按定义打分一致, 流式接口与数组接口一致
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class DailyFortuneTest {
+
+    private final BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+
+    @Test
+    void testScore_MatchesPerChart() {
+        List<DailyFortune> fortunes = new ArrayList<>();
+        for (int day = 0; day < 60; day += 7) {
+            for (int month = 0; month < 60; month += 11) {
+                fortunes.add(new DailyFortune(day, month));
+            }
+        }
+        Set<Integer> classes = new HashSet<>();
+        int samples = 0;
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 600, 47L)) {
+            BaziChart chart = calculator.calculateChart(sample);
+            int key = DailyFortune.featureKey(chart);
+            classes.add(key);
+            for (DailyFortune fortune : fortunes) {
+                assertEquals(expectedScore(chart, fortune.getDay(), fortune.getMonth()), fortune.score(key),
+                    sample + " " + ChartTables.JIA_ZI[fortune.getDay()]);
+            }
+            samples++;
+        }
+        // 同一天的分数只取决于特征类
+        assertEquals(600, samples);
+        assertTrue(classes.size() < samples);
+    }
+
+    @Test
+    void testOf_UsesLunarDayAndMonth() {
+        // 2024-02-04 立春当天按日期口径已是丙寅月
+        for (LocalDate date = LocalDate.of(2024, 2, 1); date.isBefore(LocalDate.of(2024, 3, 10));
+             date = date.plusDays(1)) {
+            Lunar lunar = Solar.fromYmd(date.getYear(), date.getMonthValue(), date.getDayOfMonth()).getLunar();
+            DailyFortune fortune = DailyFortune.of(date);
+            assertEquals(lunar.getDayInGanZhi(), ChartTables.JIA_ZI[fortune.getDay()], date.toString());
+            assertEquals(lunar.getMonthInGanZhi(), ChartTables.JIA_ZI[fortune.getMonth()], date.toString());
+        }
+    }
+
+    @Test
+    void testStream_MatchesArray() {
+        Random random = new Random(48L);
+        DailyFortune fortune = DailyFortune.of(LocalDate.of(2026, 10, 19));
+        int[] keys = new int[100_003];
+        ByteBuffer encoded = ByteBuffer.allocate(keys.length * 4);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(DailyFortune.CLASS_COUNT);
+            encoded.putInt(keys[i]);
+        }
+        byte[] expected = new byte[keys.length];
+        fortune.scoreAll(keys, 0, keys.length, expected, 0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // 每次只读出少量字节, 特征键跨越读取边界
+        ByteArrayInputStream in = new ByteArrayInputStream(encoded.array()) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 4099));
+            }
+        };
+        assertEquals(keys.length, fortune.scoreStream(in, out));
+        assertArrayEquals(expected, out.toByteArray());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(fortune.score(keys[i]), expected[i]);
+        }
+
+        assertThrows(IllegalArgumentException.class,
+            () -> fortune.scoreStream(new ByteArrayInputStream(new byte[6]), new ByteArrayOutputStream()));
+        assertThrows(IllegalArgumentException.class, () -> fortune.scoreStream(
+            new ByteArrayInputStream(ByteBuffer.allocate(4).putInt(DailyFortune.CLASS_COUNT).array()),
+            new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new DailyFortune(60, 0));
+        assertThrows(IllegalArgumentException.class, () -> new DailyFortune(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> DailyFortune.of(null));
+        assertThrows(IllegalArgumentException.class, () -> DailyFortune.of(LocalDate.of(1900, 12, 31)));
+        assertThrows(IllegalArgumentException.class, () -> DailyFortune.featureKey(10, 0, null, null));
+        assertThrows(IllegalArgumentException.class, () -> DailyFortune.featureKey(0, 0, new int[]{5}, null));
+        assertEquals(0, DailyFortune.featureKey(0, 0, null, new int[0]));
+    }
+
+    @Test
+    void testScoreAll_RangeAndOffset() {
+        Random random = new Random(49L);
+        int[] keys = new int[2000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(DailyFortune.CLASS_COUNT);
+        }
+        DailyFortune fortune = DailyFortune.of(LocalDate.of(2026, 1, 1));
+        byte[] out = new byte[keys.length + 7];
+        fortune.scoreAll(keys, 100, keys.length, out, 7);
+        for (int i = 0; i < 7; i++) {
+            assertEquals(0, out[i]);
+        }
+        for (int i = 100; i < keys.length; i++) {
+            int score = out[i - 100 + 7];
+            assertEquals(fortune.score(keys[i]), score);
+            assertTrue(score >= 0 && score <= 100);
+        }
+    }
+
+    /**
+     * 按定义逐项打分
+     */
+    private static int expectedScore(BaziChart chart, int day, int month) {
+        int dayStem = chart.getStems()[2];
+        int monthBranch = chart.getBranches()[1];
+        Set<Integer> favorable = new HashSet<>();
+        Set<Integer> unfavorable = new HashSet<>();
+        for (int element : chart.getFavorable()) {
+            favorable.add(element);
+        }
+        for (int element : chart.getUnfavorable()) {
+            unfavorable.add(element);
+        }
+        int score = DailyFortune.BASE_SCORE;
+        int[][] weighted = {
+            {ChartTables.STEM_ELEMENT[day % 10], 12}, {ChartTables.BRANCH_ELEMENT[day % 12], 8},
+            {ChartTables.STEM_ELEMENT[month % 10], 4}, {ChartTables.BRANCH_ELEMENT[month % 12], 4}};
+        for (int[] item : weighted) {
+            score += favorable.contains(item[0]) ? item[1] : 0;
+            score -= unfavorable.contains(item[0]) ? item[1] : 0;
+        }
+        int stem = InteractionEngine.stemRelations(day % 10, dayStem);
+        score += has(stem, InteractionType.STEM_COMBINE) ? 6 : has(stem, InteractionType.STEM_CLASH) ? -6 : 0;
+        int branch = InteractionEngine.branchRelations(day % 12, monthBranch);
+        if (has(branch, InteractionType.BRANCH_COMBINE) || has(branch, InteractionType.HALF_HARMONY)) {
+            score += 6;
+        }
+        if (has(branch, InteractionType.BRANCH_CLASH)) {
+            score -= 10;
+        }
+        if (has(branch, InteractionType.BRANCH_PUNISH) || has(branch, InteractionType.BRANCH_HARM)) {
+            score -= 4;
+        }
+        return Math.max(0, Math.min(100, score));
+    }
+
+    private static boolean has(int relations, InteractionType type) {
+        return (relations & type.bit()) != 0;
+    }
+}
@@ -0,0 +1,124 @@
+package com.tafu.bazi.sdk.interaction;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.ChartTables;
+import com.tafu.bazi.sdk.model.BaziDef;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InteractionEngine 测试类: 关系表与按中文定义逐对判断的结果比对
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class InteractionEngineTest {
+
+    private static final Map<InteractionType, Set<String>> STEM_PAIRS = Map.of(
+        InteractionType.STEM_COMBINE, Set.of("甲己", "乙庚", "丙辛", "丁壬", "戊癸"),
+        InteractionType.STEM_CLASH, Set.of("甲庚", "乙辛", "丙壬", "丁癸"));
+
+    private static final Map<InteractionType, Set<String>> BRANCH_PAIRS = Map.of(
+        InteractionType.BRANCH_COMBINE, Set.of("子丑", "寅亥", "卯戌", "辰酉", "巳申", "午未"),
+        InteractionType.BRANCH_CLASH, Set.of("子午", "丑未", "寅申", "卯酉", "辰戌", "巳亥"),
+        InteractionType.BRANCH_PUNISH, Set.of("寅巳", "巳申", "寅申", "丑戌", "戌未", "丑未", "子卯",
+            "辰辰", "午午", "酉酉", "亥亥"),
+        InteractionType.BRANCH_HARM, Set.of("子未", "丑午", "寅巳", "卯辰", "申亥", "酉戌"),
+        InteractionType.BRANCH_BREAK, Set.of("子酉", "卯午", "辰丑", "未戌", "寅亥", "巳申"),
+        InteractionType.HALF_HARMONY, Set.of("申子", "子辰", "亥卯", "卯未", "寅午", "午戌", "巳酉", "酉丑"));
+
+    @Test
+    void testRelationTables_MatchDefinitions() {
+        for (int a = 0; a < 10; a++) {
+            for (int b = 0; b < 10; b++) {
+                assertEquals(expected(STEM_PAIRS, BaziDef.TIAN_GAN[a], BaziDef.TIAN_GAN[b]),
+                    InteractionEngine.stemRelations(a, b), BaziDef.TIAN_GAN[a] + BaziDef.TIAN_GAN[b]);
+            }
+        }
+        for (int a = 0; a < 12; a++) {
+            for (int b = 0; b < 12; b++) {
+                assertEquals(expected(BRANCH_PAIRS, BaziDef.DI_ZHI[a], BaziDef.DI_ZHI[b]),
+                    InteractionEngine.branchRelations(a, b), BaziDef.DI_ZHI[a] + BaziDef.DI_ZHI[b]);
+            }
+        }
+        for (int a = 0; a < 60; a++) {
+            for (int b = 0; b < 60; b++) {
+                assertEquals(InteractionEngine.stemRelations(a % 10, b % 10) | InteractionEngine.branchRelations(a % 12, b % 12),
+                    InteractionEngine.pillarRelations(a, b));
+            }
+        }
+    }
+
+    @Test
+    void testAnalyze_KnownChart() {
+        // 甲子 丁卯 庚午 乙酉: 子午冲、卯酉冲、子卯刑、子酉破、卯午破、甲庚冲、乙庚合
+        int[] stems = {0, 3, 6, 1};
+        int[] branches = {0, 3, 6, 9};
+        List<String> described = InteractionEngine.analyze(stems, branches).stream()
+            .map(Interaction::describe)
+            .toList();
+        assertEquals(Set.of("年月相刑", "年日天干相冲", "年日六冲", "年时相破", "月日相破", "月时六冲", "日时天干五合(金)"),
+            Set.copyOf(described));
+        // 同一关系不重复输出
+        assertEquals(7, described.size());
+    }
+
+    @Test
+    void testFrames() {
+        // 申 子 辰 + 任意: 三合水局; 亥子丑: 三会水局
+        List<Interaction> harmony = InteractionEngine.analyze(new int[]{0, 0, 0, 0}, new int[]{8, 0, 4, 2});
+        assertTrue(harmony.contains(new Interaction(InteractionType.THREE_HARMONY, 0b0111,
+            BaziDef.FiveElement.WATER.ordinal())));
+
+        // 命盘有亥子, 流年丑成三会水局; 命盘已成的局不重复计入
+        int[] stems = {0, 0, 0, 0};
+        int[] branches = {11, 0, 2, 2};
+        long packed = InteractionEngine.against(stems, branches, 1, 1);
+        assertEquals(1 << 7, InteractionEngine.newFrames(packed));
+        assertTrue(InteractionEngine.analyzeAgainst(stems, branches, 1, 1).contains(new Interaction(
+            InteractionType.DIRECTIONAL, 0b0011 | InteractionEngine.EXTERNAL, BaziDef.FiveElement.WATER.ordinal())));
+        assertEquals(0, InteractionEngine.newFrames(InteractionEngine.against(new int[4], new int[]{11, 0, 1, 2}, 1, 1)));
+    }
+
+    @Test
+    void testAgainst_MatchesPairwiseLookups() {
+        BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 200, 36L)) {
+            BaziChart chart = calculator.calculateChart(sample);
+            int[] stems = chart.getStems();
+            int[] branches = chart.getBranches();
+            assertEquals(InteractionEngine.analyze(chart),
+                InteractionEngine.analyze(calculator.calculate(sample).getFourPillars()));
+
+            for (int jiaZi = 0; jiaZi < 60; jiaZi++) {
+                long packed = InteractionEngine.against(stems, branches, jiaZi % 10, jiaZi % 12);
+                for (int p = 0; p < 4; p++) {
+                    int natal = ChartTables.jiaZiIndex(stems[p], branches[p]);
+                    assertEquals(InteractionEngine.pillarRelations(jiaZi, natal),
+                        InteractionEngine.relationsAt(packed, p));
+                }
+                int mask = InteractionEngine.branchMask(branches);
+                assertEquals(InteractionEngine.completeFrames(mask | (1 << (jiaZi % 12)))
+                    & ~InteractionEngine.completeFrames(mask), InteractionEngine.newFrames(packed));
+            }
+        }
+    }
+
+    private static int expected(Map<InteractionType, Set<String>> pairs, String a, String b) {
+        int bits = 0;
+        for (Map.Entry<InteractionType, Set<String>> entry : pairs.entrySet()) {
+            if (entry.getValue().contains(a + b) || entry.getValue().contains(b + a)) {
+                bits |= entry.getKey().bit();
+            }
+        }
+        return bits;
+    }
+}
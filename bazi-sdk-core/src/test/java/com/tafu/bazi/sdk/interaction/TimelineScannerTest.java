@@ -0,0 +1,142 @@
+package com.tafu.bazi.sdk.interaction;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.model.BaziDef;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.DaYunDTO;
+import com.tafu.bazi.sdk.model.LiuNianDTO;
+import com.tafu.bazi.sdk.model.PillarDTO;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TimelineScanner 测试类: 与按响应中的大运流年逐年判断的结果比对
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class TimelineScannerTest {
+
+    private final BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+
+    @Test
+    void testScan_MatchesResponseYears() {
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 300, 37L)) {
+            BaziChart chart = calculator.calculateChart(sample);
+            BaziResponse response = calculator.calculate(sample);
+            Timeline timeline = TimelineScanner.of(chart).scan(chart);
+
+            int years = 0;
+            for (DaYunDTO daYun : response.getYun().getDaYunList()) {
+                for (LiuNianDTO liuNian : daYun.getLiuNian()) {
+                    assertEquals(expectedEvents(response, daYun, liuNian), timeline.eventsOf(liuNian.getYear()),
+                        sample + " " + liuNian.getYear());
+                    assertEquals(InteractionEngine.against(chart.getStems(), chart.getBranches(),
+                            BaziDef.getTianGanIndex(liuNian.getGan()), BaziDef.getDiZhiIndex(liuNian.getZhi())),
+                        timeline.liuNianRelationsOf(liuNian.getYear()));
+                    years++;
+                }
+            }
+            assertEquals(years, timeline.size());
+        }
+    }
+
+    @Test
+    void testTaiSui() {
+        // 甲子年生人: 2020 庚子值太岁, 2026 丙午冲太岁, 2023 癸卯刑太岁, 2027 丁未害太岁
+        TimelineScanner scanner = new TimelineScanner(new int[]{0, 2, 4, 6}, new int[]{0, 2, 4, 6});
+        int[] daYun = new int[10];
+        Arrays.fill(daYun, -1);
+        long[] relations = new long[10];
+        int[] events = new int[10];
+        scanner.scan(2018, daYun, relations, events);
+
+        assertTrue((events[2020 - 2018] & TimelineEvent.TAI_SUI_SAME.bit()) != 0);
+        assertTrue((events[2026 - 2018] & TimelineEvent.TAI_SUI_CLASH.bit()) != 0);
+        assertTrue((events[2023 - 2018] & TimelineEvent.TAI_SUI_PUNISH.bit()) != 0);
+        assertTrue((events[2027 - 2018] & TimelineEvent.TAI_SUI_HARM.bit()) != 0);
+        // 大运同为庚子时岁运并临
+        assertTrue((scanner.events(36, 36) & TimelineEvent.SUI_YUN_BING_LIN.bit()) != 0);
+        // 甲子伏吟, 庚午天克地冲反吟
+        assertTrue((scanner.events(0, -1) & TimelineEvent.FU_YIN.bit()) != 0);
+        assertTrue((scanner.events(6, -1) & TimelineEvent.FAN_YIN.bit()) != 0);
+        assertTrue((scanner.events(36, 6) & TimelineEvent.DA_YUN_FAN_YIN.bit()) != 0);
+    }
+
+    @Test
+    void testArrayAccessors_ReturnCopies() {
+        BaziChart chart = calculator.calculateChart(BaziWarmup.samples(calculator, 1, 39L).get(0));
+        Timeline timeline = TimelineScanner.of(chart).scan(chart);
+        int year = timeline.getStartYear();
+        int events = timeline.eventsOf(year);
+        long relations = timeline.liuNianRelationsOf(year);
+        int stage = timeline.lifeStageOf(year);
+
+        timeline.getEvents()[0] = ~events;
+        timeline.getLiuNianRelations()[0] = ~relations;
+        timeline.getLiuNian()[0] = (timeline.getLiuNian()[0] + 1) % 60;
+
+        assertEquals(events, timeline.eventsOf(year));
+        assertEquals(relations, timeline.liuNianRelationsOf(year));
+        assertEquals(stage, timeline.lifeStageOf(year));
+        assertEquals(timeline.size(), timeline.getEvents().length);
+        assertArrayEquals(timeline.getDaYun(), timeline.getDaYun());
+        assertNotSame(timeline.getDaYunRelations(), timeline.getDaYunRelations());
+    }
+
+    private static int expectedEvents(BaziResponse response, DaYunDTO daYun, LiuNianDTO liuNian) {
+        List<PillarDTO> natal = List.of(response.getFourPillars().getYear(), response.getFourPillars().getMonth(),
+            response.getFourPillars().getDay(), response.getFourPillars().getHour());
+        int events = 0;
+        String yearZhi = natal.get(0).getEarthlyBranch().getChinese();
+        int taiSui = InteractionEngine.branchRelations(BaziDef.getDiZhiIndex(liuNian.getZhi()), BaziDef.getDiZhiIndex(yearZhi));
+        if (liuNian.getZhi().equals(yearZhi)) {
+            events |= TimelineEvent.TAI_SUI_SAME.bit();
+        } else if ((taiSui & InteractionType.BRANCH_PUNISH.bit()) != 0) {
+            events |= TimelineEvent.TAI_SUI_PUNISH.bit();
+        }
+        events |= flag(taiSui, InteractionType.BRANCH_CLASH, TimelineEvent.TAI_SUI_CLASH);
+        events |= flag(taiSui, InteractionType.BRANCH_HARM, TimelineEvent.TAI_SUI_HARM);
+        events |= flag(taiSui, InteractionType.BRANCH_BREAK, TimelineEvent.TAI_SUI_BREAK);
+        events |= yin(natal, liuNian.getGanZhi(), TimelineEvent.FU_YIN, TimelineEvent.FAN_YIN);
+        if (!daYun.getGanZhi().isEmpty()) {
+            events |= yin(natal, daYun.getGanZhi(), TimelineEvent.DA_YUN_FU_YIN, TimelineEvent.DA_YUN_FAN_YIN);
+            if (daYun.getGanZhi().equals(liuNian.getGanZhi())) {
+                events |= TimelineEvent.SUI_YUN_BING_LIN.bit();
+            }
+            events |= flag(InteractionEngine.branchRelations(BaziDef.getDiZhiIndex(liuNian.getZhi()),
+                BaziDef.getDiZhiIndex(daYun.getZhi())), InteractionType.BRANCH_CLASH, TimelineEvent.SUI_YUN_CLASH);
+        }
+        return events;
+    }
+
+    private static int yin(List<PillarDTO> natal, String ganZhi, TimelineEvent fu, TimelineEvent fan) {
+        int events = 0;
+        for (PillarDTO pillar : natal) {
+            String gan = pillar.getHeavenlyStem().getChinese();
+            String zhi = pillar.getEarthlyBranch().getChinese();
+            if ((gan + zhi).equals(ganZhi)) {
+                events |= fu.bit();
+            }
+            int stemClash = InteractionEngine.stemRelations(BaziDef.getTianGanIndex(gan),
+                BaziDef.getTianGanIndex(ganZhi.substring(0, 1)));
+            int branchClash = InteractionEngine.branchRelations(BaziDef.getDiZhiIndex(zhi),
+                BaziDef.getDiZhiIndex(ganZhi.substring(1, 2)));
+            if ((stemClash & InteractionType.STEM_CLASH.bit()) != 0 && (branchClash & InteractionType.BRANCH_CLASH.bit()) != 0) {
+                events |= fan.bit();
+            }
+        }
+        return events;
+    }
+
+    private static int flag(int relations, InteractionType type, TimelineEvent event) {
+        return (relations & type.bit()) != 0 ? event.bit() : 0;
+    }
+}
@@ -0,0 +1,198 @@
+package com.tafu.bazi.sdk.match;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.chart.ChartTables;
+import com.tafu.bazi.sdk.interaction.InteractionEngine;
+import com.tafu.bazi.sdk.interaction.InteractionType;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.CompatibilityDTO;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 合婚评分测试: 签名编解码、与按命盘逐项计算的结果一致、对称性、top-K 与全排序一致
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class CompatibilityMatcherTest {
+
+    private final BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+
+    @Test
+    void testSignature_FromChartAndResponse() {
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 200, 48L)) {
+            BaziChart chart = calculator.calculateChart(sample);
+            long signature = ChartSignature.of(chart);
+            assertEquals(signature, ChartSignature.of(calculator.calculate(sample)), sample.toString());
+            for (int p = 0; p < 4; p++) {
+                assertEquals(ChartTables.jiaZiIndex(chart.getStems()[p], chart.getBranches()[p]),
+                    ChartSignature.pillar(signature, p));
+            }
+            assertEquals(chart.getMingGong(), ChartSignature.mingGong(signature));
+            assertEquals(mask(chart.getFavorable()), ChartSignature.favorable(signature));
+            assertEquals(mask(chart.getUnfavorable()), ChartSignature.unfavorable(signature));
+            assertEquals(chart.isMale(), ChartSignature.isMale(signature));
+            int total = 0;
+            for (int e = 0; e < 5; e++) {
+                total += ChartSignature.share(signature, e);
+            }
+            assertTrue(Math.abs(total - ChartSignature.SHARE_SCALE) <= 2, "share total " + total);
+        }
+    }
+
+    @Test
+    void testScore_MatchesDefinitionAndSymmetric() {
+        List<BaziChart> charts = new ArrayList<>();
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 120, 49L)) {
+            charts.add(calculator.calculateChart(sample));
+        }
+        for (BaziChart a : charts) {
+            CompatibilityMatcher matcher = new CompatibilityMatcher(ChartSignature.of(a));
+            for (BaziChart b : charts) {
+                long other = ChartSignature.of(b);
+                CompatibilityDTO explained = matcher.explain(other);
+                assertEquals(expectedScore(a, b), explained.getTotalScore());
+                assertEquals(explained.getTotalScore(), matcher.score(other));
+                assertEquals(explained.getTotalScore(), CompatibilityMatcher.score(other, ChartSignature.of(a)));
+                int sum = CompatibilityMatcher.BASE_SCORE + explained.getDayMasterScore()
+                    + explained.getSpousePalaceScore() + explained.getZodiacScore() + explained.getElementScore()
+                    + explained.getPalaceScore();
+                assertEquals(Math.max(0, Math.min(100, sum)), explained.getTotalScore());
+            }
+        }
+
+        // 甲子日男与己丑日女: 甲己合、子丑合
+        CompatibilityDTO pair = new CompatibilityMatcher(signature(0, 0, true))
+            .explain(signature(25, 1, false));
+        assertEquals("正财", pair.getTenGod());
+        assertEquals("正官", pair.getReverseTenGod());
+        assertEquals(6 + 6 + 10, pair.getDayMasterScore());
+        assertEquals(12, pair.getSpousePalaceScore());
+    }
+
+    @Test
+    void testTopK_MatchesFullSort() {
+        List<Long> pool = new ArrayList<>();
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 300, 50L)) {
+            pool.add(ChartSignature.of(calculator.calculateChart(sample)));
+        }
+        Random random = new Random(51L);
+        long query = pool.get(0);
+        CompatibilityMatcher matcher = new CompatibilityMatcher(query);
+        for (int size : new int[]{0, 1, 50, 5_000, CompatibilityMatcher.PARALLEL_THRESHOLD * 3 + 17}) {
+            long[] candidates = new long[size];
+            for (int i = 0; i < size; i++) {
+                candidates[i] = pool.get(random.nextInt(pool.size()));
+            }
+            for (boolean opposite : new boolean[]{false, true}) {
+                List<CompatibilityMatcher.Match> expected = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    if (!opposite || ChartSignature.isMale(candidates[i]) != ChartSignature.isMale(query)) {
+                        expected.add(new CompatibilityMatcher.Match(i, matcher.score(candidates[i])));
+                    }
+                }
+                expected.sort(Comparator.comparingInt(CompatibilityMatcher.Match::score).reversed()
+                    .thenComparingInt(CompatibilityMatcher.Match::index));
+                for (int k : new int[]{1, 10, 100}) {
+                    assertEquals(expected.subList(0, Math.min(k, expected.size())),
+                        matcher.topK(candidates, k, opposite), size + " " + k + " " + opposite);
+                }
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> matcher.topK(null, 1, false));
+        assertThrows(IllegalArgumentException.class, () -> matcher.topK(new long[1], 0, false));
+    }
+
+    @Test
+    void testScoreAll_MatchesScore() {
+        List<Long> pool = new ArrayList<>();
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 300, 52L)) {
+            pool.add(ChartSignature.of(calculator.calculateChart(sample)));
+        }
+        long[] candidates = pool.stream().mapToLong(Long::longValue).toArray();
+        CompatibilityMatcher matcher = new CompatibilityMatcher(candidates[0]);
+        byte[] scores = new byte[candidates.length];
+        matcher.scoreAll(candidates, 10, candidates.length, scores, 3);
+        for (int i = 10; i < candidates.length; i++) {
+            assertEquals(matcher.score(candidates[i]), scores[i - 10 + 3]);
+        }
+        assertEquals(0, scores[0]);
+    }
+
+    /**
+     * 按命盘逐项计算
+     */
+    private static int expectedScore(BaziChart a, BaziChart b) {
+        int[] tenGodScores = {2, -4, 4, -4, 2, 6, -4, 6, 0, 4};
+        int stemA = a.getDayStem();
+        int stemB = b.getDayStem();
+        int score = CompatibilityMatcher.BASE_SCORE
+            + tenGodScores[ChartTables.TEN_GOD[stemA][stemB]] + tenGodScores[ChartTables.TEN_GOD[stemB][stemA]];
+        int stem = InteractionEngine.stemRelations(stemA, stemB);
+        score += has(stem, InteractionType.STEM_COMBINE) ? 10 : 0;
+        score += has(stem, InteractionType.STEM_CLASH) ? -4 : 0;
+        score += branchScore(a.getBranches()[2], b.getBranches()[2], new int[]{12, 6, -12, -6, -6, -3});
+        score += branchScore(a.getBranches()[0], b.getBranches()[0], new int[]{4, 4, -6, -2, -4, 0});
+        score += branchScore(a.getMingGong() % 12, b.getMingGong() % 12, new int[]{4, 4, -4, 0, 0, 0});
+        score += (complement(a, b) + complement(b, a)) / 2;
+        return Math.max(0, Math.min(100, score));
+    }
+
+    /**
+     * 对方的五行占比落在己方喜用 (忌讳) 上的多少
+     */
+    private static int complement(BaziChart self, BaziChart other) {
+        double total = 0.0;
+        for (double share : other.getDistribution()) {
+            total += share;
+        }
+        int complement = 0;
+        for (int element : self.getFavorable()) {
+            complement += (int) Math.round(other.getDistribution()[element] / total * ChartSignature.SHARE_SCALE);
+        }
+        for (int element : self.getUnfavorable()) {
+            complement -= (int) Math.round(other.getDistribution()[element] / total * ChartSignature.SHARE_SCALE);
+        }
+        return complement;
+    }
+
+    private static int branchScore(int a, int b, int[] points) {
+        InteractionType[] types = {InteractionType.BRANCH_COMBINE, InteractionType.HALF_HARMONY,
+            InteractionType.BRANCH_CLASH, InteractionType.BRANCH_PUNISH, InteractionType.BRANCH_HARM,
+            InteractionType.BRANCH_BREAK};
+        int relations = InteractionEngine.branchRelations(a, b);
+        int score = 0;
+        for (int i = 0; i < types.length; i++) {
+            score += has(relations, types[i]) ? points[i] : 0;
+        }
+        return score;
+    }
+
+    private static boolean has(int relations, InteractionType type) {
+        return (relations & type.bit()) != 0;
+    }
+
+    private static int mask(int[] elements) {
+        int mask = 0;
+        for (int element : elements) {
+            mask |= 1 << element;
+        }
+        return mask;
+    }
+
+    /**
+     * 只含日柱 (其余柱为甲子, 命宫为甲子) 的签名
+     */
+    private static long signature(int dayJiaZi, int yearJiaZi, boolean male) {
+        return (long) yearJiaZi | (long) dayJiaZi << 12 | (male ? 1L << 60 : 0L);
+    }
+}
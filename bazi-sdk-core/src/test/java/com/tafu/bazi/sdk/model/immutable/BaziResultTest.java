@@ -0,0 +1,85 @@
+package com.tafu.bazi.sdk.model.immutable;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tafu.bazi.sdk.BaziCalculator;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.TenGodInfoDTO;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 不可变结果模型测试
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class BaziResultTest {
+
+    private final BaziCalculator calculator = new BaziCalculatorImpl();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testFrom_SameJsonShape() throws Exception {
+        int count = 0;
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 1200, 34L)) {
+            BaziResponse response = calculator.calculate(sample);
+            BaziResult result = BaziResult.from(response);
+            String json = objectMapper.writeValueAsString(response);
+
+            assertEquals(json, objectMapper.writeValueAsString(result));
+            // 同一 JSON 可互相反序列化
+            assertEquals(result, objectMapper.readValue(json, BaziResult.class));
+            assertEquals(response, result.toResponse());
+            assertEquals(json, objectMapper.writeValueAsString(result.toResponse()));
+            count++;
+        }
+        assertEquals(1200, count);
+    }
+
+    @Test
+    void testCalculateImmutable() {
+        BaziRequest request = BaziWarmup.samples(calculator, 1, 35L).get(0);
+        assertEquals(BaziResult.from(calculator.calculate(request)), calculator.calculateImmutable(request));
+        assertNull(BaziResult.from(null));
+    }
+
+    @Test
+    void testCollections_AreReadOnlyCopies() {
+        BaziResponse response = calculator.calculate(BaziWarmup.samples(calculator, 1, 36L).get(0));
+        BaziResult result = BaziResult.from(response);
+
+        assertThrows(UnsupportedOperationException.class, () -> result.tenGods().gods().clear());
+        assertThrows(UnsupportedOperationException.class, () -> result.fiveElements().counts().put("wood", 9));
+        assertThrows(UnsupportedOperationException.class, () -> result.yun().daYunList().clear());
+        assertThrows(UnsupportedOperationException.class,
+            () -> result.yun().daYunList().get(0).liuNian().remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> result.dayMasterCharacteristics().add("x"));
+
+        // 修改源 DTO 不影响已转换的结果
+        BaziResult before = BaziResult.from(response);
+        TenGodInfoDTO info = response.getTenGods().getGods().values().iterator().next();
+        info.setCount(info.getCount() + 1);
+        info.getPositions().add("时支");
+        response.getYun().getDaYunList().clear();
+        assertEquals(before, result);
+        assertNotEquals(before, BaziResult.from(response));
+    }
+
+    @Test
+    void testMapOrder_Preserved() {
+        // 十神名存在哈希冲突, 内容相同的 Map 迭代顺序可能不同, 转换必须保持原顺序
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 300, 37L)) {
+            BaziResponse response = calculator.calculate(sample);
+            Map<String, TenGodInfoDTO> gods = response.getTenGods().getGods();
+            assertEquals(new ArrayList<>(gods.keySet()),
+                new ArrayList<>(BaziResult.from(response).tenGods().gods().keySet()));
+        }
+    }
+}
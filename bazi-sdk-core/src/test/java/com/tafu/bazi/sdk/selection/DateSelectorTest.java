@@ -0,0 +1,166 @@
+package com.tafu.bazi.sdk.selection;
+
+import com.nlf.calendar.EightChar;
+import com.nlf.calendar.Lunar;
+import com.nlf.calendar.Solar;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.interaction.InteractionEngine;
+import com.tafu.bazi.sdk.interaction.InteractionType;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.utils.JieTable;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 择日搜索测试: 干支与 lunar-java 逐日 / 逐时辰起盘一致, 条件组合、提前结束与并行扫描
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class DateSelectorTest {
+
+    /** 相合类作用 (三合、三会为加入后新成的局) */
+    private static final Set<InteractionType> COMBINES = EnumSet.of(InteractionType.STEM_COMBINE,
+        InteractionType.BRANCH_COMBINE, InteractionType.HALF_HARMONY, InteractionType.THREE_HARMONY,
+        InteractionType.DIRECTIONAL);
+
+    private final BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+
+    @Test
+    void testDayMode_MatchesLunar() {
+        // 两年逐日, 含全部节令交接日与两次立春
+        List<DateCandidate> days = DateSelector.search(LocalDate.of(2023, 1, 1), LocalDate.of(2025, 1, 1), false,
+            DateRule.ANY, Integer.MAX_VALUE);
+        assertEquals(731, days.size());
+        for (DateCandidate candidate : days) {
+            LocalDate date = candidate.date();
+            Lunar lunar = Solar.fromYmd(date.getYear(), date.getMonthValue(), date.getDayOfMonth()).getLunar();
+            assertFalse(candidate.isHour());
+            assertEquals(lunar.getYearInGanZhiByLiChun() + " " + lunar.getMonthInGanZhi() + " "
+                + lunar.getDayInGanZhi(), candidate.pillars(), date.toString());
+        }
+    }
+
+    @Test
+    void testHourMode_MatchesEightChar() {
+        Random random = new Random(46L);
+        for (int round = 0; round < 40; round++) {
+            // 节令交接前后几天, 交接常落在某个时辰中间
+            Solar jie = Solar.fromYmd(1901 + random.nextInt(199), 1 + random.nextInt(12), 1 + random.nextInt(28))
+                .getLunar().getNextJie().getSolar();
+            LocalDate from = LocalDate.of(jie.getYear(), jie.getMonth(), jie.getDay()).minusDays(1);
+            List<DateCandidate> hours = DateSelector.search(from, from.plusDays(3), true, DateRule.ANY,
+                Integer.MAX_VALUE);
+            assertEquals(36, hours.size());
+            for (DateCandidate candidate : hours) {
+                LocalDateTime start = candidate.start();
+                EightChar eightChar = Solar.fromYmdHms(start.getYear(), start.getMonthValue(), start.getDayOfMonth(),
+                    start.getHour(), 0, 0).getLunar().getEightChar();
+                eightChar.setSect(1);
+                assertEquals(eightChar.getYear() + " " + eightChar.getMonth() + " " + eightChar.getDay() + " "
+                    + eightChar.getTime(), candidate.pillars(), start.toString());
+            }
+        }
+    }
+
+    @Test
+    void testRules_MatchDefinitions() {
+        BaziChart natal = calculator.calculateChart(BaziRequest.builder()
+            .year(1990).month(6).day(15).hour(14).minute(30)
+            .calendarType("solar").gender("male").build());
+        int[] stems = natal.getStems();
+        int[] branches = natal.getBranches();
+        DateRule noClash = DateRules.noClashWith(natal);
+        DateRule combines = DateRules.combinesWith(natal);
+        DateRule favorable = DateRules.favorableElements(natal);
+        DateRule tianYi = DateRules.shenSha(natal, ShenSha.TIAN_YI);
+        int tianYiMask = ShenSha.TIAN_YI.branchMask(stems, branches);
+        assertNotEquals(0, tianYiMask);
+
+        List<DateCandidate> hours = DateSelector.search(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 3, 1), true,
+            DateRule.ANY, Integer.MAX_VALUE);
+        int clashes = 0;
+        for (DateCandidate candidate : hours) {
+            boolean clash = false;
+            boolean combine = false;
+            for (int jiaZi : new int[]{candidate.day(), candidate.hour()}) {
+                int yearRelations = InteractionEngine.branchRelations(jiaZi % 12, branches[0]);
+                int dayRelations = InteractionEngine.branchRelations(jiaZi % 12, branches[2]);
+                clash |= ((yearRelations | dayRelations) & InteractionType.BRANCH_CLASH.bit()) != 0;
+                combine |= !InteractionEngine.analyzeAgainst(stems, branches, jiaZi % 10, jiaZi % 12).stream()
+                    .filter(interaction -> COMBINES.contains(interaction.type()))
+                    .toList().isEmpty();
+            }
+            clashes += clash ? 1 : 0;
+            assertEquals(!clash, noClash.test(candidate), candidate.pillars());
+            assertEquals(combine, combines.test(candidate), candidate.pillars());
+            assertEquals((tianYiMask & (1 << candidate.day() % 12 | 1 << candidate.hour() % 12)) != 0,
+                tianYi.test(candidate));
+
+            // 组合按布尔运算
+            assertEquals(favorable.test(candidate) && noClash.test(candidate),
+                favorable.and(noClash).test(candidate));
+            assertEquals(combines.test(candidate) || tianYi.test(candidate), combines.or(tianYi).test(candidate));
+            assertEquals(!combines.test(candidate), combines.negate().test(candidate));
+        }
+        assertTrue(clashes > 0 && clashes < hours.size());
+
+        assertThrows(IllegalArgumentException.class, () -> DateRules.relations(natal, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> DateRules.relations(natal, 0b10000, 0, 0));
+    }
+
+    @Test
+    void testLimitAndParallel_MatchFullScan() {
+        BaziChart natal = calculator.calculateChart(BaziRequest.builder()
+            .year(1985).month(11).day(3).hour(8).minute(0)
+            .calendarType("solar").gender("female").build());
+        DateRule rule = DateRules.favorableElements(natal)
+            .and(DateRules.noClashWith(natal))
+            .and(DateRules.shenSha(natal, ShenSha.TIAN_YI).or(DateRules.combinesWith(natal)));
+        LocalDate from = LocalDate.of(2030, 1, 1);
+        LocalDate to = LocalDate.of(2050, 1, 1);
+
+        for (boolean hours : new boolean[]{false, true}) {
+            List<DateCandidate> all = DateSelector.search(from, to, hours, DateRule.ANY, Integer.MAX_VALUE);
+            List<DateCandidate> expected = all.stream().filter(rule::test).toList();
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, DateSelector.search(from, to, hours, rule, Integer.MAX_VALUE));
+            for (int limit : new int[]{1, 7, 500}) {
+                assertEquals(expected.subList(0, Math.min(limit, expected.size())),
+                    DateSelector.search(from, to, hours, rule, limit), hours + " " + limit);
+            }
+            // 最后一块不足 CHUNK_DAYS 天
+            assertEquals(all.get(all.size() - 1).date(), to.minusDays(1));
+        }
+        assertEquals(List.of(), DateSelector.search(from, to, false, DateRule.ANY.negate(), 10));
+    }
+
+    @Test
+    void testValidation() {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        assertThrows(IllegalArgumentException.class, () -> DateSelector.search(null, from, false, DateRule.ANY, 1));
+        assertThrows(IllegalArgumentException.class, () -> DateSelector.search(from, from, false, DateRule.ANY, 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> DateSelector.search(from, from.plusDays(1), false, null, 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> DateSelector.search(from, from.plusDays(1), false, DateRule.ANY, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> DateSelector.search(LocalDate.of(1900, 12, 31), from, false, DateRule.ANY, 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> DateSelector.search(from, LocalDate.of(2101, 1, 2), false, DateRule.ANY, 1));
+
+        JieTable jies = JieTable.between(LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 2, 1, 0, 0));
+        assertEquals(1, jies.size());
+        assertThrows(IllegalArgumentException.class,
+            () -> jies.monthAt(JieTable.epochMinute(LocalDateTime.of(2026, 2, 1, 0, 0))));
+    }
+}
@@ -0,0 +1,180 @@
+package com.tafu.bazi.sdk.similar;
+
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.chart.BaziChart;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.warmup.BaziWarmup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ChartFeatures / SimilarChartIndex 测试类: 特征一致性、与暴力检索对比的召回率、索引文件读写
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class SimilarChartIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private final BaziCalculatorImpl calculator = new BaziCalculatorImpl();
+
+    @Test
+    void testFeatures_ChartMatchesResponse() {
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 200, 50L)) {
+            float[] fromChart = ChartFeatures.of(calculator.calculateChart(sample));
+            float[] fromResponse = ChartFeatures.of(calculator.calculate(sample));
+            assertArrayEquals(fromChart, fromResponse, 1e-4f);
+
+            float elements = 0;
+            float gods = 0;
+            for (int i = 0; i < 5; i++) {
+                elements += fromChart[i];
+            }
+            for (int g = 0; g < 10; g++) {
+                gods += fromChart[ChartFeatures.TEN_GOD_OFFSET + g];
+            }
+            assertEquals(1.0f, elements, 1e-5f);
+            assertEquals(1.0f, gods, 1e-5f);
+            assertTrue(fromChart[ChartFeatures.STRENGTH] >= 0.0f && fromChart[ChartFeatures.STRENGTH] <= 1.0f);
+        }
+    }
+
+    @Test
+    void testSearch_RecallAgainstBruteForce_Charts() {
+        List<float[]> vectors = new ArrayList<>();
+        SimilarChartIndex index = new SimilarChartIndex();
+        for (BaziRequest sample : BaziWarmup.samples(calculator, 5000, 51L)) {
+            BaziChart chart = calculator.calculateChart(sample);
+            float[] vector = ChartFeatures.of(chart);
+            index.add(vectors.size(), vector);
+            vectors.add(vector);
+        }
+        double recall = recall(index, vectors, vectors.subList(0, 200), 10);
+        assertTrue(recall >= 0.95, "recall " + recall);
+
+        // 自身 (距离 0) 总在第一位
+        List<SimilarChartIndex.Neighbor> self = index.search(vectors.get(42), 1);
+        assertEquals(0.0f, self.get(0).distance());
+    }
+
+    @Test
+    void testSearch_Recall_Random() {
+        Random random = new Random(52L);
+        List<float[]> vectors = new ArrayList<>();
+        SimilarChartIndex index = new SimilarChartIndex();
+        for (int i = 0; i < 2000; i++) {
+            float[] vector = randomVector(random);
+            index.add(i, vector);
+            vectors.add(vector);
+        }
+        List<float[]> queries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            queries.add(randomVector(random));
+        }
+        double recall = recall(index, vectors, queries, 10);
+        assertTrue(recall >= 0.9, "recall " + recall);
+    }
+
+    @Test
+    void testSaveAndLoad_RoundTrip() throws Exception {
+        Random random = new Random(53L);
+        SimilarChartIndex index = new SimilarChartIndex();
+        for (int i = 0; i < 3000; i++) {
+            index.add(1000L + i, randomVector(random));
+        }
+        Path file = dir.resolve("similar/charts.hnsw");
+        index.save(file);
+
+        SimilarChartIndex loaded = SimilarChartIndex.load(file);
+        assertEquals(index.size(), loaded.size());
+        for (int i = 0; i < 20; i++) {
+            float[] query = randomVector(random);
+            assertEquals(index.search(query, 10), loaded.search(query, 10));
+        }
+
+        // 载入后可以继续插入
+        float[] extra = randomVector(random);
+        assertEquals(3000, loaded.add(-1L, extra));
+        assertEquals(-1L, loaded.search(extra, 1).get(0).key());
+
+        // 损坏与截断的文件
+        byte[] bytes = Files.readAllBytes(file);
+        byte[] corrupted = bytes.clone();
+        corrupted[bytes.length / 2] ^= 1;
+        Files.write(file, corrupted);
+        assertThrows(IllegalArgumentException.class, () -> SimilarChartIndex.load(file));
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+        assertThrows(IllegalArgumentException.class, () -> SimilarChartIndex.load(file));
+        Files.write(file, new byte[]{'B', 'Z', 'C', 'S'});
+        assertThrows(IllegalArgumentException.class, () -> SimilarChartIndex.load(file));
+
+        SimilarChartIndex empty = new SimilarChartIndex();
+        empty.save(file);
+        assertEquals(0, SimilarChartIndex.load(file).size());
+    }
+
+    @Test
+    void testValidation() {
+        SimilarChartIndex index = new SimilarChartIndex();
+        assertEquals(List.of(), index.search(new float[ChartFeatures.DIMENSION], 5));
+        assertThrows(IllegalArgumentException.class, () -> index.add(1L, new float[3]));
+        float[] nan = new float[ChartFeatures.DIMENSION];
+        nan[0] = Float.NaN;
+        assertThrows(IllegalArgumentException.class, () -> index.add(1L, nan));
+        assertThrows(IllegalArgumentException.class, () -> index.search(new float[ChartFeatures.DIMENSION], 0));
+        assertThrows(IllegalArgumentException.class, () -> new SimilarChartIndex(16, 1, 100));
+        assertThrows(IllegalArgumentException.class, () -> new SimilarChartIndex(16, 16, 8));
+
+        index.add(7L, new float[ChartFeatures.DIMENSION]);
+        assertEquals(1, index.search(new float[ChartFeatures.DIMENSION], 5).size());
+    }
+
+    /**
+     * 召回率: 返回的近邻中距离不超过真实第 k 近邻距离的比例 (相同向量并列时不论取哪个都算命中)
+     */
+    private static double recall(SimilarChartIndex index, List<float[]> vectors, List<float[]> queries, int k) {
+        int hits = 0;
+        for (float[] query : queries) {
+            float[] distances = new float[vectors.size()];
+            for (int i = 0; i < vectors.size(); i++) {
+                distances[i] = (float) Math.sqrt(squared(query, vectors.get(i)));
+            }
+            Arrays.sort(distances);
+            float kth = distances[k - 1];
+            for (SimilarChartIndex.Neighbor neighbor : index.search(query, k)) {
+                if (neighbor.distance() <= kth * (1 + 1e-5f)) {
+                    hits++;
+                }
+            }
+        }
+        return (double) hits / (queries.size() * k);
+    }
+
+    private static float squared(float[] a, float[] b) {
+        float sum = 0.0f;
+        for (int i = 0; i < a.length; i++) {
+            float diff = a[i] - b[i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[ChartFeatures.DIMENSION];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = random.nextFloat();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,88 @@
+package com.tafu.bazi.sdk.utils;
+
+import com.nlf.calendar.Lunar;
+import com.nlf.calendar.LunarMonth;
+import com.nlf.calendar.LunarYear;
+import com.nlf.calendar.Solar;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LunarCalendar 测试类: 与 lunar-java 逐年、逐日比对
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class LunarCalendarTest {
+
+    @Test
+    void testYearTable_MatchesLunarJava() {
+        for (int year = LunarCalendar.MIN_YEAR; year <= LunarCalendar.MAX_YEAR; year++) {
+            LunarYear lunarYear = LunarYear.fromYear(year);
+            assertEquals(lunarYear.getLeapMonth(), LunarCalendar.getLeapMonth(year), "闰月 " + year);
+            int yearDays = 0;
+            for (LunarMonth month : lunarYear.getMonths()) {
+                if (month.getYear() != year) {
+                    continue;
+                }
+                assertEquals(month.getDayCount(), LunarCalendar.getMonthDays(year, month.getMonth()),
+                    year + " 年 " + month.getMonth() + " 月");
+                yearDays += month.getDayCount();
+            }
+            assertEquals(yearDays, LunarCalendar.getYearDays(year), "全年天数 " + year);
+        }
+    }
+
+    @Test
+    void testEveryDay_MatchesLunarJava() {
+        LocalDate first = LocalDate.of(1900, 1, 31);
+        LocalDate end = LunarCalendar.toSolar(LunarCalendar.MAX_YEAR, 12, 1)
+            .plusDays(LunarCalendar.getMonthDays(LunarCalendar.MAX_YEAR, 12));
+        int days = 0;
+        for (LocalDate date = first; date.isBefore(end); date = date.plusDays(1)) {
+            Lunar expected = Solar.fromYmd(date.getYear(), date.getMonthValue(), date.getDayOfMonth()).getLunar();
+            LunarCalendar.LunarDate actual = LunarCalendar.fromSolar(date);
+            assertEquals(expected.getYear(), actual.year(), date::toString);
+            assertEquals(expected.getMonth(), actual.month(), date::toString);
+            assertEquals(expected.getDay(), actual.day(), date::toString);
+            assertEquals(date, LunarCalendar.toSolar(actual.year(), actual.month(), actual.day()));
+            days++;
+        }
+        // 逐日覆盖的天数与各年天数之和一致
+        int yearDays = 0;
+        for (int year = LunarCalendar.MIN_YEAR; year <= LunarCalendar.MAX_YEAR; year++) {
+            yearDays += LunarCalendar.getYearDays(year);
+        }
+        assertEquals(yearDays, days);
+
+        assertThrows(IllegalArgumentException.class, () -> LunarCalendar.fromSolar(first.minusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> LunarCalendar.fromSolar(end));
+    }
+
+    @Test
+    void testInvalidDates_SameErrorsAsLunarJava() {
+        int[][] cases = {{2024, -2, 1}, {2023, 1, 31}, {2023, 2, 0}, {2020, -4, 30}, {2023, 13, 1}, {2023, 0, 1}};
+        for (int[] c : cases) {
+            IllegalArgumentException expected = assertThrows(IllegalArgumentException.class,
+                () -> Lunar.fromYmd(c[0], c[1], c[2]));
+            IllegalArgumentException actual = assertThrows(IllegalArgumentException.class,
+                () -> LunarCalendar.toEpochDay(c[0], c[1], c[2]));
+            assertEquals(expected.getMessage(), actual.getMessage());
+        }
+        assertThrows(IllegalArgumentException.class, () -> LunarCalendar.getLeapMonth(1899));
+        assertThrows(IllegalArgumentException.class, () -> LunarCalendar.getLeapMonth(2102));
+    }
+
+    @Test
+    void testLeapMonth() {
+        // 2023 年闰二月: 二月 30 天, 闰二月 29 天
+        assertEquals(2, LunarCalendar.getLeapMonth(2023));
+        assertEquals(LocalDate.of(2023, 3, 22), LunarCalendar.toSolar(2023, -2, 1));
+        assertEquals(new LunarCalendar.LunarDate(2023, -2, 1), LunarCalendar.fromSolar(LocalDate.of(2023, 3, 22)));
+        assertTrue(LunarCalendar.fromSolar(LocalDate.of(2023, 3, 22)).isLeapMonth());
+        assertEquals(0, LunarCalendar.getLeapMonth(2024));
+    }
+}
@@ -0,0 +1,75 @@
+package com.tafu.bazi.sdk.warmup;
+
+import com.tafu.bazi.sdk.BaziCalculator;
+import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BaziWarmup 测试类
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+class BaziWarmupTest {
+
+    private BaziCalculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        calculator = new BaziCalculatorImpl();
+    }
+
+    @Test
+    void testSamples_CoverAllBranches() {
+        List<BaziRequest> samples = BaziWarmup.samples(calculator, BaziWarmup.BRANCH_COMBINATIONS, 1L);
+
+        Set<String> combinations = new HashSet<>();
+        for (BaziRequest sample : samples) {
+            combinations.add(sample.getCalendarType() + "/" + sample.getIsLeapMonth() + "/"
+                + (sample.getLongitude() != null) + "/" + sample.getGender());
+            if (Boolean.TRUE.equals(sample.getIsLeapMonth())) {
+                assertEquals(calculator.getLeapMonth(sample.getYear()), sample.getMonth());
+            }
+        }
+        assertEquals(BaziWarmup.BRANCH_COMBINATIONS, combinations.size());
+    }
+
+    @Test
+    void testWarmUp_RunsAllSamples() {
+        WarmupReport report = calculator.warmUp(WarmupPolicy.builder()
+            .rounds(2)
+            .samplesPerRound(60)
+            .build());
+
+        assertEquals(2, report.getRounds());
+        assertEquals(120, report.getCalculations());
+        assertEquals(0, report.getFailures());
+        assertFalse(report.isTruncated());
+    }
+
+    @Test
+    void testWarmUp_StopsAtMaxDuration() {
+        WarmupReport report = calculator.warmUp(WarmupPolicy.builder()
+            .maxDuration(Duration.ZERO)
+            .build());
+
+        assertTrue(report.isTruncated());
+        assertEquals(0, report.getCalculations());
+    }
+
+    @Test
+    void testWarmUp_InvalidPolicy() {
+        assertThrows(IllegalArgumentException.class, () -> calculator.warmUp(null));
+        assertThrows(IllegalArgumentException.class,
+            () -> calculator.warmUp(WarmupPolicy.builder().rounds(-1).build()));
+    }
+}
@@ -2,12 +2,40 @@ package com.tafu.bazi.sdk.spring.autoconfigure;
 
 import com.tafu.bazi.sdk.BaziCalculator;
 import com.tafu.bazi.sdk.BaziCalculatorImpl;
+import com.tafu.bazi.sdk.atlas.AtlasBaziCalculator;
+import com.tafu.bazi.sdk.atlas.ChartAtlas;
+import com.tafu.bazi.sdk.atlas.PillarIndex;
+import com.tafu.bazi.sdk.cache.BaziCacheTier;
+import com.tafu.bazi.sdk.cache.CachingBaziCalculator;
+import com.tafu.bazi.sdk.cache.CoalescingBaziCalculator;
+import com.tafu.bazi.sdk.cache.LocalBaziCache;
+import com.tafu.bazi.sdk.chart.PatternRuleSet;
+import com.tafu.bazi.sdk.chart.ScoringModel;
+import com.tafu.bazi.sdk.chart.ScoringModelRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * 八字 SDK 自动配置类
@@ -27,20 +55,200 @@ import org.springframework.context.annotation.Bean;
 @AutoConfiguration
 @ConditionalOnClass(BaziCalculator.class)
 @EnableConfigurationProperties(BaziProperties.class)
+@ImportRuntimeHints(BaziRuntimeHints.class)
 public class BaziAutoConfiguration {
 
+    /**
+     * 命名计分模型: 内置模型 + bazi.scoring.resource 文件 + bazi.scoring.models, 启动时一次性编译
+     *
+     * @param properties 配置属性
+     * @param resourceLoader 资源加载器
+     * @return 计分模型集合
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ScoringModelRegistry baziScoringModels(BaziProperties properties, ResourceLoader resourceLoader) {
+        BaziProperties.Scoring scoring = properties.getScoring();
+        Map<String, ScoringModel> models = new LinkedHashMap<>();
+        if (scoring.getResource() != null && !scoring.getResource().isBlank()) {
+            Resource resource = resourceLoader.getResource(scoring.getResource());
+            try (InputStream in = resource.getInputStream()) {
+                models.putAll(ScoringModelRegistry.readJson(in));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read bazi.scoring.resource " + scoring.getResource(), e);
+            }
+        }
+        models.putAll(scoring.getModels());
+        ScoringModelRegistry registry = ScoringModelRegistry.of(models, scoring.getDefaultModel());
+        log.info("Bazi scoring models: {} (default {}, fingerprint {})",
+            registry.names(), registry.getDefaultModel().getName(), registry.fingerprint());
+        return registry;
+    }
+
+    /**
+     * 格局规则: 内置规则 + bazi.patterns.extended + bazi.patterns.resource 文件, 可按 reload-interval 热更新
+     *
+     * @param properties 配置属性
+     * @param resourceLoader 资源加载器
+     * @param cache 结果缓存, 规则替换后清空 (释放内存; 旧结果因键含规则版本已不会再命中)
+     * @return 格局规则
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public BaziPatternRulesReloader baziPatternRules(BaziProperties properties, ResourceLoader resourceLoader,
+                                                     ObjectProvider<LocalBaziCache> cache) {
+        BaziProperties.Patterns patterns = properties.getPatterns();
+        Resource resource = patterns.getResource() == null || patterns.getResource().isBlank()
+            ? null : resourceLoader.getResource(patterns.getResource());
+        return new BaziPatternRulesReloader(patterns, resource, cache::getIfAvailable);
+    }
+
+    /**
+     * 四柱反查索引 (bazi.atlas.pillar-index)
+     *
+     * @param properties 配置属性
+     * @return 内存映射的索引
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "bazi.atlas", name = "pillar-index")
+    public PillarIndex baziPillarIndex(BaziProperties properties) {
+        PillarIndex index = PillarIndex.open(Path.of(properties.getAtlas().getPillarIndex()));
+        log.info("Bazi pillar index: {}", index);
+        return index;
+    }
+
     /**
      * 创建 BaziCalculator Bean
      * 
      * @param properties 配置属性
+     * @param scoringModels 命名计分模型
+     * @param patternRules 格局规则
+     * @param cache 结果缓存 (bazi.cache.enabled=true 时存在)
+     * @param tiers 下层缓存 (仅在启用缓存时使用)
      * @return BaziCalculator 实例
      */
     @Bean
     @ConditionalOnMissingBean(BaziCalculator.class)
-    public BaziCalculator baziCalculator(BaziProperties properties) {
+    public BaziCalculator baziCalculator(BaziProperties properties, ScoringModelRegistry scoringModels,
+                                         BaziPatternRulesReloader patternRules,
+                                         ObjectProvider<LocalBaziCache> cache, ObjectProvider<BaziCacheTier> tiers) {
         log.info("Auto-configuring BaziCalculator with properties: {}", properties);
         
-        // 如果未来实现了缓存功能,可以在这里根据 properties.getCache().isEnabled() 创建不同的实现
-        return new BaziCalculatorImpl();
+        BaziCalculatorImpl engine = new BaziCalculatorImpl(scoringModels, patternRules);
+        BaziCalculator calculator = engine;
+        // 合并与缓存的键含规则版本: 自定义模型 / 规则的实例与热更新前的结果不会在本地或共享存储中相互命中
+        Supplier<String> rulesVersion = () -> BaziCacheSnapshotRunner.rulesVersion(scoringModels, patternRules.get());
+        ChartAtlas atlas = openAtlas(properties.getAtlas().getPath());
+        if (atlas != null) {
+            calculator = new AtlasBaziCalculator(atlas, engine);
+        }
+        if (properties.getCoalescing().isEnabled()) {
+            calculator = new CoalescingBaziCalculator(calculator, rulesVersion);
+        }
+        LocalBaziCache localCache = cache.getIfAvailable();
+        if (localCache != null) {
+            List<BaziCacheTier> ordered = orderTiers(tiers.orderedStream().toList(), properties.getCache().getTierOrder());
+            calculator = new CachingBaziCalculator(calculator, localCache, ordered, properties.getCache().getTierTimeout(),
+                rulesVersion);
+        }
+        return calculator;
+    }
+
+    /**
+     * 打开配置的命盘图集, 未配置、不存在或无法使用时返回 null
+     */
+    static ChartAtlas openAtlas(String path) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        Path file = Path.of(path);
+        if (!Files.isRegularFile(file)) {
+            log.warn("bazi.atlas.path {} does not exist, calculating without atlas", path);
+            return null;
+        }
+        try {
+            ChartAtlas atlas = ChartAtlas.open(file);
+            log.info("Bazi chart atlas: {}", atlas);
+            return atlas;
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            log.warn("Ignoring bazi chart atlas {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 按配置的名称排列下层缓存, 未列出的保持原顺序排在其后
+     */
+    static List<BaziCacheTier> orderTiers(List<BaziCacheTier> tiers, List<String> order) {
+        List<BaziCacheTier> remaining = new ArrayList<>(tiers);
+        List<BaziCacheTier> ordered = new ArrayList<>(tiers.size());
+        for (String name : order) {
+            BaziCacheTier match = remaining.stream().filter(tier -> tier.name().equals(name)).findFirst().orElse(null);
+            if (match == null) {
+                log.warn("bazi.cache.tier-order references unknown tier '{}'", name);
+                continue;
+            }
+            remaining.remove(match);
+            ordered.add(match);
+        }
+        ordered.addAll(remaining);
+        if (!ordered.isEmpty()) {
+            log.info("Bazi cache tiers: {}", ordered.stream().map(BaziCacheTier::name).toList());
+        }
+        return ordered;
+    }
+
+    /**
+     * 启动预热 (bazi.warmup.enabled=false 时关闭)
+     * 
+     * @param calculator 计算器
+     * @param properties 配置属性
+     * @return 预热执行器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "bazi.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public BaziWarmupRunner baziWarmupRunner(BaziCalculator calculator, BaziProperties properties) {
+        return new BaziWarmupRunner(calculator, properties.getWarmup());
+    }
+
+    /**
+     * 结果缓存与快照 (bazi.cache.enabled=true 时生效)
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "bazi.cache", name = "enabled", havingValue = "true")
+    static class BaziCacheConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public LocalBaziCache baziCache(BaziProperties properties) {
+            return new LocalBaziCache(properties.getCache().getMaxSize());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "bazi.cache.snapshot", name = "path")
+        public BaziCacheSnapshotRunner baziCacheSnapshotRunner(LocalBaziCache cache, BaziProperties properties,
+                                                               ScoringModelRegistry scoringModels,
+                                                               BaziPatternRulesReloader patternRules) {
+            return new BaziCacheSnapshotRunner(cache, properties.getCache().getSnapshot(),
+                () -> BaziCacheSnapshotRunner.rulesVersion(scoringModels, patternRules.get()));
+        }
+    }
+
+    /**
+     * 预热就绪检查 (classpath 中存在 spring-boot-actuator 时生效)
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(HealthIndicator.class)
+    @ConditionalOnProperty(prefix = "bazi.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class BaziWarmupHealthConfiguration {
+
+        @Bean(name = "baziWarmupHealthIndicator")
+        @ConditionalOnMissingBean(name = "baziWarmupHealthIndicator")
+        public BaziWarmupHealthIndicator baziWarmupHealthIndicator(BaziWarmupRunner runner) {
+            return new BaziWarmupHealthIndicator(runner);
+        }
     }
 }
@@ -0,0 +1,118 @@
+package com.tafu.bazi.sdk.spring.autoconfigure;
+
+import com.tafu.bazi.sdk.cache.BaziCacheSnapshot;
+import com.tafu.bazi.sdk.cache.LocalBaziCache;
+import com.tafu.bazi.sdk.chart.PatternRuleSet;
+import com.tafu.bazi.sdk.chart.ScoringModelRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 缓存快照执行器
+ *
+ * <p>Bean 初始化时同步载入快照 (应用开始接收流量前缓存已是热的),
+ * 关闭时保存快照; 配置了 {@code bazi.cache.snapshot.interval} 时在守护线程
+ * {@code bazi-cache-snapshot} 中定期保存
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class BaziCacheSnapshotRunner implements InitializingBean, DisposableBean {
+
+    /** 默认规则版本: 内置计分模型与格局规则下结果只由 SDK 版本决定 */
+    static final String RULES_VERSION = "";
+
+    private final LocalBaziCache cache;
+    private final BaziProperties.Snapshot properties;
+    private final Path file;
+    private final Supplier<String> rulesVersion;
+
+    private ScheduledExecutorService scheduler;
+
+    public BaziCacheSnapshotRunner(LocalBaziCache cache, BaziProperties.Snapshot properties) {
+        this(cache, properties, RULES_VERSION);
+    }
+
+    public BaziCacheSnapshotRunner(LocalBaziCache cache, BaziProperties.Snapshot properties, String rulesVersion) {
+        this(cache, properties, () -> rulesVersion);
+    }
+
+    /**
+     * @param rulesVersion 规则版本, 每次载入或保存时取值 (格局规则热更新后随之变化)
+     */
+    public BaziCacheSnapshotRunner(LocalBaziCache cache, BaziProperties.Snapshot properties,
+                                   Supplier<String> rulesVersion) {
+        this.cache = cache;
+        this.properties = properties;
+        this.file = Path.of(properties.getPath());
+        this.rulesVersion = rulesVersion;
+    }
+
+    /**
+     * 计分模型集合对应的规则版本: 模型或默认模型变化后旧快照视为过期
+     * (只含内置模型且默认 classic 时沿用 {@link #RULES_VERSION})
+     */
+    static String rulesVersion(ScoringModelRegistry scoringModels) {
+        if (scoringModels == null
+            || scoringModels.fingerprint().equals(ScoringModelRegistry.defaults().fingerprint())) {
+            return RULES_VERSION;
+        }
+        return scoringModels.fingerprint();
+    }
+
+    /**
+     * 计分模型与格局规则对应的规则版本: 任一变化后旧快照视为过期
+     * (格局规则为内置规则时与 {@link #rulesVersion(ScoringModelRegistry)} 相同)
+     */
+    static String rulesVersion(ScoringModelRegistry scoringModels, PatternRuleSet patternRules) {
+        String scoring = rulesVersion(scoringModels);
+        if (patternRules == null || patternRules.fingerprint().equals(PatternRuleSet.builtIn().fingerprint())) {
+            return scoring;
+        }
+        return scoring + "/" + patternRules.fingerprint();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        BaziCacheSnapshot.load(cache, file, rulesVersion.get());
+
+        Duration interval = properties.getInterval();
+        if (interval != null && !interval.isZero() && !interval.isNegative()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "bazi-cache-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = interval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::save, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        save();
+    }
+
+    /**
+     * 立即保存快照 (失败仅记录日志)
+     */
+    public void save() {
+        try {
+            BaziCacheSnapshot.save(cache, file, properties.getMaxEntries(), rulesVersion.get());
+        } catch (RuntimeException e) {
+            log.warn("Failed to save bazi cache snapshot {}: {}", file, e.getMessage());
+        }
+    }
+}
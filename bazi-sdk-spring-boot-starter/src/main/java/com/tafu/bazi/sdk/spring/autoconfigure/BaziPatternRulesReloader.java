@@ -0,0 +1,157 @@
+package com.tafu.bazi.sdk.spring.autoconfigure;
+
+import com.tafu.bazi.sdk.cache.LocalBaziCache;
+import com.tafu.bazi.sdk.chart.PatternRule;
+import com.tafu.bazi.sdk.chart.PatternRuleSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 格局规则加载与热更新
+ *
+ * <p>启动时编译一次 (规则非法则启动失败); 配置了 {@code bazi.patterns.reload-interval} 时在守护线程
+ * {@code bazi-pattern-rules} 中检查资源文件修改时间, 变化后重新编译并整体替换。
+ * 重新编译失败仅记录日志并保留旧规则。
+ *
+ * <p>结果缓存与请求合并的键含规则版本 (指纹), 替换后的请求落在新键下: 共享缓存层中按旧规则算出的条目、
+ * 替换前已开始的计算写回的结果都不会再被命中。替换成功后仍清空本地结果缓存, 只为释放旧条目占用的内存
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class BaziPatternRulesReloader implements Supplier<PatternRuleSet>, InitializingBean, DisposableBean {
+
+    private final BaziProperties.Patterns properties;
+    private final Resource resource;
+    private final Supplier<LocalBaziCache> cache;
+
+    private volatile PatternRuleSet rules;
+    private long lastModified;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param properties 格局规则配置
+     * @param resource 规则文件 (未配置时为 null)
+     * @param cache 本地结果缓存 (可返回 null)
+     */
+    public BaziPatternRulesReloader(BaziProperties.Patterns properties, Resource resource,
+                                    Supplier<LocalBaziCache> cache) {
+        this.properties = properties;
+        this.resource = resource;
+        this.cache = cache;
+        this.lastModified = lastModified();
+        this.rules = load();
+        log.info("Bazi pattern rules: {} rules (fingerprint {})", rules.size(), rules.fingerprint());
+    }
+
+    @Override
+    public PatternRuleSet get() {
+        return rules;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Duration interval = properties.getReloadInterval();
+        if (resource == null || interval == null || interval.isZero() || interval.isNegative()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bazi-pattern-rules");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::reloadIfModified, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 资源文件修改时间变化时重新加载
+     *
+     * @return 是否替换了规则
+     */
+    public boolean reloadIfModified() {
+        long modified = lastModified();
+        if (modified == lastModified) {
+            return false;
+        }
+        lastModified = modified;
+        return reload();
+    }
+
+    /**
+     * 立即重新加载 (失败仅记录日志, 保留旧规则)
+     *
+     * @return 是否替换了规则
+     */
+    public boolean reload() {
+        PatternRuleSet loaded;
+        try {
+            loaded = load();
+        } catch (RuntimeException e) {
+            log.warn("Failed to reload bazi pattern rules {}, keeping {}: {}",
+                properties.getResource(), rules.fingerprint(), e.getMessage());
+            return false;
+        }
+        if (loaded.fingerprint().equals(rules.fingerprint())) {
+            return false;
+        }
+        rules = loaded;
+        LocalBaziCache localCache = cache.get();
+        if (localCache != null) {
+            localCache.clear();
+        }
+        log.info("Reloaded bazi pattern rules: {} rules (fingerprint {})", loaded.size(), loaded.fingerprint());
+        return true;
+    }
+
+    private PatternRuleSet load() {
+        List<PatternRule> configured = new ArrayList<>();
+        if (properties.isExtended()) {
+            configured.addAll(PatternRuleSet.extendedRules());
+        }
+        if (resource != null) {
+            try (InputStream in = resource.getInputStream()) {
+                configured.addAll(PatternRuleSet.readJson(in));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read bazi.patterns.resource " + properties.getResource(), e);
+            }
+        }
+        if (!properties.isIncludeBuiltIn()) {
+            return PatternRuleSet.compile(configured);
+        }
+        return configured.isEmpty() ? PatternRuleSet.builtIn() : PatternRuleSet.withBuiltIns(configured);
+    }
+
+    private long lastModified() {
+        if (resource == null) {
+            return 0L;
+        }
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.tafu.bazi.sdk.spring.autoconfigure;
 
+import com.tafu.bazi.sdk.chart.ScoringModel;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 八字 SDK 配置属性
  * 
@@ -10,7 +17,12 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * 
  * <p>可配置项:
  * <ul>
- *   <li>cache.enabled: 是否启用缓存 (预留,当前版本未实现)</li>
+ *   <li>scoring.*: 命名计分模型与默认模型</li>
+ *   <li>patterns.*: 格局规则文件与热更新</li>
+ *   <li>atlas.*: 预生成的命盘图集与四柱反查索引</li>
+ *   <li>cache.*: 结果缓存与快照</li>
+ *   <li>coalescing.enabled: 并发相同请求合并计算</li>
+ *   <li>warmup.*: 启动预热</li>
  * </ul>
  * 
  * @author Tafu Team
@@ -20,17 +32,179 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "bazi")
 public class BaziProperties {
 
+    /**
+     * 计分模型配置
+     */
+    private Scoring scoring = new Scoring();
+
+    /**
+     * 格局规则配置
+     */
+    private Patterns patterns = new Patterns();
+
+    /**
+     * 命盘图集配置
+     */
+    private Atlas atlas = new Atlas();
+
     /**
      * 缓存配置
      */
     private Cache cache = new Cache();
 
+    /**
+     * 请求合并配置
+     */
+    private Coalescing coalescing = new Coalescing();
+
+    /**
+     * 预热配置
+     */
+    private Warmup warmup = new Warmup();
+
+    @Data
+    public static class Scoring {
+        /**
+         * 请求未指定 scoringModel 时使用的模型名称
+         * 默认: classic (内置另有 life-stage)
+         */
+        private String defaultModel = "classic";
+
+        /**
+         * JSON 模型文件位置 (Spring 资源路径, 如 classpath:bazi-scoring.json), 格式见 ScoringModelRegistry
+         */
+        private String resource;
+
+        /**
+         * 命名模型 (名称 → 参数, 未配置的参数取内置默认值), 与资源文件同名时以此处为准
+         */
+        private Map<String, ScoringModel> models = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class Patterns {
+        /**
+         * JSON 规则文件位置 (Spring 资源路径, 如 file:/etc/bazi/patterns.json), 格式见 PatternRuleSet
+         */
+        private String resource;
+
+        /**
+         * 是否保留内置规则 (同名规则以资源文件为准)
+         * 默认: true
+         */
+        private boolean includeBuiltIn = true;
+
+        /**
+         * 是否启用扩展规则 (化气格、从旺格、从强格、两神成象格)
+         * 默认: false
+         */
+        private boolean extended = false;
+
+        /**
+         * 资源文件变更检查间隔, 为空时不热更新
+         */
+        private Duration reloadInterval;
+    }
+
+    @Data
+    public static class Atlas {
+        /**
+         * 图集文件路径 (由 ChartAtlasGenerator 预先生成); 配置后未提供经度的请求优先查图集,
+         * 文件不存在或已过期时仅记录日志并直接使用引擎
+         */
+        private String path;
+
+        /**
+         * 四柱反查索引文件路径 (由 PillarIndexGenerator 预先生成); 配置后注册 PillarIndex Bean,
+         * 文件不存在或已过期时启动失败
+         */
+        private String pillarIndex;
+    }
+
     @Data
     public static class Cache {
         /**
          * 是否启用缓存
-         * 默认: false (当前版本未实现缓存功能)
+         * 默认: false
          */
         private boolean enabled = false;
+
+        /**
+         * 最大缓存条目数 (LRU 淘汰)
+         */
+        private int maxSize = 10000;
+
+        /**
+         * 下层缓存 ({@code BaziCacheTier} Bean) 的查找顺序, 按 name() 指定;
+         * 未列出的层按 Bean 顺序排在其后
+         */
+        private List<String> tierOrder = new ArrayList<>();
+
+        /**
+         * 单层查询超时, 超时视为未命中并继续查下一层或本地计算
+         */
+        private Duration tierTimeout = Duration.ofMillis(50);
+
+        /**
+         * 快照配置
+         */
+        private Snapshot snapshot = new Snapshot();
+    }
+
+    @Data
+    public static class Snapshot {
+        /**
+         * 快照文件路径, 未配置时不启用快照
+         */
+        private String path;
+
+        /**
+         * 快照最多保存的热点条目数
+         */
+        private int maxEntries = 10000;
+
+        /**
+         * 定期保存间隔, 未配置时只在关闭时保存
+         */
+        private Duration interval;
+    }
+
+    @Data
+    public static class Coalescing {
+        /**
+         * 是否合并并发的相同请求 (single-flight), 合并后调用方共享同一结果对象
+         * 默认: false
+         */
+        private boolean enabled = false;
+    }
+
+    @Data
+    public static class Warmup {
+        /**
+         * 是否在启动时预热计算器
+         * 默认: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * 是否异步预热 (不阻塞应用启动, 完成前健康检查 baziWarmup 为 OUT_OF_SERVICE)
+         * 默认: true
+         */
+        private boolean async = true;
+
+        /**
+         * 预热轮数
+         */
+        private int rounds = 3;
+
+        /**
+         * 每轮样本数
+         */
+        private int samplesPerRound = 200;
+
+        /**
+         * 最长预热时间
+         */
+        private Duration maxDuration = Duration.ofSeconds(30);
     }
 }
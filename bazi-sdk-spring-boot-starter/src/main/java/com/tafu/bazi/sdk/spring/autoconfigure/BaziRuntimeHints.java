@@ -0,0 +1,65 @@
+package com.tafu.bazi.sdk.spring.autoconfigure;
+
+import com.nlf.calendar.Lunar;
+import com.tafu.bazi.sdk.chart.PatternRule;
+import com.tafu.bazi.sdk.chart.ScoringModel;
+import com.tafu.bazi.sdk.model.BaziRequest;
+import com.tafu.bazi.sdk.model.BaziResponse;
+import com.tafu.bazi.sdk.model.BirthWindowRequest;
+import com.tafu.bazi.sdk.model.CompatibilityDTO;
+import com.tafu.bazi.sdk.model.HourChartDTO;
+import com.tafu.bazi.sdk.model.WindowChartDTO;
+import com.tafu.bazi.sdk.model.immutable.BaziResult;
+import com.tafu.bazi.sdk.warmup.WarmupReport;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Spring AOT / GraalVM 原生镜像运行时提示
+ *
+ * <ul>
+ *   <li>请求、响应 DTO (含未知时辰、出生时间窗口与合婚结果)、不可变结果 record 及计分模型参数、
+ *   格局规则的 Jackson 绑定反射 (含全部嵌套类型)</li>
+ *   <li>lunar-java 神煞方法的反射查找与调用 (当前版本不存在的方法仅登记查找)</li>
+ *   <li>构建时写入 SDK 版本的 {@code sdk-version.properties}</li>
+ * </ul>
+ *
+ * <p>core 模块的 {@code META-INF/native-image} 元数据覆盖非 Spring 场景, 两者内容一致
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public class BaziRuntimeHints implements RuntimeHintsRegistrar {
+
+    /** 与 BaziCalculatorImpl 反射调用的方法名一致 */
+    static final List<String> SHEN_SHA_METHODS =
+        List.of("getYearShenSha", "getMonthShenSha", "getDayShenSha", "getTimeShenSha");
+
+    /** 与 SdkVersion 读取的资源一致 */
+    static final String SDK_VERSION_RESOURCE = "com/tafu/bazi/sdk/sdk-version.properties";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+            BaziRequest.class, BaziResponse.class, BaziResult.class, HourChartDTO.class, BirthWindowRequest.class,
+            WindowChartDTO.class, CompatibilityDTO.class, WarmupReport.class, ScoringModel.class, PatternRule.class);
+
+        hints.resources().registerPattern(SDK_VERSION_RESOURCE);
+
+        hints.reflection().registerType(Lunar.class, MemberCategory.INTROSPECT_PUBLIC_METHODS);
+        for (String name : SHEN_SHA_METHODS) {
+            try {
+                Method method = Lunar.class.getMethod(name);
+                hints.reflection().registerMethod(method, ExecutableMode.INVOKE);
+            } catch (NoSuchMethodException e) {
+                // 当前 lunar-java 版本未提供, 运行时查找同样失败, 结果为空列表
+            }
+        }
+    }
+}
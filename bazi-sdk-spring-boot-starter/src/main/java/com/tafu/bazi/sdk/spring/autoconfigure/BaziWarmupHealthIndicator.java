@@ -0,0 +1,46 @@
+package com.tafu.bazi.sdk.spring.autoconfigure;
+
+import com.tafu.bazi.sdk.warmup.WarmupReport;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * 预热就绪健康检查
+ *
+ * <p>预热结束前为 OUT_OF_SERVICE, 结束后为 UP (预热失败同样为 UP, 计算本身不受影响)。
+ * 加入 readiness 组即可让流量在预热完成后才进入:
+ * <pre>
+ * management.endpoint.health.group.readiness.include=readinessState,baziWarmup
+ * </pre>
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+public class BaziWarmupHealthIndicator implements HealthIndicator {
+
+    private final BaziWarmupRunner runner;
+
+    public BaziWarmupHealthIndicator(BaziWarmupRunner runner) {
+        this.runner = runner;
+    }
+
+    @Override
+    public Health health() {
+        if (!runner.isCompleted()) {
+            return Health.outOfService()
+                .withDetail("warmup", "running")
+                .build();
+        }
+        Health.Builder builder = Health.up().withDetail("warmup", "completed");
+        WarmupReport report = runner.getReport();
+        if (report != null) {
+            builder.withDetail("calculations", report.getCalculations())
+                .withDetail("elapsedMillis", report.getElapsedMillis())
+                .withDetail("truncated", report.isTruncated());
+        }
+        if (runner.getFailure() != null) {
+            builder.withDetail("error", runner.getFailure().getMessage());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.tafu.bazi.sdk.spring.autoconfigure;
+
+import com.tafu.bazi.sdk.BaziCalculator;
+import com.tafu.bazi.sdk.warmup.WarmupPolicy;
+import com.tafu.bazi.sdk.warmup.WarmupReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 启动预热执行器
+ *
+ * <p>所有单例初始化完成后执行 {@link BaziCalculator#warmUp(WarmupPolicy)}:
+ * 异步模式下在守护线程 {@code bazi-warmup} 中运行, 不阻塞应用启动;
+ * 同步模式下在启动线程中运行完毕后才继续启动
+ *
+ * @author Tafu Team
+ * @version 1.0.0
+ */
+@Slf4j
+public class BaziWarmupRunner implements SmartInitializingSingleton, DisposableBean {
+
+    private final BaziCalculator calculator;
+    private final BaziProperties.Warmup properties;
+    private final CountDownLatch completed = new CountDownLatch(1);
+
+    private volatile WarmupReport report;
+    private volatile Throwable failure;
+    private volatile Thread worker;
+
+    public BaziWarmupRunner(BaziCalculator calculator, BaziProperties.Warmup properties) {
+        this.calculator = calculator;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isAsync()) {
+            runWarmup();
+            return;
+        }
+        Thread thread = new Thread(this::runWarmup, "bazi-warmup");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @Override
+    public void destroy() {
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * 预热是否已结束 (包括失败)
+     */
+    public boolean isCompleted() {
+        return completed.getCount() == 0;
+    }
+
+    /**
+     * 等待预热结束
+     *
+     * @param timeout 最长等待时间
+     * @param unit 时间单位
+     * @return 是否已结束
+     * @throws InterruptedException 等待被中断
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        return completed.await(timeout, unit);
+    }
+
+    /**
+     * 预热结果, 未结束或失败时为 null
+     */
+    public WarmupReport getReport() {
+        return report;
+    }
+
+    /**
+     * 预热异常, 无异常时为 null
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    private void runWarmup() {
+        try {
+            report = calculator.warmUp(WarmupPolicy.builder()
+                .rounds(properties.getRounds())
+                .samplesPerRound(properties.getSamplesPerRound())
+                .maxDuration(properties.getMaxDuration())
+                .build());
+        } catch (RuntimeException e) {
+            // 预热失败不影响正常计算, 仅记录
+            failure = e;
+            log.warn("BaziCalculator warm-up failed: {}", e.getMessage(), e);
+        } finally {
+            worker = null;
+            completed.countDown();
+        }
+    }
+}